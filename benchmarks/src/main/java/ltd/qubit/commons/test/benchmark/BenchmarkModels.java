@@ -0,0 +1,91 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.model.CollectionFiller;
+
+/**
+ * 为基准测试创建测试床中的领域对象模型的实例。
+ *
+ * <p>所有实例都由固定种子的 {@link RandomBeanGenerator} 生成，其集合、映射和数组类型
+ * 的字段再由 {@link CollectionFiller} 替换为包含指定数目元素的新值，从而使每次运行
+ * 基准测试时的输入规模相同。</p>
+ *
+ * @author 胡海星
+ */
+final class BenchmarkModels {
+
+  /**
+   * 测试床中领域对象模型所在的包。
+   */
+  static final String TESTBED_PACKAGE = "ltd.qubit.commons.test.testbed";
+
+  /**
+   * 生成随机实例所使用的固定种子。
+   */
+  static final long SEED = 20220101L;
+
+  private BenchmarkModels() {}
+
+  /**
+   * 获取测试床中指定名称的领域对象模型的类。
+   *
+   * @param name
+   *     领域对象模型的简单类名，例如 {@code "App"}。
+   * @return 对应的类。
+   * @throws ClassNotFoundException
+   *     若测试床中不存在该类。
+   */
+  static Class<?> forName(final String name) throws ClassNotFoundException {
+    return Class.forName(TESTBED_PACKAGE + "." + name);
+  }
+
+  /**
+   * 创建一个指定类型的随机实例。
+   *
+   * @param <T>
+   *     实例的类型。
+   * @param type
+   *     实例的类型。
+   * @param size
+   *     实例中集合、映射和数组类型的字段的元素数目。
+   * @return 新创建的随机实例。
+   * @throws Exception
+   *     若创建实例时发生错误。
+   */
+  static <T> T create(final Class<T> type, final int size) throws Exception {
+    final RandomBeanGenerator random = new RandomBeanGenerator(SEED);
+    final T obj = random.nextObject(type);
+    return new CollectionFiller(random).resize(type, obj, size);
+  }
+
+  /**
+   * 创建一个包含指定数目的指定类型随机实例的列表。
+   *
+   * @param <T>
+   *     实例的类型。
+   * @param type
+   *     实例的类型。
+   * @param count
+   *     列表中实例的数目。
+   * @return 新创建的随机实例的列表，其中实例的集合类型字段保持随机生成的大小。
+   */
+  static <T> List<T> createList(final Class<T> type, final int count) {
+    final RandomBeanGenerator random = new RandomBeanGenerator(SEED);
+    final List<T> result = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      result.add(random.nextObject(type));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,78 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.model.CollectionFiller;
+
+/**
+ * 不同集合大小下随机对象生成的基准测试。
+ *
+ * <p>{@link RandomBeanGenerator} 生成的集合大小是随机的，因此此基准测试先调用
+ * {@link RandomBeanGenerator#nextObject(Class)} 生成实例，再由
+ * {@link CollectionFiller} 将其集合、映射和数组类型的字段替换为恰好包含
+ * {@code size} 个随机元素的新值，并以每秒生成的实例数报告其吞吐量。
+ * {@code Family} 和 {@code Parent} 的集合元素本身也是带有嵌套对象的模型。</p>
+ *
+ * <p>运行方式：</p>
+ * <pre><code>
+ * java -jar benchmarks/target/benchmarks.jar CollectionGenerationBenchmark -prof gc
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionGenerationBenchmark {
+
+  @Param({"ObjectWithArrayField", "ObjectWithListField", "ObjectWithMapField",
+      "ObjectWithSet", "Family", "Parent"})
+  public String model;
+
+  @Param({"0", "1", "10", "100", "1000"})
+  public int size;
+
+  private Class<Object> type;
+
+  private RandomBeanGenerator random;
+
+  private CollectionFiller filler;
+
+  @SuppressWarnings("unchecked")
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    type = (Class<Object>) BenchmarkModels.forName(model);
+    random = new RandomBeanGenerator(BenchmarkModels.SEED);
+    filler = new CollectionFiller(random);
+  }
+
+  @Benchmark
+  public Object nextObject() throws Exception {
+    return filler.resize(type, random.nextObject(type), size);
+  }
+}
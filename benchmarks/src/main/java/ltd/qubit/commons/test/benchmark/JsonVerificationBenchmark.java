@@ -0,0 +1,105 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import ltd.qubit.commons.test.json.JacksonJsonTestUtils;
+import ltd.qubit.commons.test.json.JsonUnitUtils;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+/**
+ * JSON校验工具的基准测试。
+ *
+ * <p>每个基准测试方法调用一次被测的工具方法，并以每秒调用次数报告其吞吐量。
+ * 参数 {@code size} 对于含有集合类型字段的模型（如 {@code Family} 和
+ * {@code ObjectWithArrayField}）控制这些字段的元素数目；对于
+ * {@link #assertJsonArrayEquals()}，它控制被比较的JSON数组中模型实例的数目。</p>
+ *
+ * <p>运行方式：</p>
+ * <pre><code>
+ * java -jar benchmarks/target/benchmarks.jar JsonVerificationBenchmark -prof gc
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonVerificationBenchmark {
+
+  private static final String ARRAY_FIELD = "items";
+
+  @Param({"App", "Category", "Family", "ObjectWithArrayField", "CodeMap"})
+  public String model;
+
+  @Param({"1", "10", "100"})
+  public int size;
+
+  private JsonMapper mapper;
+
+  private Object obj;
+
+  private String json;
+
+  private List<?> list;
+
+  private String arrayJson;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    final Class<?> type = BenchmarkModels.forName(model);
+    mapper = new CustomizedJsonMapper();
+    obj = BenchmarkModels.create(type, size);
+    json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
+    list = BenchmarkModels.createList(type, size);
+    arrayJson = mapper.writerWithDefaultPrettyPrinter()
+                      .writeValueAsString(Map.of(ARRAY_FIELD, list));
+  }
+
+  @Benchmark
+  public void testJsonSerialization() throws Exception {
+    JacksonJsonTestUtils.testJsonSerialization(mapper, obj);
+  }
+
+  @Benchmark
+  public void testJsonDeserialization() throws Exception {
+    JacksonJsonTestUtils.testJsonDeserialization(mapper, obj);
+  }
+
+  @Benchmark
+  public void assertJsonNodeEquals() throws Exception {
+    JsonUnitUtils.assertJsonNodeEquals(json, null, obj, mapper);
+  }
+
+  @Benchmark
+  public void assertJsonArrayEquals() throws Exception {
+    JsonUnitUtils.assertJsonArrayEquals(arrayJson, ARRAY_FIELD, list, mapper);
+  }
+}
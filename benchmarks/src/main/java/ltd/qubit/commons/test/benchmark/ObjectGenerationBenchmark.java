@@ -0,0 +1,113 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DynamicNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ltd.qubit.commons.random.EasyRandom;
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.TestGenerator;
+import ltd.qubit.commons.test.TestParameters;
+
+/**
+ * 随机对象生成的基准测试。
+ *
+ * <p>每个基准测试方法生成一个指定模型的随机实例，并以每秒生成的实例数报告其吞吐量。
+ * {@link #nextObject()} 直接调用 {@link RandomBeanGenerator#nextObject(Class)}；
+ * {@link #createObject()} 调用 {@link TestGenerator#createObject(Class)}，其结果与
+ * 前者的差异即为生成阶段探针的开销。参数 {@code model} 覆盖测试床中所有的领域对象
+ * 模型，包括 {@code Grandpa}/{@code Parent}/{@code Child} 和
+ * {@code Family}/{@code SubFamily} 这样的深层对象图；集合大小对生成开销的影响由
+ * {@link CollectionGenerationBenchmark} 测试。</p>
+ *
+ * <p>运行方式：</p>
+ * <pre><code>
+ * java -jar benchmarks/target/benchmarks.jar ObjectGenerationBenchmark -prof gc
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectGenerationBenchmark {
+
+  @Param({
+      "Address", "App", "BeanWithPhone", "Category", "Child", "City", "Code",
+      "CodeMap", "Contact", "Country", "Credential", "CredentialInfo", "District",
+      "Family", "Grandpa", "Info", "InfoWithAppEntity", "InfoWithEntity",
+      "Location", "ObjectWithArrayField", "ObjectWithBigDecimalField",
+      "ObjectWithEnumField", "ObjectWithList", "ObjectWithListField",
+      "ObjectWithListNoSize", "ObjectWithMapField", "ObjectWithMapFieldNoAnnotation",
+      "ObjectWithSet", "ObjectWithSetNoSize", "Organization", "Parent", "Phone",
+      "Province", "StatefulInfo", "Street", "StringList", "StringMap", "StringSet",
+      "SubFamily"
+  })
+  public String model;
+
+  private Class<?> type;
+
+  private RandomBeanGenerator random;
+
+  private ObjectFactory factory;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    type = BenchmarkModels.forName(model);
+    random = new RandomBeanGenerator(BenchmarkModels.SEED);
+    factory = new ObjectFactory(new RandomBeanGenerator(BenchmarkModels.SEED));
+  }
+
+  @Benchmark
+  public Object nextObject() {
+    return random.nextObject(type);
+  }
+
+  @Benchmark
+  public Object createObject() {
+    return factory.create(type);
+  }
+
+  /**
+   * 用于调用受保护的 {@link TestGenerator#createObject(Class)} 方法的测试工厂。
+   */
+  static final class ObjectFactory extends TestGenerator {
+
+    ObjectFactory(final EasyRandom random) {
+      super(random, new TestParameters());
+    }
+
+    <E> E create(final Class<E> type) {
+      return createObject(type);
+    }
+
+    @Override
+    public List<DynamicNode> generate() {
+      return List.of();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ltd.qubit.commons.test.testbed.Phone;
+import ltd.qubit.commons.test.testbed.PhoneXmlAdapter;
+
+/**
+ * {@link PhoneXmlAdapter} 的基准测试。
+ *
+ * <p>测试床中没有以 {@code @XmlJavaTypeAdapter} 引用此适配器的模型，因此这里直接对
+ * {@code size} 个随机 {@link Phone} 实例逐个调用适配器的编组和解组方法，并以每秒处理
+ * 整个列表的次数报告其吞吐量。</p>
+ *
+ * <p>运行方式：</p>
+ * <pre><code>
+ * java -jar benchmarks/target/benchmarks.jar PhoneXmlAdapterBenchmark -prof gc
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhoneXmlAdapterBenchmark {
+
+  @Param({"1", "10", "100", "1000"})
+  public int size;
+
+  private PhoneXmlAdapter adapter;
+
+  private List<Phone> phones;
+
+  private List<String> values;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    adapter = new PhoneXmlAdapter();
+    phones = BenchmarkModels.createList(Phone.class, size);
+    values = new ArrayList<>(size);
+    for (final Phone phone : phones) {
+      values.add(adapter.marshal(phone));
+    }
+  }
+
+  @Benchmark
+  public void marshal(final Blackhole blackhole) throws Exception {
+    for (final Phone phone : phones) {
+      blackhole.consume(adapter.marshal(phone));
+    }
+  }
+
+  @Benchmark
+  public void unmarshal(final Blackhole blackhole) throws Exception {
+    for (final String value : values) {
+      blackhole.consume(adapter.unmarshal(value));
+    }
+  }
+}
@@ -0,0 +1,271 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.benchmark;
+
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.test.EnumTestBase;
+import ltd.qubit.commons.test.ModelTestBase;
+import ltd.qubit.commons.test.perf.PerformanceRecorder;
+import ltd.qubit.commons.test.perf.PhaseStatistics;
+import ltd.qubit.commons.test.perf.TesterPhase;
+import ltd.qubit.commons.test.perf.TesterStatistics;
+
+/**
+ * 度量 {@link ModelTestBase} 和 {@link EnumTestBase} 完整执行开销的工具。
+ *
+ * <p>与JUnit默认的生命周期相同，此工具为每个 {@code @Test} 方法重新构造一个测试类实例，
+ * 其中包括JSON和XML映射器以及所有测试器的构造，然后调用该测试方法。每个领域对象模型
+ * 的总耗时被分解为构造耗时、{@link PerformanceRecorder} 记录的各个 {@link TesterPhase}
+ * 阶段的耗时，以及剩余的其他耗时（测试器自身的逻辑和超时监视等）。测试方法的失败
+ * 只会被计数，不会中止整个度量过程。</p>
+ *
+ * <p>运行方式（不指定模型时度量测试床中所有的领域对象模型和枚举）：</p>
+ * <pre><code>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     ltd.qubit.commons.test.benchmark.TestBaseLifecycleHarness [App Family State ...]
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+public final class TestBaseLifecycleHarness {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TestBaseLifecycleHarness.class);
+
+  /**
+   * 默认度量的测试床中的领域对象模型。
+   */
+  static final List<String> MODELS = List.of(
+      "Address", "App", "BeanWithPhone", "Category", "Child", "City", "Code",
+      "CodeMap", "Contact", "Country", "Credential", "CredentialInfo", "District",
+      "Family", "Grandpa", "Info", "InfoWithAppEntity", "InfoWithEntity",
+      "Location", "ObjectWithArrayField", "ObjectWithBigDecimalField",
+      "ObjectWithEnumField", "ObjectWithList", "ObjectWithListField",
+      "ObjectWithListNoSize", "ObjectWithMapField", "ObjectWithMapFieldNoAnnotation",
+      "ObjectWithSet", "ObjectWithSetNoSize", "Organization", "Parent", "Phone",
+      "Province", "StatefulInfo", "Street", "StringList", "StringMap", "StringSet",
+      "SubFamily");
+
+  /**
+   * 默认度量的测试床中的枚举。
+   */
+  static final List<String> ENUMS = List.of(
+      "CredentialType", "EnumWithField", "State", "VerifyScene", "VerifyState");
+
+  private static final String CONSTRUCTION = "Construction";
+
+  private static final String OTHER = "Other";
+
+  private static final String TOTAL = "TOTAL";
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private TestBaseLifecycleHarness() {}
+
+  public static void main(final String[] args) throws Exception {
+    final List<String> names = new ArrayList<>();
+    if (args.length == 0) {
+      names.addAll(MODELS);
+      names.addAll(ENUMS);
+    } else {
+      names.addAll(Arrays.asList(args));
+    }
+    final List<LifecycleCost> costs = new ArrayList<>();
+    for (final String name : names) {
+      costs.add(run(BenchmarkModels.forName(name)));
+    }
+    print(costs, System.out);
+  }
+
+  /**
+   * 完整执行指定类型的测试类的所有测试方法，并度量其耗时。
+   *
+   * @param type
+   *     被测试的领域对象模型或枚举的类型。
+   * @return 执行指定类型的测试类的开销。
+   */
+  static LifecycleCost run(final Class<?> type) {
+    final LifecycleCost cost = new LifecycleCost(type.getSimpleName());
+    final PerformanceRecorder recorder = new PerformanceRecorder();
+    PerformanceRecorder.register(recorder);
+    try {
+      for (final Method method : getTestMethods(type)) {
+        final long start = System.nanoTime();
+        final Object instance = newInstance(type);
+        final long constructed = System.nanoTime();
+        try {
+          method.invoke(instance);
+        } catch (final InvocationTargetException e) {
+          ++cost.failures;
+          LOGGER.warn("The test {} of {} failed: {}", method.getName(),
+              type.getSimpleName(), e.getCause().toString());
+        } catch (final IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+        ++cost.tests;
+        cost.constructionNanos += constructed - start;
+        cost.totalNanos += System.nanoTime() - start;
+      }
+    } finally {
+      PerformanceRecorder.unregister(recorder);
+    }
+    for (final TesterStatistics statistics : recorder.getStatistics()) {
+      for (final PhaseStatistics phase : statistics.getPhases()) {
+        cost.phaseNanos.merge(phase.getPhase(), phase.getTotalNanos(), Long::sum);
+      }
+    }
+    return cost;
+  }
+
+  private static List<Method> getTestMethods(final Class<?> type) {
+    final Class<?> testClass = (type.isEnum() ? EnumTest.class : ModelTest.class);
+    final List<Method> result = new ArrayList<>();
+    for (final Method method : testClass.getMethods()) {
+      if (method.isAnnotationPresent(Test.class)) {
+        result.add(method);
+      }
+    }
+    result.sort(Comparator.comparing(Method::getName));
+    return result;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object newInstance(final Class<?> type) {
+    if (type.isEnum()) {
+      return new EnumTest((Class) type);
+    } else {
+      return new ModelTest<>(type);
+    }
+  }
+
+  /**
+   * 以表格的形式打印各个领域对象模型的开销，以及所有模型的合计和各部分所占的比例。
+   *
+   * @param costs
+   *     各个领域对象模型的开销。
+   * @param out
+   *     输出表格的流。
+   */
+  static void print(final List<LifecycleCost> costs, final PrintStream out) {
+    final TesterPhase[] phases = TesterPhase.values();
+    final StringBuilder header = new StringBuilder(String.format("%-32s %6s %6s %12s",
+        "Model", "Tests", "Failed", CONSTRUCTION));
+    for (final TesterPhase phase : phases) {
+      header.append(String.format(" %15s", phase));
+    }
+    header.append(String.format(" %12s %12s", OTHER, TOTAL));
+    out.println("Wall time in milliseconds:");
+    out.println(header);
+    final LifecycleCost total = new LifecycleCost(TOTAL);
+    for (final LifecycleCost cost : costs) {
+      out.println(format(cost, phases));
+      total.add(cost);
+    }
+    out.println(format(total, phases));
+    final StringBuilder share = new StringBuilder(String.format("%-32s %6s %6s %11.1f%%",
+        "Share", "", "", percent(total.constructionNanos, total.totalNanos)));
+    for (final TesterPhase phase : phases) {
+      share.append(String.format(" %14.1f%%", percent(total.getPhaseNanos(phase),
+          total.totalNanos)));
+    }
+    share.append(String.format(" %11.1f%% %11.1f%%",
+        percent(total.getOtherNanos(), total.totalNanos), 100.0));
+    out.println(share);
+  }
+
+  private static String format(final LifecycleCost cost, final TesterPhase[] phases) {
+    final StringBuilder builder = new StringBuilder(String.format("%-32s %6d %6d %12.1f",
+        cost.model, cost.tests, cost.failures, millis(cost.constructionNanos)));
+    for (final TesterPhase phase : phases) {
+      builder.append(String.format(" %15.1f", millis(cost.getPhaseNanos(phase))));
+    }
+    builder.append(String.format(" %12.1f %12.1f", millis(cost.getOtherNanos()),
+        millis(cost.totalNanos)));
+    return builder.toString();
+  }
+
+  private static double millis(final long nanos) {
+    return nanos / NANOS_PER_MILLI;
+  }
+
+  private static double percent(final long part, final long whole) {
+    return (whole == 0 ? 0.0 : part * 100.0 / whole);
+  }
+
+  /**
+   * 执行一个领域对象模型或枚举的测试类的开销。
+   */
+  static final class LifecycleCost {
+
+    final String model;
+    final Map<TesterPhase, Long> phaseNanos = new EnumMap<>(TesterPhase.class);
+    int tests;
+    int failures;
+    long constructionNanos;
+    long totalNanos;
+
+    LifecycleCost(final String model) {
+      this.model = model;
+    }
+
+    long getPhaseNanos(final TesterPhase phase) {
+      return phaseNanos.getOrDefault(phase, 0L);
+    }
+
+    long getOtherNanos() {
+      long result = totalNanos - constructionNanos;
+      for (final long nanos : phaseNanos.values()) {
+        result -= nanos;
+      }
+      return result;
+    }
+
+    void add(final LifecycleCost other) {
+      tests += other.tests;
+      failures += other.failures;
+      constructionNanos += other.constructionNanos;
+      totalNanos += other.totalNanos;
+      for (final Map.Entry<TesterPhase, Long> entry : other.phaseNanos.entrySet()) {
+        phaseNanos.merge(entry.getKey(), entry.getValue(), Long::sum);
+      }
+    }
+  }
+
+  /**
+   * 使用默认构造参数的 {@link ModelTestBase}。
+   */
+  static final class ModelTest<T> extends ModelTestBase<T> {
+
+    ModelTest(final Class<T> type) {
+      super(type);
+    }
+  }
+
+  /**
+   * 使用默认构造参数的 {@link EnumTestBase}。
+   */
+  static final class EnumTest<E extends Enum<E>> extends EnumTestBase<E> {
+
+    EnumTest(final Class<E> type) {
+      super(type);
+    }
+  }
+}
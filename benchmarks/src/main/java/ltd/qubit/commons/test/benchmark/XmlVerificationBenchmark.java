@@ -0,0 +1,172 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.benchmark;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Element;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import ltd.qubit.commons.test.xml.JacksonXmlTestUtils;
+import ltd.qubit.commons.test.xml.JaxbTestUtils;
+import ltd.qubit.commons.test.xml.XmlUnitUtils;
+import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
+import ltd.qubit.commons.text.xml.jaxb.JaxbUtils;
+
+/**
+ * XML校验工具及JAXB工具的基准测试。
+ *
+ * <p>每个基准测试方法调用一次被测的工具方法，并以每秒调用次数报告其吞吐量。
+ * 参数 {@code size} 对于含有集合类型字段的模型（如 {@code ObjectWithMapField} 和
+ * {@code ObjectWithListField}）控制这些字段的元素数目；对于
+ * {@link #assertXmlMarshalListEquals()}，它控制被编组的列表中模型实例的数目。
+ * {@code Phone} 的 {@link ltd.qubit.commons.test.testbed.PhoneXmlAdapter} 由
+ * {@link PhoneXmlAdapterBenchmark} 单独测试。</p>
+ *
+ * <p>运行方式：</p>
+ * <pre><code>
+ * java -jar benchmarks/target/benchmarks.jar XmlVerificationBenchmark -prof gc
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlVerificationBenchmark {
+
+  private static final String LIST_ROOT = "list";
+
+  @Param({"Phone", "ObjectWithMapField", "ObjectWithListField"})
+  public String model;
+
+  @Param({"1", "10", "100", "1000"})
+  public int size;
+
+  private Class<Object> type;
+
+  private XmlMapper mapper;
+
+  private Object obj;
+
+  private String xml;
+
+  private String compactXml;
+
+  private String xpath;
+
+  private String xpathValue;
+
+  private List<Object> list;
+
+  private String listXml;
+
+  @SuppressWarnings("unchecked")
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    type = (Class<Object>) BenchmarkModels.forName(model);
+    mapper = new CustomizedXmlMapper();
+    obj = BenchmarkModels.create(type, size);
+    xml = JaxbUtils.marshal(obj, type);
+    final JAXBContext context = JAXBContext.newInstance(type);
+    final Marshaller marshaller = context.createMarshaller();
+    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+    final StringWriter writer = new StringWriter();
+    marshaller.marshal(obj, writer);
+    compactXml = writer.toString();
+    setupXPath();
+    list = BenchmarkModels.createList(type, size);
+    listXml = marshalList(context, list);
+  }
+
+  /**
+   * 选取根元素的第一个子元素作为XPath断言的目标；若根元素没有子元素，则选取根元素
+   * 本身。
+   */
+  private void setupXPath() throws Exception {
+    final String root = "/" + JaxbTestUtils.getXmlRootElement(type);
+    final List<Element> children = XmlUnitUtils.getXpathElement(xml, root + "/*");
+    if (children.isEmpty()) {
+      xpath = root;
+      xpathValue = XmlUnitUtils.getXpathElement(xml, root).get(0).getTextContent();
+    } else {
+      final Element child = children.get(0);
+      xpath = root + "/" + child.getTagName() + "[1]";
+      xpathValue = child.getTextContent();
+    }
+  }
+
+  /**
+   * 生成与 {@link JaxbTestUtils#assertXmlMarshalListEquals} 的编组结果语义相同的
+   * 期望XML：各实例作为XML片段逐个编组，再包裹在名为 {@value #LIST_ROOT} 的根元素中。
+   */
+  private static String marshalList(final JAXBContext context, final List<?> list)
+      throws Exception {
+    final Marshaller marshaller = context.createMarshaller();
+    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+    final StringWriter writer = new StringWriter();
+    writer.append('<').append(LIST_ROOT).append('>');
+    for (final Object item : list) {
+      marshaller.marshal(item, writer);
+    }
+    writer.append("</").append(LIST_ROOT).append('>');
+    return writer.toString();
+  }
+
+  @Benchmark
+  public void jacksonTestXmlSerialization() throws Exception {
+    JacksonXmlTestUtils.testXmlSerialization(mapper, obj);
+  }
+
+  @Benchmark
+  public void jaxbTestXmlSerialization() throws Exception {
+    JaxbTestUtils.testXmlSerialization(obj);
+  }
+
+  @Benchmark
+  public void assertXmlMarshalListEquals() throws Exception {
+    JaxbTestUtils.assertXmlMarshalListEquals(type, list, LIST_ROOT, listXml);
+  }
+
+  @Benchmark
+  public void assertXPathEquals() {
+    XmlUnitUtils.assertXPathEquals(xml, xpath, xpathValue);
+  }
+
+  @Benchmark
+  public List<Element> getXpathElement() throws Exception {
+    return XmlUnitUtils.getXpathElement(xml, "//*");
+  }
+
+  @Benchmark
+  public void assertXmlEqual() throws Exception {
+    XmlUnitUtils.assertXmlEqual(obj, xml, compactXml);
+  }
+}
@@ -8,6 +8,8 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.test;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,11 +20,15 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
 import ltd.qubit.commons.random.RandomBeanGenerator;
 import ltd.qubit.commons.test.model.CloneTester;
+import ltd.qubit.commons.test.model.CrossFormatTester;
+import ltd.qubit.commons.test.model.HashCodeDistributionTester;
 import ltd.qubit.commons.test.model.JacksonJsonTester;
 import ltd.qubit.commons.test.model.JacksonXmlTester;
+import ltd.qubit.commons.test.model.ModelTester;
 import ltd.qubit.commons.test.model.NullableAnnotationTester;
 import ltd.qubit.commons.test.model.ReferenceAnnotationTester;
 import ltd.qubit.commons.test.model.SerializableTester;
+import ltd.qubit.commons.test.model.SerializationPerformanceTester;
 import ltd.qubit.commons.test.model.SizeAnnotationTester;
 import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
 import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
@@ -57,6 +63,14 @@ public abstract class ModelTestBase<T> {
 
   protected final CloneTester<T> cloneTester;
 
+  /**
+   * 哈希值分布测试器。
+   *
+   * <p>此测试器默认是禁用的，因为它需要生成大量额外的随机实例。子类可以调用
+   * {@code hashCodeDistributionTester.setEnabled(true)} 启用它。</p>
+   */
+  protected final HashCodeDistributionTester<T> hashCodeDistributionTester;
+
   protected final SerializableTester<T> serializableTester;
 
   protected final NullableAnnotationTester<T> nullableAnnotationTester;
@@ -65,6 +79,23 @@ public abstract class ModelTestBase<T> {
 
   protected final ReferenceAnnotationTester<T> referenceAnnotationTester;
 
+  /**
+   * 序列化/反序列化吞吐量测试器。
+   *
+   * <p>此测试器默认是禁用的，子类可以在构造函数中设置其预算并调用
+   * {@code serializationPerformanceTester.setEnabled(true)} 启用它。</p>
+   */
+  protected final SerializationPerformanceTester<T> serializationPerformanceTester;
+
+  /**
+   * 在一次遍历中对比 Jackson JSON、Jackson XML 和 JAXB 格式的测试器。
+   *
+   * <p>此测试器默认是禁用的，因为其正确性检查与 {@link #jacksonJsonTester} 和
+   * {@link #xmlTester} 重叠。子类可以调用 {@code crossFormatTester.setEnabled(true)}
+   * 启用它。</p>
+   */
+  protected final CrossFormatTester<T> crossFormatTester;
+
   /**
    * 构造一个 {@link ModelTestBase} 对象。
    *
@@ -112,10 +143,38 @@ public abstract class ModelTestBase<T> {
     this.jacksonJsonTester = new JacksonJsonTester<>(type, random, loops, jsonMapper);
     this.xmlTester = new JacksonXmlTester<>(type, random, loops, xmlMapper);
     this.cloneTester = new CloneTester<>(type, random, loops);
+    this.hashCodeDistributionTester = new HashCodeDistributionTester<>(type, random, loops);
+    this.hashCodeDistributionTester.setEnabled(false);
     this.serializableTester = new SerializableTester<>(type, random, loops);
     this.nullableAnnotationTester = new NullableAnnotationTester<>(type, random, loops);
     this.sizeAnnotationTester = new SizeAnnotationTester<>(type, random, loops);
     this.referenceAnnotationTester = new ReferenceAnnotationTester<>(type, random, loops);
+    this.serializationPerformanceTester = new SerializationPerformanceTester<>(type, random,
+        loops, jsonMapper, xmlMapper);
+    this.serializationPerformanceTester.setEnabled(false);
+    this.crossFormatTester = new CrossFormatTester<>(type, random, loops, jsonMapper, xmlMapper);
+    this.crossFormatTester.setEnabled(false);
+  }
+
+  /**
+   * 构造一个 {@link ModelTestBase} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param parameters
+   *     测试参数，提供测试循环次数以及单次测试循环和单个测试器完整执行的超时时间。
+   * @param jsonMapper
+   *     用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   * @param xmlMapper
+   *     用于XML序列化/反序列化的 {@link XmlMapper} 对象。
+   */
+  protected ModelTestBase(final Class<T> type, final TestParameters parameters,
+      final JsonMapper jsonMapper, final XmlMapper xmlMapper) {
+    this(type, parameters.getLoops(), jsonMapper, xmlMapper);
+    for (final ModelTester<T> tester : getTesters()) {
+      tester.setIterationTimeout(parameters.getIterationTimeout());
+      tester.setTesterTimeout(parameters.getTesterTimeout());
+    }
   }
 
   /**
@@ -154,6 +213,17 @@ public abstract class ModelTestBase<T> {
     return random;
   }
 
+  /**
+   * 获取此测试类使用的所有测试器，包括默认禁用的测试器。
+   *
+   * @return 此测试类使用的所有测试器组成的列表。
+   */
+  public final List<ModelTester<T>> getTesters() {
+    return List.of(jacksonJsonTester, xmlTester, cloneTester, hashCodeDistributionTester,
+        serializableTester, nullableAnnotationTester, sizeAnnotationTester,
+        referenceAnnotationTester, serializationPerformanceTester, crossFormatTester);
+  }
+
   /**
    * 测试模型的JSON序列化和反序列化。
    *
@@ -187,6 +257,19 @@ public abstract class ModelTestBase<T> {
     cloneTester.test();
   }
 
+  /**
+   * 测试模型的哈希值分布。
+   *
+   * <p>此测试默认是禁用的，参见 {@link #hashCodeDistributionTester}。</p>
+   *
+   * @throws Exception
+   *     如果发生任何错误。
+   */
+  @Test
+  public void testHashCodeDistribution() throws Exception {
+    hashCodeDistributionTester.test();
+  }
+
   /**
    * 测试模型的可序列化性。
    *
@@ -230,4 +313,30 @@ public abstract class ModelTestBase<T> {
   public void testReferenceAnnotation() throws Exception {
     referenceAnnotationTester.test();
   }
+
+  /**
+   * 测试模型的JSON和XML序列化/反序列化的吞吐量。
+   *
+   * <p>此测试默认是禁用的，参见 {@link #serializationPerformanceTester}。</p>
+   *
+   * @throws Exception
+   *     如果发生任何错误。
+   */
+  @Test
+  public void testSerializationPerformance() throws Exception {
+    serializationPerformanceTester.test();
+  }
+
+  /**
+   * 对比模型在 Jackson JSON、Jackson XML 和 JAXB 格式下的序列化/反序列化结果。
+   *
+   * <p>此测试默认是禁用的，参见 {@link #crossFormatTester}。</p>
+   *
+   * @throws Exception
+   *     如果发生任何错误。
+   */
+  @Test
+  public void testCrossFormat() throws Exception {
+    crossFormatTester.test();
+  }
 }
@@ -15,6 +15,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ltd.qubit.commons.random.EasyRandom;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterPhase;
 
 import static ltd.qubit.commons.lang.Argument.requireNonNull;
 
@@ -93,7 +95,13 @@ public abstract class TestGenerator {
    * @return 创建的对象实例。
    */
   protected <E> E createObject(final Class<E> type) {
-    return random.nextObject(type);
+    final PhaseProbe probe = PhaseProbe.begin(TesterPhase.GENERATION, type,
+        getClass().getSimpleName());
+    try {
+      return random.nextObject(type);
+    } finally {
+      probe.end();
+    }
   }
 
   /**
@@ -25,6 +25,10 @@ public class TestParameters {
 
   public static final int DEFAULT_TABLE_SIZE = 10;
 
+  public static final long DEFAULT_ITERATION_TIMEOUT = 0L;
+
+  public static final long DEFAULT_TESTER_TIMEOUT = 0L;
+
   /**
    * 随机测试重复次数。
    */
@@ -40,6 +44,20 @@ public class TestParameters {
    */
   private int tableSize;
 
+  /**
+   * 单次测试循环的超时时间，单位为毫秒，0表示不限制。
+   *
+   * <p>默认不限制。仅当此超时或 {@link #testerTimeout} 大于0时，测试器才会在看门狗
+   * 线程的监视下于另一个线程中执行；否则测试器在调用线程中执行，从而可以使用调用线程
+   * 的 {@link ThreadLocal} 状态。</p>
+   */
+  private long iterationTimeout;
+
+  /**
+   * 单个测试器完整执行的超时时间，单位为毫秒，0表示不限制。
+   */
+  private long testerTimeout;
+
   /**
    * 构造一个 {@link TestParameters} 对象，并使用默认值初始化所有参数。
    */
@@ -47,6 +65,8 @@ public class TestParameters {
     loops = DEFAULT_LOOPS;
     collectionSize = DEFAULT_COLLECTION_SIZE;
     tableSize = DEFAULT_TABLE_SIZE;
+    iterationTimeout = DEFAULT_ITERATION_TIMEOUT;
+    testerTimeout = DEFAULT_TESTER_TIMEOUT;
   }
 
   /**
@@ -106,6 +126,44 @@ public class TestParameters {
     this.tableSize = tableSize;
   }
 
+  /**
+   * 获取单次测试循环的超时时间。
+   *
+   * @return 单次测试循环的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final long getIterationTimeout() {
+    return iterationTimeout;
+  }
+
+  /**
+   * 设置单次测试循环的超时时间。
+   *
+   * @param iterationTimeout
+   *     新的单次测试循环的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final void setIterationTimeout(final long iterationTimeout) {
+    this.iterationTimeout = iterationTimeout;
+  }
+
+  /**
+   * 获取单个测试器完整执行的超时时间。
+   *
+   * @return 单个测试器完整执行的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final long getTesterTimeout() {
+    return testerTimeout;
+  }
+
+  /**
+   * 设置单个测试器完整执行的超时时间。
+   *
+   * @param testerTimeout
+   *     新的单个测试器完整执行的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final void setTesterTimeout(final long testerTimeout) {
+    this.testerTimeout = testerTimeout;
+  }
+
   public boolean equals(final Object o) {
     if (this == o) {
       return true;
@@ -116,7 +174,9 @@ public class TestParameters {
     final TestParameters other = (TestParameters) o;
     return Equality.equals(loops, other.loops)
         && Equality.equals(collectionSize, other.collectionSize)
-        && Equality.equals(tableSize, other.tableSize);
+        && Equality.equals(tableSize, other.tableSize)
+        && Equality.equals(iterationTimeout, other.iterationTimeout)
+        && Equality.equals(testerTimeout, other.testerTimeout);
   }
 
   public int hashCode() {
@@ -125,6 +185,8 @@ public class TestParameters {
     result = Hash.combine(result, multiplier, loops);
     result = Hash.combine(result, multiplier, collectionSize);
     result = Hash.combine(result, multiplier, tableSize);
+    result = Hash.combine(result, multiplier, iterationTimeout);
+    result = Hash.combine(result, multiplier, testerTimeout);
     return result;
   }
 
@@ -133,6 +195,8 @@ public class TestParameters {
         .append("loops", loops)
         .append("collectionSize", collectionSize)
         .append("tableSize", tableSize)
+        .append("iterationTimeout", iterationTimeout)
+        .append("testerTimeout", testerTimeout)
         .toString();
   }
 }
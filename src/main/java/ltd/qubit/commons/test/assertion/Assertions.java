@@ -9,15 +9,15 @@
 package ltd.qubit.commons.test.assertion;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Objects;
 
 import javax.annotation.Nullable;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class Assertions {
 
@@ -26,6 +26,21 @@ public class Assertions {
     assertCollectionEquals(col1, col2, null);
   }
 
+  /**
+   * 断言两个集合包含相同的元素，忽略元素的顺序，但考虑元素的重复次数。
+   *
+   * <p>若两个集合不相等，失败信息中至多列出若干个缺失的元素和多余的元素，而不会打印
+   * 整个集合。</p>
+   *
+   * @param <T>
+   *     集合元素的类型。
+   * @param col1
+   *     期望的集合，可以为 {@code null}。
+   * @param col2
+   *     实际的集合，可以为 {@code null}。
+   * @param message
+   *     断言失败时的提示信息，可以为 {@code null}。
+   */
   public static <T> void assertCollectionEquals(@Nullable final Collection<T> col1,
       @Nullable final Collection<T> col2, @Nullable final String message) {
     if (col1 == null) {
@@ -33,12 +48,68 @@ public class Assertions {
     } else if (col2 == null) {
       assertNull(col1, message);
     } else {
-      final Set<T> set1 = new HashSet<>(col1);
-      final Set<T> set2 = new HashSet<>(col2);
-      assertEquals(set1, set2, message);
+      if (!MultisetComparator.equals(col1, col2)) {
+        final String diff = MultisetComparator.describeDifference(col1, col2);
+        fail(message == null ? diff : message + " ==> " + diff);
+      }
     }
   }
 
+  /**
+   * 断言两个对象相等，若不相等则报告它们之间的结构差异。
+   *
+   * @param expected
+   *     期望的对象，可以为 {@code null}。
+   * @param actual
+   *     实际的对象，可以为 {@code null}。
+   * @see #assertDeepEquals(Object, Object, String)
+   */
+  public static void assertDeepEquals(@Nullable final Object expected,
+      @Nullable final Object actual) {
+    assertDeepEquals(expected, actual, null);
+  }
+
+  /**
+   * 断言两个对象相等，若不相等则报告它们之间的结构差异。
+   *
+   * <p>此断言首先通过 {@code equals()} 判断两个对象是否相等，因此与
+   * {@link org.junit.jupiter.api.Assertions#assertEquals(Object, Object)} 的语义相同。
+   * 若不相等，则通过 {@link DeepDiff} 找出至多 {@value DeepDiff#DEFAULT_MAX_DIFFERENCES}
+   * 处差异，在失败信息中逐条列出其属性路径，例如 {@code children[3].address.city}，
+   * 而不是打印两个对象的完整 {@code toString()}。</p>
+   *
+   * @param expected
+   *     期望的对象，可以为 {@code null}。
+   * @param actual
+   *     实际的对象，可以为 {@code null}。
+   * @param message
+   *     断言失败时的提示信息，可以为 {@code null}。
+   */
+  public static void assertDeepEquals(@Nullable final Object expected,
+      @Nullable final Object actual, @Nullable final String message) {
+    if (Objects.equals(expected, actual)) {
+      return;
+    }
+    final List<Difference> differences = DeepDiff.diff(expected, actual);
+    final StringBuilder builder = new StringBuilder();
+    if (message != null) {
+      builder.append(message).append(" ==> ");
+    }
+    if (differences.isEmpty()) {
+      // equals() 比较了反射无法区分的内容，例如被声明为 transient 的字段
+      builder.append("equals() returned false, but no structural difference was found "
+          + "in objects of type ").append(expected == null ? null : expected.getClass().getName());
+    } else {
+      builder.append("found ").append(differences.size())
+          .append(differences.size() >= DeepDiff.DEFAULT_MAX_DIFFERENCES ? " or more" : "")
+          .append(" difference(s):");
+      for (final Difference difference : differences) {
+        builder.append("\n  ").append(difference);
+      }
+    }
+    fail(builder.toString());
+  }
+
   public static <T> void assertNotEmpty(@Nullable final Collection<T> col) {
     assertNotNull(col);
     assertFalse(col.isEmpty());
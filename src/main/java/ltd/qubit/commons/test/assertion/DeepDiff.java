@@ -0,0 +1,295 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.assertion;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 通过反射逐个属性地比较两个对象图，找出它们之间的差异及其属性路径。
+ *
+ * <p>比较的规则如下：</p>
+ * <ul>
+ *   <li>基本类型的包装类、字符串、枚举以及JDK中的其他类，通过 {@code equals()} 比较；</li>
+ *   <li>数组和 {@link List} 按下标逐个比较元素，路径形如 {@code children[3]}；</li>
+ *   <li>{@link Set} 作为整体比较，分别报告缺失的元素和多余的元素；</li>
+ *   <li>{@link Map} 按键逐个比较值，路径形如 {@code attributes[key]}，并报告缺失的键
+ *   和多余的键；</li>
+ *   <li>其他对象要求两者的类相同，并按声明顺序逐个比较其非静态、非 transient 的字段，
+ *   路径形如 {@code address.city}。</li>
+ * </ul>
+ *
+ * <p>每个类的待比较字段在首次使用时通过反射获取并设置为可访问，然后缓存起来。对象图
+ * 中的循环引用只会被比较一次。找到指定数目的差异后，比较立即停止。</p>
+ *
+ * @author 胡海星
+ */
+public final class DeepDiff {
+
+  /**
+   * 默认收集的差异的最大数目。
+   */
+  public static final int DEFAULT_MAX_DIFFERENCES = 10;
+
+  /**
+   * 在差异描述中显示的值的最大长度。
+   */
+  private static final int MAX_VALUE_LENGTH = 100;
+
+  private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+    @Override
+    protected List<Field> computeValue(final Class<?> type) {
+      return compileFields(type);
+    }
+  };
+
+  private final int maxDifferences;
+  private final List<Difference> differences = new ArrayList<>();
+  private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private DeepDiff(final int maxDifferences) {
+    this.maxDifferences = requirePositive("maxDifferences", maxDifferences);
+  }
+
+  /**
+   * 找出两个对象图之间的第一处差异。
+   *
+   * @param expected
+   *     期望的对象，可以为 {@code null}。
+   * @param actual
+   *     实际的对象，可以为 {@code null}。
+   * @return 两个对象图之间的第一处差异；若不存在差异，则返回 {@code null}。
+   */
+  @Nullable
+  public static Difference findFirst(@Nullable final Object expected,
+      @Nullable final Object actual) {
+    final List<Difference> result = diff(expected, actual, 1);
+    return (result.isEmpty() ? null : result.get(0));
+  }
+
+  /**
+   * 找出两个对象图之间的差异，至多收集 {@value #DEFAULT_MAX_DIFFERENCES} 处。
+   *
+   * @param expected
+   *     期望的对象，可以为 {@code null}。
+   * @param actual
+   *     实际的对象，可以为 {@code null}。
+   * @return 两个对象图之间的差异；若不存在差异，则返回空列表。
+   */
+  public static List<Difference> diff(@Nullable final Object expected,
+      @Nullable final Object actual) {
+    return diff(expected, actual, DEFAULT_MAX_DIFFERENCES);
+  }
+
+  /**
+   * 找出两个对象图之间的差异。
+   *
+   * @param expected
+   *     期望的对象，可以为 {@code null}。
+   * @param actual
+   *     实际的对象，可以为 {@code null}。
+   * @param maxDifferences
+   *     收集的差异的最大数目，必须为正数。
+   * @return 两个对象图之间的差异，按找到的顺序排列；若不存在差异，则返回空列表。
+   */
+  public static List<Difference> diff(@Nullable final Object expected,
+      @Nullable final Object actual, final int maxDifferences) {
+    final DeepDiff deepDiff = new DeepDiff(maxDifferences);
+    deepDiff.compare("", expected, actual);
+    return Collections.unmodifiableList(deepDiff.differences);
+  }
+
+  private boolean isFull() {
+    return differences.size() >= maxDifferences;
+  }
+
+  private void report(final String path, final String description) {
+    if (!isFull()) {
+      differences.add(new Difference(path, description));
+    }
+  }
+
+  private void compare(final String path, @Nullable final Object expected,
+      @Nullable final Object actual) {
+    if (expected == actual || isFull()) {
+      return;
+    }
+    if (expected == null || actual == null) {
+      reportValues(path, expected, actual);
+      return;
+    }
+    final Class<?> cls = expected.getClass();
+    if (cls.isArray() && actual.getClass().isArray()) {
+      compareArrays(path, expected, actual);
+    } else if (expected instanceof List && actual instanceof List) {
+      compareLists(path, (List<?>) expected, (List<?>) actual);
+    } else if (expected instanceof Set && actual instanceof Set) {
+      compareSets(path, (Set<?>) expected, (Set<?>) actual);
+    } else if (expected instanceof Map && actual instanceof Map) {
+      compareMaps(path, (Map<?, ?>) expected, (Map<?, ?>) actual);
+    } else if (cls != actual.getClass()) {
+      report(path, "expected type <" + cls.getName() + "> but was <"
+          + actual.getClass().getName() + ">");
+    } else {
+      final List<Field> fields = (isValueType(cls) ? null : FIELDS.get(cls));
+      if (fields == null) {
+        if (!expected.equals(actual)) {
+          reportValues(path, expected, actual);
+        }
+      } else if (visited.add(expected)) {
+        for (final Field field : fields) {
+          compare(join(path, field.getName()), read(field, expected), read(field, actual));
+          if (isFull()) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private void compareArrays(final String path, final Object expected, final Object actual) {
+    final int expectedLength = Array.getLength(expected);
+    final int actualLength = Array.getLength(actual);
+    if (expectedLength != actualLength) {
+      report(path, "expected length <" + expectedLength + "> but was <" + actualLength + ">");
+    }
+    final int n = Math.min(expectedLength, actualLength);
+    for (int i = 0; i < n && !isFull(); ++i) {
+      compare(path + "[" + i + "]", Array.get(expected, i), Array.get(actual, i));
+    }
+  }
+
+  private void compareLists(final String path, final List<?> expected, final List<?> actual) {
+    if (expected.size() != actual.size()) {
+      report(path, "expected size <" + expected.size() + "> but was <" + actual.size() + ">");
+    }
+    final Iterator<?> i1 = expected.iterator();
+    final Iterator<?> i2 = actual.iterator();
+    for (int i = 0; i1.hasNext() && i2.hasNext() && !isFull(); ++i) {
+      compare(path + "[" + i + "]", i1.next(), i2.next());
+    }
+  }
+
+  private void compareSets(final String path, final Set<?> expected, final Set<?> actual) {
+    for (final Object element : expected) {
+      if (isFull()) {
+        return;
+      }
+      if (!actual.contains(element)) {
+        report(path, "missing element <" + abbreviate(element) + ">");
+      }
+    }
+    for (final Object element : actual) {
+      if (isFull()) {
+        return;
+      }
+      if (!expected.contains(element)) {
+        report(path, "unexpected element <" + abbreviate(element) + ">");
+      }
+    }
+  }
+
+  private void compareMaps(final String path, final Map<?, ?> expected, final Map<?, ?> actual) {
+    for (final Map.Entry<?, ?> entry : expected.entrySet()) {
+      if (isFull()) {
+        return;
+      }
+      final String entryPath = path + "[" + abbreviate(entry.getKey()) + "]";
+      if (actual.containsKey(entry.getKey())) {
+        compare(entryPath, entry.getValue(), actual.get(entry.getKey()));
+      } else {
+        report(entryPath, "missing key");
+      }
+    }
+    for (final Object key : actual.keySet()) {
+      if (isFull()) {
+        return;
+      }
+      if (!expected.containsKey(key)) {
+        report(path + "[" + abbreviate(key) + "]", "unexpected key");
+      }
+    }
+  }
+
+  private void reportValues(final String path, @Nullable final Object expected,
+      @Nullable final Object actual) {
+    report(path, "expected <" + abbreviate(expected) + "> but was <" + abbreviate(actual) + ">");
+  }
+
+  private static boolean isValueType(final Class<?> cls) {
+    if (cls.isPrimitive() || cls.isEnum() || cls.isArray()) {
+      return true;
+    }
+    final String name = cls.getName();
+    return name.startsWith("java.")
+        || name.startsWith("javax.")
+        || name.startsWith("jdk.")
+        || name.startsWith("sun.");
+  }
+
+  /**
+   * 获取指定类中所有待比较的字段，并将其设置为可访问。
+   *
+   * @return 指定类中所有待比较的字段，父类的字段排在前面；若其中某个字段无法设置为
+   *     可访问，则返回 {@code null}，此时该类的对象通过 {@code equals()} 比较。
+   */
+  @Nullable
+  private static List<Field> compileFields(final Class<?> type) {
+    final List<Class<?>> hierarchy = new ArrayList<>();
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      hierarchy.add(0, c);
+    }
+    final List<Field> result = new ArrayList<>();
+    for (final Class<?> c : hierarchy) {
+      for (final Field field : c.getDeclaredFields()) {
+        final int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+            || field.isSynthetic()) {
+          continue;
+        }
+        if (!field.trySetAccessible()) {
+          return null;
+        }
+        result.add(field);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  @Nullable
+  private static Object read(final Field field, final Object obj) {
+    try {
+      return field.get(obj);
+    } catch (final IllegalAccessException e) {
+      throw new IllegalStateException("Cannot read the field " + field, e);
+    }
+  }
+
+  private static String join(final String path, final String name) {
+    return (path.isEmpty() ? name : path + "." + name);
+  }
+
+  private static String abbreviate(@Nullable final Object value) {
+    final String str = Objects.toString(value);
+    return (str.length() <= MAX_VALUE_LENGTH ? str : str.substring(0, MAX_VALUE_LENGTH) + "...");
+  }
+}
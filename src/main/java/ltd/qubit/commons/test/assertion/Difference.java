@@ -0,0 +1,80 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.assertion;
+
+import ltd.qubit.commons.lang.Equality;
+import ltd.qubit.commons.lang.Hash;
+
+/**
+ * 表示两个对象图在某个属性路径上的一处差异。
+ *
+ * @author 胡海星
+ * @see DeepDiff
+ */
+public final class Difference {
+
+  private final String path;
+  private final String description;
+
+  /**
+   * 构造一个 {@link Difference} 对象。
+   *
+   * @param path
+   *     差异所在的属性路径，例如 {@code "children[3].address.city"}；根对象本身的
+   *     路径为空字符串。
+   * @param description
+   *     对差异的描述。
+   */
+  public Difference(final String path, final String description) {
+    this.path = path;
+    this.description = description;
+  }
+
+  /**
+   * 获取差异所在的属性路径。
+   *
+   * @return 差异所在的属性路径；根对象本身的路径为空字符串。
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * 获取对差异的描述。
+   *
+   * @return 对差异的描述。
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if ((o == null) || (getClass() != o.getClass())) {
+      return false;
+    }
+    final Difference other = (Difference) o;
+    return Equality.equals(path, other.path)
+        && Equality.equals(description, other.description);
+  }
+
+  public int hashCode() {
+    final int multiplier = 7;
+    int result = 3;
+    result = Hash.combine(result, multiplier, path);
+    result = Hash.combine(result, multiplier, description);
+    return result;
+  }
+
+  public String toString() {
+    return (path.isEmpty() ? "<root>" : path) + ": " + description;
+  }
+}
@@ -0,0 +1,213 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.assertion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * 忽略元素顺序、但考虑元素重复次数地比较两个集合。
+ *
+ * <p>比较时首先比较两个集合的大小；若大小相同，则根据元素的类型选择以下方法之一：</p>
+ * <ul>
+ *   <li>若所有元素都是同一种整数类型的包装类，则将其拆箱到 {@code long} 数组中排序后
+ *   比较；</li>
+ *   <li>若所有元素都是同一种浮点数类型的包装类，则将其拆箱到 {@code double} 数组中
+ *   排序后比较；</li>
+ *   <li>若所有元素都是同一个实现了 {@link Comparable} 接口的类的实例，则排序后逐个
+ *   比较；若排序后相同位置的元素不相等（例如其 {@code compareTo()} 与 {@code equals()}
+ *   不一致），则退回到计数的方法；</li>
+ *   <li>否则使用一个计数映射统计每个元素在两个集合中出现的次数之差。</li>
+ * </ul>
+ *
+ * @author 胡海星
+ */
+final class MultisetComparator {
+
+  /**
+   * 比较失败时，报告的缺失或多余的元素的最大数目。
+   */
+  static final int MAX_REPORTED_ELEMENTS = 10;
+
+  private MultisetComparator() {}
+
+  /**
+   * 判断两个集合作为多重集合是否相等。
+   *
+   * @param expected
+   *     期望的集合。
+   * @param actual
+   *     实际的集合。
+   * @return 若两个集合包含相同的元素且每个元素的出现次数都相同，则返回 {@code true}；
+   *     否则返回 {@code false}。
+   */
+  static boolean equals(final Collection<?> expected, final Collection<?> actual) {
+    if (expected == actual) {
+      return true;
+    }
+    if (expected.size() != actual.size()) {
+      return false;
+    }
+    if (expected.isEmpty()) {
+      return true;
+    }
+    final Class<?> cls = getCommonClass(expected, actual);
+    if (cls != null) {
+      if (cls == Integer.class || cls == Long.class || cls == Short.class
+          || cls == Byte.class || cls == Character.class) {
+        return Arrays.equals(toSortedLongs(expected), toSortedLongs(actual));
+      } else if (cls == Double.class || cls == Float.class) {
+        return Arrays.equals(toSortedDoubles(expected), toSortedDoubles(actual));
+      } else if (Comparable.class.isAssignableFrom(cls)) {
+        final Object[] a = expected.toArray();
+        final Object[] b = actual.toArray();
+        Arrays.sort(a);
+        Arrays.sort(b);
+        if (Arrays.equals(a, b)) {
+          return true;
+        }
+        // compareTo() 可能与 equals() 不一致，需要用计数的方法确认
+      }
+    }
+    return countDifferences(expected, actual).isEmpty();
+  }
+
+  /**
+   * 描述两个集合作为多重集合的差异。
+   *
+   * @param expected
+   *     期望的集合。
+   * @param actual
+   *     实际的集合。
+   * @return 对两个集合的差异的描述，至多列出 {@value #MAX_REPORTED_ELEMENTS} 个缺失
+   *     的元素和 {@value #MAX_REPORTED_ELEMENTS} 个多余的元素。
+   */
+  static String describeDifference(final Collection<?> expected, final Collection<?> actual) {
+    final Map<Object, Integer> diff = countDifferences(expected, actual);
+    final List<Object> missing = new ArrayList<>();
+    final List<Object> extra = new ArrayList<>();
+    long missingCount = 0;
+    long extraCount = 0;
+    for (final Map.Entry<Object, Integer> entry : diff.entrySet()) {
+      final int count = entry.getValue();
+      if (count > 0) {
+        missingCount += count;
+        addBounded(missing, entry.getKey(), count);
+      } else {
+        extraCount -= count;
+        addBounded(extra, entry.getKey(), -count);
+      }
+    }
+    final StringBuilder builder = new StringBuilder();
+    if (expected.size() == actual.size()) {
+      builder.append("collections of size ").append(expected.size()).append(" differ");
+    } else {
+      builder.append("expected a collection of size ").append(expected.size())
+          .append(" but was of size ").append(actual.size());
+    }
+    if (missingCount > 0) {
+      builder.append("; missing ").append(missingCount).append(" element(s): ");
+      appendBounded(builder, missing, missingCount);
+    }
+    if (extraCount > 0) {
+      builder.append("; unexpected ").append(extraCount).append(" element(s): ");
+      appendBounded(builder, extra, extraCount);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * 统计每个元素在期望的集合中比在实际的集合中多出现的次数，只保留次数不为0的元素。
+   */
+  private static Map<Object, Integer> countDifferences(final Collection<?> expected,
+      final Collection<?> actual) {
+    final Map<Object, Integer> counts = new HashMap<>(Math.max(16, expected.size() * 4 / 3 + 1));
+    for (final Object element : expected) {
+      counts.merge(element, 1, Integer::sum);
+    }
+    for (final Object element : actual) {
+      counts.merge(element, -1, Integer::sum);
+    }
+    counts.values().removeIf((count) -> count == 0);
+    return counts;
+  }
+
+  /**
+   * 获取两个集合中所有元素的共同的类。
+   *
+   * @return 若两个集合中的所有元素都不为 {@code null} 且属于同一个类，则返回该类；
+   *     否则返回 {@code null}。
+   */
+  @Nullable
+  private static Class<?> getCommonClass(final Collection<?> expected,
+      final Collection<?> actual) {
+    final Iterator<?> iter = expected.iterator();
+    final Object first = iter.next();
+    if (first == null) {
+      return null;
+    }
+    final Class<?> cls = first.getClass();
+    while (iter.hasNext()) {
+      final Object element = iter.next();
+      if (element == null || element.getClass() != cls) {
+        return null;
+      }
+    }
+    for (final Object element : actual) {
+      if (element == null || element.getClass() != cls) {
+        return null;
+      }
+    }
+    return cls;
+  }
+
+  private static long[] toSortedLongs(final Collection<?> collection) {
+    final long[] result = new long[collection.size()];
+    int i = 0;
+    for (final Object element : collection) {
+      result[i++] = (element instanceof Character
+                     ? (Character) element
+                     : ((Number) element).longValue());
+    }
+    Arrays.sort(result);
+    return result;
+  }
+
+  private static double[] toSortedDoubles(final Collection<?> collection) {
+    final double[] result = new double[collection.size()];
+    int i = 0;
+    for (final Object element : collection) {
+      result[i++] = ((Number) element).doubleValue();
+    }
+    Arrays.sort(result);
+    return result;
+  }
+
+  private static void addBounded(final List<Object> list, final Object element,
+      final int count) {
+    for (int i = 0; i < count && list.size() < MAX_REPORTED_ELEMENTS; ++i) {
+      list.add(element);
+    }
+  }
+
+  private static void appendBounded(final StringBuilder builder, final List<Object> elements,
+      final long total) {
+    builder.append(elements);
+    if (total > elements.size()) {
+      builder.append(" and ").append(total - elements.size()).append(" more");
+    }
+  }
+}
@@ -0,0 +1,143 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.corpus;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 计算类结构指纹的工具类。
+ *
+ * <p>指纹由类及其引用的所有非JDK类的结构推导得出，包括类名、父类、类和字段上的注解、
+ * 非静态字段的名称和泛型类型，以及枚举常量。上述任何一项的变化都会改变指纹，从而使
+ * 基于旧结构生成的语料库失效。</p>
+ *
+ * @author 胡海星
+ */
+final class ClassFingerprint {
+
+  private static final ClassValue<Long> CACHE = new ClassValue<>() {
+    @Override
+    protected Long computeValue(final Class<?> type) {
+      return compute(type);
+    }
+  };
+
+  private ClassFingerprint() {}
+
+  /**
+   * 获取指定类的结构指纹。
+   *
+   * @param type
+   *     指定的类。
+   * @return 该类的结构指纹。
+   */
+  static long of(final Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  private static long compute(final Class<?> type) {
+    final StringBuilder builder = new StringBuilder();
+    describe(type, builder, new HashSet<>());
+    final byte[] hash;
+    try {
+      hash = MessageDigest.getInstance("SHA-256")
+                          .digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    long result = 0;
+    for (int i = 0; i < Long.BYTES; ++i) {
+      result = (result << Byte.SIZE) | (hash[i] & 0xFF);
+    }
+    return result;
+  }
+
+  private static void describe(final Type type, final StringBuilder builder,
+      final Set<Class<?>> visited) {
+    if (type instanceof ParameterizedType) {
+      final ParameterizedType parameterized = (ParameterizedType) type;
+      describe(parameterized.getRawType(), builder, visited);
+      for (final Type argument : parameterized.getActualTypeArguments()) {
+        describe(argument, builder, visited);
+      }
+    } else if (type instanceof GenericArrayType) {
+      describe(((GenericArrayType) type).getGenericComponentType(), builder, visited);
+    } else if (type instanceof WildcardType) {
+      for (final Type bound : ((WildcardType) type).getUpperBounds()) {
+        describe(bound, builder, visited);
+      }
+    } else if (type instanceof Class) {
+      final Class<?> cls = (Class<?>) type;
+      if (cls.isArray()) {
+        describe(cls.getComponentType(), builder, visited);
+      } else if (!cls.isPrimitive() && !isJdkClass(cls) && visited.add(cls)) {
+        describeClass(cls, builder, visited);
+      }
+    }
+  }
+
+  private static void describeClass(final Class<?> cls, final StringBuilder builder,
+      final Set<Class<?>> visited) {
+    builder.append("class ").append(cls.getName());
+    final Class<?> superclass = cls.getSuperclass();
+    if (superclass != null) {
+      builder.append(" extends ").append(superclass.getName());
+    }
+    builder.append(' ').append(Arrays.toString(cls.getDeclaredAnnotations())).append('\n');
+    if (cls.isEnum()) {
+      for (final Object constant : cls.getEnumConstants()) {
+        builder.append("  constant ").append(((Enum<?>) constant).name()).append('\n');
+      }
+    }
+    final Field[] fields = cls.getDeclaredFields();
+    Arrays.sort(fields, Comparator.comparing(Field::getName));
+    for (final Field field : fields) {
+      if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+        continue;
+      }
+      builder.append("  ")
+             .append(Modifier.toString(field.getModifiers()))
+             .append(' ')
+             .append(field.getGenericType().getTypeName())
+             .append(' ')
+             .append(field.getName())
+             .append(' ')
+             .append(Arrays.toString(field.getDeclaredAnnotations()))
+             .append('\n');
+    }
+    for (final Field field : fields) {
+      if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+        describe(field.getGenericType(), builder, visited);
+      }
+    }
+    if (superclass != null) {
+      describe(superclass, builder, visited);
+    }
+  }
+
+  private static boolean isJdkClass(final Class<?> cls) {
+    final String name = cls.getName();
+    return name.startsWith("java.")
+        || name.startsWith("javax.")
+        || name.startsWith("jdk.")
+        || name.startsWith("sun.");
+  }
+}
@@ -0,0 +1,436 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 持久化在磁盘文件中的、某个领域对象模型的随机实例语料库。
+ *
+ * <p>语料库文件由 {@link #create(Path, Class, RandomBeanGenerator, long, int)} 使用
+ * 重置为指定随机种子的 {@link RandomBeanGenerator} 生成，之后的测试运行通过
+ * {@link #open(Path, Class, long)} 以内存映射的方式打开，并在 {@link #get(int)} 时才
+ * 反序列化对应的实例，从而避免每次运行都重新生成深层的随机对象图。由于文件中不记录
+ * 生成器的配置，使用者应通过 {@link #isGeneratedBy(RandomBeanGenerator)} 检查语料库
+ * 是否与其自身的生成器一致。</p>
+ *
+ * <p>文件头中记录了模型类的结构指纹和随机种子，若模型类的结构发生变化，
+ * {@link #open(Path, Class, long)} 将返回 {@code null}，调用者应重新生成语料库。
+ * 实现了 {@link Serializable} 接口的模型使用Java序列化编码，其他模型使用JSON编码。
+ * 生成时会校验每个实例解码后与原实例相等，若不相等则拒绝生成语料库。</p>
+ *
+ * <p>文件格式如下，所有整数均为大端序：</p>
+ * <pre>
+ * int    magic
+ * int    version
+ * long   fingerprint
+ * long   seed
+ * int    codec
+ * int    count
+ * int[]  offsets       // count + 1 个，相对于数据区的起始位置
+ * byte[] data
+ * </pre>
+ *
+ * <p>此类的对象是线程安全的，每次调用 {@link #get(int)} 都返回一个新的实例。</p>
+ *
+ * @param <T>
+ *     语料库中实例的类型。
+ * @author 胡海星
+ * @see ModelCorpusStore
+ */
+public final class ModelCorpus<T> {
+
+  /**
+   * 语料库文件的魔数，即ASCII字符串 {@code "QMCP"}。
+   */
+  public static final int MAGIC = 0x514D4350;
+
+  /**
+   * 语料库文件格式的版本。
+   */
+  public static final int VERSION = 1;
+
+  private static final int CODEC_JAVA = 1;
+
+  private static final int CODEC_JSON = 2;
+
+  private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4;
+
+  private final Class<T> type;
+  private final long seed;
+  private final long fingerprint;
+  private final int codec;
+  private final int count;
+  private final ByteBuffer buffer;
+  private final int dataStart;
+  @Nullable
+  private final ObjectReader reader;
+
+  private ModelCorpus(final Class<T> type, final long seed, final long fingerprint,
+      final int codec, final int count, final ByteBuffer buffer) {
+    this.type = type;
+    this.seed = seed;
+    this.fingerprint = fingerprint;
+    this.codec = codec;
+    this.count = count;
+    this.buffer = buffer;
+    this.dataStart = HEADER_SIZE + (count + 1) * Integer.BYTES;
+    this.reader = (codec == CODEC_JSON ? new CustomizedJsonMapper().readerFor(type) : null);
+  }
+
+  /**
+   * 以内存映射的方式打开一个已存在的语料库文件。
+   *
+   * @param file
+   *     语料库文件的路径。
+   * @param type
+   *     语料库中实例的类型。
+   * @param seed
+   *     生成语料库时使用的随机种子。
+   * @param <T>
+   *     语料库中实例的类型。
+   * @return 打开的语料库；若文件不存在、已损坏，或其随机种子或模型类的结构指纹与
+   *     参数不符，则返回 {@code null}。
+   * @throws IOException
+   *     若读取文件时发生I/O错误。
+   */
+  @Nullable
+  public static <T> ModelCorpus<T> open(final Path file, final Class<T> type, final long seed)
+      throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    final MappedByteBuffer buffer;
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        return null;
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    if (buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION
+        || buffer.getLong(8) != ClassFingerprint.of(type)
+        || buffer.getLong(16) != seed) {
+      return null;
+    }
+    final int codec = buffer.getInt(24);
+    final int count = buffer.getInt(28);
+    if ((codec != CODEC_JAVA && codec != CODEC_JSON)
+        || count <= 0
+        || HEADER_SIZE + (long) (count + 1) * Integer.BYTES > buffer.capacity()) {
+      return null;
+    }
+    final ModelCorpus<T> corpus = new ModelCorpus<>(type, seed, buffer.getLong(8), codec,
+        count, buffer);
+    int previous = 0;
+    for (int i = 0; i <= count; ++i) {
+      final int offset = corpus.offset(i);
+      if (offset < previous || (long) corpus.dataStart + offset > buffer.capacity()) {
+        return null;
+      }
+      previous = offset;
+    }
+    return corpus;
+  }
+
+  /**
+   * 使用默认配置的 {@link RandomBeanGenerator} 生成一个新的语料库文件，并以内存映射
+   * 的方式打开它。
+   *
+   * @param file
+   *     语料库文件的路径。
+   * @param type
+   *     语料库中实例的类型。
+   * @param seed
+   *     生成随机实例所用的随机种子。
+   * @param count
+   *     语料库中实例的数目，必须为正数。
+   * @param <T>
+   *     语料库中实例的类型。
+   * @return 新生成的语料库。
+   * @throws IOException
+   *     若写入文件时发生I/O错误，或者某个实例无法被编码后原样解码。
+   * @see #create(Path, Class, RandomBeanGenerator, long, int)
+   */
+  public static <T> ModelCorpus<T> create(final Path file, final Class<T> type,
+      final long seed, final int count) throws IOException {
+    return create(file, type, new RandomBeanGenerator(), seed, count);
+  }
+
+  /**
+   * 使用指定的 {@link RandomBeanGenerator} 生成一个新的语料库文件，并以内存映射的方式
+   * 打开它。
+   *
+   * <p>生成前会先将生成器的种子重置为 {@code seed}，因此生成的实例只取决于生成器的
+   * 配置和随机种子。</p>
+   *
+   * <p>文件首先被写入同一目录下的临时文件，然后原子地替换目标文件，因此并发运行的
+   * 多个测试进程不会读到不完整的文件。</p>
+   *
+   * @param file
+   *     语料库文件的路径。
+   * @param type
+   *     语料库中实例的类型。
+   * @param random
+   *     用于生成随机实例的 {@link RandomBeanGenerator} 对象。
+   * @param seed
+   *     生成随机实例所用的随机种子。
+   * @param count
+   *     语料库中实例的数目，必须为正数。
+   * @param <T>
+   *     语料库中实例的类型。
+   * @return 新生成的语料库。
+   * @throws IOException
+   *     若写入文件时发生I/O错误，或者某个实例无法被编码后原样解码。
+   */
+  public static <T> ModelCorpus<T> create(final Path file, final Class<T> type,
+      final RandomBeanGenerator random, final long seed, final int count)
+      throws IOException {
+    requireNonNull("type", type);
+    requireNonNull("random", random);
+    requirePositive("count", count);
+    final int codec = (Serializable.class.isAssignableFrom(type) ? CODEC_JAVA : CODEC_JSON);
+    final ObjectWriter writer = (codec == CODEC_JSON ? new CustomizedJsonMapper().writerFor(type)
+                                                     : null);
+    final ModelCorpus<T> verifier = new ModelCorpus<>(type, seed, 0, codec, 0,
+        ByteBuffer.allocate(0));
+    final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    final int[] offsets = new int[count + 1];
+    final List<T> objects = new ArrayList<>(count);
+    synchronized (random) {
+      random.setSeed(seed);
+      for (int i = 0; i < count; ++i) {
+        objects.add(random.nextObject(type));
+      }
+    }
+    for (int i = 0; i < count; ++i) {
+      final T obj = objects.get(i);
+      final byte[] bytes = encode(codec, writer, obj);
+      final T decoded = verifier.decode(ByteBuffer.wrap(bytes));
+      if (!Objects.equals(obj, decoded)) {
+        throw new IOException("The generated instance of " + type.getName()
+            + " can not be decoded as an equal object: " + obj);
+      }
+      data.write(bytes);
+      offsets[i + 1] = data.size();
+    }
+    final Path dir = file.toAbsolutePath().getParent();
+    Files.createDirectories(dir);
+    final Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (final DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(ClassFingerprint.of(type));
+        out.writeLong(seed);
+        out.writeInt(codec);
+        out.writeInt(count);
+        for (final int offset : offsets) {
+          out.writeInt(offset);
+        }
+        data.writeTo(out);
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    final ModelCorpus<T> result = open(file, type, seed);
+    if (result == null) {
+      throw new IOException("Failed to open the generated corpus file: " + file);
+    }
+    return result;
+  }
+
+  /**
+   * 获取指定类的结构指纹。
+   *
+   * <p>类名、父类、注解、非静态字段的名称或类型，以及其引用的非JDK类的结构发生任何
+   * 变化时，指纹都会随之改变。</p>
+   *
+   * @param type
+   *     指定的类。
+   * @return 该类的结构指纹。
+   */
+  public static long fingerprintOf(final Class<?> type) {
+    return ClassFingerprint.of(type);
+  }
+
+  /**
+   * 获取语料库中实例的类型。
+   *
+   * @return 语料库中实例的类型。
+   */
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * 获取生成语料库时使用的随机种子。
+   *
+   * @return 生成语料库时使用的随机种子。
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * 获取生成语料库时模型类的结构指纹。
+   *
+   * @return 生成语料库时模型类的结构指纹。
+   */
+  public long getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * 获取语料库中实例的数目。
+   *
+   * @return 语料库中实例的数目。
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * 检查此语料库是否可以由指定的 {@link RandomBeanGenerator} 重新生成。
+   *
+   * <p>此方法将生成器的种子重置为此语料库的随机种子，生成一个实例，并与语料库中的第
+   * 一个实例比较。若两者不相等，说明生成器的配置与生成此语料库时所用的不同，调用者
+   * 不应使用此语料库代替该生成器。</p>
+   *
+   * @param random
+   *     待检查的 {@link RandomBeanGenerator} 对象，其种子会被重置。
+   * @return 若该生成器生成的第一个实例与语料库中的第一个实例相等则返回 {@code true}；
+   *     否则返回 {@code false}。
+   * @throws IOException
+   *     若无法解码语料库中的第一个实例。
+   */
+  public boolean isGeneratedBy(final RandomBeanGenerator random) throws IOException {
+    final T expected;
+    synchronized (random) {
+      random.setSeed(seed);
+      expected = random.nextObject(type);
+    }
+    return Objects.equals(expected, get(0));
+  }
+
+  /**
+   * 反序列化并返回语料库中指定位置的实例。
+   *
+   * @param index
+   *     实例的位置，从0开始。
+   * @return 一个新反序列化的实例，调用者可以任意修改它。
+   * @throws IndexOutOfBoundsException
+   *     若 {@code index} 超出范围。
+   * @throws IOException
+   *     若无法解码该实例，例如模型类的编码方式在生成语料库后发生了结构指纹无法察觉
+   *     的变化。调用者应通过 {@link ModelCorpusStore#invalidate(Class, Exception)}
+   *     使该语料库失效。
+   */
+  public T get(final int index) throws IOException {
+    Objects.checkIndex(index, count);
+    final int start = offset(index);
+    final int end = offset(index + 1);
+    return decode(buffer.slice(dataStart + start, end - start));
+  }
+
+  private int offset(final int index) {
+    return buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+  }
+
+  private T decode(final ByteBuffer bytes) throws IOException {
+    final InputStream in = new ByteBufferInputStream(bytes);
+    if (codec == CODEC_JSON) {
+      return reader.readValue(in);
+    }
+    try (final ObjectInputStream input = new ObjectInputStream(in)) {
+      return type.cast(input.readObject());
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private static byte[] encode(final int codec, @Nullable final ObjectWriter writer,
+      final Object obj) throws IOException {
+    if (codec == CODEC_JSON) {
+      return writer.writeValueAsBytes(obj);
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(obj);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * 直接读取 {@link ByteBuffer} 内容的输入流，避免将映射的内存复制到堆中。
+   */
+  private static final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return (buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1);
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      final int n = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
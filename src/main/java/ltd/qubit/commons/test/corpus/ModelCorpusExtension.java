@@ -0,0 +1,116 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.corpus;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import ltd.qubit.commons.test.model.ModelTester;
+
+/**
+ * 在测试运行期间注册 {@link ModelCorpusStore} 的 JUnit 扩展。
+ *
+ * <p>此扩展可用于 {@code ModelTestBase} 的子类，例如：</p>
+ * <pre><code>
+ * &#64;ExtendWith(ModelCorpusExtension.class)
+ * public class AppTest extends ModelTestBase&lt;App&gt; {
+ *   ...
+ * }
+ * </code></pre>
+ *
+ * <p>在整个测试运行中，所有使用此扩展的测试类共享同一个 {@link ModelCorpusStore}，
+ * 其参数可通过以下 JUnit 配置参数指定：</p>
+ * <ul>
+ *   <li>{@value #CORPUS_DIR_PARAMETER}：语料库目录，默认为 {@value #DEFAULT_CORPUS_DIR}。
+ *   在CI中应将其指向一个在多次构建之间缓存的目录。</li>
+ *   <li>{@value #CORPUS_SEED_PARAMETER}：随机种子，默认为 {@value #DEFAULT_CORPUS_SEED}。</li>
+ *   <li>{@value #CORPUS_SIZE_PARAMETER}：每个语料库中实例的数目，默认为
+ *   {@link ModelTester#DEFAULT_LOOPS}。</li>
+ * </ul>
+ *
+ * @author 胡海星
+ * @see ModelCorpusStore
+ */
+public class ModelCorpusExtension implements BeforeAllCallback {
+
+  /**
+   * 指定语料库目录的 JUnit 配置参数名称。
+   */
+  public static final String CORPUS_DIR_PARAMETER = "qubit.test.corpus.dir";
+
+  /**
+   * 指定生成语料库的随机种子的 JUnit 配置参数名称。
+   */
+  public static final String CORPUS_SEED_PARAMETER = "qubit.test.corpus.seed";
+
+  /**
+   * 指定每个语料库中实例数目的 JUnit 配置参数名称。
+   */
+  public static final String CORPUS_SIZE_PARAMETER = "qubit.test.corpus.size";
+
+  /**
+   * 默认的语料库目录。
+   */
+  public static final String DEFAULT_CORPUS_DIR = "target/model-corpus";
+
+  /**
+   * 默认的随机种子。
+   */
+  public static final long DEFAULT_CORPUS_SEED = 20220101L;
+
+  private static final Namespace NAMESPACE = Namespace.create(ModelCorpusExtension.class);
+
+  @Override
+  public void beforeAll(final ExtensionContext context) {
+    getStore(context);
+  }
+
+  /**
+   * 获取当前测试运行共享的 {@link ModelCorpusStore}，若不存在则创建并注册一个。
+   *
+   * @param context
+   *     当前的 JUnit 扩展上下文。
+   * @return 当前测试运行共享的 {@link ModelCorpusStore}。
+   */
+  public static ModelCorpusStore getStore(final ExtensionContext context) {
+    return context.getRoot()
+                  .getStore(NAMESPACE)
+                  .getOrComputeIfAbsent(StoreResource.class, k -> new StoreResource(context),
+                      StoreResource.class)
+                  .store;
+  }
+
+  private static final class StoreResource implements CloseableResource {
+
+    private final ModelCorpusStore store;
+
+    private StoreResource(final ExtensionContext context) {
+      final Path dir = Paths.get(context.getConfigurationParameter(CORPUS_DIR_PARAMETER)
+                                        .orElse(DEFAULT_CORPUS_DIR));
+      final long seed = context.getConfigurationParameter(CORPUS_SEED_PARAMETER)
+                               .map(Long::parseLong)
+                               .orElse(DEFAULT_CORPUS_SEED);
+      final int size = context.getConfigurationParameter(CORPUS_SIZE_PARAMETER)
+                              .map(Integer::parseInt)
+                              .orElse(ModelTester.DEFAULT_LOOPS);
+      store = new ModelCorpusStore(dir, seed, size);
+      ModelCorpusStore.register(store);
+    }
+
+    @Override
+    public void close() {
+      ModelCorpusStore.unregister(store);
+    }
+  }
+}
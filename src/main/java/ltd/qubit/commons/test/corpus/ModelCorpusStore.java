@@ -0,0 +1,287 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.corpus;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 管理一个目录下所有领域对象模型的 {@link ModelCorpus} 的存储。
+ *
+ * <p>每个模型类的语料库保存在文件
+ * {@code <类名>-<随机种子>-<结构指纹>.corpus} 中。首次请求某个模型类的语料库时，
+ * 若对应文件不存在或已失效，此存储会删除该模型类在同一随机种子下的旧语料库文件，并
+ * 重新生成一个；若该模型类的实例无法被可靠地编码，则记录一条警告，并且此后不再为该
+ * 模型类提供语料库。已存在的语料库文件若无法被解码，也视为已失效而重新生成。已打开
+ * 的语料库会被缓存，供同一测试运行中的所有测试器共享。</p>
+ *
+ * <p>语料库由首个请求它的测试器的 {@link RandomBeanGenerator} 生成。由于语料库文件
+ * 中不记录生成器的配置，{@link #getCorpus(Class, RandomBeanGenerator)} 只在语料库
+ * 可以由请求者的生成器重新生成时才返回它，因此配置了不同生成器的测试器不会得到与其
+ * 配置不符的测试对象。</p>
+ *
+ * <p>通过 {@link #register(ModelCorpusStore)} 注册后，
+ * {@link ltd.qubit.commons.test.model.ModelTester} 会从当前存储中获取测试对象，而不是
+ * 每次都重新随机生成。通常应使用 {@link ModelCorpusExtension} 来注册存储。</p>
+ *
+ * @author 胡海星
+ * @see ModelCorpusExtension
+ */
+public final class ModelCorpusStore {
+
+  /**
+   * 语料库文件的扩展名。
+   */
+  public static final String FILE_EXTENSION = ".corpus";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ModelCorpusStore.class);
+
+  @Nullable
+  private static volatile ModelCorpusStore current = null;
+
+  private final Path directory;
+  private final long seed;
+  private final int size;
+  private final ConcurrentMap<Class<?>, Optional<ModelCorpus<?>>> cache =
+      new ConcurrentHashMap<>();
+
+  /**
+   * 构造一个 {@link ModelCorpusStore} 对象。
+   *
+   * @param directory
+   *     存放语料库文件的目录。
+   * @param seed
+   *     生成语料库时使用的随机种子。
+   * @param size
+   *     每个语料库中实例的数目，必须为正数。
+   */
+  public ModelCorpusStore(final Path directory, final long seed, final int size) {
+    this.directory = requireNonNull("directory", directory);
+    this.seed = seed;
+    this.size = requirePositive("size", size);
+  }
+
+  /**
+   * 注册一个存储作为当前的存储。
+   *
+   * @param store
+   *     待注册的存储。
+   */
+  public static synchronized void register(final ModelCorpusStore store) {
+    current = requireNonNull("store", store);
+  }
+
+  /**
+   * 注销一个存储。若它不是当前的存储，则不做任何操作。
+   *
+   * @param store
+   *     待注销的存储。
+   */
+  public static synchronized void unregister(final ModelCorpusStore store) {
+    if (current == store) {
+      current = null;
+    }
+  }
+
+  /**
+   * 获取当前注册的存储。
+   *
+   * @return 当前注册的存储；若没有注册任何存储则返回 {@code null}。
+   */
+  @Nullable
+  public static ModelCorpusStore current() {
+    return current;
+  }
+
+  /**
+   * 获取存放语料库文件的目录。
+   *
+   * @return 存放语料库文件的目录。
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * 获取生成语料库时使用的随机种子。
+   *
+   * @return 生成语料库时使用的随机种子。
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * 获取每个语料库中实例的数目。
+   *
+   * @return 每个语料库中实例的数目。
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * 获取指定模型类的语料库文件路径。
+   *
+   * @param type
+   *     指定的模型类。
+   * @return 该模型类在其当前结构下的语料库文件路径。
+   */
+  public Path getFile(final Class<?> type) {
+    return directory.resolve(filePrefix(type)
+        + Long.toHexString(ModelCorpus.fingerprintOf(type)) + FILE_EXTENSION);
+  }
+
+  /**
+   * 获取指定模型类的、由默认配置的 {@link RandomBeanGenerator} 生成的语料库，必要时
+   * 加载或生成它。
+   *
+   * @param type
+   *     指定的模型类。
+   * @param <T>
+   *     模型的类型。
+   * @return 该模型类的语料库；若无法为该模型类生成语料库，或已有的语料库不是由默认
+   *     配置的生成器生成的，则返回 {@code null}。
+   */
+  @Nullable
+  public <T> ModelCorpus<T> getCorpus(final Class<T> type) {
+    return getCorpus(type, new RandomBeanGenerator());
+  }
+
+  /**
+   * 获取指定模型类的、可以由指定的 {@link RandomBeanGenerator} 重新生成的语料库，
+   * 必要时加载或使用该生成器生成它。
+   *
+   * @param type
+   *     指定的模型类。
+   * @param random
+   *     请求者用于生成随机实例的 {@link RandomBeanGenerator} 对象，其种子会被重置。
+   * @param <T>
+   *     模型的类型。
+   * @return 该模型类的语料库；若无法为该模型类生成语料库，或已有的语料库不能由指定的
+   *     生成器重新生成，则返回 {@code null}。
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> ModelCorpus<T> getCorpus(final Class<T> type, final RandomBeanGenerator random) {
+    final ModelCorpus<T> corpus = (ModelCorpus<T>) cache.computeIfAbsent(type,
+        (t) -> load(t, random)).orElse(null);
+    if (corpus == null) {
+      return null;
+    }
+    try {
+      if (corpus.isGeneratedBy(random)) {
+        return corpus;
+      }
+      LOGGER.debug("The corpus of {} does not match the configuration of the requesting "
+          + "generator, falling back to random generation.", type.getName());
+      return null;
+    } catch (final IOException e) {
+      invalidate(type, e);
+      return null;
+    }
+  }
+
+  /**
+   * 使指定模型类的语料库失效。
+   *
+   * <p>当语料库中的实例无法被解码时，调用者应调用此方法。此方法删除该模型类的语料库
+   * 文件并清除缓存，下次请求该模型类的语料库时将重新生成它。</p>
+   *
+   * @param type
+   *     指定的模型类。
+   * @param cause
+   *     语料库失效的原因。
+   */
+  public void invalidate(final Class<?> type, final Exception cause) {
+    LOGGER.warn("The corpus of {} is stale and will be regenerated: {}", type.getName(),
+        cause.getMessage());
+    cache.remove(type);
+    try {
+      Files.deleteIfExists(getFile(type));
+    } catch (final IOException e) {
+      LOGGER.warn("Failed to delete the stale corpus file of {}: {}", type.getName(),
+          e.getMessage());
+    }
+  }
+
+  private Optional<ModelCorpus<?>> load(final Class<?> type, final RandomBeanGenerator random) {
+    final Path file = getFile(type);
+    try {
+      final ModelCorpus<?> existing = ModelCorpus.open(file, type, seed);
+      if (existing != null && existing.size() >= size && isDecodable(existing)) {
+        LOGGER.debug("Loaded the corpus of {} from {}", type.getName(), file);
+        return Optional.of(existing);
+      }
+      deleteStaleFiles(type);
+      final long start = System.nanoTime();
+      final ModelCorpus<?> created = ModelCorpus.create(file, type, random, seed, size);
+      LOGGER.info("Generated the corpus of {} with {} instances in {} ms: {}",
+          type.getName(), size, (System.nanoTime() - start) / 1_000_000, file);
+      return Optional.of(created);
+    } catch (final IOException | RuntimeException e) {
+      LOGGER.warn("Cannot use a corpus for {}, falling back to random generation: {}",
+          type.getName(), e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private static boolean isDecodable(final ModelCorpus<?> corpus) {
+    try {
+      corpus.get(0);
+      return true;
+    } catch (final IOException e) {
+      LOGGER.debug("Failed to decode the corpus of {}: {}", corpus.getType().getName(),
+          e.getMessage());
+      return false;
+    }
+  }
+
+  private void deleteStaleFiles(final Class<?> type) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    final String glob = filePrefix(type) + "*" + FILE_EXTENSION;
+    try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+      for (final Path stale : stream) {
+        LOGGER.debug("Deleting the stale corpus file: {}", stale);
+        Files.deleteIfExists(stale);
+      }
+    }
+  }
+
+  private String filePrefix(final Class<?> type) {
+    return type.getName() + "-" + seed + "-";
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("directory", directory)
+        .append("seed", seed)
+        .append("size", size)
+        .toString();
+  }
+}
@@ -28,18 +28,21 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import ltd.qubit.commons.lang.ClassUtils;
+import ltd.qubit.commons.test.perf.PhaseProbe;
 import ltd.qubit.commons.text.jackson.module.TypeRegistrationModule;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-
 import static ltd.qubit.commons.lang.StringUtils.endsWithChar;
 import static ltd.qubit.commons.lang.StringUtils.nullToEmpty;
 import static ltd.qubit.commons.reflect.AccessibleUtils.withAccessibleObject;
 import static ltd.qubit.commons.reflect.FieldUtils.getAllFields;
 import static ltd.qubit.commons.reflect.Option.BEAN_FIELD;
+import static ltd.qubit.commons.test.assertion.Assertions.assertDeepEquals;
 import static ltd.qubit.commons.test.json.JsonUnitUtils.assertJsonNodeAbsent;
 import static ltd.qubit.commons.test.json.JsonUnitUtils.assertJsonNodeEquals;
 import static ltd.qubit.commons.test.json.JsonUnitUtils.assertJsonNodeEqualsRaw;
+import static ltd.qubit.commons.test.perf.TesterPhase.DESERIALIZATION;
+import static ltd.qubit.commons.test.perf.TesterPhase.SERIALIZATION;
+import static ltd.qubit.commons.test.perf.TesterPhase.VERIFICATION;
 import static ltd.qubit.commons.text.jackson.JacksonUtils.getPropertyName;
 import static ltd.qubit.commons.text.jackson.JacksonUtils.serializeWithSerializer;
 
@@ -71,15 +74,35 @@ public class JacksonJsonTestUtils {
   public static <T> void testJsonDeserialization(final JsonMapper mapper, final T obj)
       throws Exception {
     LOGGER.info("Testing JSON deserialization for the object:\n{}", obj);
-    final String json = mapper.writerWithDefaultPrettyPrinter()
-        .writeValueAsString(obj);
+    final String json = serialize(mapper, obj);
     LOGGER.info("The object is serialized to:\n{}", json);
-    final Object result = mapper.readValue(json, obj.getClass());
+    final Object result = deserialize(mapper, json, obj.getClass());
     LOGGER.info("The JSON is deserialized to:\n{}", result);
-    assertEquals(obj, result);
+    checkJsonDeserialization(obj, json, result);
     LOGGER.info("Test finished successfully.");
   }
 
+  /**
+   * 校验给定对象的JSON反序列化过程，但不在日志中记录对象及其JSON表示。
+   * <p>
+   * 此方法的校验逻辑与 {@link #testJsonDeserialization(JsonMapper, Object)} 相同，
+   * 适用于需要逐个校验大量对象的场景。
+   *
+   * @param <T>
+   *     待测试对象的类型。
+   * @param mapper
+   *     用于JSON序列化和反序列化的 {@link JsonMapper} 实例。
+   * @param obj
+   *     待测试的对象实例。
+   * @throws Exception
+   *     如果在序列化或反序列化过程中发生任何错误。
+   */
+  public static <T> void verifyJsonDeserialization(final JsonMapper mapper, final T obj)
+      throws Exception {
+    final String json = serialize(mapper, obj);
+    checkJsonDeserialization(obj, json, deserialize(mapper, json, obj.getClass()));
+  }
+
   /**
    * 测试给定对象的JSON序列化过程。
    * <p>
@@ -99,13 +122,78 @@ public class JacksonJsonTestUtils {
   public static <T> void testJsonSerialization(final JsonMapper mapper, final T obj)
       throws Exception {
     LOGGER.info("Testing JSON serialization for the object:\n{}", obj);
-    final String json = mapper.writerWithDefaultPrettyPrinter()
-                              .writeValueAsString(obj);
+    final String json = serialize(mapper, obj);
     LOGGER.info("The object is serialized to:\n{}", json);
-    assertJsonNodeEqualsObject(mapper, json, null, null, obj);
+    checkJsonSerialization(mapper, obj, json);
     LOGGER.info("Test finished successfully.");
   }
 
+  /**
+   * 校验给定对象的JSON序列化过程，但不在日志中记录对象及其JSON表示。
+   * <p>
+   * 此方法的校验逻辑与 {@link #testJsonSerialization(JsonMapper, Object)} 相同，
+   * 适用于需要逐个校验大量对象的场景。
+   *
+   * @param <T>
+   *     待测试对象的类型。
+   * @param mapper
+   *     用于JSON序列化的 {@link JsonMapper} 实例。
+   * @param obj
+   *     待测试的对象实例。
+   * @throws Exception
+   *     如果在序列化或断言过程中发生任何错误。
+   */
+  public static <T> void verifyJsonSerialization(final JsonMapper mapper, final T obj)
+      throws Exception {
+    checkJsonSerialization(mapper, obj, serialize(mapper, obj));
+  }
+
+  private static void checkJsonDeserialization(final Object obj, final String json,
+      final Object result) {
+    final PhaseProbe probe = PhaseProbe.begin(VERIFICATION, obj.getClass());
+    try {
+      probe.setPayloadSize(json.length());
+      assertDeepEquals(obj, result);
+    } finally {
+      probe.end();
+    }
+  }
+
+  private static void checkJsonSerialization(final JsonMapper mapper, final Object obj,
+      final String json) throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(VERIFICATION, obj.getClass());
+    try {
+      probe.setPayloadSize(json.length());
+      assertJsonNodeEqualsObject(mapper, json, null, null, obj);
+    } finally {
+      probe.end();
+    }
+  }
+
+  private static String serialize(final JsonMapper mapper, final Object obj)
+      throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(SERIALIZATION, obj.getClass());
+    try {
+      final String json = mapper.writerWithDefaultPrettyPrinter()
+                                .writeValueAsString(obj);
+      probe.setPayloadSize(json.length());
+      return json;
+    } finally {
+      probe.end();
+    }
+  }
+
+  private static <T> T deserialize(final JsonMapper mapper, final String json,
+      final Class<T> type) throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(DESERIALIZATION, type);
+    try {
+      probe.setPayloadSize(json.length());
+      return mapper.readValue(json, type);
+    } finally {
+      probe.end();
+    }
+  }
+
   private static void assertJsonNodeEqualsObject(final JsonMapper mapper,
       final String json, @Nullable final String path, @Nullable final Field field,
       @Nullable final Object fieldValue)
@@ -0,0 +1,514 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.AdversarialInput;
+import ltd.qubit.commons.test.perf.AdversarialInputResult;
+import ltd.qubit.commons.test.perf.AllocationMeter;
+import ltd.qubit.commons.test.perf.LatencyHistogram;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterPhase;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 检查类的JSON反序列化器在面对攻击性输入时的耗时和内存分配的测试器对象。
+ *
+ * <p>对外公开的接口会直接反序列化用户提交的数据，若某些语法合法的输入会让反序列化器
+ * 进入极慢的处理路径，就会构成拒绝服务攻击的风险。此测试器以待测试类型的一个随机实例
+ * 的JSON表示为基础，为 {@link AdversarialInput} 中的每种攻击分别构造一个输入：</p>
+ * <ul>
+ *   <li>{@link AdversarialInput#DEEP_NESTING}：将所有可以接受任意JSON值的字段，即类型为
+ *   {@link Object} 或 {@link JsonNode}，或元素类型为二者之一的数组、集合和映射的字段，
+ *   替换为嵌套 {@link #getNestingDepth()} 层的数组。类型确定的字段会在读到第一个
+ *   不匹配的记号时就被拒绝，无法触及嵌套深度的限制，因此若对象中没有这样的字段，则将
+ *   嵌套的数组放入一个未知字段中，并将整个输入解析为 {@link JsonNode} 树。</li>
+ *   <li>{@link AdversarialInput#HUGE_ARRAY}：将所有数组类型的字段替换为大小约为
+ *   {@link #getPayloadSize()} 字节的数组，其元素为原数组的第一个元素。</li>
+ *   <li>{@link AdversarialInput#LONG_STRING}：将所有字符串类型的字段替换为总长度约为
+ *   {@link #getPayloadSize()} 的字符串。</li>
+ *   <li>{@link AdversarialInput#UNKNOWN_FIELDS}：添加大小总计约为
+ *   {@link #getPayloadSize()} 字节的未知字段。</li>
+ *   <li>{@link AdversarialInput#BIG_NUMBER}：将所有数字类型的字段替换为
+ *   {@link #getNumberDigits()} 位的整数。</li>
+ * </ul>
+ * <p>若对象中没有相应类型的字段，则将攻击性的值放入一个未知字段中。</p>
+ *
+ * <p>对于每个输入，此测试器在预热后反序列化若干次，取其耗时和内存分配的中位数。
+ * 反序列化器可以成功反序列化该输入，也可以抛出Jackson的处理异常（例如超出流约束时
+ * 抛出的 {@link com.fasterxml.jackson.core.exc.StreamConstraintsException}）拒绝它，但
+ * 两种情况下耗时都不能超过 {@link #getMaxNanos()}，分配的内存也不能超过输入字节数的
+ * {@link #getMaxAllocationRatio()} 倍。若反序列化器抛出其他异常，或因递归过深而抛出
+ * {@link StackOverflowError}，则测试直接失败。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class AdversarialInputTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_PAYLOAD_SIZE = 1_000_000;
+
+  public static final int DEFAULT_NESTING_DEPTH = 100_000;
+
+  public static final int DEFAULT_NUMBER_DIGITS = 100_000;
+
+  public static final long DEFAULT_MAX_NANOS = 1_000_000_000L;
+
+  public static final double DEFAULT_MAX_ALLOCATION_RATIO = 32.0;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdversarialInputTester.class);
+
+  private static final int WARMUP_ROUNDS = 3;
+
+  private static final int MEASURE_ROUNDS = 5;
+
+  private static final String MARKER = "__ADVERSARIAL_INPUT_MARKER__";
+
+  private static final String UNKNOWN_FIELD = "__adversarial";
+
+  private JsonMapper mapper;
+
+  private int payloadSize = DEFAULT_PAYLOAD_SIZE;
+
+  private int nestingDepth = DEFAULT_NESTING_DEPTH;
+
+  private int numberDigits = DEFAULT_NUMBER_DIGITS;
+
+  private long maxNanos = DEFAULT_MAX_NANOS;
+
+  private double maxAllocationRatio = DEFAULT_MAX_ALLOCATION_RATIO;
+
+  private final List<AdversarialInputResult> results = new ArrayList<>();
+
+  private volatile int sink;
+
+  /**
+   * 构造一个 {@link AdversarialInputTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   */
+  public AdversarialInputTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), new CustomizedJsonMapper());
+  }
+
+  /**
+   * 构造一个 {@link AdversarialInputTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   */
+  public AdversarialInputTester(final Class<T> type, final RandomBeanGenerator random) {
+    this(type, random, new CustomizedJsonMapper());
+  }
+
+  /**
+   * 构造一个 {@link AdversarialInputTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param mapper
+   *     待检查的 {@link JsonMapper} 对象，应与对外接口所使用的配置一致。
+   */
+  public AdversarialInputTester(final Class<T> type, final RandomBeanGenerator random,
+      final JsonMapper mapper) {
+    super(type, random, 1);
+    this.mapper = requireNonNull("mapper", mapper);
+  }
+
+  /**
+   * 获取待检查的 {@link JsonMapper} 对象。
+   *
+   * @return 待检查的 {@link JsonMapper} 对象。
+   */
+  public final JsonMapper getMapper() {
+    return mapper;
+  }
+
+  /**
+   * 设置待检查的 {@link JsonMapper} 对象。
+   *
+   * @param mapper
+   *     新的待检查的 {@link JsonMapper} 对象。
+   */
+  public final void setMapper(final JsonMapper mapper) {
+    this.mapper = requireNonNull("mapper", mapper);
+  }
+
+  /**
+   * 获取大数组、长字符串和未知字段等攻击性输入的大致字节数。
+   *
+   * @return 攻击性输入的大致字节数。
+   */
+  public final int getPayloadSize() {
+    return payloadSize;
+  }
+
+  /**
+   * 设置大数组、长字符串和未知字段等攻击性输入的大致字节数。
+   *
+   * @param payloadSize
+   *     攻击性输入的大致字节数，通常应设为对外接口允许的最大请求体大小。
+   */
+  public final void setPayloadSize(final int payloadSize) {
+    this.payloadSize = requirePositive("payloadSize", payloadSize);
+  }
+
+  /**
+   * 获取深层嵌套输入的嵌套层数。
+   *
+   * @return 深层嵌套输入的嵌套层数。
+   */
+  public final int getNestingDepth() {
+    return nestingDepth;
+  }
+
+  /**
+   * 设置深层嵌套输入的嵌套层数。
+   *
+   * @param nestingDepth
+   *     深层嵌套输入的嵌套层数。
+   */
+  public final void setNestingDepth(final int nestingDepth) {
+    this.nestingDepth = requirePositive("nestingDepth", nestingDepth);
+  }
+
+  /**
+   * 获取大数字输入的位数。
+   *
+   * @return 大数字输入的位数。
+   */
+  public final int getNumberDigits() {
+    return numberDigits;
+  }
+
+  /**
+   * 设置大数字输入的位数。
+   *
+   * @param numberDigits
+   *     大数字输入的位数。
+   */
+  public final void setNumberDigits(final int numberDigits) {
+    this.numberDigits = requirePositive("numberDigits", numberDigits);
+  }
+
+  /**
+   * 获取反序列化单个攻击性输入的耗时上限。
+   *
+   * @return 反序列化单个攻击性输入的耗时上限，单位为纳秒，0表示不限制。
+   */
+  public final long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * 设置反序列化单个攻击性输入的耗时上限。
+   *
+   * @param maxNanos
+   *     反序列化单个攻击性输入的耗时上限，单位为纳秒，0表示不限制。
+   */
+  public final void setMaxNanos(final long maxNanos) {
+    this.maxNanos = requireNonNegative("maxNanos", maxNanos);
+  }
+
+  /**
+   * 获取反序列化单个攻击性输入时分配的内存与输入字节数之比的上限。
+   *
+   * @return 分配的内存与输入字节数之比的上限，0表示不限制。
+   */
+  public final double getMaxAllocationRatio() {
+    return maxAllocationRatio;
+  }
+
+  /**
+   * 设置反序列化单个攻击性输入时分配的内存与输入字节数之比的上限。
+   *
+   * @param maxAllocationRatio
+   *     分配的内存与输入字节数之比的上限，0表示不限制。
+   */
+  public final void setMaxAllocationRatio(final double maxAllocationRatio) {
+    this.maxAllocationRatio = requireNonNegative("maxAllocationRatio", maxAllocationRatio);
+  }
+
+  /**
+   * 获取最近一次测试中每种攻击性输入的测量结果。
+   *
+   * @return 最近一次测试中每种攻击性输入的测量结果的只读列表。
+   */
+  public final List<AdversarialInputResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 执行攻击性输入的测试逻辑。
+   * <p>
+   * 此方法的执行步骤如下：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 生成一个待测试类型的随机实例，并将其
+   *       JSON表示作为构造攻击性输入的基础。</li>
+   *   <li>反序列化该实例的JSON表示若干次以预热反序列化器。</li>
+   *   <li>对于每种攻击性输入，反序列化若干次，取其耗时和内存分配的中位数，并断言其
+   *       不超过上限。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果无法构造攻击性输入，或某个攻击性输入的测量结果超出上限。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    final JsonNode tree = mapper.valueToTree(nextObject(0));
+    if (!(tree instanceof ObjectNode)) {
+      LOGGER.warn("{} is not serialized as a JSON object, skip the adversarial input test.",
+          type.getSimpleName());
+      return;
+    }
+    final ObjectNode base = (ObjectNode) tree;
+    final Map<String, JavaType> untyped = findUntypedProperties();
+    final ObjectReader reader = mapper.readerFor(type);
+    final ObjectReader treeReader = mapper.readerFor(JsonNode.class);
+    final byte[] normal = mapper.writeValueAsBytes(base);
+    for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+      sink += System.identityHashCode(reader.readValue(normal));
+      sink += System.identityHashCode(treeReader.readValue(normal));
+    }
+    for (final AdversarialInput input : AdversarialInput.values()) {
+      final byte[] payload = build(base, input, untyped);
+      final boolean parseAsTree = (input == AdversarialInput.DEEP_NESTING) && untyped.isEmpty();
+      if (parseAsTree) {
+        LOGGER.info("{} has no property accepting arbitrary JSON values, so the {} input "
+            + "is parsed as a JSON tree", type.getSimpleName(), input);
+      }
+      final AdversarialInputResult result = measure(parseAsTree ? treeReader : reader,
+          input, payload);
+      results.add(result);
+      LOGGER.info("Deserializing {} with {} ({} bytes) {} in {} ms, allocated {} bytes",
+          type.getSimpleName(), input, payload.length,
+          (result.isRejected() ? "was rejected" : "succeeded"),
+          result.getNanos() / 1_000_000, result.getAllocatedBytes());
+      check(result);
+    }
+  }
+
+  private AdversarialInputResult measure(final ObjectReader reader,
+      final AdversarialInput input, final byte[] payload) throws IOException {
+    final LatencyHistogram nanos = new LatencyHistogram();
+    final LatencyHistogram allocated = new LatencyHistogram();
+    boolean allocationSupported = true;
+    String rejection = null;
+    for (int i = 0; i < MEASURE_ROUNDS; ++i) {
+      rejection = null;
+      final PhaseProbe probe = PhaseProbe.begin(TesterPhase.DESERIALIZATION, type);
+      final long startAllocated = AllocationMeter.currentThreadAllocatedBytes();
+      final long start = System.nanoTime();
+      try {
+        probe.setPayloadSize(payload.length);
+        sink += System.identityHashCode(reader.readValue(payload));
+      } catch (final JsonProcessingException e) {
+        // 包括 StreamConstraintsException；其他异常说明反序列化器存在缺陷，不视为拒绝
+        rejection = String.valueOf(e.getMessage());
+      } catch (final StackOverflowError e) {
+        fail(String.format("Deserializing %s with %s overflowed the stack.",
+            type.getName(), input));
+      } finally {
+        probe.end();
+      }
+      nanos.record(System.nanoTime() - start);
+      if (startAllocated < 0) {
+        allocationSupported = false;
+      } else {
+        allocated.record(AllocationMeter.currentThreadAllocatedBytes() - startAllocated);
+      }
+    }
+    return new AdversarialInputResult(input, payload.length, nanos.snapshot().getP50(),
+        (allocationSupported ? allocated.snapshot().getP50() : -1), rejection);
+  }
+
+  private void check(final AdversarialInputResult result) {
+    if (maxNanos > 0) {
+      assertTrue(result.getNanos() <= maxNanos, () -> String.format(
+          "Deserializing %s with %s took %d ns, which exceeds the budget of %d ns.",
+          type.getName(), result.getInput(), result.getNanos(), maxNanos));
+    }
+    if (maxAllocationRatio > 0 && result.getAllocatedBytes() >= 0) {
+      final double budget = maxAllocationRatio * result.getInputBytes();
+      assertTrue(result.getAllocatedBytes() <= budget, () -> String.format(
+          "Deserializing %s with %s of %d bytes allocated %d bytes, which exceeds "
+              + "the budget of %s times the input size.", type.getName(), result.getInput(),
+          result.getInputBytes(), result.getAllocatedBytes(), maxAllocationRatio));
+    }
+  }
+
+  private byte[] build(final ObjectNode base, final AdversarialInput input,
+      final Map<String, JavaType> untyped) throws IOException {
+    final ObjectNode node = base.deepCopy();
+    final String replacement;
+    switch (input) {
+      case DEEP_NESTING:
+        markUntyped(node, untyped);
+        replacement = "[".repeat(nestingDepth) + "]".repeat(nestingDepth);
+        break;
+      case HUGE_ARRAY: {
+        final String element = firstArrayElement(node);
+        mark(node, JsonNode::isArray);
+        final int count = Math.max(1, payloadSize / (element.length() + 1));
+        final StringBuilder builder = new StringBuilder(count * (element.length() + 1) + 1);
+        builder.append('[');
+        for (int i = 0; i < count; ++i) {
+          if (i > 0) {
+            builder.append(',');
+          }
+          builder.append(element);
+        }
+        replacement = builder.append(']').toString();
+        break;
+      }
+      case LONG_STRING: {
+        final int fields = mark(node, JsonNode::isTextual);
+        replacement = '"' + "x".repeat(Math.max(1, payloadSize / Math.max(1, fields))) + '"';
+        break;
+      }
+      case UNKNOWN_FIELDS: {
+        node.put(UNKNOWN_FIELD, MARKER);
+        final StringBuilder builder = new StringBuilder(payloadSize + 64);
+        builder.append('0');
+        for (int i = 0; builder.length() < payloadSize; ++i) {
+          builder.append(",\"").append(UNKNOWN_FIELD).append(i).append("\":0");
+        }
+        replacement = builder.toString();
+        break;
+      }
+      case BIG_NUMBER:
+        mark(node, JsonNode::isNumber);
+        replacement = "9".repeat(numberDigits);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported adversarial input: " + input);
+    }
+    return mapper.writeValueAsString(node)
+                 .replace('"' + MARKER + '"', replacement)
+                 .getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * 将对象中所有满足条件的字段的值替换为标记；若没有满足条件的字段，则添加一个值为
+   * 标记的未知字段。
+   *
+   * @return 被替换的字段的数目。
+   */
+  private static int mark(final ObjectNode node, final Predicate<JsonNode> predicate) {
+    final List<String> names = new ArrayList<>();
+    final Iterator<String> iter = node.fieldNames();
+    while (iter.hasNext()) {
+      final String name = iter.next();
+      if (predicate.test(node.get(name))) {
+        names.add(name);
+      }
+    }
+    for (final String name : names) {
+      node.put(name, MARKER);
+    }
+    if (names.isEmpty()) {
+      node.put(UNKNOWN_FIELD, MARKER);
+    }
+    return names.size();
+  }
+
+  /**
+   * 将对象中所有可以接受任意JSON值的字段的值替换为标记；若没有这样的字段，则添加一个
+   * 值为标记的未知字段。映射类型的字段的值被替换为以标记为唯一属性值的对象。
+   */
+  private static void markUntyped(final ObjectNode node, final Map<String, JavaType> untyped) {
+    for (final Map.Entry<String, JavaType> entry : untyped.entrySet()) {
+      if (entry.getValue().isMapLikeType()) {
+        node.putObject(entry.getKey()).put(UNKNOWN_FIELD, MARKER);
+      } else {
+        node.put(entry.getKey(), MARKER);
+      }
+    }
+    if (untyped.isEmpty()) {
+      node.put(UNKNOWN_FIELD, MARKER);
+    }
+  }
+
+  /**
+   * 查找待测试类型中所有可以接受任意JSON值的可反序列化属性。
+   *
+   * @return 从属性的JSON名称到其类型的映射。
+   */
+  private Map<String, JavaType> findUntypedProperties() {
+    final Map<String, JavaType> result = new LinkedHashMap<>();
+    final BeanDescription description = mapper.getDeserializationConfig()
+        .introspect(mapper.constructType(type));
+    for (final BeanPropertyDefinition property : description.findProperties()) {
+      final JavaType propertyType = property.getPrimaryType();
+      if (property.couldDeserialize() && propertyType != null && isUntyped(propertyType)) {
+        result.put(property.getName(), propertyType);
+      }
+    }
+    return result;
+  }
+
+  private static boolean isUntyped(final JavaType type) {
+    if (acceptsAnyValue(type)) {
+      return true;
+    }
+    return type.isContainerType() && acceptsAnyValue(type.getContentType());
+  }
+
+  private static boolean acceptsAnyValue(final JavaType type) {
+    final Class<?> raw = type.getRawClass();
+    return (raw == Object.class) || (raw == JsonNode.class);
+  }
+
+  private static String firstArrayElement(final ObjectNode node) {
+    final Iterator<JsonNode> iter = node.elements();
+    while (iter.hasNext()) {
+      final JsonNode value = iter.next();
+      if (value.isArray() && value.size() > 0) {
+        return value.get(0).toString();
+      }
+    }
+    return "0";
+  }
+}
@@ -0,0 +1,335 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.AllocationBudget;
+import ltd.qubit.commons.test.perf.AllocationMeter;
+import ltd.qubit.commons.test.perf.AllocationResult;
+import ltd.qubit.commons.test.perf.OperationRunner;
+import ltd.qubit.commons.test.perf.OperationRunner.Operation;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 测量类的实例在一次序列化/反序列化中分配的堆内存字节数的测试器对象。
+ *
+ * <p>此测试器使用 {@link com.sun.management.ThreadMXBean} 的线程内存分配计数器，
+ * 度量每个随机实例在序列化和反序列化中平均分配的堆内存。每次操作的内存预算可通过
+ * 此测试器的 {@link #setMaxSerializeBytes(long)} 和 {@link #setMaxDeserializeBytes(long)}
+ * 方法设置，也可通过待测试类上的 {@link AllocationBudget} 注解声明，前者优先。若某个
+ * 操作没有设置预算，则只记录其测量结果而不做断言。</p>
+ *
+ * <p>若当前JVM不支持线程内存分配计数器，则此测试器不做任何事情。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class AllocationBudgetTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_WARMUP_ITERATIONS = 20;
+
+  public static final int DEFAULT_REPEATS = 5;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AllocationBudgetTester.class);
+
+  @Nullable
+  private JsonMapper jsonMapper;
+
+  @Nullable
+  private XmlMapper xmlMapper;
+
+  private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+
+  private int repeats = DEFAULT_REPEATS;
+
+  private long maxSerializeBytes = 0;
+
+  private long maxDeserializeBytes = 0;
+
+  private final List<AllocationResult> results = new ArrayList<>();
+
+  /**
+   * 构造一个 {@link AllocationBudgetTester} 对象，只测量JSON格式。
+   *
+   * @param type
+   *     待测试的类的类型。
+   */
+  public AllocationBudgetTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), DEFAULT_LOOPS);
+  }
+
+  /**
+   * 构造一个 {@link AllocationBudgetTester} 对象，只测量JSON格式。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     随机实例的数目。
+   */
+  public AllocationBudgetTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    this(type, random, loops, new CustomizedJsonMapper(), null);
+  }
+
+  /**
+   * 构造一个 {@link AllocationBudgetTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     随机实例的数目。
+   * @param jsonMapper
+   *     用于JSON序列化/反序列化的 {@link JsonMapper} 对象；若为 {@code null} 则不测量
+   *     JSON格式。
+   * @param xmlMapper
+   *     用于XML序列化/反序列化的 {@link XmlMapper} 对象；若为 {@code null} 则不测量
+   *     XML格式。
+   */
+  public AllocationBudgetTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops, @Nullable final JsonMapper jsonMapper,
+      @Nullable final XmlMapper xmlMapper) {
+    super(type, random, loops);
+    this.jsonMapper = jsonMapper;
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   *
+   * @return 用于JSON序列化/反序列化的 {@link JsonMapper} 对象；若为 {@code null}
+   *     则不测量JSON格式。
+   */
+  @Nullable
+  public final JsonMapper getJsonMapper() {
+    return jsonMapper;
+  }
+
+  /**
+   * 设置用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   *
+   * @param jsonMapper
+   *     新的 {@link JsonMapper} 对象；若为 {@code null} 则不测量JSON格式。
+   */
+  public final void setJsonMapper(@Nullable final JsonMapper jsonMapper) {
+    this.jsonMapper = jsonMapper;
+  }
+
+  /**
+   * 获取用于XML序列化/反序列化的 {@link XmlMapper} 对象。
+   *
+   * @return 用于XML序列化/反序列化的 {@link XmlMapper} 对象；若为 {@code null}
+   *     则不测量XML格式。
+   */
+  @Nullable
+  public final XmlMapper getXmlMapper() {
+    return xmlMapper;
+  }
+
+  /**
+   * 设置用于XML序列化/反序列化的 {@link XmlMapper} 对象。
+   *
+   * @param xmlMapper
+   *     新的 {@link XmlMapper} 对象；若为 {@code null} 则不测量XML格式。
+   */
+  public final void setXmlMapper(@Nullable final XmlMapper xmlMapper) {
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取每种操作在测量前的预热次数。
+   *
+   * @return 每种操作在测量前的预热次数。
+   */
+  public final int getWarmupIterations() {
+    return warmupIterations;
+  }
+
+  /**
+   * 设置每种操作在测量前的预热次数。
+   *
+   * @param warmupIterations
+   *     新的每种操作在测量前的预热次数。
+   */
+  public final void setWarmupIterations(final int warmupIterations) {
+    this.warmupIterations = requireNonNegative("warmupIterations", warmupIterations);
+  }
+
+  /**
+   * 获取每个随机实例的每种操作的测量次数。
+   *
+   * @return 每个随机实例的每种操作的测量次数。
+   */
+  public final int getRepeats() {
+    return repeats;
+  }
+
+  /**
+   * 设置每个随机实例的每种操作的测量次数。
+   *
+   * @param repeats
+   *     新的每个随机实例的每种操作的测量次数。
+   */
+  public final void setRepeats(final int repeats) {
+    this.repeats = requirePositive("repeats", repeats);
+  }
+
+  /**
+   * 获取一次序列化平均至多允许分配的堆内存字节数。
+   *
+   * @return 一次序列化平均至多允许分配的堆内存字节数；若为0则使用待测试类上的
+   *     {@link AllocationBudget} 注解声明的预算。
+   */
+  public final long getMaxSerializeBytes() {
+    return maxSerializeBytes;
+  }
+
+  /**
+   * 设置一次序列化平均至多允许分配的堆内存字节数。
+   *
+   * @param maxSerializeBytes
+   *     一次序列化平均至多允许分配的堆内存字节数；若为0则使用待测试类上的
+   *     {@link AllocationBudget} 注解声明的预算。
+   */
+  public final void setMaxSerializeBytes(final long maxSerializeBytes) {
+    this.maxSerializeBytes = requireNonNegative("maxSerializeBytes", maxSerializeBytes);
+  }
+
+  /**
+   * 获取一次反序列化平均至多允许分配的堆内存字节数。
+   *
+   * @return 一次反序列化平均至多允许分配的堆内存字节数；若为0则使用待测试类上的
+   *     {@link AllocationBudget} 注解声明的预算。
+   */
+  public final long getMaxDeserializeBytes() {
+    return maxDeserializeBytes;
+  }
+
+  /**
+   * 设置一次反序列化平均至多允许分配的堆内存字节数。
+   *
+   * @param maxDeserializeBytes
+   *     一次反序列化平均至多允许分配的堆内存字节数；若为0则使用待测试类上的
+   *     {@link AllocationBudget} 注解声明的预算。
+   */
+  public final void setMaxDeserializeBytes(final long maxDeserializeBytes) {
+    this.maxDeserializeBytes = requireNonNegative("maxDeserializeBytes", maxDeserializeBytes);
+  }
+
+  /**
+   * 获取最近一次测试的测量结果。
+   *
+   * @return 最近一次测试的测量结果。
+   */
+  public final List<AllocationResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 执行序列化/反序列化内存分配预算的测试逻辑。
+   * <p>
+   * 此方法的执行步骤如下：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 生成 {@code loops} 个待测试类型的随机实例。</li>
+   *   <li>对于每种已配置的数据格式，先预热其序列化和反序列化操作，再分别度量每个实例
+   *   每次操作分配的堆内存字节数。</li>
+   *   <li>断言每种操作平均分配的堆内存字节数在预算之内。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在序列化或反序列化过程中发生错误，或测量结果超出预算。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    if (!AllocationMeter.isSupported()) {
+      LOGGER.warn("The JVM does not support measuring thread allocation, skip the test for {}.",
+          type.getName());
+      return;
+    }
+    final List<T> objects = new ArrayList<>(loops);
+    for (int i = 0; i < loops; ++i) {
+      objects.add(nextObject(i));
+    }
+    if (jsonMapper != null) {
+      measure("JSON", jsonMapper, objects);
+    }
+    if (xmlMapper != null) {
+      measure("XML", xmlMapper, objects);
+    }
+    final AllocationBudget annotation = type.getAnnotation(AllocationBudget.class);
+    final long serializeBudget = (maxSerializeBytes > 0 || annotation == null
+                                  ? maxSerializeBytes : annotation.serialize());
+    final long deserializeBudget = (maxDeserializeBytes > 0 || annotation == null
+                                    ? maxDeserializeBytes : annotation.deserialize());
+    for (final AllocationResult result : results) {
+      LOGGER.info("{} {} of {}: {} bytes/op on average, {} bytes/op at most",
+          result.getFormat(), result.getOperation(), type.getSimpleName(),
+          result.getBytesPerOp(), result.getMaxBytesPerOp());
+      final long budget = ("serialize".equals(result.getOperation())
+                           ? serializeBudget : deserializeBudget);
+      if (budget > 0) {
+        assertTrue(result.getBytesPerOp() <= budget,
+            () -> String.format("The %s %s of %s allocates %d bytes/op, "
+                + "which exceeds the budget of %d bytes/op.", result.getFormat(),
+                result.getOperation(), type.getName(), result.getBytesPerOp(), budget));
+      }
+    }
+  }
+
+  private void measure(final String format, final ObjectMapper mapper,
+      final List<T> objects) throws Exception {
+    final int n = objects.size();
+    results.add(run(format, "serialize",
+        OperationRunner.serializing(mapper, type, objects), n));
+    results.add(run(format, "deserialize",
+        OperationRunner.deserializing(mapper, type, objects), n));
+  }
+
+  private AllocationResult run(final String format, final String operationName,
+      final Operation operation, final int n) throws Exception {
+    OperationRunner.repeat(operation, warmupIterations);
+    int consumed = 0;
+    long total = 0;
+    long max = 0;
+    for (int r = 0; r < repeats; ++r) {
+      for (int i = 0; i < n; ++i) {
+        final long before = AllocationMeter.currentThreadAllocatedBytes();
+        consumed ^= operation.apply(i);
+        final long allocated = AllocationMeter.currentThreadAllocatedBytes() - before;
+        total += allocated;
+        max = Math.max(max, allocated);
+      }
+    }
+    OperationRunner.consume(consumed);
+    return new AllocationResult(format, operationName, (long) repeats * n, total, max);
+  }
+}
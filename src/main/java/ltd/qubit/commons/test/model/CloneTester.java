@@ -12,10 +12,13 @@ import ltd.qubit.commons.lang.Assignable;
 import ltd.qubit.commons.lang.CloneableEx;
 import ltd.qubit.commons.random.RandomBeanGenerator;
 import ltd.qubit.commons.reflect.ConstructorUtils;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterPhase;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 
+import static ltd.qubit.commons.test.assertion.Assertions.assertDeepEquals;
+
 /**
  * 测试实现了`CloneEx`和`Assignable`的类是否正确实现了`clone()`和`assign()`方法。
  *
@@ -100,14 +103,19 @@ public class CloneTester<T> extends ModelTester<T> {
   protected void doTest() throws Exception {
     if (CloneableEx.class.isAssignableFrom(type)) {
       for (int i = 0; i < loops; ++i) {
-        final T obj = random.nextObject(type);
-        final T clonedCopy = ((CloneableEx<T>) obj).cloneEx();
-        assertEquals(obj, clonedCopy, "The cloned copy must equals to the original object.");
-        assertNotSame(obj, clonedCopy, "The cloned copy must not be the same as the original object.");
-        if (obj instanceof Assignable) {
-          final T assignedCopy = ConstructorUtils.newInstance(type);
-          ((Assignable<T>) assignedCopy).assign(obj);
-          assertEquals(obj, assignedCopy, "The assigned copy must equals to the original object.");
+        final T obj = nextObject(i);
+        final PhaseProbe probe = PhaseProbe.begin(TesterPhase.VERIFICATION, type);
+        try {
+          final T clonedCopy = ((CloneableEx<T>) obj).cloneEx();
+          assertDeepEquals(obj, clonedCopy, "The cloned copy must equals to the original object.");
+          assertNotSame(obj, clonedCopy, "The cloned copy must not be the same as the original object.");
+          if (obj instanceof Assignable) {
+            final T assignedCopy = ConstructorUtils.newInstance(type);
+            ((Assignable<T>) assignedCopy).assign(obj);
+            assertDeepEquals(obj, assignedCopy, "The assigned copy must equals to the original object.");
+          }
+        } finally {
+          probe.end();
         }
       }
     }
@@ -0,0 +1,306 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.ColdStartResult;
+import ltd.qubit.commons.test.perf.LatencyHistogram;
+import ltd.qubit.commons.test.perf.OperationRunner;
+import ltd.qubit.commons.test.perf.OperationRunner.Operation;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterPhase;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 测量映射器首次序列化/反序列化某个类时的冷启动耗时的测试器对象。
+ *
+ * <p>映射器首次处理某个类时需要内省其注解并构建序列化器和反序列化器，耗时可能远
+ * 高于稳态时的耗时。此测试器循环 {@code loops} 次，每次都通过映射器工厂创建一个
+ * 新的映射器，测量在其上首次序列化一个随机实例的耗时，再另外创建一个新的映射器，
+ * 测量在其上首次反序列化序列化结果的耗时，使反序列化不会复用序列化时已内省的类型
+ * 信息；然后在第一个映射器上预热后测量稳态时的平均耗时。冷启动耗时取所有循环的
+ * 中位数，以排除JVM首次加载相关类的影响。</p>
+ *
+ * <p>首次执行的操作被 {@link PhaseProbe} 探测，因此在
+ * {@link ltd.qubit.commons.test.perf.PerformanceReportExtension} 生成的报告中，可以
+ * 按 {@code ColdStartTester} 的各阶段耗时比较各个模型的冷启动代价。若设置了冷启动
+ * 耗时的上限，则测量结果超出预算时测试失败。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class ColdStartTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_WARM_ITERATIONS = 200;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ColdStartTester.class);
+
+  @Nullable
+  private Supplier<? extends JsonMapper> jsonMapperFactory;
+
+  @Nullable
+  private Supplier<? extends XmlMapper> xmlMapperFactory;
+
+  private int warmIterations = DEFAULT_WARM_ITERATIONS;
+
+  private long maxColdNanos = 0;
+
+  private final List<ColdStartResult> results = new ArrayList<>();
+
+  /**
+   * 构造一个 {@link ColdStartTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   */
+  public ColdStartTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), DEFAULT_LOOPS);
+  }
+
+  /**
+   * 构造一个 {@link ColdStartTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     创建新映射器并测量冷启动耗时的次数。
+   */
+  public ColdStartTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    this(type, random, loops, CustomizedJsonMapper::new, CustomizedXmlMapper::new);
+  }
+
+  /**
+   * 构造一个 {@link ColdStartTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     创建新映射器并测量冷启动耗时的次数。
+   * @param jsonMapperFactory
+   *     用于创建新的 {@link JsonMapper} 对象的工厂；若为 {@code null} 则不测量JSON
+   *     格式。
+   * @param xmlMapperFactory
+   *     用于创建新的 {@link XmlMapper} 对象的工厂；若为 {@code null} 则不测量XML
+   *     格式。
+   */
+  public ColdStartTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops, @Nullable final Supplier<? extends JsonMapper> jsonMapperFactory,
+      @Nullable final Supplier<? extends XmlMapper> xmlMapperFactory) {
+    super(type, random, loops);
+    this.jsonMapperFactory = jsonMapperFactory;
+    this.xmlMapperFactory = xmlMapperFactory;
+  }
+
+  /**
+   * 获取用于创建新的 {@link JsonMapper} 对象的工厂。
+   *
+   * @return 用于创建新的 {@link JsonMapper} 对象的工厂；若为 {@code null} 则不测量
+   *     JSON格式。
+   */
+  @Nullable
+  public final Supplier<? extends JsonMapper> getJsonMapperFactory() {
+    return jsonMapperFactory;
+  }
+
+  /**
+   * 设置用于创建新的 {@link JsonMapper} 对象的工厂。
+   *
+   * @param jsonMapperFactory
+   *     新的用于创建 {@link JsonMapper} 对象的工厂；若为 {@code null} 则不测量JSON
+   *     格式。
+   */
+  public final void setJsonMapperFactory(
+      @Nullable final Supplier<? extends JsonMapper> jsonMapperFactory) {
+    this.jsonMapperFactory = jsonMapperFactory;
+  }
+
+  /**
+   * 获取用于创建新的 {@link XmlMapper} 对象的工厂。
+   *
+   * @return 用于创建新的 {@link XmlMapper} 对象的工厂；若为 {@code null} 则不测量
+   *     XML格式。
+   */
+  @Nullable
+  public final Supplier<? extends XmlMapper> getXmlMapperFactory() {
+    return xmlMapperFactory;
+  }
+
+  /**
+   * 设置用于创建新的 {@link XmlMapper} 对象的工厂。
+   *
+   * @param xmlMapperFactory
+   *     新的用于创建 {@link XmlMapper} 对象的工厂；若为 {@code null} 则不测量XML
+   *     格式。
+   */
+  public final void setXmlMapperFactory(
+      @Nullable final Supplier<? extends XmlMapper> xmlMapperFactory) {
+    this.xmlMapperFactory = xmlMapperFactory;
+  }
+
+  /**
+   * 获取测量稳态耗时时每种操作的执行次数。
+   *
+   * <p>在计时之前，每种操作还会先执行相同次数的不计时预热。</p>
+   *
+   * @return 测量稳态耗时时每种操作的执行次数。
+   */
+  public final int getWarmIterations() {
+    return warmIterations;
+  }
+
+  /**
+   * 设置测量稳态耗时时每种操作的执行次数。
+   *
+   * @param warmIterations
+   *     新的测量稳态耗时时每种操作的执行次数。
+   */
+  public final void setWarmIterations(final int warmIterations) {
+    this.warmIterations = requirePositive("warmIterations", warmIterations);
+  }
+
+  /**
+   * 获取冷启动耗时的上限。
+   *
+   * @return 在新建的映射器上首次执行每种操作至多耗费的纳秒数；若为0则不检查。
+   */
+  public final long getMaxColdNanos() {
+    return maxColdNanos;
+  }
+
+  /**
+   * 设置冷启动耗时的上限。
+   *
+   * @param maxColdNanos
+   *     在新建的映射器上首次执行每种操作至多耗费的纳秒数；若为0则不检查。
+   */
+  public final void setMaxColdNanos(final long maxColdNanos) {
+    this.maxColdNanos = requireNonNegative("maxColdNanos", maxColdNanos);
+  }
+
+  /**
+   * 获取最近一次测试的测量结果。
+   *
+   * @return 最近一次测试的测量结果。
+   */
+  public final List<ColdStartResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 执行冷启动耗时的测试逻辑。
+   * <p>
+   * 对于每种已配置的数据格式，循环 {@code loops} 次，在每次循环中：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 生成一个待测试类型的随机实例。</li>
+   *   <li>创建一个新的映射器，测量在其上首次序列化该实例的耗时。</li>
+   *   <li>再创建另一个新的映射器，测量在其上首次反序列化上一步的序列化结果的耗时。</li>
+   *   <li>在第一个映射器上先执行 {@code warmIterations} 次不计时的序列化和反序列化
+   *   操作作为预热，再各执行 {@code warmIterations} 次，测量其稳态时的平均耗时。</li>
+   * </ol>
+   * 最后断言每种操作冷启动耗时的中位数在预算之内。
+   *
+   * @throws Exception
+   *     如果在序列化或反序列化过程中发生错误，或测量结果超出预算。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    if (jsonMapperFactory != null) {
+      measure("JSON", jsonMapperFactory);
+    }
+    if (xmlMapperFactory != null) {
+      measure("XML", xmlMapperFactory);
+    }
+    for (final ColdStartResult result : results) {
+      LOGGER.info("{} {} of {}: first call {} ns, steady state {} ns/op, ratio {}",
+          result.getFormat(), result.getOperation(), type.getSimpleName(),
+          result.getColdNanos(), result.getWarmNanos(),
+          String.format("%.1f", result.getRatio()));
+      if (maxColdNanos > 0) {
+        assertTrue(result.getColdNanos() <= maxColdNanos, () -> String.format(
+            "The first %s %s of %s on a fresh mapper takes %d ns, "
+                + "which exceeds the budget of %d ns.", result.getFormat(),
+            result.getOperation(), type.getName(), result.getColdNanos(), maxColdNanos));
+      }
+    }
+  }
+
+  private void measure(final String format, final Supplier<? extends ObjectMapper> factory)
+      throws Exception {
+    final LatencyHistogram coldSerialize = new LatencyHistogram();
+    final LatencyHistogram coldDeserialize = new LatencyHistogram();
+    long warmSerialize = 0;
+    long warmDeserialize = 0;
+    for (int i = 0; i < loops; ++i) {
+      final T obj = nextObject(i);
+      final ObjectMapper mapper = factory.get();
+      final String payload;
+      PhaseProbe probe = PhaseProbe.begin(TesterPhase.SERIALIZATION, type);
+      try {
+        final long start = System.nanoTime();
+        payload = mapper.writeValueAsString(obj);
+        coldSerialize.record(System.nanoTime() - start);
+        probe.setPayloadSize(payload.length());
+      } finally {
+        probe.end();
+      }
+      // 在另一个新建的映射器上反序列化，避免复用序列化时已构建的类型信息
+      final ObjectMapper reader = factory.get();
+      probe = PhaseProbe.begin(TesterPhase.DESERIALIZATION, type);
+      try {
+        probe.setPayloadSize(payload.length());
+        final long start = System.nanoTime();
+        final T result = reader.readValue(payload, type);
+        coldDeserialize.record(System.nanoTime() - start);
+        OperationRunner.consume(System.identityHashCode(result));
+      } finally {
+        probe.end();
+      }
+      // 先在同一映射器上执行不计时的预热，再测量稳态时的耗时
+      final List<T> objects = List.of(obj);
+      final Operation serialize = OperationRunner.serializing(mapper, type, objects);
+      final Operation deserialize = OperationRunner.deserializing(mapper, type, objects);
+      OperationRunner.repeat(serialize, warmIterations);
+      OperationRunner.repeat(deserialize, warmIterations);
+      warmSerialize += OperationRunner.time(serialize, warmIterations);
+      warmDeserialize += OperationRunner.time(deserialize, warmIterations);
+    }
+    final long iterations = (long) loops * warmIterations;
+    results.add(new ColdStartResult(format, "serialize", coldSerialize.snapshot().getP50(),
+        warmSerialize / iterations));
+    results.add(new ColdStartResult(format, "deserialize", coldDeserialize.snapshot().getP50(),
+        warmDeserialize / iterations));
+  }
+}
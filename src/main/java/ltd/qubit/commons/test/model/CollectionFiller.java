@@ -0,0 +1,202 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
+
+import ltd.qubit.commons.random.EasyRandom;
+import ltd.qubit.commons.reflect.ConstructorUtils;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 将对象的集合、映射和数组类型的字段替换为包含指定数目随机元素的新值的工具。
+ *
+ * <p>随机对象生成器生成的集合大小是随机的，而度量耗时随集合大小的变化情况时需要
+ * 精确控制集合的大小。此工具只替换对象自身的可修改字段，并且只处理元素类型可以由
+ * 字段的泛型参数确定的集合和映射。</p>
+ *
+ * @author 胡海星
+ */
+public final class CollectionFiller {
+
+  private final EasyRandom random;
+
+  /**
+   * 构造一个 {@link CollectionFiller} 对象。
+   *
+   * @param random
+   *     用于生成集合元素的随机对象生成器。
+   */
+  public CollectionFiller(final EasyRandom random) {
+    this.random = requireNonNull("random", random);
+  }
+
+  /**
+   * 获取指定类型中可以被此工具替换的字段。
+   *
+   * @param type
+   *     指定的类型。
+   * @return 指定类型中所有可修改的集合、映射和数组类型的字段，且其元素类型可以确定。
+   */
+  public static List<Field> getSizableFields(final Class<?> type) {
+    final List<Field> result = new ArrayList<>();
+    for (final Field field : ModelFields.getMutableFields(type)) {
+      if (isSizable(field)) {
+        result.add(field);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 将对象的所有集合、映射和数组类型的字段替换为包含指定数目随机元素的新值。
+   *
+   * <p>若字段有对应的公有setter方法，则通过该方法设置新值，使setter中的防御性复制或
+   * 校验逻辑得以执行；否则直接设置字段的值。</p>
+   *
+   * @param <T>
+   *     对象的类型。
+   * @param type
+   *     对象的类型。
+   * @param obj
+   *     待修改的对象。
+   * @param size
+   *     新的集合中元素的数目。注意集合和映射可能去除重复的元素，因此其实际大小可能
+   *     小于此值。
+   * @return 修改后的对象，即 {@code obj} 本身。
+   * @throws Exception
+   *     如果在创建或设置字段值时发生错误。
+   */
+  public <T> T resize(final Class<T> type, final T obj, final int size) throws Exception {
+    requireNonNegative("size", size);
+    for (final Field field : getSizableFields(type)) {
+      final Object value = fill(field, field.get(obj), size);
+      final Method setter = findSetter(type, field);
+      if (setter != null) {
+        setter.invoke(obj, value);
+      } else {
+        field.set(obj, value);
+      }
+    }
+    return obj;
+  }
+
+  @Nullable
+  private static Method findSetter(final Class<?> type, final Field field) {
+    final String name = field.getName();
+    final String setterName = "set" + Character.toUpperCase(name.charAt(0))
+        + name.substring(1);
+    try {
+      final Method setter = type.getMethod(setterName, field.getType());
+      return (Modifier.isStatic(setter.getModifiers()) ? null : setter);
+    } catch (final NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  static boolean isSizable(final Field field) {
+    final Class<?> fieldType = field.getType();
+    if (fieldType.isArray()) {
+      return true;
+    } else if (Collection.class.isAssignableFrom(fieldType)) {
+      return getTypeArgument(field, 0) != null;
+    } else if (Map.class.isAssignableFrom(fieldType)) {
+      return getTypeArgument(field, 0) != null && getTypeArgument(field, 1) != null;
+    } else {
+      return false;
+    }
+  }
+
+  @Nullable
+  private static Class<?> getTypeArgument(final Field field, final int index) {
+    final Type genericType = field.getGenericType();
+    if (genericType instanceof ParameterizedType) {
+      final Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+      if (index < arguments.length && arguments[index] instanceof Class) {
+        return (Class<?>) arguments[index];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 创建一个包含指定数目随机元素的新值，用于替换指定字段的当前值。
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  Object fill(final Field field, @Nullable final Object current, final int size)
+      throws Exception {
+    final Class<?> fieldType = field.getType();
+    if (fieldType.isArray()) {
+      final Class<?> componentType = fieldType.getComponentType();
+      final Object array = Array.newInstance(componentType, size);
+      for (int i = 0; i < size; ++i) {
+        Array.set(array, i, random.nextObject(componentType));
+      }
+      return array;
+    } else if (Collection.class.isAssignableFrom(fieldType)) {
+      final Class<?> elementType = getTypeArgument(field, 0);
+      final Collection collection = (Collection) newContainer(fieldType, current);
+      // 集合可能去除重复的元素，因此限制尝试的次数
+      for (int i = 0; collection.size() < size && i < size * 2; ++i) {
+        collection.add(random.nextObject(elementType));
+      }
+      return collection;
+    } else {
+      final Class<?> keyType = getTypeArgument(field, 0);
+      final Class<?> valueType = getTypeArgument(field, 1);
+      final Map map = (Map) newContainer(fieldType, current);
+      for (int i = 0; map.size() < size && i < size * 2; ++i) {
+        map.put(random.nextObject(keyType), random.nextObject(valueType));
+      }
+      return map;
+    }
+  }
+
+  private static Object newContainer(final Class<?> fieldType, @Nullable final Object current) {
+    final Class<?> cls = (current != null ? current.getClass() : fieldType);
+    if (!cls.isInterface() && !Modifier.isAbstract(cls.getModifiers())) {
+      try {
+        return ConstructorUtils.newInstance(cls);
+      } catch (final RuntimeException e) {
+        // 例如不可变的集合，使用与字段类型兼容的默认实现
+      }
+    }
+    if (SortedSet.class.isAssignableFrom(fieldType)) {
+      return new TreeSet<>();
+    } else if (Set.class.isAssignableFrom(fieldType)) {
+      return new LinkedHashSet<>();
+    } else if (Collection.class.isAssignableFrom(fieldType)) {
+      return new ArrayList<>();
+    } else if (SortedMap.class.isAssignableFrom(fieldType)) {
+      return new TreeMap<>();
+    } else {
+      return new LinkedHashMap<>();
+    }
+  }
+}
@@ -0,0 +1,376 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.OperationRunner;
+import ltd.qubit.commons.test.perf.OperationRunner.Operation;
+import ltd.qubit.commons.test.perf.ScalingResult;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 测量多个线程共享同一个映射器进行序列化/反序列化时吞吐量扩展情况的测试器对象。
+ *
+ * <p>此测试器预先生成 {@code loops} 个随机实例，然后对于每种数据格式，分别使用1、2、
+ * 4……直至 {@code maxThreads} 个线程，通过同一个 {@link ObjectMapper} 交替执行序列化
+ * 和反序列化操作，测量所有线程合计的吞吐量，并计算扩展效率，即实际吞吐量与单线程
+ * 吞吐量乘以线程数目之比。</p>
+ *
+ * <p>自定义的序列化器、编解码器或同步代码中的锁竞争会使吞吐量无法随线程数目线性
+ * 增长。默认只报告扩展效率；若设定了扩展效率的下限，并且线程数目最多时的扩展效率
+ * 低于该下限，则测试失败。注意在共享的或启用了超线程的机器上，即使没有锁竞争，扩展
+ * 效率也可能明显低于1。</p>
+ *
+ * <p>线程数目的上限默认为当前可用的处理器数目，但不超过 {@value #DEFAULT_MAX_THREADS}；
+ * 若只有一个处理器，则此测试器只测量单线程吞吐量而不做断言。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class ConcurrentScalingTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_MAX_THREADS = 8;
+
+  public static final int DEFAULT_WARMUP_ITERATIONS = 500;
+
+  public static final int DEFAULT_ITERATIONS_PER_THREAD = 2000;
+
+  public static final double DEFAULT_MIN_EFFICIENCY = 0;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentScalingTester.class);
+
+  @Nullable
+  private JsonMapper jsonMapper;
+
+  @Nullable
+  private XmlMapper xmlMapper;
+
+  private int maxThreads = Math.min(DEFAULT_MAX_THREADS,
+      Runtime.getRuntime().availableProcessors());
+
+  private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+
+  private int iterationsPerThread = DEFAULT_ITERATIONS_PER_THREAD;
+
+  private double minEfficiency = DEFAULT_MIN_EFFICIENCY;
+
+  private final List<ScalingResult> results = new ArrayList<>();
+
+  /**
+   * 构造一个 {@link ConcurrentScalingTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   */
+  public ConcurrentScalingTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), DEFAULT_LOOPS);
+  }
+
+  /**
+   * 构造一个 {@link ConcurrentScalingTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     预先生成的随机实例的数目。
+   */
+  public ConcurrentScalingTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    this(type, random, loops, new CustomizedJsonMapper(), new CustomizedXmlMapper());
+  }
+
+  /**
+   * 构造一个 {@link ConcurrentScalingTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     预先生成的随机实例的数目。
+   * @param jsonMapper
+   *     被所有线程共享的 {@link JsonMapper} 对象；若为 {@code null} 则不测量JSON
+   *     格式。
+   * @param xmlMapper
+   *     被所有线程共享的 {@link XmlMapper} 对象；若为 {@code null} 则不测量XML格式。
+   */
+  public ConcurrentScalingTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops, @Nullable final JsonMapper jsonMapper,
+      @Nullable final XmlMapper xmlMapper) {
+    super(type, random, loops);
+    this.jsonMapper = jsonMapper;
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取被所有线程共享的 {@link JsonMapper} 对象。
+   *
+   * @return 被所有线程共享的 {@link JsonMapper} 对象；若为 {@code null} 则不测量
+   *     JSON格式。
+   */
+  @Nullable
+  public final JsonMapper getJsonMapper() {
+    return jsonMapper;
+  }
+
+  /**
+   * 设置被所有线程共享的 {@link JsonMapper} 对象。
+   *
+   * @param jsonMapper
+   *     新的 {@link JsonMapper} 对象；若为 {@code null} 则不测量JSON格式。
+   */
+  public final void setJsonMapper(@Nullable final JsonMapper jsonMapper) {
+    this.jsonMapper = jsonMapper;
+  }
+
+  /**
+   * 获取被所有线程共享的 {@link XmlMapper} 对象。
+   *
+   * @return 被所有线程共享的 {@link XmlMapper} 对象；若为 {@code null} 则不测量
+   *     XML格式。
+   */
+  @Nullable
+  public final XmlMapper getXmlMapper() {
+    return xmlMapper;
+  }
+
+  /**
+   * 设置被所有线程共享的 {@link XmlMapper} 对象。
+   *
+   * @param xmlMapper
+   *     新的 {@link XmlMapper} 对象；若为 {@code null} 则不测量XML格式。
+   */
+  public final void setXmlMapper(@Nullable final XmlMapper xmlMapper) {
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取并发线程数目的上限。
+   *
+   * @return 并发线程数目的上限。
+   */
+  public final int getMaxThreads() {
+    return maxThreads;
+  }
+
+  /**
+   * 设置并发线程数目的上限。
+   *
+   * @param maxThreads
+   *     新的并发线程数目的上限。
+   */
+  public final void setMaxThreads(final int maxThreads) {
+    this.maxThreads = requirePositive("maxThreads", maxThreads);
+  }
+
+  /**
+   * 获取每种格式在每个线程数目下，每个线程在测量前执行的预热次数。
+   *
+   * @return 每个线程在测量前执行的预热次数。
+   */
+  public final int getWarmupIterations() {
+    return warmupIterations;
+  }
+
+  /**
+   * 设置每种格式在每个线程数目下，每个线程在测量前执行的预热次数。
+   *
+   * @param warmupIterations
+   *     新的每个线程在测量前执行的预热次数。
+   */
+  public final void setWarmupIterations(final int warmupIterations) {
+    this.warmupIterations = requireNonNegative("warmupIterations", warmupIterations);
+  }
+
+  /**
+   * 获取每个线程执行的操作次数。
+   *
+   * @return 每个线程执行的操作次数。
+   */
+  public final int getIterationsPerThread() {
+    return iterationsPerThread;
+  }
+
+  /**
+   * 设置每个线程执行的操作次数。
+   *
+   * @param iterationsPerThread
+   *     新的每个线程执行的操作次数。
+   */
+  public final void setIterationsPerThread(final int iterationsPerThread) {
+    this.iterationsPerThread = requirePositive("iterationsPerThread", iterationsPerThread);
+  }
+
+  /**
+   * 获取扩展效率的下限。
+   *
+   * @return 线程数目最多时扩展效率的下限；若为0则不检查。
+   */
+  public final double getMinEfficiency() {
+    return minEfficiency;
+  }
+
+  /**
+   * 设置扩展效率的下限。
+   *
+   * @param minEfficiency
+   *     线程数目最多时扩展效率的下限；若为0则不检查。
+   */
+  public final void setMinEfficiency(final double minEfficiency) {
+    this.minEfficiency = minEfficiency;
+  }
+
+  /**
+   * 获取最近一次测试的测量结果。
+   *
+   * @return 最近一次测试的测量结果。
+   */
+  public final List<ScalingResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 执行并发吞吐量扩展的测试逻辑。
+   * <p>
+   * 此方法的执行步骤如下：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 预先生成 {@code loops} 个待测试类型的随机实例。</li>
+   *   <li>对于每种已配置的数据格式，将所有实例预先序列化，作为反序列化的输入。</li>
+   *   <li>对于每个线程数目，启动相应数目的线程，先以同样数目的线程执行不计时的预热，
+   *   再同时通过共享的映射器交替执行序列化和反序列化操作，测量所有线程合计的吞吐量。</li>
+   *   <li>若设定了扩展效率的下限，断言线程数目最多时的扩展效率不低于该下限。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在序列化或反序列化过程中发生错误，或扩展效率低于下限。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    final List<T> objects = new ArrayList<>(loops);
+    for (int i = 0; i < loops; ++i) {
+      objects.add(nextObject(i));
+    }
+    if (objects.isEmpty()) {
+      return;
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(maxThreads);
+    try {
+      if (jsonMapper != null) {
+        measure("JSON", jsonMapper, objects, executor);
+      }
+      if (xmlMapper != null) {
+        measure("XML", xmlMapper, objects, executor);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void measure(final String format, final ObjectMapper mapper,
+      final List<T> objects, final ExecutorService executor) throws Exception {
+    final Operation serialize = OperationRunner.serializing(mapper, type, objects);
+    final Operation deserialize = OperationRunner.deserializing(mapper, type, objects);
+    final Operation operation = (i) -> ((i & 1) == 0 ? serialize : deserialize).apply(i);
+    double baseline = 0;
+    ScalingResult last = null;
+    for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads)) {
+      if (warmupIterations > 0) {
+        run(operation, threads, warmupIterations, executor);
+      }
+      final long nanos = run(operation, threads, iterationsPerThread, executor);
+      final double opsPerSecond = (double) threads * iterationsPerThread * 1e9 / Math.max(1, nanos);
+      if (threads == 1) {
+        baseline = opsPerSecond;
+      }
+      final double efficiency = opsPerSecond / (baseline * threads);
+      last = new ScalingResult(format, threads, opsPerSecond, efficiency);
+      results.add(last);
+      LOGGER.info("{} of {} with {} threads sharing one mapper: {} ops/s, efficiency {}",
+          format, type.getSimpleName(), threads, String.format("%.2f", opsPerSecond),
+          String.format("%.2f", efficiency));
+    }
+    if (minEfficiency > 0 && last != null && last.getThreads() > 1) {
+      final ScalingResult result = last;
+      assertTrue(result.getEfficiency() >= minEfficiency, () -> String.format(
+          "The %s throughput of %s scales sub-linearly: %.2f ops/s with %d threads, "
+              + "efficiency %.2f is below %.2f. A shared serializer, codec or synchronized "
+              + "code path may be contended.", format, type.getName(),
+          result.getOpsPerSecond(), result.getThreads(), result.getEfficiency(),
+          minEfficiency));
+    }
+  }
+
+  private int nextThreadCount(final int threads) {
+    if (threads < maxThreads && threads * 2 > maxThreads) {
+      return maxThreads;        // 总是测量线程数目的上限
+    }
+    return threads * 2;
+  }
+
+  /**
+   * 使用指定数目的线程同时执行操作，每个线程执行 {@code iterations} 次。
+   *
+   * @return 从所有线程开始执行到全部结束所耗费的纳秒数。
+   */
+  private long run(final Operation operation, final int threads, final int iterations,
+      final ExecutorService executor) throws Exception {
+    final CountDownLatch ready = new CountDownLatch(threads);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<Integer>> futures = new ArrayList<>(threads);
+    for (int t = 0; t < threads; ++t) {
+      final int offset = t;
+      futures.add(executor.submit(() -> {
+        ready.countDown();
+        start.await();
+        int consumed = 0;
+        for (int i = 0; i < iterations; ++i) {
+          consumed ^= operation.apply(offset + i);
+        }
+        return consumed;
+      }));
+    }
+    ready.await();
+    final long begin = System.nanoTime();
+    start.countDown();
+    int consumed = 0;
+    for (final Future<Integer> future : futures) {
+      consumed ^= future.get();
+    }
+    final long nanos = System.nanoTime() - begin;
+    OperationRunner.consume(consumed);
+    return nanos;
+  }
+}
@@ -0,0 +1,459 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.assertion.DeepDiff;
+import ltd.qubit.commons.test.assertion.Difference;
+import ltd.qubit.commons.test.perf.OperationRunner;
+import ltd.qubit.commons.test.perf.PayloadSizeResult;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterPhase;
+import ltd.qubit.commons.test.perf.ThroughputResult;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
+import ltd.qubit.commons.text.xml.jaxb.JaxbUtils;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+
+/**
+ * 在一次遍历中对比类在多种数据格式下的序列化/反序列化结果的测试器对象。
+ *
+ * <p>对于每个随机生成的实例，此测试器依次使用 Jackson JSON、Jackson XML 和 JAXB
+ * 将其序列化并反序列化，然后断言每种格式的反序列化结果都与原实例相等。若某些格式的
+ * 结果与原实例不等，失败信息中会列出这些结果与原实例以及彼此之间的第一个差异，以便
+ * 判断是某种格式的映射配置有误，还是类本身的 {@code equals()} 方法有误。每个实例只
+ * 生成一次，每种格式的结果也只与原实例比较一次。</p>
+ *
+ * <p>此测试器同时统计每种格式的序列化和反序列化吞吐量以及序列化结果的字节数，并在
+ * 日志中给出各格式相对于最快格式的吞吐量比例，以便为内部通道选择数据格式。为避免
+ * 首次调用时的类型内省和 JAXB 上下文初始化等开销主导吞吐量比例，每种格式在计时前
+ * 都会先执行 {@link #getWarmupIterations()} 次不计时的序列化和反序列化。</p>
+ *
+ * <p>默认情况下，仅当待测试类标注了 {@link XmlRootElement} 注解时才测试 JAXB 格式。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class CrossFormatTester<T> extends ModelTester<T> {
+
+  public static final String JSON = "JSON";
+
+  public static final String XML = "XML";
+
+  public static final String JAXB = "JAXB";
+
+  public static final int DEFAULT_WARMUP_ITERATIONS = 50;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CrossFormatTester.class);
+
+  @Nullable
+  private final JsonMapper jsonMapper;
+
+  @Nullable
+  private final XmlMapper xmlMapper;
+
+  private final boolean jaxb;
+
+  private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+
+  private final List<ThroughputResult> throughputResults = new ArrayList<>();
+
+  private final List<PayloadSizeResult> sizeResults = new ArrayList<>();
+
+  /**
+   * 构造一个 {@link CrossFormatTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   */
+  public CrossFormatTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), DEFAULT_LOOPS);
+  }
+
+  /**
+   * 构造一个 {@link CrossFormatTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     测试循环次数。
+   */
+  public CrossFormatTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    this(type, random, loops, new CustomizedJsonMapper(), new CustomizedXmlMapper());
+  }
+
+  /**
+   * 构造一个 {@link CrossFormatTester} 对象。
+   * <p>
+   * 仅当待测试类标注了 {@link XmlRootElement} 注解时才测试 JAXB 格式。
+   * </p>
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     测试循环次数。
+   * @param jsonMapper
+   *     用于JSON序列化/反序列化的 {@link JsonMapper} 对象；若为 {@code null} 则不测试
+   *     Jackson JSON 格式。
+   * @param xmlMapper
+   *     用于XML序列化/反序列化的 {@link XmlMapper} 对象；若为 {@code null} 则不测试
+   *     Jackson XML 格式。
+   */
+  public CrossFormatTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops, @Nullable final JsonMapper jsonMapper,
+      @Nullable final XmlMapper xmlMapper) {
+    this(type, random, loops, jsonMapper, xmlMapper,
+        type.isAnnotationPresent(XmlRootElement.class));
+  }
+
+  /**
+   * 构造一个 {@link CrossFormatTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     测试循环次数。
+   * @param jsonMapper
+   *     用于JSON序列化/反序列化的 {@link JsonMapper} 对象；若为 {@code null} 则不测试
+   *     Jackson JSON 格式。
+   * @param xmlMapper
+   *     用于XML序列化/反序列化的 {@link XmlMapper} 对象；若为 {@code null} 则不测试
+   *     Jackson XML 格式。
+   * @param jaxb
+   *     是否测试 JAXB 格式。
+   */
+  public CrossFormatTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops, @Nullable final JsonMapper jsonMapper,
+      @Nullable final XmlMapper xmlMapper, final boolean jaxb) {
+    super(type, random, loops);
+    this.jsonMapper = jsonMapper;
+    this.xmlMapper = xmlMapper;
+    this.jaxb = jaxb;
+  }
+
+  /**
+   * 获取用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   *
+   * @return 用于JSON序列化/反序列化的 {@link JsonMapper} 对象；若为 {@code null}
+   *     则不测试 Jackson JSON 格式。
+   */
+  @Nullable
+  public final JsonMapper getJsonMapper() {
+    return jsonMapper;
+  }
+
+  /**
+   * 获取用于XML序列化/反序列化的 {@link XmlMapper} 对象。
+   *
+   * @return 用于XML序列化/反序列化的 {@link XmlMapper} 对象；若为 {@code null}
+   *     则不测试 Jackson XML 格式。
+   */
+  @Nullable
+  public final XmlMapper getXmlMapper() {
+    return xmlMapper;
+  }
+
+  /**
+   * 检查是否测试 JAXB 格式。
+   *
+   * @return 若测试 JAXB 格式则返回 {@code true}；否则返回 {@code false}。
+   */
+  public final boolean isJaxb() {
+    return jaxb;
+  }
+
+  /**
+   * 获取每种格式在计时前不计时地执行序列化和反序列化的次数。
+   *
+   * @return 每种格式在计时前不计时地执行序列化和反序列化的次数。
+   */
+  public final int getWarmupIterations() {
+    return warmupIterations;
+  }
+
+  /**
+   * 设置每种格式在计时前不计时地执行序列化和反序列化的次数。
+   *
+   * @param warmupIterations
+   *     新的每种格式在计时前不计时地执行序列化和反序列化的次数。
+   */
+  public final void setWarmupIterations(final int warmupIterations) {
+    this.warmupIterations = requireNonNegative("warmupIterations", warmupIterations);
+  }
+
+  /**
+   * 获取最近一次测试中每种格式的序列化和反序列化吞吐量。
+   *
+   * @return 最近一次测试中每种格式的序列化和反序列化吞吐量的只读列表。
+   */
+  public final List<ThroughputResult> getThroughputResults() {
+    return Collections.unmodifiableList(throughputResults);
+  }
+
+  /**
+   * 获取最近一次测试中每种格式的序列化结果的字节数。
+   *
+   * @return 最近一次测试中每种格式的序列化结果的字节数的只读列表。
+   */
+  public final List<PayloadSizeResult> getSizeResults() {
+    return Collections.unmodifiableList(sizeResults);
+  }
+
+  /**
+   * 获取最近一次测试中某种格式的某个操作相对于最快格式的吞吐量比例。
+   *
+   * @param format
+   *     数据格式，例如 {@link #JSON}。
+   * @param operation
+   *     操作，即 {@code "serialize"} 或 {@code "deserialize"}。
+   * @return 该格式的该操作的吞吐量与所有格式中该操作的最大吞吐量之比，取值范围为
+   *     {@code (0, 1]}；若最近一次测试没有测量该格式的该操作，则返回0。
+   */
+  public final double getRelativeThroughput(final String format, final String operation) {
+    double best = 0;
+    double current = 0;
+    for (final ThroughputResult result : throughputResults) {
+      if (result.getOperation().equals(operation)) {
+        best = Math.max(best, result.getOpsPerSecond());
+        if (result.getFormat().equals(format)) {
+          current = result.getOpsPerSecond();
+        }
+      }
+    }
+    return (best == 0 ? 0 : current / best);
+  }
+
+  /**
+   * 执行多格式对比测试的逻辑。
+   * <p>
+   * 此方法首先使用第一个随机实例对每种格式执行不计时的预热，然后循环指定次数，在每次
+   * 循环中：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 生成一个待测试类型的随机实例。</li>
+   *   <li>使用每种已配置的格式将该实例序列化并反序列化，记录耗时和字节数。</li>
+   *   <li>断言每种格式的反序列化结果都与原实例相等。</li>
+   * </ol>
+   * 全部循环结束后，汇总并记录每种格式的吞吐量和字节数。
+   *
+   * @throws Exception
+   *     如果在序列化或反序列化过程中发生错误，或某种格式的结果与原实例不等。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    throughputResults.clear();
+    sizeResults.clear();
+    final List<Format> formats = createFormats();
+    if (formats.isEmpty()) {
+      LOGGER.warn("No format is configured for {}", type.getSimpleName());
+      return;
+    }
+    final int n = formats.size();
+    final long[] serializeNanos = new long[n];
+    final long[] deserializeNanos = new long[n];
+    final long[][] sizes = new long[n][loops];
+    final List<Object> decoded = new ArrayList<>(Collections.nCopies(n, null));
+    for (int i = 0; i < loops; ++i) {
+      final T obj = nextObject(i);
+      if (i == 0) {
+        warmUp(obj, formats);
+      }
+      for (int k = 0; k < n; ++k) {
+        final Format format = formats.get(k);
+        final String text;
+        final PhaseProbe serializeProbe = PhaseProbe.begin(TesterPhase.SERIALIZATION, type);
+        final long serializeStart = System.nanoTime();
+        try {
+          text = format.serialize(obj);
+          serializeNanos[k] += System.nanoTime() - serializeStart;
+          serializeProbe.setPayloadSize(text.length());
+        } finally {
+          serializeProbe.end();
+        }
+        sizes[k][i] = text.getBytes(StandardCharsets.UTF_8).length;
+        final PhaseProbe deserializeProbe = PhaseProbe.begin(TesterPhase.DESERIALIZATION, type);
+        final long deserializeStart = System.nanoTime();
+        try {
+          deserializeProbe.setPayloadSize(text.length());
+          decoded.set(k, format.deserialize(text));
+          deserializeNanos[k] += System.nanoTime() - deserializeStart;
+        } finally {
+          deserializeProbe.end();
+        }
+      }
+      verify(i, obj, formats, decoded);
+    }
+    for (int k = 0; k < n; ++k) {
+      final String name = formats.get(k).name;
+      throughputResults.add(new ThroughputResult(name, "serialize", loops, serializeNanos[k]));
+      throughputResults.add(new ThroughputResult(name, "deserialize", loops,
+          deserializeNanos[k]));
+      sizeResults.add(new PayloadSizeResult(name, sizes[k]));
+    }
+    for (final PayloadSizeResult size : sizeResults) {
+      final String name = size.getFormat();
+      LOGGER.info("{} of {}: serialize {}x, deserialize {}x of the fastest format, "
+              + "p50 {} bytes, max {} bytes", name, type.getSimpleName(),
+          String.format("%.2f", getRelativeThroughput(name, "serialize")),
+          String.format("%.2f", getRelativeThroughput(name, "deserialize")),
+          size.getP50(), size.getMax());
+    }
+  }
+
+  private void warmUp(final T obj, final List<Format> formats) throws Exception {
+    for (final Format format : formats) {
+      OperationRunner.repeat((i) -> System.identityHashCode(
+          format.deserialize(format.serialize(obj))), warmupIterations);
+    }
+  }
+
+  private void verify(final int iteration, final T obj, final List<Format> formats,
+      final List<Object> decoded) {
+    final PhaseProbe probe = PhaseProbe.begin(TesterPhase.VERIFICATION, type);
+    try {
+      final List<Integer> mismatched = new ArrayList<>();
+      for (int k = 0; k < formats.size(); ++k) {
+        if (!Objects.equals(obj, decoded.get(k))) {
+          mismatched.add(k);
+        }
+      }
+      if (mismatched.isEmpty()) {
+        return;
+      }
+      final StringBuilder message = new StringBuilder();
+      message.append("The formats disagree on the instance #").append(iteration)
+             .append(" of ").append(type.getName()).append(':');
+      for (final int k : mismatched) {
+        appendDifference(message, formats.get(k).name + " vs original", obj, decoded.get(k));
+      }
+      for (int j = 0; j < formats.size(); ++j) {
+        for (int k = j + 1; k < formats.size(); ++k) {
+          if ((mismatched.contains(j) || mismatched.contains(k))
+              && !Objects.equals(decoded.get(j), decoded.get(k))) {
+            appendDifference(message, formats.get(j).name + " vs " + formats.get(k).name,
+                decoded.get(j), decoded.get(k));
+          }
+        }
+      }
+      fail(message.toString());
+    } finally {
+      probe.end();
+    }
+  }
+
+  private static void appendDifference(final StringBuilder message, final String title,
+      @Nullable final Object expected, @Nullable final Object actual) {
+    final Difference difference = DeepDiff.findFirst(expected, actual);
+    message.append("\n  ").append(title).append(": ")
+           .append(difference == null ? "equals() returned false" : difference);
+  }
+
+  private List<Format> createFormats() {
+    final List<Format> formats = new ArrayList<>();
+    if (jsonMapper != null) {
+      formats.add(new JacksonFormat(JSON, jsonMapper, type));
+    }
+    if (xmlMapper != null) {
+      formats.add(new JacksonFormat(XML, xmlMapper, type));
+    }
+    if (jaxb) {
+      formats.add(new JaxbFormat<>(type));
+    }
+    return formats;
+  }
+
+  /**
+   * 一种被对比的数据格式。
+   */
+  private abstract static class Format {
+
+    final String name;
+
+    Format(final String name) {
+      this.name = name;
+    }
+
+    abstract String serialize(Object obj) throws Exception;
+
+    abstract Object deserialize(String text) throws Exception;
+  }
+
+  private static final class JacksonFormat extends Format {
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    JacksonFormat(final String name, final ObjectMapper mapper, final Class<?> type) {
+      super(name);
+      this.writer = mapper.writerFor(type).without(SerializationFeature.INDENT_OUTPUT);
+      this.reader = mapper.readerFor(type);
+    }
+
+    @Override
+    String serialize(final Object obj) throws Exception {
+      return writer.writeValueAsString(obj);
+    }
+
+    @Override
+    Object deserialize(final String text) throws Exception {
+      return reader.readValue(text);
+    }
+  }
+
+  private static final class JaxbFormat<T> extends Format {
+
+    private final Class<T> type;
+
+    JaxbFormat(final Class<T> type) {
+      super(JAXB);
+      this.type = type;
+    }
+
+    @Override
+    String serialize(final Object obj) throws Exception {
+      return JaxbUtils.marshal(type.cast(obj), type);
+    }
+
+    @Override
+    Object deserialize(final String text) throws Exception {
+      return JaxbUtils.unmarshal(new StringReader(text), type);
+    }
+  }
+}
@@ -0,0 +1,379 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.EqualityCost;
+import ltd.qubit.commons.test.perf.OperationRunner;
+import ltd.qubit.commons.test.perf.OperationRunner.Operation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 测量类的`equals()`和`hashCode()`方法的CPU耗时的测试器对象。
+ *
+ * <p>此测试器预先生成 {@code loops} 个随机实例，分别测量以下操作每次平均耗费的时间：</p>
+ * <ul>
+ *   <li>对随机实例调用`hashCode()`；</li>
+ *   <li>对一对相等的实例调用`equals()`；</li>
+ *   <li>对一对仅在某个字段上不同的实例调用`equals()`，对每个参与比较的字段分别测量。
+ *   其中仅在最后一个字段上不同的实例对需要比较全部字段，其耗时作为`equals()`的最坏
+ *   情况。</li>
+ * </ul>
+ *
+ * <p>相等的实例对通过 {@link ltd.qubit.commons.lang.CloneableEx#cloneEx()} 创建，
+ * 若待测试类型未实现该接口，则通过浅拷贝创建。测试结束后，此测试器会在日志中列出
+ * 耗时最多的若干字段；若设置了耗时上限，则测量结果超出预算时测试失败。</p>
+ *
+ * @param <T>
+ *     待测试的领域对象模型的类型。
+ * @author 胡海星
+ */
+public class EqualsHashCodeCostTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_WARMUP_ITERATIONS = 2000;
+
+  public static final int DEFAULT_MEASURED_ITERATIONS = 20000;
+
+  public static final int DEFAULT_TOP_FIELDS = 5;
+
+  private static final int MAX_MUTATION_ATTEMPTS = 10;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EqualsHashCodeCostTester.class);
+
+  private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+
+  private int measuredIterations = DEFAULT_MEASURED_ITERATIONS;
+
+  private int topFields = DEFAULT_TOP_FIELDS;
+
+  private long maxHashCodeNanos = 0;
+
+  private long maxEqualsNanos = 0;
+
+  private final List<EqualityCost> results = new ArrayList<>();
+
+  private final Map<String, Double> fieldCosts = new LinkedHashMap<>();
+
+  /**
+   * 构造一个 {@link EqualsHashCodeCostTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   */
+  public EqualsHashCodeCostTester(final Class<T> type) {
+    super(type);
+  }
+
+  /**
+   * 构造一个 {@link EqualsHashCodeCostTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param loops
+   *     预先生成的随机实例的数目。
+   */
+  public EqualsHashCodeCostTester(final Class<T> type, final int loops) {
+    super(type, loops);
+  }
+
+  /**
+   * 构造一个 {@link EqualsHashCodeCostTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   */
+  public EqualsHashCodeCostTester(final Class<T> type, final RandomBeanGenerator random) {
+    super(type, random);
+  }
+
+  /**
+   * 构造一个 {@link EqualsHashCodeCostTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     预先生成的随机实例的数目。
+   */
+  public EqualsHashCodeCostTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    super(type, random, loops);
+  }
+
+  /**
+   * 获取每种操作的预热次数。
+   *
+   * @return 每种操作的预热次数。
+   */
+  public final int getWarmupIterations() {
+    return warmupIterations;
+  }
+
+  /**
+   * 设置每种操作的预热次数。
+   *
+   * @param warmupIterations
+   *     新的每种操作的预热次数。
+   */
+  public final void setWarmupIterations(final int warmupIterations) {
+    this.warmupIterations = requireNonNegative("warmupIterations", warmupIterations);
+  }
+
+  /**
+   * 获取每种操作的测量次数。
+   *
+   * @return 每种操作的测量次数。
+   */
+  public final int getMeasuredIterations() {
+    return measuredIterations;
+  }
+
+  /**
+   * 设置每种操作的测量次数。
+   *
+   * @param measuredIterations
+   *     新的每种操作的测量次数。
+   */
+  public final void setMeasuredIterations(final int measuredIterations) {
+    this.measuredIterations = requirePositive("measuredIterations", measuredIterations);
+  }
+
+  /**
+   * 获取在日志中列出的耗时最多的字段的数目。
+   *
+   * @return 在日志中列出的耗时最多的字段的数目。
+   */
+  public final int getTopFields() {
+    return topFields;
+  }
+
+  /**
+   * 设置在日志中列出的耗时最多的字段的数目。
+   *
+   * @param topFields
+   *     新的在日志中列出的耗时最多的字段的数目。
+   */
+  public final void setTopFields(final int topFields) {
+    this.topFields = requireNonNegative("topFields", topFields);
+  }
+
+  /**
+   * 获取`hashCode()`的平均耗时上限。
+   *
+   * @return 每次调用`hashCode()`平均至多耗费的纳秒数；若为0则不检查。
+   */
+  public final long getMaxHashCodeNanos() {
+    return maxHashCodeNanos;
+  }
+
+  /**
+   * 设置`hashCode()`的平均耗时上限。
+   *
+   * @param maxHashCodeNanos
+   *     每次调用`hashCode()`平均至多耗费的纳秒数；若为0则不检查。
+   */
+  public final void setMaxHashCodeNanos(final long maxHashCodeNanos) {
+    this.maxHashCodeNanos = requireNonNegative("maxHashCodeNanos", maxHashCodeNanos);
+  }
+
+  /**
+   * 获取`equals()`的平均耗时上限。
+   *
+   * @return 每次调用`equals()`平均至多耗费的纳秒数；若为0则不检查。此上限同时适用于
+   *     相等的实例对和仅在一个字段上不同的实例对。
+   */
+  public final long getMaxEqualsNanos() {
+    return maxEqualsNanos;
+  }
+
+  /**
+   * 设置`equals()`的平均耗时上限。
+   *
+   * @param maxEqualsNanos
+   *     每次调用`equals()`平均至多耗费的纳秒数；若为0则不检查。此上限同时适用于
+   *     相等的实例对和仅在一个字段上不同的实例对。
+   */
+  public final void setMaxEqualsNanos(final long maxEqualsNanos) {
+    this.maxEqualsNanos = requireNonNegative("maxEqualsNanos", maxEqualsNanos);
+  }
+
+  /**
+   * 获取最近一次测试的测量结果。
+   *
+   * @return 最近一次测试的测量结果。
+   */
+  public final List<EqualityCost> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 获取最近一次测试中，`equals()`耗时最多的若干字段。
+   *
+   * <p>每个字段的耗时是仅在该字段上不同的实例对与仅在前一个字段上不同的实例对的
+   * `equals()`耗时之差，即按声明顺序比较各字段时，比较该字段本身所耗费的时间。</p>
+   *
+   * @param n
+   *     返回的字段的最大数目。
+   * @return 按耗时从多到少排列的字段名称。
+   */
+  public final List<String> getSlowestFields(final int n) {
+    final List<String> names = new ArrayList<>(fieldCosts.keySet());
+    names.sort(Comparator.comparing(fieldCosts::get, Comparator.reverseOrder()));
+    return names.subList(0, Math.min(n, names.size()));
+  }
+
+  /**
+   * 执行测量`equals()`和`hashCode()`耗时的测试逻辑。
+   * <p>
+   * 此方法会忽略枚举类型，对于其他类型：
+   * <ol>
+   *   <li>预先生成 {@code loops} 个随机实例，并为每个实例创建一个相等的副本。</li>
+   *   <li>测量对随机实例调用`hashCode()`的耗时，以及对实例与其副本调用`equals()`的
+   *   耗时。</li>
+   *   <li>对于每个可直接读写的字段，将副本的该字段替换为其他随机实例的对应字段值，
+   *   若替换后副本与原实例不再相等，则测量对它们调用`equals()`的耗时。</li>
+   *   <li>在日志中列出耗时最多的若干字段，并断言各项耗时在预算之内。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在测试过程中发生错误，或测量结果超出预算。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    fieldCosts.clear();
+    if (type.isEnum()) {
+      return;     // 枚举类型的 equals() 和 hashCode() 由JVM提供
+    }
+    final List<Field> fields = ModelFields.getMutableFields(type);
+    final List<T> objects = new ArrayList<>(loops);
+    final List<T> copies = new ArrayList<>(loops);
+    for (int i = 0; i < loops; ++i) {
+      final T obj = nextObject(i);
+      objects.add(obj);
+      copies.add(equalCopy(obj, fields));
+    }
+    final int n = objects.size();
+    final double hashCodeNanos = measure((i) -> objects.get(i % n).hashCode());
+    results.add(new EqualityCost(type, EqualityCost.HASH_CODE, null, hashCodeNanos));
+    final double equalsNanos = measure((i) -> (objects.get(i % n).equals(copies.get(i % n)) ? 1 : 0));
+    results.add(new EqualityCost(type, EqualityCost.EQUALS, null, equalsNanos));
+    double previous = 0;
+    for (final Field field : fields) {
+      final List<T> mutated = mutate(objects, field, fields);
+      if (mutated == null) {
+        continue;     // 该字段不参与 equals() 的比较
+      }
+      final double nanos = measure((i) -> (objects.get(i % n).equals(mutated.get(i % n)) ? 1 : 0));
+      results.add(new EqualityCost(type, EqualityCost.NEAR_EQUALS, field.getName(), nanos));
+      fieldCosts.put(field.getName(), Math.max(0, nanos - previous));
+      previous = nanos;
+    }
+    report();
+    check();
+  }
+
+  /**
+   * 为每个实例创建一个仅在指定字段上与其不同的副本。
+   *
+   * @return 创建的副本；若无法使某个实例的副本与其不相等，说明该字段不参与
+   *     `equals()`的比较，返回 {@code null}。
+   */
+  @Nullable
+  private List<T> mutate(final List<T> objects, final Field field, final List<Field> fields)
+      throws Exception {
+    final List<T> result = new ArrayList<>(objects.size());
+    for (final T obj : objects) {
+      final T copy = equalCopy(obj, fields);
+      boolean changed = false;
+      for (int attempt = 0; attempt < MAX_MUTATION_ATTEMPTS && !changed; ++attempt) {
+        field.set(copy, field.get(random.nextObject(type)));
+        changed = !obj.equals(copy);
+      }
+      if (!changed) {
+        return null;
+      }
+      result.add(copy);
+    }
+    return result;
+  }
+
+  /**
+   * 创建一个与指定实例相等的副本，并断言其确实与该实例相等。
+   *
+   * <p>若副本与原实例不相等（例如模型含有无法复制的 final 字段），则测量到的将是
+   * `equals()`在发现不同之处时提前返回的耗时，而不是比较两个相等实例的耗时。</p>
+   */
+  private T equalCopy(final T obj, final List<Field> fields) throws Exception {
+    final T copy = ModelFields.equalCopy(type, obj, fields);
+    assertTrue(copy.equals(obj), () -> String.format("The copy of an instance of %s is "
+        + "not equal to the instance, so the cost of equals() on equal instances cannot "
+        + "be measured. Make it implement CloneableEx, or avoid final fields compared by "
+        + "equals().", type.getName()));
+    return copy;
+  }
+
+  private void report() {
+    for (final EqualityCost cost : results) {
+      if (cost.getField() == null) {
+        LOGGER.info("{} of {}: {} ns/op", cost.getOperation(), type.getSimpleName(),
+            String.format("%.1f", cost.getNanosPerOp()));
+      }
+    }
+    if (!fieldCosts.isEmpty()) {
+      final EqualityCost last = results.get(results.size() - 1);
+      LOGGER.info("{} of {} differing only in the last field '{}': {} ns/op",
+          last.getOperation(), type.getSimpleName(), last.getField(),
+          String.format("%.1f", last.getNanosPerOp()));
+      for (final String name : getSlowestFields(topFields)) {
+        LOGGER.info("equals() of {} spends {} ns/op on the field '{}'",
+            type.getSimpleName(), String.format("%.1f", fieldCosts.get(name)), name);
+      }
+    }
+  }
+
+  private void check() {
+    for (final EqualityCost cost : results) {
+      final long budget = (EqualityCost.HASH_CODE.equals(cost.getOperation())
+                           ? maxHashCodeNanos : maxEqualsNanos);
+      if (budget > 0) {
+        assertTrue(cost.getNanosPerOp() <= budget, () -> String.format(
+            "The %s cost of %s%s is %.1f ns/op, which exceeds the budget of %d ns/op.",
+            cost.getOperation(), type.getName(),
+            (cost.getField() == null ? "" : " differing in the field '" + cost.getField() + "'"),
+            cost.getNanosPerOp(), budget));
+      }
+    }
+  }
+
+  private double measure(final Operation operation) throws Exception {
+    OperationRunner.repeat(operation, warmupIterations);
+    return (double) OperationRunner.time(operation, measuredIterations) / measuredIterations;
+  }
+}
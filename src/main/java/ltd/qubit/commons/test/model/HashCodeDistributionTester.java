@@ -0,0 +1,345 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 检查类的`hashCode()`方法所生成的哈希值分布是否合理。
+ *
+ * <p>此测试器生成大量随机实例，检查以下几项指标：</p>
+ * <ul>
+ *   <li>互不相等的实例之间的哈希值碰撞率；</li>
+ *   <li>按 {@link java.util.HashMap} 的方式将哈希值映射到若干模拟的哈希表后，
+ *   被占用的桶的数目与均匀分布时的期望值之比；</li>
+ *   <li>参与`equals()`比较却从不影响哈希值的字段所占的比例。</li>
+ * </ul>
+ *
+ * <p>返回常量或忽略大部分字段的`hashCode()`实现会使哈希表的查找退化为线性查找，
+ * 此类实现会导致测试失败。</p>
+ *
+ * @param <T>
+ *     待测试的领域对象模型的类型。
+ * @author 胡海星
+ */
+public class HashCodeDistributionTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_SAMPLE_SIZE = 200;
+
+  public static final int[] DEFAULT_TABLE_SIZES = {16, 256, 4096};
+
+  public static final double DEFAULT_MAX_COLLISION_RATE = 0.1;
+
+  public static final double DEFAULT_MIN_OCCUPANCY_RATIO = 0.5;
+
+  public static final double DEFAULT_MAX_IGNORED_FIELD_RATIO = 0.5;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HashCodeDistributionTester.class);
+
+  private int sampleSize = DEFAULT_SAMPLE_SIZE;
+
+  private int[] tableSizes = DEFAULT_TABLE_SIZES;
+
+  private double maxCollisionRate = DEFAULT_MAX_COLLISION_RATE;
+
+  private double minOccupancyRatio = DEFAULT_MIN_OCCUPANCY_RATIO;
+
+  private double maxIgnoredFieldRatio = DEFAULT_MAX_IGNORED_FIELD_RATIO;
+
+  /**
+   * 构造一个 {@link HashCodeDistributionTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   */
+  public HashCodeDistributionTester(final Class<T> type) {
+    super(type);
+  }
+
+  /**
+   * 构造一个 {@link HashCodeDistributionTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param loops
+   *     测试循环次数，即检查每个字段是否影响哈希值时的尝试次数。
+   */
+  public HashCodeDistributionTester(final Class<T> type, final int loops) {
+    super(type, loops);
+  }
+
+  /**
+   * 构造一个 {@link HashCodeDistributionTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   */
+  public HashCodeDistributionTester(final Class<T> type, final RandomBeanGenerator random) {
+    super(type, random);
+  }
+
+  /**
+   * 构造一个 {@link HashCodeDistributionTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     测试循环次数，即检查每个字段是否影响哈希值时的尝试次数。
+   */
+  public HashCodeDistributionTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    super(type, random, loops);
+  }
+
+  /**
+   * 获取用于统计哈希值分布的随机实例的数目。
+   *
+   * @return 用于统计哈希值分布的随机实例的数目。
+   */
+  public final int getSampleSize() {
+    return sampleSize;
+  }
+
+  /**
+   * 设置用于统计哈希值分布的随机实例的数目。
+   *
+   * @param sampleSize
+   *     新的用于统计哈希值分布的随机实例的数目。
+   */
+  public final void setSampleSize(final int sampleSize) {
+    this.sampleSize = requirePositive("sampleSize", sampleSize);
+  }
+
+  /**
+   * 获取模拟的哈希表的桶数目。
+   *
+   * @return 模拟的哈希表的桶数目，每个都是2的幂。
+   */
+  public final int[] getTableSizes() {
+    return tableSizes.clone();
+  }
+
+  /**
+   * 设置模拟的哈希表的桶数目。
+   *
+   * @param tableSizes
+   *     新的模拟的哈希表的桶数目，每个都必须是2的幂。
+   */
+  public final void setTableSizes(final int... tableSizes) {
+    for (final int size : tableSizes) {
+      if (size <= 0 || Integer.bitCount(size) != 1) {
+        throw new IllegalArgumentException("The table size must be a power of 2: " + size);
+      }
+    }
+    this.tableSizes = tableSizes.clone();
+  }
+
+  /**
+   * 获取允许的最大哈希值碰撞率。
+   *
+   * @return 允许的最大哈希值碰撞率。
+   */
+  public final double getMaxCollisionRate() {
+    return maxCollisionRate;
+  }
+
+  /**
+   * 设置允许的最大哈希值碰撞率。
+   *
+   * @param maxCollisionRate
+   *     新的允许的最大哈希值碰撞率。
+   */
+  public final void setMaxCollisionRate(final double maxCollisionRate) {
+    this.maxCollisionRate = maxCollisionRate;
+  }
+
+  /**
+   * 获取模拟的哈希表中被占用的桶的数目与其期望值之比的下限。
+   *
+   * @return 模拟的哈希表中被占用的桶的数目与其期望值之比的下限。
+   */
+  public final double getMinOccupancyRatio() {
+    return minOccupancyRatio;
+  }
+
+  /**
+   * 设置模拟的哈希表中被占用的桶的数目与其期望值之比的下限。
+   *
+   * @param minOccupancyRatio
+   *     新的模拟的哈希表中被占用的桶的数目与其期望值之比的下限。
+   */
+  public final void setMinOccupancyRatio(final double minOccupancyRatio) {
+    this.minOccupancyRatio = minOccupancyRatio;
+  }
+
+  /**
+   * 获取参与`equals()`比较却不影响哈希值的字段所占比例的上限。
+   *
+   * @return 参与`equals()`比较却不影响哈希值的字段所占比例的上限。
+   */
+  public final double getMaxIgnoredFieldRatio() {
+    return maxIgnoredFieldRatio;
+  }
+
+  /**
+   * 设置参与`equals()`比较却不影响哈希值的字段所占比例的上限。
+   *
+   * @param maxIgnoredFieldRatio
+   *     新的参与`equals()`比较却不影响哈希值的字段所占比例的上限。
+   */
+  public final void setMaxIgnoredFieldRatio(final double maxIgnoredFieldRatio) {
+    this.maxIgnoredFieldRatio = maxIgnoredFieldRatio;
+  }
+
+  /**
+   * 执行对模型哈希值分布的测试逻辑。
+   * <p>
+   * 此方法会忽略枚举类型，对于其他类型：
+   * <ol>
+   *   <li>生成 {@code sampleSize} 个随机实例，去除其中相等的实例。</li>
+   *   <li>断言互不相等的实例之间的哈希值碰撞率不超过上限。</li>
+   *   <li>对于每个模拟的哈希表，按 {@link java.util.HashMap} 的方式计算每个实例
+   *   所在的桶，断言被占用的桶的数目不低于均匀分布时期望值的一定比例。</li>
+   *   <li>对于每个非静态、非 final、非 transient 的字段，将一个随机实例的浅拷贝的
+   *   该字段替换为另一个随机实例的对应字段值，若拷贝与原实例不再相等但哈希值始终
+   *   相同，则认为该字段被`hashCode()`忽略；断言被忽略的字段所占比例不超过上限。
+   *   若该类型没有无参构造函数，或其实例的浅拷贝与原实例不相等（例如含有 final
+   *   字段），则无法进行此项检查，只记录警告。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在测试过程中发生任何错误，或哈希值分布不合理。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    if (type.isEnum()) {
+      return;     // 枚举类型的哈希值由JVM保证
+    }
+    final Set<T> distinct = new HashSet<>();
+    for (int i = 0; i < sampleSize; ++i) {
+      distinct.add(nextObject(i));
+    }
+    final int n = distinct.size();
+    if (n < 2) {
+      LOGGER.warn("Only {} distinct instances of {} were generated, skip the test.",
+          n, type.getName());
+      return;
+    }
+    final int[] hashes = new int[n];
+    final Set<Integer> distinctHashes = new HashSet<>();
+    int k = 0;
+    for (final T obj : distinct) {
+      hashes[k++] = obj.hashCode();
+      distinctHashes.add(hashes[k - 1]);
+    }
+    final double collisionRate = 1.0 - (double) distinctHashes.size() / n;
+    LOGGER.info("{} distinct instances of {} have {} distinct hash codes, collision rate: {}",
+        n, type.getName(), distinctHashes.size(), collisionRate);
+    assertTrue(distinctHashes.size() > 1, "The hashCode() of " + type.getName()
+        + " returns the same value for all " + n + " distinct instances.");
+    assertTrue(collisionRate <= maxCollisionRate, () -> String.format(
+        "The hash code collision rate of %s is %.4f, which exceeds %.4f.",
+        type.getName(), collisionRate, maxCollisionRate));
+    for (final int size : tableSizes) {
+      checkOccupancy(hashes, size);
+    }
+    checkIgnoredFields(sampleSize);
+  }
+
+  private void checkOccupancy(final int[] hashes, final int tableSize) {
+    final boolean[] occupied = new boolean[tableSize];
+    int count = 0;
+    for (final int hash : hashes) {
+      final int index = (hash ^ (hash >>> 16)) & (tableSize - 1);    // 与 HashMap 相同
+      if (!occupied[index]) {
+        occupied[index] = true;
+        ++count;
+      }
+    }
+    final double expected = tableSize * (1.0 - Math.pow(1.0 - 1.0 / tableSize, hashes.length));
+    final double ratio = count / expected;
+    LOGGER.info("{} of {} buckets are occupied by {} in a table of size {}, "
+        + "expected {}", count, tableSize, type.getName(), tableSize,
+        String.format("%.1f", expected));
+    final int occupiedCount = count;
+    assertTrue(ratio >= minOccupancyRatio, () -> String.format(
+        "Only %d of %d buckets are occupied by %d distinct instances of %s, "
+            + "while %.1f are expected for a uniform hash.", occupiedCount, tableSize,
+        hashes.length, type.getName(), expected));
+  }
+
+  private void checkIgnoredFields(final int firstIteration) throws Exception {
+    final List<Field> fields = ModelFields.getMutableFields(type);
+    if (fields.isEmpty()) {
+      return;
+    }
+    if (!ModelFields.hasDefaultConstructor(type)) {
+      LOGGER.warn("The class {} has no default constructor, skip checking the fields "
+          + "ignored by its hashCode().", type.getName());
+      return;
+    }
+    // 测试循环的序号接着抽样实例的序号递增，使每个实例对应唯一的循环序号
+    int iteration = firstIteration;
+    final T sample = nextObject(iteration++);
+    if (!ModelFields.shallowCopy(type, sample, fields).equals(sample)) {
+      LOGGER.warn("The shallow copy of an instance of {} is not equal to the instance, "
+          + "skip checking the fields ignored by its hashCode().", type.getName());
+      return;
+    }
+    int tested = 0;
+    final List<String> ignored = new ArrayList<>();
+    for (final Field field : fields) {
+      boolean affectsEquals = false;
+      boolean affectsHash = false;
+      for (int i = 0; i < loops && !affectsHash; ++i) {
+        final T original = nextObject(iteration++);
+        final T other = nextObject(iteration++);
+        final T copy = ModelFields.shallowCopy(type, original, fields);
+        field.set(copy, field.get(other));
+        if (!copy.equals(original)) {
+          affectsEquals = true;
+          affectsHash = (copy.hashCode() != original.hashCode());
+        }
+      }
+      if (affectsEquals) {
+        ++tested;
+        if (!affectsHash) {
+          ignored.add(field.getName());
+        }
+      }
+    }
+    if (tested == 0) {
+      return;
+    }
+    LOGGER.info("The hashCode() of {} ignores {} of {} fields compared by equals(): {}",
+        type.getName(), ignored.size(), tested, ignored);
+    final double ratio = (double) ignored.size() / tested;
+    final int testedCount = tested;
+    assertTrue(ratio <= maxIgnoredFieldRatio, () -> String.format(
+        "The hashCode() of %s ignores %d of %d fields compared by equals(): %s",
+        type.getName(), ignored.size(), testedCount, ignored));
+  }
+}
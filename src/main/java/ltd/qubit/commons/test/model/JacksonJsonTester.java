@@ -106,7 +106,7 @@ public class JacksonJsonTester<T> extends ModelTester<T> {
   @Override
   protected void doTest() throws Exception {
     for (int i = 0; i < loops; ++i) {
-      final T obj = random.nextObject(type);
+      final T obj = nextObject(i);
       testJsonSerialization(mapper, obj);
       testJsonDeserialization(mapper, obj);
     }
@@ -86,7 +86,7 @@ public class JaxbXmlTester<T> extends ModelTester<T> {
   @Override
   protected void doTest() throws Exception {
     for (int i = 0; i < loops; ++i) {
-      final T obj = random.nextObject(type);
+      final T obj = nextObject(i);
       testXmlSerialization(obj);
       testXmlDeserialization(obj);
     }
@@ -0,0 +1,328 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import ltd.qubit.commons.test.perf.LatencyHistogram;
+import ltd.qubit.commons.test.perf.LatencyResult;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterContext;
+import ltd.qubit.commons.test.perf.TesterPhase;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.test.json.JacksonJsonTestUtils.verifyJsonDeserialization;
+import static ltd.qubit.commons.test.json.JacksonJsonTestUtils.verifyJsonSerialization;
+
+/**
+ * 回放 JSON Lines 文件中捕获的真实数据的测试器对象。
+ *
+ * <p>随机生成的测试数据很难覆盖真实流量中数据的形态和大小。此测试器通过
+ * {@link MappingIterator} 以流的方式逐条读取 JSON Lines 文件（每行一个JSON对象）中的
+ * 记录，将其反序列化为待测试类型的对象，再重新序列化为JSON，并使用
+ * {@code JacksonJsonTestUtils} 的校验逻辑检查其序列化和反序列化结果。若文件以 gzip
+ * 格式压缩，则会被自动解压。</p>
+ *
+ * <p>此测试器不会保留已处理的记录，单次反序列化和序列化的耗时由固定大小的
+ * {@link LatencyHistogram} 记录，因此无论文件有多大，其内存占用都是固定的。测试结束后可通过
+ * {@link #getDeserializeLatency()} 和 {@link #getSerializeLatency()} 获取耗时的百分位数。
+ * 反序列化耗时的第99百分位数上限可通过 {@link #setMaxP99Nanos(long)} 设置。</p>
+ *
+ * <p>此测试器不生成随机实例，因此其测试循环次数没有意义；需要限制回放的记录数目时，
+ * 请使用 {@link #setMaxRecords(long)}。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class JsonLinesReplayTester<T> extends ModelTester<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JsonLinesReplayTester.class);
+
+  private static final int GZIP_MAGIC_1 = 0x1F;
+
+  private static final int GZIP_MAGIC_2 = 0x8B;
+
+  private final Path file;
+
+  private JsonMapper mapper;
+
+  private long maxRecords = 0;
+
+  private boolean verify = true;
+
+  private long maxP99Nanos = 0;
+
+  private long records = 0;
+
+  @Nullable
+  private LatencyResult deserializeLatency;
+
+  @Nullable
+  private LatencyResult serializeLatency;
+
+  private volatile int sink;
+
+  /**
+   * 构造一个 {@link JsonLinesReplayTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param file
+   *     待回放的 JSON Lines 文件，可以是 gzip 压缩格式。
+   */
+  public JsonLinesReplayTester(final Class<T> type, final Path file) {
+    this(type, file, new CustomizedJsonMapper());
+  }
+
+  /**
+   * 构造一个 {@link JsonLinesReplayTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param file
+   *     待回放的 JSON Lines 文件，可以是 gzip 压缩格式。
+   * @param mapper
+   *     用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   */
+  public JsonLinesReplayTester(final Class<T> type, final Path file, final JsonMapper mapper) {
+    super(type);
+    this.file = requireNonNull("file", file);
+    this.mapper = requireNonNull("mapper", mapper);
+  }
+
+  /**
+   * 获取待回放的 JSON Lines 文件。
+   *
+   * @return 待回放的 JSON Lines 文件。
+   */
+  public final Path getFile() {
+    return file;
+  }
+
+  /**
+   * 获取用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   *
+   * @return 用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   */
+  public final JsonMapper getMapper() {
+    return mapper;
+  }
+
+  /**
+   * 设置用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   *
+   * @param mapper
+   *     新的 {@link JsonMapper} 对象。
+   */
+  public final void setMapper(final JsonMapper mapper) {
+    this.mapper = requireNonNull("mapper", mapper);
+  }
+
+  /**
+   * 获取回放的记录数目的上限。
+   *
+   * @return 回放的记录数目的上限，0表示回放文件中的全部记录。
+   */
+  public final long getMaxRecords() {
+    return maxRecords;
+  }
+
+  /**
+   * 设置回放的记录数目的上限。
+   *
+   * @param maxRecords
+   *     回放的记录数目的上限，0表示回放文件中的全部记录。
+   */
+  public final void setMaxRecords(final long maxRecords) {
+    this.maxRecords = requireNonNegative("maxRecords", maxRecords);
+  }
+
+  /**
+   * 检查是否使用 {@code JacksonJsonTestUtils} 的校验逻辑检查每条记录。
+   *
+   * @return 若检查每条记录则返回 {@code true}；否则只度量耗时。
+   */
+  public final boolean isVerify() {
+    return verify;
+  }
+
+  /**
+   * 设置是否使用 {@code JacksonJsonTestUtils} 的校验逻辑检查每条记录。
+   *
+   * @param verify
+   *     若为 {@code true} 则检查每条记录；否则只度量耗时。
+   */
+  public final void setVerify(final boolean verify) {
+    this.verify = verify;
+  }
+
+  /**
+   * 获取单条记录反序列化耗时的第99百分位数的上限。
+   *
+   * @return 单条记录反序列化耗时的第99百分位数的上限，单位为纳秒，0表示不限制。
+   */
+  public final long getMaxP99Nanos() {
+    return maxP99Nanos;
+  }
+
+  /**
+   * 设置单条记录反序列化耗时的第99百分位数的上限。
+   *
+   * @param maxP99Nanos
+   *     单条记录反序列化耗时的第99百分位数的上限，单位为纳秒，0表示不限制。
+   */
+  public final void setMaxP99Nanos(final long maxP99Nanos) {
+    this.maxP99Nanos = requireNonNegative("maxP99Nanos", maxP99Nanos);
+  }
+
+  /**
+   * 获取最近一次测试回放的记录数目。
+   *
+   * @return 最近一次测试回放的记录数目。
+   */
+  public final long getRecords() {
+    return records;
+  }
+
+  /**
+   * 获取最近一次测试中单条记录反序列化耗时的统计结果。
+   *
+   * @return 单条记录反序列化耗时的统计结果；若尚未执行测试或文件中没有记录，则返回
+   *     {@code null}。
+   */
+  @Nullable
+  public final LatencyResult getDeserializeLatency() {
+    return deserializeLatency;
+  }
+
+  /**
+   * 获取最近一次测试中单条记录序列化耗时的统计结果。
+   *
+   * @return 单条记录序列化耗时的统计结果；若尚未执行测试或文件中没有记录，则返回
+   *     {@code null}。
+   */
+  @Nullable
+  public final LatencyResult getSerializeLatency() {
+    return serializeLatency;
+  }
+
+  /**
+   * 执行回放测试的逻辑。
+   * <p>
+   * 对于文件中的每条记录，此方法依次执行以下步骤：
+   * <ol>
+   *   <li>通过 {@link MappingIterator} 将记录反序列化为待测试类型的对象，并记录耗时。</li>
+   *   <li>将该对象重新序列化为紧凑格式的JSON，并记录耗时。</li>
+   *   <li>若启用了校验，则调用 {@code JacksonJsonTestUtils.verifyJsonSerialization} 和
+   *       {@code JacksonJsonTestUtils.verifyJsonDeserialization} 检查该对象。这两个方法
+   *       不会在日志中记录每条记录的内容。</li>
+   * </ol>
+   * 全部记录处理完毕后，断言反序列化耗时的第99百分位数不超过其上限。
+   *
+   * @throws Exception
+   *     如果读取文件时发生错误，某条记录无法通过校验，或耗时超出上限。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    records = 0;
+    deserializeLatency = null;
+    serializeLatency = null;
+    final ObjectWriter writer = mapper.writerFor(type)
+        .without(SerializationFeature.INDENT_OUTPUT);
+    final LatencyHistogram deserializeHistogram = new LatencyHistogram();
+    final LatencyHistogram serializeHistogram = new LatencyHistogram();
+    final TesterContext context = TesterContext.current();
+    try (final InputStream in = openStream(file);
+         final MappingIterator<T> iterator = mapper.readerFor(type).readValues(in)) {
+      long offset = 0;
+      while ((maxRecords == 0 || records < maxRecords) && iterator.hasNextValue()) {
+        if (context != null) {
+          context.setIteration((int) Math.min(records, Integer.MAX_VALUE));
+        }
+        final JsonLocation location = iterator.getCurrentLocation();
+        try {
+          final T obj;
+          final PhaseProbe deserializeProbe = PhaseProbe.begin(TesterPhase.DESERIALIZATION, type);
+          final long deserializeStart = System.nanoTime();
+          try {
+            obj = iterator.nextValue();
+            final long end = iterator.getParser().getCurrentLocation().getByteOffset();
+            deserializeProbe.setPayloadSize(end - offset);
+            offset = end;
+          } finally {
+            deserializeProbe.end();
+          }
+          deserializeHistogram.record(System.nanoTime() - deserializeStart);
+          final PhaseProbe serializeProbe = PhaseProbe.begin(TesterPhase.SERIALIZATION, type);
+          final long serializeStart = System.nanoTime();
+          try {
+            final byte[] bytes = writer.writeValueAsBytes(obj);
+            serializeProbe.setPayloadSize(bytes.length);
+            sink += bytes.length;
+          } finally {
+            serializeProbe.end();
+          }
+          serializeHistogram.record(System.nanoTime() - serializeStart);
+          if (verify) {
+            verifyJsonSerialization(mapper, obj);
+            verifyJsonDeserialization(mapper, obj);
+          }
+        } catch (final Exception | AssertionError e) {
+          throw new AssertionError(String.format("Failed to replay the record #%d of %s "
+              + "at line %d of %s: %s", records, type.getName(), location.getLineNr(),
+              file, e.getMessage()), e);
+        }
+        ++records;
+      }
+    }
+    if (records == 0) {
+      LOGGER.warn("No record of {} was found in {}", type.getSimpleName(), file);
+      return;
+    }
+    deserializeLatency = new LatencyResult("deserialize", deserializeHistogram.snapshot());
+    serializeLatency = new LatencyResult("serialize", serializeHistogram.snapshot());
+    LOGGER.info("Replayed {} records of {} from {}: deserialize {}, serialize {}",
+        records, type.getSimpleName(), file, deserializeLatency, serializeLatency);
+    if (maxP99Nanos > 0) {
+      final long p99 = deserializeLatency.getP99();
+      assertTrue(p99 <= maxP99Nanos, () -> String.format(
+          "The p99 deserialization latency of %s replayed from %s is %d ns, "
+              + "which exceeds the budget of %d ns.", type.getName(), file, p99, maxP99Nanos));
+    }
+  }
+
+  private static InputStream openStream(final Path file) throws IOException {
+    final InputStream in = new BufferedInputStream(Files.newInputStream(file));
+    in.mark(2);
+    final boolean gzip = (in.read() == GZIP_MAGIC_1) && (in.read() == GZIP_MAGIC_2);
+    in.reset();
+    return (gzip ? new GZIPInputStream(in) : in);
+  }
+}
@@ -0,0 +1,241 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.ObjectSizeEstimator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+
+/**
+ * 估算类的随机实例所占用的堆内存字节数的测试器对象。
+ *
+ * <p>此测试器生成 {@code loops} 个随机实例，使用 {@link ObjectSizeEstimator} 按当前
+ * JVM的对象内存布局规则估算每个实例的深层大小，即从该实例出发可达的所有对象所占用的
+ * 堆内存字节数，并将其按字段分解。测试结束后，此测试器会在日志中列出实例的平均大小、
+ * 最大大小以及平均占用字节数最多的若干字段。</p>
+ *
+ * <p>若设置了实例的平均大小上限，则估算结果超出预算时测试失败。</p>
+ *
+ * @param <T>
+ *     待测试的领域对象模型的类型。
+ * @author 胡海星
+ */
+public class MemoryFootprintTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_TOP_FIELDS = 5;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MemoryFootprintTester.class);
+
+  private final ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+
+  private long maxMeanBytes = 0;
+
+  private int topFields = DEFAULT_TOP_FIELDS;
+
+  private long meanBytes;
+
+  private long largestBytes;
+
+  private final Map<String, Long> fieldBytes = new LinkedHashMap<>();
+
+  /**
+   * 构造一个 {@link MemoryFootprintTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   */
+  public MemoryFootprintTester(final Class<T> type) {
+    super(type);
+  }
+
+  /**
+   * 构造一个 {@link MemoryFootprintTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param loops
+   *     被估算的随机实例的数目。
+   */
+  public MemoryFootprintTester(final Class<T> type, final int loops) {
+    super(type, loops);
+  }
+
+  /**
+   * 构造一个 {@link MemoryFootprintTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   */
+  public MemoryFootprintTester(final Class<T> type, final RandomBeanGenerator random) {
+    super(type, random);
+  }
+
+  /**
+   * 构造一个 {@link MemoryFootprintTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     被估算的随机实例的数目。
+   */
+  public MemoryFootprintTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    super(type, random, loops);
+  }
+
+  /**
+   * 获取实例的平均大小上限。
+   *
+   * @return 每个实例平均至多占用的堆内存字节数；若为0则不检查。
+   */
+  public final long getMaxMeanBytes() {
+    return maxMeanBytes;
+  }
+
+  /**
+   * 设置实例的平均大小上限。
+   *
+   * @param maxMeanBytes
+   *     每个实例平均至多占用的堆内存字节数；若为0则不检查。
+   */
+  public final void setMaxMeanBytes(final long maxMeanBytes) {
+    this.maxMeanBytes = requireNonNegative("maxMeanBytes", maxMeanBytes);
+  }
+
+  /**
+   * 获取在日志中列出的占用字节数最多的字段的数目。
+   *
+   * @return 在日志中列出的占用字节数最多的字段的数目。
+   */
+  public final int getTopFields() {
+    return topFields;
+  }
+
+  /**
+   * 设置在日志中列出的占用字节数最多的字段的数目。
+   *
+   * @param topFields
+   *     新的在日志中列出的占用字节数最多的字段的数目。
+   */
+  public final void setTopFields(final int topFields) {
+    this.topFields = requireNonNegative("topFields", topFields);
+  }
+
+  /**
+   * 获取最近一次测试中，实例的平均大小。
+   *
+   * @return 最近一次测试中，每个实例平均占用的堆内存字节数。
+   */
+  public final long getMeanBytes() {
+    return meanBytes;
+  }
+
+  /**
+   * 获取最近一次测试中，实例的最大大小。
+   *
+   * @return 最近一次测试中，单个实例占用的最大堆内存字节数。
+   */
+  public final long getLargestBytes() {
+    return largestBytes;
+  }
+
+  /**
+   * 获取最近一次测试中，实例的平均大小按字段的分解。
+   *
+   * @return 每个字段平均占用的堆内存字节数，按字段的声明顺序排列；键 {@code ""}
+   *     对应实例本身的浅层大小。
+   * @see ObjectSizeEstimator#fieldSizesOf(Object)
+   */
+  public final Map<String, Long> getFieldBytes() {
+    return Collections.unmodifiableMap(fieldBytes);
+  }
+
+  /**
+   * 获取最近一次测试中，平均占用字节数最多的若干字段。
+   *
+   * @param n
+   *     返回的字段的最大数目。
+   * @return 按平均占用字节数从多到少排列的字段名称。
+   */
+  public final List<String> getLargestFields(final int n) {
+    final List<String> names = new ArrayList<>(fieldBytes.keySet());
+    names.remove("");
+    names.sort(Comparator.comparing(fieldBytes::get, Comparator.reverseOrder()));
+    return names.subList(0, Math.min(n, names.size()));
+  }
+
+  /**
+   * 执行估算实例大小的测试逻辑。
+   * <p>
+   * 此方法会忽略枚举类型，对于其他类型：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 生成 {@code loops} 个待测试类型的随机实例。</li>
+   *   <li>估算每个实例的深层大小，并将其按字段分解。</li>
+   *   <li>在日志中列出实例的平均大小、最大大小以及平均占用字节数最多的若干字段。</li>
+   *   <li>断言实例的平均大小在预算之内。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在测试过程中发生错误，或估算结果超出预算。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    meanBytes = 0;
+    largestBytes = 0;
+    fieldBytes.clear();
+    if (type.isEnum()) {
+      return;
+    }
+    long total = 0;
+    for (int i = 0; i < loops; ++i) {
+      final T obj = nextObject(i);
+      long size = 0;
+      for (final Map.Entry<String, Long> entry : estimator.fieldSizesOf(obj).entrySet()) {
+        fieldBytes.merge(entry.getKey(), entry.getValue(), Long::sum);
+        size += entry.getValue();
+      }
+      total += size;
+      largestBytes = Math.max(largestBytes, size);
+    }
+    meanBytes = total / loops;
+    fieldBytes.replaceAll((name, bytes) -> bytes / loops);
+    LOGGER.info("Retained size of {}: mean {} bytes, max {} bytes", type.getSimpleName(),
+        meanBytes, largestBytes);
+    for (final String name : getLargestFields(topFields)) {
+      LOGGER.info("The field '{}' of {} retains {} bytes on average", name,
+          type.getSimpleName(), fieldBytes.get(name));
+    }
+    if (!estimator.getUnestimatedTypes().isEmpty()) {
+      LOGGER.warn("The retained size of {} does not include the internal objects of {}, "
+          + "which cannot be estimated", type.getSimpleName(), estimator.getUnestimatedTypes());
+    }
+    if (maxMeanBytes > 0) {
+      assertTrue(meanBytes <= maxMeanBytes, () -> String.format(
+          "The retained size of %s is %d bytes on average, which exceeds the budget of %d bytes.",
+          type.getName(), meanBytes, maxMeanBytes));
+    }
+  }
+}
@@ -0,0 +1,124 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import ltd.qubit.commons.lang.CloneableEx;
+import ltd.qubit.commons.reflect.ConstructorUtils;
+
+import static ltd.qubit.commons.reflect.FieldUtils.getAllFields;
+import static ltd.qubit.commons.reflect.Option.BEAN_FIELD;
+
+/**
+ * 提供直接读写模型对象字段的辅助函数，供各个测试器使用。
+ *
+ * @author 胡海星
+ */
+final class ModelFields {
+
+  private ModelFields() {}
+
+  /**
+   * 获取指定类型中可以直接读写的字段。
+   *
+   * <p>返回的字段按声明的顺序排列，不包括静态字段、final 字段和 transient 字段，
+   * 且均已被设置为可访问。</p>
+   *
+   * @param type
+   *     指定的类型。
+   * @return 指定类型中可以直接读写的字段。
+   */
+  static List<Field> getMutableFields(final Class<?> type) {
+    final List<Field> result = new ArrayList<>();
+    for (final Field field : getAllFields(type, BEAN_FIELD)) {
+      final int modifiers = field.getModifiers();
+      if (!Modifier.isStatic(modifiers)
+          && !Modifier.isFinal(modifiers)
+          && !Modifier.isTransient(modifiers)) {
+        field.setAccessible(true);
+        result.add(field);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 判断指定类型是否具有无参构造函数。
+   *
+   * @param type
+   *     指定的类型。
+   * @return 若指定类型具有无参构造函数（无论其可见性）则返回 {@code true}；否则返回
+   *     {@code false}。
+   */
+  static boolean hasDefaultConstructor(final Class<?> type) {
+    try {
+      type.getDeclaredConstructor();
+      return true;
+    } catch (final NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 创建指定对象的浅拷贝。
+   *
+   * @param <T>
+   *     指定对象的类型。
+   * @param type
+   *     指定对象的类型，必须具有无参构造函数。
+   * @param obj
+   *     指定的对象。
+   * @param fields
+   *     需要复制的字段，通常由 {@link #getMutableFields(Class)} 获得。
+   * @return 指定对象的浅拷贝。
+   * @throws Exception
+   *     如果无法创建新的实例或读写字段。
+   */
+  static <T> T shallowCopy(final Class<T> type, final T obj, final List<Field> fields)
+      throws Exception {
+    final T copy = ConstructorUtils.newInstance(type);
+    for (final Field field : fields) {
+      field.set(copy, field.get(obj));
+    }
+    return copy;
+  }
+
+  /**
+   * 创建一个与指定对象相等的副本。
+   *
+   * <p>若指定对象实现了 {@link CloneableEx} 接口，则返回其深拷贝，此时副本中的集合等
+   * 成员对象与原对象的成员对象不是同一个实例，对它们的比较不会因引用相同而被短路；
+   * 否则返回其浅拷贝。</p>
+   *
+   * @param <T>
+   *     指定对象的类型。
+   * @param type
+   *     指定对象的类型。
+   * @param obj
+   *     指定的对象。
+   * @param fields
+   *     创建浅拷贝时需要复制的字段。
+   * @return 与指定对象相等的副本。
+   * @throws Exception
+   *     如果无法创建副本。
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T equalCopy(final Class<T> type, final T obj, final List<Field> fields)
+      throws Exception {
+    if (obj instanceof CloneableEx) {
+      return ((CloneableEx<T>) obj).cloneEx();
+    } else {
+      return shallowCopy(type, obj, fields);
+    }
+  }
+}
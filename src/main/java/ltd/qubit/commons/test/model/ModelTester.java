@@ -8,8 +8,21 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.test.model;
 
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.Nullable;
+
 import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.TestParameters;
+import ltd.qubit.commons.test.corpus.ModelCorpus;
+import ltd.qubit.commons.test.corpus.ModelCorpusStore;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterContext;
+import ltd.qubit.commons.test.perf.TesterPhase;
+import ltd.qubit.commons.test.perf.TesterWatchdog;
 
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
 import static ltd.qubit.commons.lang.Argument.requireNonNull;
 import static ltd.qubit.commons.lang.Argument.requirePositive;
 
@@ -28,6 +41,14 @@ public abstract class ModelTester<T> {
   protected final int loops;
   protected final RandomBeanGenerator random;
   protected boolean enabled = true;
+  protected boolean corpusEnabled = true;
+  protected long iterationTimeout = TestParameters.DEFAULT_ITERATION_TIMEOUT;
+  protected long testerTimeout = TestParameters.DEFAULT_TESTER_TIMEOUT;
+  protected long seed = ThreadLocalRandom.current().nextLong();
+  @Nullable
+  private ModelCorpusStore corpusStore;
+  @Nullable
+  private ModelCorpus<T> corpus;
 
   /**
    * 构造一个 {@link ModelTester} 对象。
@@ -79,6 +100,23 @@ public abstract class ModelTester<T> {
     this.loops = requirePositive("loops", loops);
   }
 
+  /**
+   * 构造一个 {@link ModelTester} 对象。
+   *
+   * @param type
+   *     待测试对象的类。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param parameters
+   *     测试参数，提供测试循环次数以及单次测试循环和测试器完整执行的超时时间。
+   */
+  public ModelTester(final Class<T> type, final RandomBeanGenerator random,
+      final TestParameters parameters) {
+    this(type, random, parameters.getLoops());
+    setIterationTimeout(parameters.getIterationTimeout());
+    setTesterTimeout(parameters.getTesterTimeout());
+  }
+
   /**
    * 获取待测试对象的类。
    *
@@ -125,21 +163,202 @@ public abstract class ModelTester<T> {
     this.enabled = enabled;
   }
 
+  /**
+   * 检查此测试器是否从当前注册的 {@link ModelCorpusStore} 中获取测试对象。
+   *
+   * @return 如果此测试器从语料库中获取测试对象，则返回 {@code true}；否则返回
+   *     {@code false}。
+   */
+  public final boolean isCorpusEnabled() {
+    return corpusEnabled;
+  }
+
+  /**
+   * 设置此测试器是否从当前注册的 {@link ModelCorpusStore} 中获取测试对象。
+   * <p>
+   * 若测试器需要由其自身的 {@link RandomBeanGenerator} 生成具有特定性质的随机对象，
+   * 应禁用此选项。
+   * </p>
+   *
+   * @param corpusEnabled
+   *     如果为 {@code true}，则从语料库中获取测试对象；如果为 {@code false}，则总是
+   *     随机生成测试对象。
+   */
+  public final void setCorpusEnabled(final boolean corpusEnabled) {
+    this.corpusEnabled = corpusEnabled;
+  }
+
+  /**
+   * 获取单次测试循环的超时时间。
+   *
+   * @return 单次测试循环的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final long getIterationTimeout() {
+    return iterationTimeout;
+  }
+
+  /**
+   * 设置单次测试循环的超时时间。
+   *
+   * @param iterationTimeout
+   *     新的单次测试循环的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final void setIterationTimeout(final long iterationTimeout) {
+    this.iterationTimeout = requireNonNegative("iterationTimeout", iterationTimeout);
+  }
+
+  /**
+   * 获取此测试器完整执行的超时时间。
+   *
+   * @return 此测试器完整执行的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final long getTesterTimeout() {
+    return testerTimeout;
+  }
+
+  /**
+   * 设置此测试器完整执行的超时时间。
+   *
+   * @param testerTimeout
+   *     新的此测试器完整执行的超时时间，单位为毫秒，0表示不限制。
+   */
+  public final void setTesterTimeout(final long testerTimeout) {
+    this.testerTimeout = requireNonNegative("testerTimeout", testerTimeout);
+  }
+
+  /**
+   * 获取在看门狗监视下执行时生成测试对象所用的基础随机种子。
+   *
+   * @return 在看门狗监视下执行时生成测试对象所用的基础随机种子。
+   * @see #nextObject(int)
+   */
+  public final long getSeed() {
+    return seed;
+  }
+
+  /**
+   * 设置在看门狗监视下执行时生成测试对象所用的基础随机种子。
+   * <p>
+   * 将此种子设置为超时报告中的种子减去测试循环序号，可以重现超时的测试循环。
+   * </p>
+   *
+   * @param seed
+   *     新的基础随机种子。
+   * @see #nextObject(int)
+   */
+  public final void setSeed(final long seed) {
+    this.seed = seed;
+  }
+
   /**
    * 执行测试。
    * <p>
    * 仅当此测试器已启用 ({@link #isEnabled()} 返回 {@code true}) 时，才会调用 {@link #doTest()} 方法。
+   * {@link #doTest()} 方法在此测试器的 {@link TesterContext} 中执行。
+   * </p>
+   * <p>
+   * 若设置了超时时间，并且当前线程不在其他测试器中执行，{@link #doTest()} 方法将由
+   * {@link TesterWatchdog} 在另一个线程中监视执行；一旦某次测试循环或整个测试超时，
+   * 测试会立即失败，并报告超时的测试循环序号、执行阶段、随机种子和调用栈快照。默认
+   * 不设置超时时间，此时 {@link #doTest()} 方法在调用线程中执行。
    * </p>
    *
    * @throws Exception
    *     如果在测试执行过程中发生任何错误。
    */
   public final void test() throws Exception {
-    if (enabled) {
-      doTest();
+    if (!enabled) {
+      return;
+    }
+    final String tester = getClass().getSimpleName();
+    if (isWatched() && TesterContext.current() == null) {
+      TesterWatchdog.run(type, tester, iterationTimeout, testerTimeout, this::doTest);
+    } else {
+      final TesterContext context = TesterContext.enter(type, tester);
+      try {
+        doTest();
+      } finally {
+        context.exit();
+      }
     }
   }
 
+  /**
+   * 开始第{@code iteration}次测试循环，并生成一个待测试类型的随机实例。
+   * <p>
+   * 若已注册了 {@link ModelCorpusStore}，其中待测试类型的语料库可以由此测试器的
+   * {@link #getRandom()} 重新生成，并且包含第 {@code iteration} 个实例，则直接从语料库
+   * 中反序列化该实例，而不是重新随机生成。若该实例无法被解码，则使语料库失效，并改为
+   * 随机生成该实例。
+   * </p>
+   * <p>
+   * 否则，该实例由此测试器的 {@link #getRandom()} 生成。若设置了超时时间，生成前会先
+   * 将其种子重置为 {@code seed + iteration}，并将此种子记录在当前的 {@link TesterContext}
+   * 中，使得超时报告中的种子可以通过对一个相同配置的 {@link RandomBeanGenerator} 调用
+   * {@code setSeed(seed)} 和 {@code nextObject(type)} 重新生成该实例。
+   * </p>
+   *
+   * @param iteration
+   *     测试循环序号，从0开始。
+   * @return 生成的待测试类型的随机实例。
+   */
+  protected T nextObject(final int iteration) {
+    final TesterContext context = TesterContext.current();
+    if (context != null) {
+      context.setIteration(iteration);
+    }
+    final PhaseProbe probe = PhaseProbe.begin(TesterPhase.GENERATION, type);
+    try {
+      final ModelCorpus<T> corpus = (corpusEnabled ? getCorpus() : null);
+      if (corpus != null && iteration >= 0 && iteration < corpus.size()) {
+        try {
+          final T obj = corpus.get(iteration);
+          if (context != null) {
+            context.setSeed(corpus.getSeed());
+          }
+          return obj;
+        } catch (final IOException e) {
+          invalidateCorpus(e);
+        }
+      }
+      if (isWatched()) {
+        final long iterationSeed = seed + iteration;
+        if (context != null) {
+          context.setSeed(iterationSeed);
+        }
+        synchronized (random) {
+          random.setSeed(iterationSeed);
+          return random.nextObject(type);
+        }
+      }
+      return random.nextObject(type);
+    } finally {
+      probe.end();
+    }
+  }
+
+  @Nullable
+  private synchronized ModelCorpus<T> getCorpus() {
+    final ModelCorpusStore store = ModelCorpusStore.current();
+    if (store != corpusStore) {
+      // 检查语料库是否与生成器的配置一致需要重置生成器的种子，因此每个存储只检查一次
+      corpusStore = store;
+      corpus = (store == null ? null : store.getCorpus(type, random));
+    }
+    return corpus;
+  }
+
+  private synchronized void invalidateCorpus(final IOException cause) {
+    if (corpusStore != null && corpus != null) {
+      corpusStore.invalidate(type, cause);
+    }
+    corpus = null;
+  }
+
+  private boolean isWatched() {
+    return (iterationTimeout > 0) || (testerTimeout > 0);
+  }
+
   /**
    * 执行实际的测试逻辑。子类必须实现此方法以定义具体的测试行为。
    *
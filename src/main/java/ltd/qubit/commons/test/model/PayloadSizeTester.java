@@ -0,0 +1,380 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.PayloadSizeBudget;
+import ltd.qubit.commons.test.perf.PayloadSizeResult;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+
+/**
+ * 测量类的随机实例序列化后的字节数的测试器对象。
+ *
+ * <p>此测试器生成 {@code loops} 个随机实例，分别记录它们序列化为紧凑格式的JSON、
+ * 紧凑格式的XML以及通过 Java 序列化机制序列化后的字节数，并统计每种格式的中位数、
+ * 第99百分位数和最大值。其中 Java 序列化仅在待测试类实现了 {@link Serializable}
+ * 接口时才会被测量。</p>
+ *
+ * <p>此测试器还会统计JSON序列化结果中每个顶层字段平均占用的字节数，并在日志中列出
+ * 占用字节数最多的若干字段，以便定位导致序列化结果膨胀的字段。</p>
+ *
+ * <p>每种格式下单个实例的字节数上限可通过此测试器的 {@link #setMaxJsonBytes(long)}、
+ * {@link #setMaxXmlBytes(long)} 和 {@link #setMaxJavaBytes(long)} 方法设置，也可通过
+ * 待测试类上的 {@link PayloadSizeBudget} 注解声明，前者优先。若某种格式没有设置
+ * 上限，则只记录其测量结果而不做断言。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class PayloadSizeTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_TOP_FIELDS = 5;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PayloadSizeTester.class);
+
+  @Nullable
+  private JsonMapper jsonMapper;
+
+  @Nullable
+  private XmlMapper xmlMapper;
+
+  private long maxJsonBytes = 0;
+
+  private long maxXmlBytes = 0;
+
+  private long maxJavaBytes = 0;
+
+  private int topFields = DEFAULT_TOP_FIELDS;
+
+  private final List<PayloadSizeResult> results = new ArrayList<>();
+
+  private final Map<String, Long> fieldBytes = new LinkedHashMap<>();
+
+  /**
+   * 构造一个 {@link PayloadSizeTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   */
+  public PayloadSizeTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), DEFAULT_LOOPS);
+  }
+
+  /**
+   * 构造一个 {@link PayloadSizeTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     被测量的随机实例的数目。
+   */
+  public PayloadSizeTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops) {
+    this(type, random, loops, new CustomizedJsonMapper(), new CustomizedXmlMapper());
+  }
+
+  /**
+   * 构造一个 {@link PayloadSizeTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     被测量的随机实例的数目。
+   * @param jsonMapper
+   *     用于JSON序列化的 {@link JsonMapper} 对象；若为 {@code null} 则不测量JSON
+   *     格式，也不统计各字段占用的字节数。
+   * @param xmlMapper
+   *     用于XML序列化的 {@link XmlMapper} 对象；若为 {@code null} 则不测量XML格式。
+   */
+  public PayloadSizeTester(final Class<T> type, final RandomBeanGenerator random,
+      final int loops, @Nullable final JsonMapper jsonMapper,
+      @Nullable final XmlMapper xmlMapper) {
+    super(type, random, loops);
+    this.jsonMapper = jsonMapper;
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取用于JSON序列化的 {@link JsonMapper} 对象。
+   *
+   * @return 用于JSON序列化的 {@link JsonMapper} 对象；若为 {@code null} 则不测量
+   *     JSON格式。
+   */
+  @Nullable
+  public final JsonMapper getJsonMapper() {
+    return jsonMapper;
+  }
+
+  /**
+   * 设置用于JSON序列化的 {@link JsonMapper} 对象。
+   *
+   * @param jsonMapper
+   *     新的 {@link JsonMapper} 对象；若为 {@code null} 则不测量JSON格式。
+   */
+  public final void setJsonMapper(@Nullable final JsonMapper jsonMapper) {
+    this.jsonMapper = jsonMapper;
+  }
+
+  /**
+   * 获取用于XML序列化的 {@link XmlMapper} 对象。
+   *
+   * @return 用于XML序列化的 {@link XmlMapper} 对象；若为 {@code null} 则不测量
+   *     XML格式。
+   */
+  @Nullable
+  public final XmlMapper getXmlMapper() {
+    return xmlMapper;
+  }
+
+  /**
+   * 设置用于XML序列化的 {@link XmlMapper} 对象。
+   *
+   * @param xmlMapper
+   *     新的 {@link XmlMapper} 对象；若为 {@code null} 则不测量XML格式。
+   */
+  public final void setXmlMapper(@Nullable final XmlMapper xmlMapper) {
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取单个实例序列化为JSON后的字节数上限。
+   *
+   * @return 单个实例序列化为JSON后的字节数上限；若为0则使用待测试类上的
+   *     {@link PayloadSizeBudget} 注解声明的上限。
+   */
+  public final long getMaxJsonBytes() {
+    return maxJsonBytes;
+  }
+
+  /**
+   * 设置单个实例序列化为JSON后的字节数上限。
+   *
+   * @param maxJsonBytes
+   *     单个实例序列化为JSON后的字节数上限；若为0则使用待测试类上的
+   *     {@link PayloadSizeBudget} 注解声明的上限。
+   */
+  public final void setMaxJsonBytes(final long maxJsonBytes) {
+    this.maxJsonBytes = requireNonNegative("maxJsonBytes", maxJsonBytes);
+  }
+
+  /**
+   * 获取单个实例序列化为XML后的字节数上限。
+   *
+   * @return 单个实例序列化为XML后的字节数上限；若为0则使用待测试类上的
+   *     {@link PayloadSizeBudget} 注解声明的上限。
+   */
+  public final long getMaxXmlBytes() {
+    return maxXmlBytes;
+  }
+
+  /**
+   * 设置单个实例序列化为XML后的字节数上限。
+   *
+   * @param maxXmlBytes
+   *     单个实例序列化为XML后的字节数上限；若为0则使用待测试类上的
+   *     {@link PayloadSizeBudget} 注解声明的上限。
+   */
+  public final void setMaxXmlBytes(final long maxXmlBytes) {
+    this.maxXmlBytes = requireNonNegative("maxXmlBytes", maxXmlBytes);
+  }
+
+  /**
+   * 获取单个实例通过 Java 序列化机制序列化后的字节数上限。
+   *
+   * @return 单个实例通过 Java 序列化机制序列化后的字节数上限；若为0则使用待测试类
+   *     上的 {@link PayloadSizeBudget} 注解声明的上限。
+   */
+  public final long getMaxJavaBytes() {
+    return maxJavaBytes;
+  }
+
+  /**
+   * 设置单个实例通过 Java 序列化机制序列化后的字节数上限。
+   *
+   * @param maxJavaBytes
+   *     单个实例通过 Java 序列化机制序列化后的字节数上限；若为0则使用待测试类
+   *     上的 {@link PayloadSizeBudget} 注解声明的上限。
+   */
+  public final void setMaxJavaBytes(final long maxJavaBytes) {
+    this.maxJavaBytes = requireNonNegative("maxJavaBytes", maxJavaBytes);
+  }
+
+  /**
+   * 获取在日志中列出的占用字节数最多的字段的数目。
+   *
+   * @return 在日志中列出的占用字节数最多的字段的数目。
+   */
+  public final int getTopFields() {
+    return topFields;
+  }
+
+  /**
+   * 设置在日志中列出的占用字节数最多的字段的数目。
+   *
+   * @param topFields
+   *     新的在日志中列出的占用字节数最多的字段的数目。
+   */
+  public final void setTopFields(final int topFields) {
+    this.topFields = requireNonNegative("topFields", topFields);
+  }
+
+  /**
+   * 获取最近一次测试的测量结果。
+   *
+   * @return 最近一次测试的测量结果。
+   */
+  public final List<PayloadSizeResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 获取最近一次测试中，JSON序列化结果里占用字节数最多的若干顶层字段。
+   *
+   * @param n
+   *     返回的字段的最大数目。
+   * @return 按平均占用字节数从多到少排列的字段名称。
+   */
+  public final List<String> getLargestFields(final int n) {
+    final List<String> names = new ArrayList<>(fieldBytes.keySet());
+    names.sort(Comparator.comparing(fieldBytes::get, Comparator.reverseOrder()));
+    return names.subList(0, Math.min(n, names.size()));
+  }
+
+  /**
+   * 执行序列化结果字节数的测试逻辑。
+   * <p>
+   * 此方法的执行步骤如下：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 生成 {@code loops} 个待测试类型的随机实例。</li>
+   *   <li>对于每种已配置的数据格式，记录每个实例序列化后的字节数。</li>
+   *   <li>统计JSON序列化结果中每个顶层字段平均占用的字节数。</li>
+   *   <li>断言每种格式下每个实例序列化后的字节数不超过其上限。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在序列化过程中发生错误，或测量结果超出上限。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    fieldBytes.clear();
+    final List<T> objects = new ArrayList<>(loops);
+    for (int i = 0; i < loops; ++i) {
+      objects.add(nextObject(i));
+    }
+    if (objects.isEmpty()) {
+      return;
+    }
+    final PayloadSizeBudget annotation = type.getAnnotation(PayloadSizeBudget.class);
+    if (jsonMapper != null) {
+      final long[] sizes = measure(jsonMapper, objects);
+      check(new PayloadSizeResult("JSON", sizes), maxJsonBytes,
+          (annotation == null ? 0 : annotation.json()));
+      collectFieldBytes(jsonMapper, objects);
+    }
+    if (xmlMapper != null) {
+      final long[] sizes = measure(xmlMapper, objects);
+      check(new PayloadSizeResult("XML", sizes), maxXmlBytes,
+          (annotation == null ? 0 : annotation.xml()));
+    }
+    if (Serializable.class.isAssignableFrom(type)) {
+      final long[] sizes = new long[objects.size()];
+      for (int i = 0; i < sizes.length; ++i) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+          out.writeObject(objects.get(i));
+        }
+        sizes[i] = buffer.size();
+      }
+      check(new PayloadSizeResult("Java", sizes), maxJavaBytes,
+          (annotation == null ? 0 : annotation.java()));
+    }
+  }
+
+  private long[] measure(final ObjectMapper mapper, final List<T> objects)
+      throws Exception {
+    final ObjectWriter writer = mapper.writerFor(type)
+        .without(SerializationFeature.INDENT_OUTPUT);
+    final long[] sizes = new long[objects.size()];
+    for (int i = 0; i < sizes.length; ++i) {
+      sizes[i] = writer.writeValueAsBytes(objects.get(i)).length;
+    }
+    return sizes;
+  }
+
+  private void collectFieldBytes(final ObjectMapper mapper, final List<T> objects)
+      throws Exception {
+    final ObjectWriter writer = mapper.writerFor(type)
+        .without(SerializationFeature.INDENT_OUTPUT);
+    for (final T obj : objects) {
+      final JsonNode node = mapper.readTree(writer.writeValueAsBytes(obj));
+      final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        final Map.Entry<String, JsonNode> field = fields.next();
+        // 字段的字节数包括带引号的字段名、冒号、字段值以及分隔用的逗号
+        final long bytes = field.getKey().getBytes(StandardCharsets.UTF_8).length + 4
+            + field.getValue().toString().getBytes(StandardCharsets.UTF_8).length;
+        fieldBytes.merge(field.getKey(), bytes, Long::sum);
+      }
+    }
+    fieldBytes.replaceAll((name, total) -> total / objects.size());
+    for (final String name : getLargestFields(topFields)) {
+      LOGGER.info("The field '{}' of {} takes {} bytes in JSON on average",
+          name, type.getSimpleName(), fieldBytes.get(name));
+    }
+  }
+
+  private void check(final PayloadSizeResult result, final long configured,
+      final long declared) {
+    results.add(result);
+    LOGGER.info("{} payload size of {}: p50 {} bytes, p99 {} bytes, max {} bytes",
+        result.getFormat(), type.getSimpleName(), result.getP50(), result.getP99(),
+        result.getMax());
+    final long budget = (configured > 0 ? configured : declared);
+    if (budget > 0) {
+      assertTrue(result.getMax() <= budget, () -> String.format(
+          "The %s payload size of %s is %d bytes, which exceeds the budget of %d bytes.",
+          result.getFormat(), type.getName(), result.getMax(), budget));
+    }
+  }
+}
@@ -0,0 +1,266 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.GrowthResult;
+import ltd.qubit.commons.test.perf.LatencyHistogram;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 测量集合类字段的大小增长时，类的序列化、反序列化和比较操作耗时增长情况的测试器
+ * 对象。
+ *
+ * <p>此测试器先生成一个待测试类型的随机实例，然后对于每个指定的集合大小 {@code n}，
+ * 将该实例的所有集合、映射和数组类型的字段替换为包含 {@code n} 个随机元素的新值，
+ * 分别测量其序列化、反序列化以及比较反序列化结果与原实例的耗时。每种操作的耗时曲线
+ * 通过 {@link GrowthResult} 拟合出增长指数，若增长指数超过上限，则说明存在超线性的
+ * 实现，例如平方复杂度的自定义反序列化器或每次添加元素都复制集合的setter，测试失败。</p>
+ *
+ * <p>每个集合大小下的耗时取 {@code repeats} 次测量的中位数；拟合时排除最小的集合大小，
+ * 因为其耗时主要由常数开销决定。</p>
+ *
+ * @param <T>
+ *     待测试的领域对象模型的类型。
+ * @author 胡海星
+ */
+public class ScalingCurveTester<T> extends ModelTester<T> {
+
+  public static final int[] DEFAULT_SIZES = {10, 100, 1000, 10000};
+
+  public static final int DEFAULT_REPEATS = 5;
+
+  public static final double DEFAULT_MAX_EXPONENT = 1.5;
+
+  private static final String[] OPERATIONS = {"serialize", "deserialize", "verify"};
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ScalingCurveTester.class);
+
+  private ObjectMapper mapper;
+
+  private int[] sizes = DEFAULT_SIZES;
+
+  private int repeats = DEFAULT_REPEATS;
+
+  private double maxExponent = DEFAULT_MAX_EXPONENT;
+
+  private final List<GrowthResult> results = new ArrayList<>();
+
+  private volatile int sink;
+
+  /**
+   * 构造一个 {@link ScalingCurveTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   */
+  public ScalingCurveTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), new CustomizedJsonMapper());
+  }
+
+  /**
+   * 构造一个 {@link ScalingCurveTester} 对象。
+   *
+   * @param type
+   *     待测试的领域对象模型的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param mapper
+   *     用于序列化和反序列化的 {@link ObjectMapper} 对象。
+   */
+  public ScalingCurveTester(final Class<T> type, final RandomBeanGenerator random,
+      final ObjectMapper mapper) {
+    super(type, random, 1);
+    this.mapper = requireNonNull("mapper", mapper);
+  }
+
+  /**
+   * 获取用于序列化和反序列化的 {@link ObjectMapper} 对象。
+   *
+   * @return 用于序列化和反序列化的 {@link ObjectMapper} 对象。
+   */
+  public final ObjectMapper getMapper() {
+    return mapper;
+  }
+
+  /**
+   * 设置用于序列化和反序列化的 {@link ObjectMapper} 对象。
+   *
+   * @param mapper
+   *     新的用于序列化和反序列化的 {@link ObjectMapper} 对象。
+   */
+  public final void setMapper(final ObjectMapper mapper) {
+    this.mapper = requireNonNull("mapper", mapper);
+  }
+
+  /**
+   * 获取被测量的集合大小。
+   *
+   * @return 被测量的集合大小，按升序排列。
+   */
+  public final int[] getSizes() {
+    return sizes.clone();
+  }
+
+  /**
+   * 设置被测量的集合大小。
+   *
+   * @param sizes
+   *     新的被测量的集合大小，每个都必须为正数。
+   */
+  public final void setSizes(final int... sizes) {
+    for (final int size : sizes) {
+      requirePositive("size", size);
+    }
+    this.sizes = sizes.clone();
+    Arrays.sort(this.sizes);
+  }
+
+  /**
+   * 获取每个集合大小下每种操作的测量次数。
+   *
+   * @return 每个集合大小下每种操作的测量次数。
+   */
+  public final int getRepeats() {
+    return repeats;
+  }
+
+  /**
+   * 设置每个集合大小下每种操作的测量次数。
+   *
+   * @param repeats
+   *     新的每个集合大小下每种操作的测量次数。
+   */
+  public final void setRepeats(final int repeats) {
+    this.repeats = requirePositive("repeats", repeats);
+  }
+
+  /**
+   * 获取增长指数的上限。
+   *
+   * @return 增长指数的上限；若为0则不检查。
+   */
+  public final double getMaxExponent() {
+    return maxExponent;
+  }
+
+  /**
+   * 设置增长指数的上限。
+   *
+   * @param maxExponent
+   *     新的增长指数的上限；若为0则不检查。
+   */
+  public final void setMaxExponent(final double maxExponent) {
+    this.maxExponent = maxExponent;
+  }
+
+  /**
+   * 获取最近一次测试的测量结果。
+   *
+   * @return 最近一次测试的测量结果，每种操作一个。
+   */
+  public final List<GrowthResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 执行耗时增长曲线的测试逻辑。
+   * <p>
+   * 此方法的执行步骤如下：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 生成一个待测试类型的随机实例，找出其中
+   *   元素类型可以确定的集合、映射和数组类型的字段。若不存在这样的字段，则不做任何
+   *   事情。</li>
+   *   <li>对于每个集合大小，将这些字段替换为包含相应数目随机元素的新值，测量序列化、
+   *   反序列化以及比较反序列化结果与原实例的耗时，并断言反序列化结果与原实例相等。</li>
+   *   <li>拟合每种操作的增长指数，断言其不超过上限。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在测试过程中发生错误，或存在超线性增长的操作。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    if (type.isEnum() || sizes.length == 0) {
+      return;
+    }
+    final T obj = nextObject(0);
+    final List<Field> fields = CollectionFiller.getSizableFields(type);
+    if (fields.isEmpty()) {
+      LOGGER.info("{} has no collection fields, skip the scaling curve test.", type.getName());
+      return;
+    }
+    final ObjectWriter writer = mapper.writerFor(type);
+    final ObjectReader reader = mapper.readerFor(type);
+    final CollectionFiller filler = new CollectionFiller(random);
+    final long[][] nanos = new long[OPERATIONS.length][sizes.length];
+    for (int k = 0; k < sizes.length; ++k) {
+      for (final Field field : fields) {
+        field.set(obj, filler.fill(field, field.get(obj), sizes[k]));
+      }
+      final LatencyHistogram[] samples = new LatencyHistogram[OPERATIONS.length];
+      for (int op = 0; op < OPERATIONS.length; ++op) {
+        samples[op] = new LatencyHistogram();
+      }
+      for (int r = 0; r < repeats; ++r) {
+        long start = System.nanoTime();
+        final String payload = writer.writeValueAsString(obj);
+        samples[0].record(System.nanoTime() - start);
+        start = System.nanoTime();
+        final T actual = reader.readValue(payload);
+        samples[1].record(System.nanoTime() - start);
+        start = System.nanoTime();
+        final boolean equal = obj.equals(actual);
+        samples[2].record(System.nanoTime() - start);
+        assertEquals(obj, actual, "The deserialized object must equals to the original "
+            + "object with collections of size " + sizes[k] + ".");
+        sink = payload.length() ^ (equal ? 1 : 0);
+      }
+      for (int op = 0; op < OPERATIONS.length; ++op) {
+        nanos[op][k] = samples[op].snapshot().getP50();
+      }
+      LOGGER.info("{} with collections of size {}: serialize {} ns, deserialize {} ns, "
+          + "verify {} ns", type.getSimpleName(), sizes[k], nanos[0][k], nanos[1][k],
+          nanos[2][k]);
+    }
+    final int firstFitted = (sizes.length > 2 ? 1 : 0);
+    for (int op = 0; op < OPERATIONS.length; ++op) {
+      final GrowthResult result = new GrowthResult(OPERATIONS[op], sizes, nanos[op], firstFitted);
+      results.add(result);
+      LOGGER.info("The {} time of {} grows as n^{}", result.getOperation(),
+          type.getSimpleName(), String.format("%.2f", result.getExponent()));
+      if (maxExponent > 0 && !Double.isNaN(result.getExponent())) {
+        assertTrue(result.getExponent() <= maxExponent, () -> String.format(
+            "The %s time of %s grows super-linearly as n^%.2f over collection sizes %s, "
+                + "which exceeds n^%.2f.", result.getOperation(), type.getName(),
+            result.getExponent(), Arrays.toString(sizes), maxExponent));
+      }
+    }
+  }
+}
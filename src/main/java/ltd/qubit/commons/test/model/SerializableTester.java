@@ -8,17 +8,33 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.test.model;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import ltd.qubit.commons.random.RandomBeanGenerator;
 import ltd.qubit.commons.reflect.FieldUtils;
 import ltd.qubit.commons.reflect.Option;
+import ltd.qubit.commons.test.perf.PhaseProbe;
+import ltd.qubit.commons.test.perf.TesterPhase;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+
 /**
- * 测试实现了`java.io.Serializable`接口的类是否定义了`serialVersionUID`。
+ * 测试实现了`java.io.Serializable`接口的类是否定义了`serialVersionUID`，并通过 Java
+ * 序列化机制往返传输随机实例。
+ *
+ * <p>此测试器会记录每个实例序列化后的字节数，以及序列化和反序列化每个实例平均耗费的
+ * 时间。若设置了序列化大小或耗时的上限，则测量结果超出预算时测试失败。</p>
  *
  * @param <T>
  *     待测试的领域对象模型的类型。
@@ -26,6 +42,24 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  */
 public class SerializableTester<T> extends ModelTester<T> {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(SerializableTester.class);
+
+  private long maxSerializedBytes = 0;
+
+  private long maxSerializeNanos = 0;
+
+  private long maxDeserializeNanos = 0;
+
+  private long totalSerializedBytes;
+
+  private long largestSerializedBytes;
+
+  private long serializeNanos;
+
+  private long deserializeNanos;
+
+  private int count;
+
   /**
    * 构造一个 {@link SerializableTester} 对象。
    *
@@ -74,6 +108,99 @@ public class SerializableTester<T> extends ModelTester<T> {
     super(type, random, loops);
   }
 
+  /**
+   * 获取单个实例序列化后的字节数的上限。
+   *
+   * @return 单个实例序列化后至多包含的字节数；若为0则不检查。
+   */
+  public final long getMaxSerializedBytes() {
+    return maxSerializedBytes;
+  }
+
+  /**
+   * 设置单个实例序列化后的字节数的上限。
+   *
+   * @param maxSerializedBytes
+   *     单个实例序列化后至多包含的字节数；若为0则不检查。
+   */
+  public final void setMaxSerializedBytes(final long maxSerializedBytes) {
+    this.maxSerializedBytes = requireNonNegative("maxSerializedBytes", maxSerializedBytes);
+  }
+
+  /**
+   * 获取序列化操作的平均耗时上限。
+   *
+   * @return 序列化每个实例平均至多耗费的纳秒数；若为0则不检查。
+   */
+  public final long getMaxSerializeNanos() {
+    return maxSerializeNanos;
+  }
+
+  /**
+   * 设置序列化操作的平均耗时上限。
+   *
+   * @param maxSerializeNanos
+   *     序列化每个实例平均至多耗费的纳秒数；若为0则不检查。
+   */
+  public final void setMaxSerializeNanos(final long maxSerializeNanos) {
+    this.maxSerializeNanos = requireNonNegative("maxSerializeNanos", maxSerializeNanos);
+  }
+
+  /**
+   * 获取反序列化操作的平均耗时上限。
+   *
+   * @return 反序列化每个实例平均至多耗费的纳秒数；若为0则不检查。
+   */
+  public final long getMaxDeserializeNanos() {
+    return maxDeserializeNanos;
+  }
+
+  /**
+   * 设置反序列化操作的平均耗时上限。
+   *
+   * @param maxDeserializeNanos
+   *     反序列化每个实例平均至多耗费的纳秒数；若为0则不检查。
+   */
+  public final void setMaxDeserializeNanos(final long maxDeserializeNanos) {
+    this.maxDeserializeNanos = requireNonNegative("maxDeserializeNanos", maxDeserializeNanos);
+  }
+
+  /**
+   * 获取最近一次测试中，实例序列化后的平均字节数。
+   *
+   * @return 最近一次测试中，实例序列化后的平均字节数。
+   */
+  public final long getMeanSerializedBytes() {
+    return (count == 0 ? 0 : totalSerializedBytes / count);
+  }
+
+  /**
+   * 获取最近一次测试中，实例序列化后的最大字节数。
+   *
+   * @return 最近一次测试中，实例序列化后的最大字节数。
+   */
+  public final long getLargestSerializedBytes() {
+    return largestSerializedBytes;
+  }
+
+  /**
+   * 获取最近一次测试中，序列化每个实例平均耗费的纳秒数。
+   *
+   * @return 最近一次测试中，序列化每个实例平均耗费的纳秒数。
+   */
+  public final long getMeanSerializeNanos() {
+    return (count == 0 ? 0 : serializeNanos / count);
+  }
+
+  /**
+   * 获取最近一次测试中，反序列化每个实例平均耗费的纳秒数。
+   *
+   * @return 最近一次测试中，反序列化每个实例平均耗费的纳秒数。
+   */
+  public final long getMeanDeserializeNanos() {
+    return (count == 0 ? 0 : deserializeNanos / count);
+  }
+
   /**
    * 执行对模型可序列化性的测试逻辑。
    * <p>
@@ -82,9 +209,13 @@ public class SerializableTester<T> extends ModelTester<T> {
    *   <li>是否实现了 {@link java.io.Serializable} 接口。</li>
    *   <li>是否定义了名为 {@code serialVersionUID} 的私有静态字段。</li>
    * </ul>
+   * 然后循环指定次数，在每次循环中生成一个随机实例，通过 {@link ObjectOutputStream}
+   * 将其序列化，再通过 {@link ObjectInputStream} 将其反序列化，并断言反序列化的结果
+   * 与原实例相等。最后断言序列化大小和平均耗时在预算之内。
    *
    * @throws Exception
-   *     如果在测试过程中发生任何错误，例如反射访问字段失败。
+   *     如果在测试过程中发生任何错误，例如反射访问字段失败、序列化失败或测量结果
+   *     超出预算。
    */
   @Override
   protected void doTest() throws Exception {
@@ -92,6 +223,81 @@ public class SerializableTester<T> extends ModelTester<T> {
       assertTrue(Serializable.class.isAssignableFrom(type));
       assertNotNull(FieldUtils.getField(type, Option.STATIC | Option.PRIVATE,
           "serialVersionUID"), "The serialVersionUID must be defined.");
+      totalSerializedBytes = 0;
+      largestSerializedBytes = 0;
+      serializeNanos = 0;
+      deserializeNanos = 0;
+      count = 0;
+      for (int i = 0; i < loops; ++i) {
+        final T obj = nextObject(i);
+        final byte[] bytes = serialize(obj);
+        final Object actual = deserialize(bytes);
+        final PhaseProbe probe = PhaseProbe.begin(TesterPhase.VERIFICATION, type);
+        try {
+          assertEquals(obj, actual, "The deserialized object must equals to the original object.");
+        } finally {
+          probe.end();
+        }
+        ++count;
+      }
+      LOGGER.info("Java serialization of {}: mean {} bytes, max {} bytes, "
+          + "serialize {} ns/op, deserialize {} ns/op", type.getSimpleName(),
+          getMeanSerializedBytes(), largestSerializedBytes, getMeanSerializeNanos(),
+          getMeanDeserializeNanos());
+      check();
+    }
+  }
+
+  private byte[] serialize(final T obj) throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(TesterPhase.SERIALIZATION, type);
+    try {
+      final long start = System.nanoTime();
+      final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      try (final ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+        out.writeObject(obj);
+      }
+      final byte[] bytes = buffer.toByteArray();
+      serializeNanos += System.nanoTime() - start;
+      totalSerializedBytes += bytes.length;
+      largestSerializedBytes = Math.max(largestSerializedBytes, bytes.length);
+      probe.setPayloadSize(bytes.length);
+      return bytes;
+    } finally {
+      probe.end();
+    }
+  }
+
+  private Object deserialize(final byte[] bytes) throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(TesterPhase.DESERIALIZATION, type);
+    try {
+      probe.setPayloadSize(bytes.length);
+      final long start = System.nanoTime();
+      final Object result;
+      try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+        result = in.readObject();
+      }
+      deserializeNanos += System.nanoTime() - start;
+      return result;
+    } finally {
+      probe.end();
+    }
+  }
+
+  private void check() {
+    if (maxSerializedBytes > 0) {
+      assertTrue(largestSerializedBytes <= maxSerializedBytes, () -> String.format(
+          "The serialized size of %s is %d bytes, which exceeds the budget of %d bytes.",
+          type.getName(), largestSerializedBytes, maxSerializedBytes));
+    }
+    if (maxSerializeNanos > 0) {
+      assertTrue(getMeanSerializeNanos() <= maxSerializeNanos, () -> String.format(
+          "The serialization latency of %s is %d ns/op, which exceeds the budget of %d ns/op.",
+          type.getName(), getMeanSerializeNanos(), maxSerializeNanos));
+    }
+    if (maxDeserializeNanos > 0) {
+      assertTrue(getMeanDeserializeNanos() <= maxDeserializeNanos, () -> String.format(
+          "The deserialization latency of %s is %d ns/op, which exceeds the budget of %d ns/op.",
+          type.getName(), getMeanDeserializeNanos(), maxDeserializeNanos));
     }
   }
 
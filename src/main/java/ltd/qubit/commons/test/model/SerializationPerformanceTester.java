@@ -0,0 +1,308 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.OperationRunner;
+import ltd.qubit.commons.test.perf.OperationRunner.Operation;
+import ltd.qubit.commons.test.perf.ThroughputResult;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 测量类的 JSON 和 XML 序列化/反序列化的稳态吞吐量的测试器对象。
+ *
+ * <p>此测试器首先使用 {@link RandomBeanGenerator} 预先生成 {@code loops} 个待测试
+ * 类型的随机实例，然后对每种数据格式的序列化和反序列化操作分别执行预热和测量。预热和
+ * 测量时轮流使用预先生成的实例，操作的结果会被消费以避免被JIT编译器优化掉。</p>
+ *
+ * <p>若设置了吞吐量下限或平均耗时上限，则测量结果超出预算时测试失败。</p>
+ *
+ * @param <T>
+ *     待测试的类的类型。
+ * @author 胡海星
+ */
+public class SerializationPerformanceTester<T> extends ModelTester<T> {
+
+  public static final int DEFAULT_WARMUP_ITERATIONS = 200;
+
+  public static final int DEFAULT_MEASURED_ITERATIONS = 1000;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SerializationPerformanceTester.class);
+
+  @Nullable
+  private JsonMapper jsonMapper;
+
+  @Nullable
+  private XmlMapper xmlMapper;
+
+  private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+
+  private int measuredIterations = DEFAULT_MEASURED_ITERATIONS;
+
+  private double minOpsPerSecond = 0;
+
+  private long maxMeanNanos = 0;
+
+  private final List<ThroughputResult> results = new ArrayList<>();
+
+  /**
+   * 构造一个 {@link SerializationPerformanceTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   */
+  public SerializationPerformanceTester(final Class<T> type) {
+    this(type, new RandomBeanGenerator(), DEFAULT_LOOPS);
+  }
+
+  /**
+   * 构造一个 {@link SerializationPerformanceTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     预先生成的随机实例的数目。
+   */
+  public SerializationPerformanceTester(final Class<T> type,
+      final RandomBeanGenerator random, final int loops) {
+    this(type, random, loops, new CustomizedJsonMapper(), new CustomizedXmlMapper());
+  }
+
+  /**
+   * 构造一个 {@link SerializationPerformanceTester} 对象。
+   *
+   * @param type
+   *     待测试的类的类型。
+   * @param random
+   *     用于生成随机数据的 {@link RandomBeanGenerator} 对象。
+   * @param loops
+   *     预先生成的随机实例的数目。
+   * @param jsonMapper
+   *     用于JSON序列化/反序列化的 {@link JsonMapper} 对象；若为 {@code null} 则不测量
+   *     JSON格式。
+   * @param xmlMapper
+   *     用于XML序列化/反序列化的 {@link XmlMapper} 对象；若为 {@code null} 则不测量
+   *     XML格式。
+   */
+  public SerializationPerformanceTester(final Class<T> type,
+      final RandomBeanGenerator random, final int loops,
+      @Nullable final JsonMapper jsonMapper, @Nullable final XmlMapper xmlMapper) {
+    super(type, random, loops);
+    this.jsonMapper = jsonMapper;
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   *
+   * @return 用于JSON序列化/反序列化的 {@link JsonMapper} 对象；若为 {@code null}
+   *     则不测量JSON格式。
+   */
+  @Nullable
+  public final JsonMapper getJsonMapper() {
+    return jsonMapper;
+  }
+
+  /**
+   * 设置用于JSON序列化/反序列化的 {@link JsonMapper} 对象。
+   *
+   * @param jsonMapper
+   *     新的 {@link JsonMapper} 对象；若为 {@code null} 则不测量JSON格式。
+   */
+  public final void setJsonMapper(@Nullable final JsonMapper jsonMapper) {
+    this.jsonMapper = jsonMapper;
+  }
+
+  /**
+   * 获取用于XML序列化/反序列化的 {@link XmlMapper} 对象。
+   *
+   * @return 用于XML序列化/反序列化的 {@link XmlMapper} 对象；若为 {@code null}
+   *     则不测量XML格式。
+   */
+  @Nullable
+  public final XmlMapper getXmlMapper() {
+    return xmlMapper;
+  }
+
+  /**
+   * 设置用于XML序列化/反序列化的 {@link XmlMapper} 对象。
+   *
+   * @param xmlMapper
+   *     新的 {@link XmlMapper} 对象；若为 {@code null} 则不测量XML格式。
+   */
+  public final void setXmlMapper(@Nullable final XmlMapper xmlMapper) {
+    this.xmlMapper = xmlMapper;
+  }
+
+  /**
+   * 获取每种操作的预热次数。
+   *
+   * @return 每种操作的预热次数。
+   */
+  public final int getWarmupIterations() {
+    return warmupIterations;
+  }
+
+  /**
+   * 设置每种操作的预热次数。
+   *
+   * @param warmupIterations
+   *     新的每种操作的预热次数。
+   */
+  public final void setWarmupIterations(final int warmupIterations) {
+    this.warmupIterations = requireNonNegative("warmupIterations", warmupIterations);
+  }
+
+  /**
+   * 获取每种操作的测量次数。
+   *
+   * @return 每种操作的测量次数。
+   */
+  public final int getMeasuredIterations() {
+    return measuredIterations;
+  }
+
+  /**
+   * 设置每种操作的测量次数。
+   *
+   * @param measuredIterations
+   *     新的每种操作的测量次数。
+   */
+  public final void setMeasuredIterations(final int measuredIterations) {
+    this.measuredIterations = requirePositive("measuredIterations", measuredIterations);
+  }
+
+  /**
+   * 获取每种操作的吞吐量下限。
+   *
+   * @return 每种操作每秒至少应执行的次数；若为0则不检查吞吐量。
+   */
+  public final double getMinOpsPerSecond() {
+    return minOpsPerSecond;
+  }
+
+  /**
+   * 设置每种操作的吞吐量下限。
+   *
+   * @param minOpsPerSecond
+   *     每种操作每秒至少应执行的次数；若为0则不检查吞吐量。
+   */
+  public final void setMinOpsPerSecond(final double minOpsPerSecond) {
+    this.minOpsPerSecond = minOpsPerSecond;
+  }
+
+  /**
+   * 获取每种操作的平均耗时上限。
+   *
+   * @return 每种操作平均至多耗费的纳秒数；若为0则不检查平均耗时。
+   */
+  public final long getMaxMeanNanos() {
+    return maxMeanNanos;
+  }
+
+  /**
+   * 设置每种操作的平均耗时上限。
+   *
+   * @param maxMeanNanos
+   *     每种操作平均至多耗费的纳秒数；若为0则不检查平均耗时。
+   */
+  public final void setMaxMeanNanos(final long maxMeanNanos) {
+    this.maxMeanNanos = requireNonNegative("maxMeanNanos", maxMeanNanos);
+  }
+
+  /**
+   * 获取最近一次测试的测量结果。
+   *
+   * @return 最近一次测试的测量结果。
+   */
+  public final List<ThroughputResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * 执行序列化/反序列化吞吐量的测试逻辑。
+   * <p>
+   * 此方法的执行步骤如下：
+   * <ol>
+   *   <li>使用 {@link RandomBeanGenerator} 预先生成 {@code loops} 个待测试类型的随机实例。</li>
+   *   <li>对于每种已配置的数据格式，将所有实例预先序列化，作为反序列化的输入。</li>
+   *   <li>对于每种数据格式的序列化和反序列化操作，先预热，再测量其吞吐量。</li>
+   *   <li>断言每种操作的吞吐量和平均耗时在预算之内。</li>
+   * </ol>
+   *
+   * @throws Exception
+   *     如果在序列化或反序列化过程中发生错误，或测量结果超出预算。
+   */
+  @Override
+  protected void doTest() throws Exception {
+    results.clear();
+    final List<T> objects = new ArrayList<>(loops);
+    for (int i = 0; i < loops; ++i) {
+      objects.add(nextObject(i));
+    }
+    if (jsonMapper != null) {
+      measure("JSON", jsonMapper, objects);
+    }
+    if (xmlMapper != null) {
+      measure("XML", xmlMapper, objects);
+    }
+    for (final ThroughputResult result : results) {
+      LOGGER.info("{} {} of {}: {} ops/s, {} ns/op", result.getFormat(),
+          result.getOperation(), type.getSimpleName(),
+          String.format("%.2f", result.getOpsPerSecond()), result.getMeanNanos());
+      if (minOpsPerSecond > 0) {
+        assertTrue(result.getOpsPerSecond() >= minOpsPerSecond,
+            () -> String.format("The %s %s throughput of %s is %.2f ops/s, "
+                + "which is below the budget of %.2f ops/s.", result.getFormat(),
+                result.getOperation(), type.getName(), result.getOpsPerSecond(),
+                minOpsPerSecond));
+      }
+      if (maxMeanNanos > 0) {
+        assertTrue(result.getMeanNanos() <= maxMeanNanos,
+            () -> String.format("The %s %s latency of %s is %d ns/op, "
+                + "which exceeds the budget of %d ns/op.", result.getFormat(),
+                result.getOperation(), type.getName(), result.getMeanNanos(),
+                maxMeanNanos));
+      }
+    }
+  }
+
+  private void measure(final String format, final ObjectMapper mapper,
+      final List<T> objects) throws Exception {
+    final Operation serialize = OperationRunner.serializing(mapper, type, objects);
+    final Operation deserialize = OperationRunner.deserializing(mapper, type, objects);
+    OperationRunner.repeat(serialize, warmupIterations);
+    results.add(new ThroughputResult(format, "serialize", measuredIterations,
+        OperationRunner.time(serialize, measuredIterations)));
+    OperationRunner.repeat(deserialize, warmupIterations);
+    results.add(new ThroughputResult(format, "deserialize", measuredIterations,
+        OperationRunner.time(deserialize, measuredIterations)));
+  }
+}
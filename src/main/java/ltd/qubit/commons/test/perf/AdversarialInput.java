@@ -0,0 +1,42 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+/**
+ * 枚举用于检查反序列化器的各类语法合法但具有攻击性的输入。
+ *
+ * @author 胡海星
+ */
+public enum AdversarialInput {
+
+  /**
+   * 嵌套层次极深的数组。
+   */
+  DEEP_NESTING,
+
+  /**
+   * 元素数目极多的数组。
+   */
+  HUGE_ARRAY,
+
+  /**
+   * 长度极长的字符串。
+   */
+  LONG_STRING,
+
+  /**
+   * 大量模型中不存在的字段。
+   */
+  UNKNOWN_FIELDS,
+
+  /**
+   * 位数极多的数字。
+   */
+  BIG_NUMBER,
+}
@@ -0,0 +1,119 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import javax.annotation.Nullable;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 反序列化一个攻击性输入的测量结果。
+ *
+ * @author 胡海星
+ */
+public final class AdversarialInputResult {
+
+  private final AdversarialInput input;
+  private final long inputBytes;
+  private final long nanos;
+  private final long allocatedBytes;
+  @Nullable
+  private final String rejection;
+
+  /**
+   * 构造一个 {@link AdversarialInputResult} 对象。
+   *
+   * @param input
+   *     攻击性输入的种类。
+   * @param inputBytes
+   *     输入的字节数。
+   * @param nanos
+   *     反序列化该输入所耗费的纳秒数，包括拒绝该输入所耗费的时间，取多次测量的中位数。
+   * @param allocatedBytes
+   *     反序列化该输入时分配的堆内存字节数，取多次测量的中位数；若当前JVM不支持度量
+   *     则为 {@code -1}。
+   * @param rejection
+   *     反序列化器拒绝该输入时给出的错误信息；若该输入被成功反序列化则为
+   *     {@code null}。
+   */
+  public AdversarialInputResult(final AdversarialInput input, final long inputBytes,
+      final long nanos, final long allocatedBytes, @Nullable final String rejection) {
+    this.input = input;
+    this.inputBytes = inputBytes;
+    this.nanos = nanos;
+    this.allocatedBytes = allocatedBytes;
+    this.rejection = rejection;
+  }
+
+  /**
+   * 获取攻击性输入的种类。
+   *
+   * @return 攻击性输入的种类。
+   */
+  public AdversarialInput getInput() {
+    return input;
+  }
+
+  /**
+   * 获取输入的字节数。
+   *
+   * @return 输入的字节数。
+   */
+  public long getInputBytes() {
+    return inputBytes;
+  }
+
+  /**
+   * 获取反序列化该输入所耗费的纳秒数。
+   *
+   * @return 反序列化该输入所耗费的纳秒数，包括拒绝该输入所耗费的时间。
+   */
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * 获取反序列化该输入时分配的堆内存字节数。
+   *
+   * @return 反序列化该输入时分配的堆内存字节数；若当前JVM不支持度量则返回 {@code -1}。
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * 判断该输入是否被反序列化器拒绝。
+   *
+   * @return 若该输入被拒绝则返回 {@code true}；若被成功反序列化则返回 {@code false}。
+   */
+  public boolean isRejected() {
+    return rejection != null;
+  }
+
+  /**
+   * 获取反序列化器拒绝该输入时给出的错误信息。
+   *
+   * @return 反序列化器拒绝该输入时给出的错误信息；若该输入被成功反序列化则返回
+   *     {@code null}。
+   */
+  @Nullable
+  public String getRejection() {
+    return rejection;
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("input", input)
+        .append("inputBytes", inputBytes)
+        .append("nanos", nanos)
+        .append("allocatedBytes", allocatedBytes)
+        .append("rejected", isRejected())
+        .toString();
+  }
+}
@@ -0,0 +1,42 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明领域对象模型的实例在一次序列化或反序列化中至多允许分配的堆内存字节数。
+ *
+ * <p>此注解由 {@code AllocationBudgetTester} 读取。属性值不为正数表示不限制。</p>
+ *
+ * @author 胡海星
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AllocationBudget {
+
+  /**
+   * 一次序列化至多允许分配的堆内存字节数。
+   *
+   * @return 一次序列化至多允许分配的堆内存字节数；不为正数表示不限制。
+   */
+  long serialize() default 0;
+
+  /**
+   * 一次反序列化至多允许分配的堆内存字节数。
+   *
+   * @return 一次反序列化至多允许分配的堆内存字节数；不为正数表示不限制。
+   */
+  long deserialize() default 0;
+}
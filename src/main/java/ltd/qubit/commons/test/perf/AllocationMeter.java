@@ -0,0 +1,67 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.lang.management.ManagementFactory;
+
+import javax.annotation.Nullable;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * 用于度量当前线程已分配的堆内存字节数的工具类。
+ *
+ * <p>此类基于 {@link com.sun.management.ThreadMXBean} 的线程内存分配计数器实现。
+ * 若当前JVM不支持该计数器，则 {@link #isSupported()} 返回 {@code false}，且
+ * {@link #currentThreadAllocatedBytes()} 总是返回 {@code -1}。</p>
+ *
+ * @author 胡海星
+ */
+public final class AllocationMeter {
+
+  @Nullable
+  private static final ThreadMXBean THREAD_BEAN = initThreadBean();
+
+  private AllocationMeter() {}
+
+  @Nullable
+  private static ThreadMXBean initThreadBean() {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof ThreadMXBean)) {
+      return null;
+    }
+    final ThreadMXBean result = (ThreadMXBean) bean;
+    if (!result.isThreadAllocatedMemorySupported()) {
+      return null;
+    }
+    if (!result.isThreadAllocatedMemoryEnabled()) {
+      result.setThreadAllocatedMemoryEnabled(true);
+    }
+    return result;
+  }
+
+  /**
+   * 判断当前JVM是否支持度量线程已分配的内存。
+   *
+   * @return 若当前JVM支持度量线程已分配的内存则返回 {@code true}；否则返回
+   *     {@code false}。
+   */
+  public static boolean isSupported() {
+    return THREAD_BEAN != null;
+  }
+
+  /**
+   * 获取当前线程自启动以来累计分配的堆内存字节数。
+   *
+   * @return 当前线程累计分配的堆内存字节数；若当前JVM不支持则返回 {@code -1}。
+   */
+  public static long currentThreadAllocatedBytes() {
+    return (THREAD_BEAN == null ? -1 : THREAD_BEAN.getCurrentThreadAllocatedBytes());
+  }
+}
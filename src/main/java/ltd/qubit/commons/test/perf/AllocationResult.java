@@ -0,0 +1,113 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 某种操作的内存分配测量结果。
+ *
+ * @author 胡海星
+ */
+public final class AllocationResult {
+
+  private final String format;
+  private final String operation;
+  private final long iterations;
+  private final long allocatedBytes;
+  private final long maxBytesPerOp;
+
+  /**
+   * 构造一个 {@link AllocationResult} 对象。
+   *
+   * @param format
+   *     被测量的数据格式，例如 {@code "JSON"}。
+   * @param operation
+   *     被测量的操作，例如 {@code "serialize"}。
+   * @param iterations
+   *     测量的操作次数。
+   * @param allocatedBytes
+   *     测量的操作累计分配的堆内存字节数。
+   * @param maxBytesPerOp
+   *     单次操作分配的最大堆内存字节数。
+   */
+  public AllocationResult(final String format, final String operation,
+      final long iterations, final long allocatedBytes, final long maxBytesPerOp) {
+    this.format = format;
+    this.operation = operation;
+    this.iterations = iterations;
+    this.allocatedBytes = allocatedBytes;
+    this.maxBytesPerOp = maxBytesPerOp;
+  }
+
+  /**
+   * 获取被测量的数据格式。
+   *
+   * @return 被测量的数据格式。
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * 获取被测量的操作。
+   *
+   * @return 被测量的操作。
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * 获取测量的操作次数。
+   *
+   * @return 测量的操作次数。
+   */
+  public long getIterations() {
+    return iterations;
+  }
+
+  /**
+   * 获取测量的操作累计分配的堆内存字节数。
+   *
+   * @return 测量的操作累计分配的堆内存字节数。
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * 获取每次操作平均分配的堆内存字节数。
+   *
+   * @return 每次操作平均分配的堆内存字节数。
+   */
+  public long getBytesPerOp() {
+    return (iterations == 0 ? 0 : allocatedBytes / iterations);
+  }
+
+  /**
+   * 获取单次操作分配的最大堆内存字节数。
+   *
+   * @return 单次操作分配的最大堆内存字节数。
+   */
+  public long getMaxBytesPerOp() {
+    return maxBytesPerOp;
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("format", format)
+        .append("operation", operation)
+        .append("iterations", iterations)
+        .append("allocatedBytes", allocatedBytes)
+        .append("bytesPerOp", getBytesPerOp())
+        .append("maxBytesPerOp", maxBytesPerOp)
+        .toString();
+  }
+}
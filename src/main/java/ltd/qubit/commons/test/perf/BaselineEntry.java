@@ -0,0 +1,197 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import ltd.qubit.commons.lang.Equality;
+import ltd.qubit.commons.lang.Hash;
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 性能基线中某个领域对象模型的某个测试器的基线数据。
+ *
+ * @author 胡海星
+ * @see PerformanceBaseline
+ */
+public class BaselineEntry {
+
+  /**
+   * 领域对象模型的完整类名。
+   */
+  private String modelClass;
+
+  /**
+   * 测试器的名称。
+   */
+  private String tester;
+
+  /**
+   * 每秒执行的测试循环次数。
+   */
+  private double throughput;
+
+  /**
+   * 单次测试循环耗时的第99百分位数，单位为纳秒。
+   */
+  private long p99Nanos;
+
+  /**
+   * 每次测试循环平均分配的堆内存字节数。
+   */
+  private long bytesPerOp;
+
+  /**
+   * 构造一个 {@link BaselineEntry} 对象。
+   */
+  public BaselineEntry() {}
+
+  /**
+   * 根据测试器的统计数据构造一个 {@link BaselineEntry} 对象。
+   *
+   * @param statistics
+   *     测试器的统计数据。
+   */
+  public BaselineEntry(final TesterStatistics statistics) {
+    this.modelClass = statistics.getModelClass().getName();
+    this.tester = statistics.getTester();
+    this.throughput = statistics.getThroughput();
+    this.p99Nanos = statistics.getIterationNanosPercentile(99);
+    this.bytesPerOp = statistics.getAllocatedBytesPerIteration();
+  }
+
+  /**
+   * 获取领域对象模型的完整类名。
+   *
+   * @return 领域对象模型的完整类名。
+   */
+  public final String getModelClass() {
+    return modelClass;
+  }
+
+  /**
+   * 设置领域对象模型的完整类名。
+   *
+   * @param modelClass
+   *     新的领域对象模型的完整类名。
+   */
+  public final void setModelClass(final String modelClass) {
+    this.modelClass = modelClass;
+  }
+
+  /**
+   * 获取测试器的名称。
+   *
+   * @return 测试器的名称。
+   */
+  public final String getTester() {
+    return tester;
+  }
+
+  /**
+   * 设置测试器的名称。
+   *
+   * @param tester
+   *     新的测试器的名称。
+   */
+  public final void setTester(final String tester) {
+    this.tester = tester;
+  }
+
+  /**
+   * 获取每秒执行的测试循环次数。
+   *
+   * @return 每秒执行的测试循环次数。
+   */
+  public final double getThroughput() {
+    return throughput;
+  }
+
+  /**
+   * 设置每秒执行的测试循环次数。
+   *
+   * @param throughput
+   *     新的每秒执行的测试循环次数。
+   */
+  public final void setThroughput(final double throughput) {
+    this.throughput = throughput;
+  }
+
+  /**
+   * 获取单次测试循环耗时的第99百分位数。
+   *
+   * @return 单次测试循环耗时的第99百分位数，单位为纳秒。
+   */
+  public final long getP99Nanos() {
+    return p99Nanos;
+  }
+
+  /**
+   * 设置单次测试循环耗时的第99百分位数。
+   *
+   * @param p99Nanos
+   *     新的单次测试循环耗时的第99百分位数，单位为纳秒。
+   */
+  public final void setP99Nanos(final long p99Nanos) {
+    this.p99Nanos = p99Nanos;
+  }
+
+  /**
+   * 获取每次测试循环平均分配的堆内存字节数。
+   *
+   * @return 每次测试循环平均分配的堆内存字节数。
+   */
+  public final long getBytesPerOp() {
+    return bytesPerOp;
+  }
+
+  /**
+   * 设置每次测试循环平均分配的堆内存字节数。
+   *
+   * @param bytesPerOp
+   *     新的每次测试循环平均分配的堆内存字节数。
+   */
+  public final void setBytesPerOp(final long bytesPerOp) {
+    this.bytesPerOp = bytesPerOp;
+  }
+
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if ((o == null) || (getClass() != o.getClass())) {
+      return false;
+    }
+    final BaselineEntry other = (BaselineEntry) o;
+    return Equality.equals(modelClass, other.modelClass)
+        && Equality.equals(tester, other.tester)
+        && Equality.equals(throughput, other.throughput)
+        && Equality.equals(p99Nanos, other.p99Nanos)
+        && Equality.equals(bytesPerOp, other.bytesPerOp);
+  }
+
+  public int hashCode() {
+    final int multiplier = 7;
+    int result = 3;
+    result = Hash.combine(result, multiplier, modelClass);
+    result = Hash.combine(result, multiplier, tester);
+    result = Hash.combine(result, multiplier, throughput);
+    result = Hash.combine(result, multiplier, p99Nanos);
+    result = Hash.combine(result, multiplier, bytesPerOp);
+    return result;
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("modelClass", modelClass)
+        .append("tester", tester)
+        .append("throughput", throughput)
+        .append("p99Nanos", p99Nanos)
+        .append("bytesPerOp", bytesPerOp)
+        .toString();
+  }
+}
@@ -0,0 +1,99 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 某种操作在新建的映射器上首次执行与稳态执行的耗时对比。
+ *
+ * @author 胡海星
+ */
+public final class ColdStartResult {
+
+  private final String format;
+  private final String operation;
+  private final long coldNanos;
+  private final long warmNanos;
+
+  /**
+   * 构造一个 {@link ColdStartResult} 对象。
+   *
+   * @param format
+   *     被测量的数据格式，例如 {@code "JSON"}。
+   * @param operation
+   *     被测量的操作，例如 {@code "serialize"}。
+   * @param coldNanos
+   *     在新建的映射器上首次执行操作耗费的纳秒数，取多次测量的中位数。
+   * @param warmNanos
+   *     在同一映射器上预热后每次执行操作平均耗费的纳秒数。
+   */
+  public ColdStartResult(final String format, final String operation,
+      final long coldNanos, final long warmNanos) {
+    this.format = format;
+    this.operation = operation;
+    this.coldNanos = coldNanos;
+    this.warmNanos = warmNanos;
+  }
+
+  /**
+   * 获取被测量的数据格式。
+   *
+   * @return 被测量的数据格式。
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * 获取被测量的操作。
+   *
+   * @return 被测量的操作。
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * 获取在新建的映射器上首次执行操作耗费的纳秒数。
+   *
+   * @return 在新建的映射器上首次执行操作耗费的纳秒数。
+   */
+  public long getColdNanos() {
+    return coldNanos;
+  }
+
+  /**
+   * 获取在同一映射器上预热后每次执行操作平均耗费的纳秒数。
+   *
+   * @return 在同一映射器上预热后每次执行操作平均耗费的纳秒数。
+   */
+  public long getWarmNanos() {
+    return warmNanos;
+  }
+
+  /**
+   * 获取首次执行与稳态执行的耗时之比。
+   *
+   * @return 首次执行与稳态执行的耗时之比。
+   */
+  public double getRatio() {
+    return (warmNanos == 0 ? 0 : (double) coldNanos / warmNanos);
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("format", format)
+        .append("operation", operation)
+        .append("coldNanos", coldNanos)
+        .append("warmNanos", warmNanos)
+        .append("ratio", getRatio())
+        .toString();
+  }
+}
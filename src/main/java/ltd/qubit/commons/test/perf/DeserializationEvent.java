@@ -0,0 +1,23 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 表示测试器反序列化对象阶段的 Java Flight Recorder 事件。
+ *
+ * @author 胡海星
+ */
+@Name("ltd.qubit.commons.test.Deserialization")
+@Label("Model Deserialization")
+@Description("Deserializes an instance of the model.")
+public final class DeserializationEvent extends TesterPhaseEvent {}
@@ -0,0 +1,111 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import javax.annotation.Nullable;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 某个类的`equals()`或`hashCode()`方法的耗时测量结果。
+ *
+ * @author 胡海星
+ */
+public final class EqualityCost {
+
+  /**
+   * 表示对随机实例调用`hashCode()`的操作。
+   */
+  public static final String HASH_CODE = "hashCode";
+
+  /**
+   * 表示对一对相等的实例调用`equals()`的操作。
+   */
+  public static final String EQUALS = "equals";
+
+  /**
+   * 表示对一对仅在某个字段上不同的实例调用`equals()`的操作。
+   */
+  public static final String NEAR_EQUALS = "nearEquals";
+
+  private final Class<?> modelClass;
+  private final String operation;
+  @Nullable
+  private final String field;
+  private final double nanosPerOp;
+
+  /**
+   * 构造一个 {@link EqualityCost} 对象。
+   *
+   * @param modelClass
+   *     被测量的类。
+   * @param operation
+   *     被测量的操作，取值为 {@link #HASH_CODE}、{@link #EQUALS} 或
+   *     {@link #NEAR_EQUALS}。
+   * @param field
+   *     对于 {@link #NEAR_EQUALS} 操作，表示两个实例之间唯一不同的字段的名称；
+   *     对于其他操作为 {@code null}。
+   * @param nanosPerOp
+   *     每次操作平均耗费的纳秒数。
+   */
+  public EqualityCost(final Class<?> modelClass, final String operation,
+      @Nullable final String field, final double nanosPerOp) {
+    this.modelClass = modelClass;
+    this.operation = operation;
+    this.field = field;
+    this.nanosPerOp = nanosPerOp;
+  }
+
+  /**
+   * 获取被测量的类。
+   *
+   * @return 被测量的类。
+   */
+  public Class<?> getModelClass() {
+    return modelClass;
+  }
+
+  /**
+   * 获取被测量的操作。
+   *
+   * @return 被测量的操作。
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * 获取两个实例之间唯一不同的字段的名称。
+   *
+   * @return 两个实例之间唯一不同的字段的名称；若被测量的操作不是
+   *     {@link #NEAR_EQUALS}，则返回 {@code null}。
+   */
+  @Nullable
+  public String getField() {
+    return field;
+  }
+
+  /**
+   * 获取每次操作平均耗费的纳秒数。
+   *
+   * @return 每次操作平均耗费的纳秒数。
+   */
+  public double getNanosPerOp() {
+    return nanosPerOp;
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("modelClass", modelClass)
+        .append("operation", operation)
+        .append("field", field)
+        .append("nanosPerOp", nanosPerOp)
+        .toString();
+  }
+}
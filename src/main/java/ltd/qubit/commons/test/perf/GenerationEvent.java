@@ -0,0 +1,23 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 表示测试器生成随机对象阶段的 Java Flight Recorder 事件。
+ *
+ * @author 胡海星
+ */
+@Name("ltd.qubit.commons.test.Generation")
+@Label("Model Generation")
+@Description("Generates a random instance of the model.")
+public final class GenerationEvent extends TesterPhaseEvent {}
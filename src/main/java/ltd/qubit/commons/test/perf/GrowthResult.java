@@ -0,0 +1,121 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.Arrays;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 某种操作的耗时随集合大小增长的曲线。
+ *
+ * <p>增长指数通过对 {@code log(耗时)} 与 {@code log(集合大小)} 做最小二乘线性拟合得到，
+ * 即假设耗时近似为 {@code c * n^k}，拟合出的 {@code k}。线性算法的增长指数约为1，
+ * 平方算法约为2。</p>
+ *
+ * @author 胡海星
+ */
+public final class GrowthResult {
+
+  private final String operation;
+  private final int[] sizes;
+  private final long[] nanos;
+  private final double exponent;
+
+  /**
+   * 构造一个 {@link GrowthResult} 对象。
+   *
+   * @param operation
+   *     被测量的操作，例如 {@code "serialize"}。
+   * @param sizes
+   *     集合的大小，按升序排列。
+   * @param nanos
+   *     在每个集合大小下执行一次操作耗费的纳秒数，与 {@code sizes} 一一对应。
+   * @param firstFitted
+   *     参与拟合的第一个数据点的下标；较小的集合大小下操作的耗时主要由常数开销决定，
+   *     可以将其排除在拟合之外。
+   */
+  public GrowthResult(final String operation, final int[] sizes, final long[] nanos,
+      final int firstFitted) {
+    if (sizes.length != nanos.length) {
+      throw new IllegalArgumentException("The sizes and nanos must have the same length.");
+    }
+    this.operation = operation;
+    this.sizes = sizes.clone();
+    this.nanos = nanos.clone();
+    this.exponent = fitExponent(sizes, nanos, firstFitted);
+  }
+
+  /**
+   * 获取被测量的操作。
+   *
+   * @return 被测量的操作。
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * 获取集合的大小。
+   *
+   * @return 集合的大小，按升序排列。
+   */
+  public int[] getSizes() {
+    return sizes.clone();
+  }
+
+  /**
+   * 获取在每个集合大小下执行一次操作耗费的纳秒数。
+   *
+   * @return 在每个集合大小下执行一次操作耗费的纳秒数。
+   */
+  public long[] getNanos() {
+    return nanos.clone();
+  }
+
+  /**
+   * 获取拟合出的增长指数。
+   *
+   * @return 拟合出的增长指数；若参与拟合的数据点少于两个，则返回 {@link Double#NaN}。
+   */
+  public double getExponent() {
+    return exponent;
+  }
+
+  private static double fitExponent(final int[] sizes, final long[] nanos,
+      final int firstFitted) {
+    final int n = sizes.length - firstFitted;
+    if (n < 2) {
+      return Double.NaN;
+    }
+    double sumX = 0;
+    double sumY = 0;
+    double sumXx = 0;
+    double sumXy = 0;
+    for (int i = firstFitted; i < sizes.length; ++i) {
+      final double x = Math.log(sizes[i]);
+      final double y = Math.log(Math.max(1, nanos[i]));
+      sumX += x;
+      sumY += y;
+      sumXx += x * x;
+      sumXy += x * y;
+    }
+    final double denominator = n * sumXx - sumX * sumX;
+    return (denominator == 0 ? Double.NaN : (n * sumXy - sumX * sumY) / denominator);
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("operation", operation)
+        .append("sizes", Arrays.toString(sizes))
+        .append("nanos", Arrays.toString(nanos))
+        .append("exponent", exponent)
+        .toString();
+  }
+}
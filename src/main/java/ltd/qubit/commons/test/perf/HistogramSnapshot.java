@@ -0,0 +1,196 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * {@link LatencyHistogram} 在某个时刻的不可变快照。
+ *
+ * <p>百分位数由桶的上界估计得出，其相对误差不超过直方图精度所决定的上限，并且不会
+ * 超出实际记录的最小值和最大值；而记录次数、总和、最小值和最大值则是精确值。</p>
+ *
+ * @author 胡海星
+ */
+public final class HistogramSnapshot {
+
+  private final int precision;
+  private final long[] counts;
+  private final long count;
+  private final long total;
+  private final long min;
+  private final long max;
+
+  HistogramSnapshot(final int precision, final long[] counts, final long count,
+      final long total, final long min, final long max) {
+    this.precision = precision;
+    this.counts = counts;
+    this.count = count;
+    this.total = total;
+    this.min = min;
+    this.max = max;
+  }
+
+  /**
+   * 获取直方图的精度位数。
+   *
+   * @return 直方图的精度位数。
+   */
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * 获取记录的次数。
+   *
+   * @return 记录的次数。
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * 获取所有记录的值的总和。
+   *
+   * @return 所有记录的值的总和。
+   */
+  public long getTotal() {
+    return total;
+  }
+
+  /**
+   * 获取记录的最小值。
+   *
+   * @return 记录的最小值；若没有任何记录则返回0。
+   */
+  public long getMin() {
+    return min;
+  }
+
+  /**
+   * 获取记录的最大值。
+   *
+   * @return 记录的最大值；若没有任何记录则返回0。
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * 获取记录的值的平均值。
+   *
+   * @return 记录的值的平均值；若没有任何记录则返回0。
+   */
+  public long getMean() {
+    return (count == 0 ? 0 : total / count);
+  }
+
+  /**
+   * 获取记录的值的指定百分位数。
+   *
+   * @param percentile
+   *     百分位，取值范围为 {@code [0, 100]}，例如 {@code 99.9} 表示第99.9百分位。
+   * @return 记录的值的指定百分位数；若没有任何记录则返回0。
+   */
+  public long getPercentile(final double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, Math.min(count, (long) Math.ceil(percentile / 100.0 * count)));
+    long cumulative = 0;
+    for (int i = 0; i < counts.length; ++i) {
+      cumulative += counts[i];
+      if (cumulative >= rank) {
+        final long value = LatencyHistogram.highestValueOf(i, precision);
+        return Math.max(min, Math.min(max, value));
+      }
+    }
+    return max;
+  }
+
+  /**
+   * 获取记录的值的中位数。
+   *
+   * @return 记录的值的中位数。
+   */
+  public long getP50() {
+    return getPercentile(50);
+  }
+
+  /**
+   * 获取记录的值的第90百分位数。
+   *
+   * @return 记录的值的第90百分位数。
+   */
+  public long getP90() {
+    return getPercentile(90);
+  }
+
+  /**
+   * 获取记录的值的第99百分位数。
+   *
+   * @return 记录的值的第99百分位数。
+   */
+  public long getP99() {
+    return getPercentile(99);
+  }
+
+  /**
+   * 获取记录的值的第99.9百分位数。
+   *
+   * @return 记录的值的第99.9百分位数。
+   */
+  public long getP999() {
+    return getPercentile(99.9);
+  }
+
+  /**
+   * 将此快照与另一个快照合并。
+   *
+   * @param other
+   *     另一个快照，其精度位数必须与此快照相同。
+   * @return 包含两个快照中所有记录的新快照。
+   */
+  public HistogramSnapshot merge(final HistogramSnapshot other) {
+    requireNonNull("other", other);
+    if (other.precision != precision) {
+      throw new IllegalArgumentException("Cannot merge histogram snapshots of precision "
+          + precision + " and " + other.precision);
+    }
+    if (other.count == 0) {
+      return this;
+    } else if (count == 0) {
+      return other;
+    }
+    final long[] merged = counts.clone();
+    for (int i = 0; i < merged.length; ++i) {
+      merged[i] += other.counts[i];
+    }
+    return new HistogramSnapshot(precision, merged, count + other.count,
+        total + other.total, Math.min(min, other.min), Math.max(max, other.max));
+  }
+
+  long[] counts() {
+    return counts;
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("count", count)
+        .append("mean", getMean())
+        .append("p50", getP50())
+        .append("p90", getP90())
+        .append("p99", getP99())
+        .append("p999", getP999())
+        .append("max", max)
+        .toString();
+  }
+}
@@ -0,0 +1,184 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 记录耗时分布的对数线性直方图。
+ *
+ * <p>此直方图的桶按对数线性方式划分：小于 {@code 2^(p+1)} 的值各自占用一个桶，
+ * 其中 {@code p} 为精度位数；此后每个 {@code [2^k, 2^(k+1))} 区间被等分为
+ * {@code 2^p} 个桶。因此任何非负 {@code long} 值都可以被记录，且由桶还原出的值的
+ * 相对误差不超过 {@code 2^-p}。采用默认精度时，整个直方图占用约 29KB 内存，
+ * 相对误差不超过1.6%。此直方图只用于记录耗时等允许近似的数值；序列化结果的字节数
+ * 等需要精确统计的整数应保存在数组中，例如 {@link PayloadSizeResult}。</p>
+ *
+ * <p>记录操作是无锁的，并且在稳定状态下不分配内存，因此可以在并行的测试循环中
+ * 直接使用。{@link #snapshot()} 返回的 {@link HistogramSnapshot} 是不可变的，
+ * 可以计算p50、p90、p99、p999等百分位数，也可以与其他快照合并。注意，在并发记录时
+ * 获取的快照不保证与某个时刻的状态完全一致。</p>
+ *
+ * @author 胡海星
+ */
+public final class LatencyHistogram {
+
+  /**
+   * 默认的精度位数。
+   */
+  public static final int DEFAULT_PRECISION = 6;
+
+  /**
+   * 允许的最小精度位数。
+   */
+  public static final int MIN_PRECISION = 1;
+
+  /**
+   * 允许的最大精度位数。
+   */
+  public static final int MAX_PRECISION = 14;
+
+  private final int precision;
+  private final AtomicLongArray counts;
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+  /**
+   * 构造一个采用默认精度的 {@link LatencyHistogram} 对象。
+   */
+  public LatencyHistogram() {
+    this(DEFAULT_PRECISION);
+  }
+
+  /**
+   * 构造一个 {@link LatencyHistogram} 对象。
+   *
+   * @param precision
+   *     精度位数，取值范围为 {@code [1, 14]}，由桶还原出的值的相对误差不超过
+   *     {@code 2^-precision}。
+   */
+  public LatencyHistogram(final int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("The precision must be in the range ["
+          + MIN_PRECISION + ", " + MAX_PRECISION + "], but it is " + precision);
+    }
+    this.precision = precision;
+    this.counts = new AtomicLongArray(bucketCount(precision));
+  }
+
+  /**
+   * 获取此直方图的精度位数。
+   *
+   * @return 此直方图的精度位数。
+   */
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * 记录一个值。
+   *
+   * <p>此方法是无锁的，可以被多个线程同时调用。</p>
+   *
+   * @param value
+   *     待记录的值，例如某次操作耗费的纳秒数；负数被视为0。
+   */
+  public void record(final long value) {
+    final long v = Math.max(0, value);
+    long current = max.get();
+    while (v > current && !max.compareAndSet(current, v)) {
+      current = max.get();
+    }
+    current = min.get();
+    while (v < current && !min.compareAndSet(current, v)) {
+      current = min.get();
+    }
+    total.add(v);
+    // 最后更新计数，从而保证快照中只要计数非零，最小值和最大值就是有效的
+    counts.incrementAndGet(indexOf(v, precision));
+  }
+
+  /**
+   * 将一个快照中的所有记录合并到此直方图中。
+   *
+   * @param snapshot
+   *     待合并的快照，其精度位数必须与此直方图相同。
+   */
+  public void add(final HistogramSnapshot snapshot) {
+    requireNonNull("snapshot", snapshot);
+    if (snapshot.getPrecision() != precision) {
+      throw new IllegalArgumentException("Cannot merge a histogram snapshot of precision "
+          + snapshot.getPrecision() + " into a histogram of precision " + precision);
+    }
+    if (snapshot.getCount() == 0) {
+      return;
+    }
+    max.accumulateAndGet(snapshot.getMax(), Math::max);
+    min.accumulateAndGet(snapshot.getMin(), Math::min);
+    total.add(snapshot.getTotal());
+    final long[] values = snapshot.counts();
+    for (int i = 0; i < values.length; ++i) {
+      if (values[i] != 0) {
+        counts.addAndGet(i, values[i]);
+      }
+    }
+  }
+
+  /**
+   * 获取此直方图当前状态的不可变快照。
+   *
+   * @return 此直方图当前状态的不可变快照。
+   */
+  public HistogramSnapshot snapshot() {
+    final long[] values = new long[counts.length()];
+    long count = 0;
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = counts.get(i);
+      count += values[i];
+    }
+    if (count == 0) {
+      return new HistogramSnapshot(precision, values, 0, 0, 0, 0);
+    }
+    return new HistogramSnapshot(precision, values, count, total.sum(), min.get(), max.get());
+  }
+
+  /**
+   * 清除此直方图的所有记录。
+   *
+   * <p>此方法不应与 {@link #record(long)} 并发调用。</p>
+   */
+  public void reset() {
+    for (int i = 0; i < counts.length(); ++i) {
+      counts.set(i, 0);
+    }
+    total.reset();
+    min.set(Long.MAX_VALUE);
+    max.set(Long.MIN_VALUE);
+  }
+
+  static int bucketCount(final int precision) {
+    return (64 - precision) << precision;
+  }
+
+  static int indexOf(final long value, final int precision) {
+    final int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - precision);
+    return (shift << precision) + (int) (value >>> shift);
+  }
+
+  static long highestValueOf(final int index, final int precision) {
+    final int shift = Math.max(0, (index >> precision) - 1);
+    final long sub = index - ((long) shift << precision);
+    return ((sub + 1) << shift) - 1;
+  }
+}
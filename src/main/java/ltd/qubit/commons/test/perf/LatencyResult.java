@@ -0,0 +1,136 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 某个操作的单次执行耗时的统计结果。
+ *
+ * <p>单次执行的耗时由 {@link LatencyHistogram} 记录，因此在处理任意多次操作时仍只
+ * 占用固定大小的内存。操作次数、平均耗时和最大耗时是精确值，而百分位数由直方图的桶
+ * 还原得出，其相对误差不超过 {@code 2^-p}，其中 {@code p} 为直方图的精度位数。</p>
+ *
+ * @author 胡海星
+ */
+public final class LatencyResult {
+
+  private final String operation;
+  private final HistogramSnapshot histogram;
+
+  /**
+   * 构造一个 {@link LatencyResult} 对象。
+   *
+   * @param operation
+   *     被度量的操作的名称，例如 {@code "deserialize"}。
+   * @param histogram
+   *     记录了单次执行耗时的直方图的快照，单位为纳秒。
+   */
+  public LatencyResult(final String operation, final HistogramSnapshot histogram) {
+    this.operation = requireNonNull("operation", operation);
+    this.histogram = requireNonNull("histogram", histogram);
+  }
+
+  /**
+   * 获取被度量的操作的名称。
+   *
+   * @return 被度量的操作的名称。
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * 获取记录了单次执行耗时的直方图的快照。
+   *
+   * @return 记录了单次执行耗时的直方图的快照，单位为纳秒。
+   */
+  public HistogramSnapshot getHistogram() {
+    return histogram;
+  }
+
+  /**
+   * 获取操作的执行次数。
+   *
+   * @return 操作的执行次数。
+   */
+  public long getCount() {
+    return histogram.getCount();
+  }
+
+  /**
+   * 获取单次执行的平均耗时。
+   *
+   * @return 单次执行的平均耗时，单位为纳秒。
+   */
+  public long getMeanNanos() {
+    return histogram.getMean();
+  }
+
+  /**
+   * 获取单次执行耗时的指定百分位数。
+   *
+   * @param percentile
+   *     百分位，取值范围为 {@code [0, 100]}。
+   * @return 单次执行耗时的指定百分位数，单位为纳秒。
+   */
+  public long getPercentile(final double percentile) {
+    return histogram.getPercentile(percentile);
+  }
+
+  /**
+   * 获取单次执行耗时的中位数。
+   *
+   * @return 单次执行耗时的中位数，单位为纳秒。
+   */
+  public long getP50() {
+    return histogram.getP50();
+  }
+
+  /**
+   * 获取单次执行耗时的第90百分位数。
+   *
+   * @return 单次执行耗时的第90百分位数，单位为纳秒。
+   */
+  public long getP90() {
+    return histogram.getP90();
+  }
+
+  /**
+   * 获取单次执行耗时的第99百分位数。
+   *
+   * @return 单次执行耗时的第99百分位数，单位为纳秒。
+   */
+  public long getP99() {
+    return histogram.getP99();
+  }
+
+  /**
+   * 获取单次执行的最大耗时。
+   *
+   * @return 单次执行的最大耗时，单位为纳秒。
+   */
+  public long getMax() {
+    return histogram.getMax();
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("operation", operation)
+        .append("count", getCount())
+        .append("mean", getMeanNanos())
+        .append("p50", getP50())
+        .append("p90", getP90())
+        .append("p99", getP99())
+        .append("max", getMax())
+        .toString();
+  }
+}
@@ -0,0 +1,426 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.VMOption;
+
+/**
+ * 根据JVM的对象内存布局规则，估算对象图所占用的堆内存字节数。
+ *
+ * <p>对象的浅层大小由对象头、各个实例字段的大小以及对齐填充组成，其中对象头的大小、
+ * 引用的大小和对齐的字节数根据当前JVM是否启用了压缩指针和压缩类指针确定。估算时
+ * 忽略了JVM在字段之间插入的填充字节，因此结果可能略小于实际值。</p>
+ *
+ * <p>估算对象图的深层大小时，以对象的标识为准遍历所有可达的对象，每个对象只计算一次。
+ * 枚举常量和 {@link Class} 对象被视为共享的对象，不计入大小。对于因模块封装而无法
+ * 通过反射读取字段的JDK内部类，只计算其浅层大小，但对字符串、集合、映射、
+ * {@link BigInteger}、{@link BigDecimal} 以及 {@link LocalDateTime} 等日期时间类型按其
+ * 常见的内部结构估算其附属对象的大小，并继续遍历其元素。其他此类对象的附属对象无法
+ * 估算，其类型可通过 {@link #getUnestimatedTypes()} 获取。</p>
+ *
+ * <p>此类的对象不是线程安全的。</p>
+ *
+ * @author 胡海星
+ */
+public class ObjectSizeEstimator {
+
+  private final int headerSize;
+  private final int arrayHeaderSize;
+  private final int referenceSize;
+  private final int alignment;
+  private final Map<Class<?>, Long> shallowSizeCache = new HashMap<>();
+  private final Map<Class<?>, List<Field>> fieldCache = new HashMap<>();
+  private final Set<Class<?>> unestimatedTypes = new LinkedHashSet<>();
+
+  /**
+   * 构造一个 {@link ObjectSizeEstimator} 对象，使用当前JVM的内存布局参数。
+   */
+  public ObjectSizeEstimator() {
+    final boolean is64Bit = !"32".equals(System.getProperty("sun.arch.data.model"));
+    final boolean compressedOops = getBooleanOption("UseCompressedOops", true);
+    final boolean compressedClassPointers = getBooleanOption("UseCompressedClassPointers", true);
+    final int alignmentInBytes = (int) getLongOption("ObjectAlignmentInBytes", 8);
+    if (is64Bit) {
+      this.headerSize = (compressedClassPointers ? 12 : 16);
+      this.referenceSize = (compressedOops ? 4 : 8);
+    } else {
+      this.headerSize = 8;
+      this.referenceSize = 4;
+    }
+    this.arrayHeaderSize = align(headerSize + 4, referenceSize);
+    this.alignment = alignmentInBytes;
+  }
+
+  /**
+   * 构造一个 {@link ObjectSizeEstimator} 对象，使用指定的内存布局参数。
+   *
+   * @param headerSize
+   *     对象头的字节数。
+   * @param referenceSize
+   *     引用的字节数。
+   * @param alignment
+   *     对象对齐的字节数。
+   */
+  public ObjectSizeEstimator(final int headerSize, final int referenceSize,
+      final int alignment) {
+    this.headerSize = headerSize;
+    this.referenceSize = referenceSize;
+    this.arrayHeaderSize = align(headerSize + 4, referenceSize);
+    this.alignment = alignment;
+  }
+
+  /**
+   * 获取对象头的字节数。
+   *
+   * @return 对象头的字节数。
+   */
+  public int getHeaderSize() {
+    return headerSize;
+  }
+
+  /**
+   * 获取引用的字节数。
+   *
+   * @return 引用的字节数。
+   */
+  public int getReferenceSize() {
+    return referenceSize;
+  }
+
+  /**
+   * 获取对象对齐的字节数。
+   *
+   * @return 对象对齐的字节数。
+   */
+  public int getAlignment() {
+    return alignment;
+  }
+
+  /**
+   * 获取此估算器遇到过的、其附属对象的大小无法估算的类型。
+   *
+   * <p>这些类型的对象无法通过反射读取字段，且不属于此估算器能按内部结构估算的类型，
+   * 因此其估算结果只包括对象本身的浅层大小，可能明显小于实际值。</p>
+   *
+   * @return 此估算器遇到过的、其附属对象的大小无法估算的类型。
+   */
+  public Set<Class<?>> getUnestimatedTypes() {
+    return Collections.unmodifiableSet(unestimatedTypes);
+  }
+
+  /**
+   * 估算指定类的实例的浅层大小，即不包括其引用的其他对象的大小。
+   *
+   * @param cls
+   *     指定的类，不能是数组类型。
+   * @return 指定类的实例的浅层大小。
+   */
+  public long shallowSizeOf(final Class<?> cls) {
+    Long size = shallowSizeCache.get(cls);
+    if (size == null) {
+      long bytes = headerSize;
+      for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+        for (final Field field : c.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            bytes += sizeOfType(field.getType());
+          }
+        }
+      }
+      size = align(bytes, alignment);
+      shallowSizeCache.put(cls, size);
+    }
+    return size;
+  }
+
+  /**
+   * 估算指定数组的浅层大小。
+   *
+   * @param componentType
+   *     数组元素的类型。
+   * @param length
+   *     数组的长度。
+   * @return 指定数组的浅层大小。
+   */
+  public long arraySizeOf(final Class<?> componentType, final int length) {
+    return align(arrayHeaderSize + (long) sizeOfType(componentType) * length, alignment);
+  }
+
+  /**
+   * 估算从指定对象出发可达的所有对象所占用的堆内存字节数。
+   *
+   * @param root
+   *     指定的对象，可以为 {@code null}。
+   * @return 从指定对象出发可达的所有对象所占用的堆内存字节数。
+   */
+  public long deepSizeOf(@Nullable final Object root) {
+    return deepSizeOf(root, newVisitedSet());
+  }
+
+  /**
+   * 估算指定对象的深层大小，并按其字段分解。
+   *
+   * <p>返回的映射按字段的声明顺序排列，每个字段对应的值是从该字段出发可达的、尚未被
+   * 此前的字段计入的所有对象的大小；被多个字段共享的对象只计入第一个字段。键
+   * {@code ""} 对应的值为指定对象本身的浅层大小。所有值之和即为指定对象的深层大小。</p>
+   *
+   * @param root
+   *     指定的对象，不能为 {@code null}。
+   * @return 指定对象的深层大小按字段的分解。
+   */
+  public Map<String, Long> fieldSizesOf(final Object root) {
+    final Map<String, Long> result = new LinkedHashMap<>();
+    final List<Field> fields = getReferenceFields(root.getClass());
+    if (fields == null || root.getClass().isArray()) {
+      result.put("", deepSizeOf(root));
+      return result;
+    }
+    final Set<Object> visited = newVisitedSet();
+    visited.add(root);
+    result.put("", shallowSizeOf(root.getClass()));
+    for (final Field field : fields) {
+      final Object value = readField(field, root);
+      result.merge(field.getName(), deepSizeOf(value, visited), Long::sum);
+    }
+    return result;
+  }
+
+  private long deepSizeOf(@Nullable final Object root, final Set<Object> visited) {
+    long total = 0;
+    final Deque<Object> stack = new ArrayDeque<>();
+    push(stack, visited, root);
+    while (!stack.isEmpty()) {
+      final Object obj = stack.pop();
+      final Class<?> cls = obj.getClass();
+      if (cls.isArray()) {
+        final int length = Array.getLength(obj);
+        total += arraySizeOf(cls.getComponentType(), length);
+        if (!cls.getComponentType().isPrimitive()) {
+          for (int i = 0; i < length; ++i) {
+            push(stack, visited, Array.get(obj, i));
+          }
+        }
+        continue;
+      }
+      total += shallowSizeOf(cls);
+      final List<Field> fields = getReferenceFields(cls);
+      if (fields != null) {
+        for (final Field field : fields) {
+          push(stack, visited, readField(field, obj));
+        }
+      } else {
+        total += estimateOpaque(obj, stack, visited);
+      }
+    }
+    return total;
+  }
+
+  /**
+   * 估算无法通过反射读取字段的对象的附属对象的大小，并将其元素加入待遍历的栈中。
+   */
+  private long estimateOpaque(final Object obj, final Deque<Object> stack,
+      final Set<Object> visited) {
+    if (obj instanceof String) {
+      final String str = (String) obj;
+      final boolean latin1 = str.chars().allMatch((ch) -> ch <= 0xFF);
+      return arraySizeOf(byte.class, latin1 ? str.length() : str.length() * 2);
+    } else if (obj instanceof Map) {
+      final Map<?, ?> map = (Map<?, ?>) obj;
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        push(stack, visited, entry.getKey());
+        push(stack, visited, entry.getValue());
+      }
+      return hashTableSizeOf(map.size());
+    } else if (obj instanceof Collection) {
+      final Collection<?> collection = (Collection<?>) obj;
+      for (final Object element : collection) {
+        push(stack, visited, element);
+      }
+      if (obj instanceof Set) {
+        // 常见的 Set 实现内部使用一个 HashMap
+        return shallowSizeOf(HashMap.class) + hashTableSizeOf(collection.size());
+      } else {
+        return arraySizeOf(Object.class, collection.size());
+      }
+    } else if (obj instanceof BigInteger) {
+      return magnitudeSizeOf((BigInteger) obj);
+    } else if (obj instanceof BigDecimal) {
+      // 未缩放值超出 long 的范围时，BigDecimal 才引用一个 BigInteger 对象
+      final BigInteger unscaled = ((BigDecimal) obj).unscaledValue();
+      if (unscaled.bitLength() < Long.SIZE) {
+        return 0;
+      }
+      return shallowSizeOf(BigInteger.class) + magnitudeSizeOf(unscaled);
+    } else if (obj instanceof LocalDateTime) {
+      final LocalDateTime dateTime = (LocalDateTime) obj;
+      push(stack, visited, dateTime.toLocalDate());
+      push(stack, visited, dateTime.toLocalTime());
+      return 0;
+    } else if (obj instanceof OffsetDateTime) {
+      // 时区偏移量对象通常是被缓存的共享对象，不计入大小
+      push(stack, visited, ((OffsetDateTime) obj).toLocalDateTime());
+      return 0;
+    } else if (obj instanceof ZonedDateTime) {
+      // 时区和时区偏移量对象通常是被缓存的共享对象，不计入大小
+      push(stack, visited, ((ZonedDateTime) obj).toLocalDateTime());
+      return 0;
+    } else {
+      unestimatedTypes.add(obj.getClass());
+      return 0;
+    }
+  }
+
+  /**
+   * 估算 {@link BigInteger} 中存储其绝对值的 {@code int[]} 数组的大小。
+   */
+  private long magnitudeSizeOf(final BigInteger value) {
+    final int words = (value.abs().bitLength() + Integer.SIZE - 1) / Integer.SIZE;
+    return arraySizeOf(int.class, words);
+  }
+
+  private long hashTableSizeOf(final int size) {
+    final int needed = (int) Math.ceil(size / 0.75);
+    int capacity = 16;
+    while (capacity < needed) {
+      capacity <<= 1;
+    }
+    final long node = align(headerSize + 4 + 3L * referenceSize, alignment);
+    return arraySizeOf(Object.class, capacity) + node * size;
+  }
+
+  private void push(final Deque<Object> stack, final Set<Object> visited,
+      @Nullable final Object obj) {
+    if (obj == null
+        || obj instanceof Class
+        || obj instanceof Enum
+        || !visited.add(obj)) {
+      return;
+    }
+    stack.push(obj);
+  }
+
+  /**
+   * 获取指定类中所有引用类型的实例字段。
+   *
+   * @return 指定类中所有引用类型的实例字段；若其中某个字段无法通过反射读取，则返回
+   *     {@code null}。
+   */
+  @Nullable
+  private List<Field> getReferenceFields(final Class<?> cls) {
+    if (fieldCache.containsKey(cls)) {
+      return fieldCache.get(cls);
+    }
+    final List<Class<?>> hierarchy = new ArrayList<>();
+    for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+      hierarchy.add(0, c);      // 父类的字段排在前面
+    }
+    List<Field> result = new ArrayList<>();
+    outer:
+    for (final Class<?> c : hierarchy) {
+      for (final Field field : c.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+          if (!field.trySetAccessible()) {
+            result = null;
+            break outer;
+          }
+          result.add(field);
+        }
+      }
+    }
+    fieldCache.put(cls, result);
+    return result;
+  }
+
+  @Nullable
+  private static Object readField(final Field field, final Object obj) {
+    try {
+      return field.get(obj);
+    } catch (final IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private int sizeOfType(final Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else if (type == byte.class || type == boolean.class) {
+      return 1;
+    } else {
+      return referenceSize;
+    }
+  }
+
+  private static int align(final int size, final int alignment) {
+    return (size + alignment - 1) / alignment * alignment;
+  }
+
+  private static long align(final long size, final int alignment) {
+    return (size + alignment - 1) / alignment * alignment;
+  }
+
+  private static Set<Object> newVisitedSet() {
+    return Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  private static boolean getBooleanOption(final String name, final boolean defaultValue) {
+    final VMOption option = getOption(name);
+    return (option == null ? defaultValue : Boolean.parseBoolean(option.getValue()));
+  }
+
+  private static long getLongOption(final String name, final long defaultValue) {
+    final VMOption option = getOption(name);
+    if (option == null) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(option.getValue());
+    } catch (final NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  @Nullable
+  private static VMOption getOption(final String name) {
+    try {
+      final HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(
+          HotSpotDiagnosticMXBean.class);
+      return (bean == null ? null : bean.getVMOption(name));
+    } catch (final RuntimeException e) {
+      return null;      // 不是 HotSpot 虚拟机，或不支持该选项
+    }
+  }
+}
@@ -0,0 +1,154 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * 重复执行被测量的操作的工具类。
+ *
+ * <p>每个 {@link Operation} 返回一个整数，此类将所有操作的结果异或后写入一个
+ * {@code volatile} 字段，避免操作被JIT编译器作为死代码消除。不通过此类执行的循环
+ * 应将其结果传给 {@link #consume(int)}。</p>
+ *
+ * @author 胡海星
+ */
+public final class OperationRunner {
+
+  /**
+   * 被测量的操作。
+   */
+  @FunctionalInterface
+  public interface Operation {
+
+    /**
+     * 执行一次操作。
+     *
+     * @param index
+     *     操作的序号，从0开始。
+     * @return 由操作的结果计算出的整数，用于避免操作被JIT编译器优化掉。
+     * @throws Exception
+     *     如果执行操作时发生错误。
+     */
+    int apply(int index) throws Exception;
+  }
+
+  private static volatile int sink;
+
+  private OperationRunner() {}
+
+  /**
+   * 消费操作的结果，避免被JIT编译器优化掉。
+   *
+   * @param result
+   *     由操作的结果计算出的整数。
+   */
+  public static void consume(final int result) {
+    sink ^= result;
+  }
+
+  /**
+   * 不计时地重复执行操作，通常用于预热。
+   *
+   * @param operation
+   *     被执行的操作。
+   * @param iterations
+   *     执行次数，操作的序号依次为 {@code 0} 至 {@code iterations - 1}。
+   * @throws Exception
+   *     如果执行操作时发生错误。
+   */
+  public static void repeat(final Operation operation, final int iterations)
+      throws Exception {
+    int consumed = 0;
+    for (int i = 0; i < iterations; ++i) {
+      consumed ^= operation.apply(i);
+    }
+    consume(consumed);
+  }
+
+  /**
+   * 重复执行操作，并测量其总耗时。
+   *
+   * @param operation
+   *     被执行的操作。
+   * @param iterations
+   *     执行次数，操作的序号依次为 {@code 0} 至 {@code iterations - 1}。
+   * @return 执行所有操作耗费的纳秒数。
+   * @throws Exception
+   *     如果执行操作时发生错误。
+   */
+  public static long time(final Operation operation, final int iterations)
+      throws Exception {
+    int consumed = 0;
+    final long start = System.nanoTime();
+    for (int i = 0; i < iterations; ++i) {
+      consumed ^= operation.apply(i);
+    }
+    final long nanos = System.nanoTime() - start;
+    consume(consumed);
+    return nanos;
+  }
+
+  /**
+   * 构造使用指定映射器序列化指定对象的操作。
+   *
+   * <p>序号为 {@code i} 的操作序列化第 {@code i % objects.size()} 个对象。</p>
+   *
+   * @param <T>
+   *     被序列化的对象的类型。
+   * @param mapper
+   *     用于序列化的映射器。
+   * @param type
+   *     被序列化的对象的类型。
+   * @param objects
+   *     被序列化的对象，不能为空。
+   * @return 序列化指定对象的操作。
+   */
+  public static <T> Operation serializing(final ObjectMapper mapper, final Class<T> type,
+      final List<? extends T> objects) {
+    final ObjectWriter writer = mapper.writerFor(type);
+    final int n = objects.size();
+    return (i) -> writer.writeValueAsString(objects.get(i % n)).length();
+  }
+
+  /**
+   * 构造使用指定映射器反序列化指定对象的序列化结果的操作。
+   *
+   * <p>此方法先用同一映射器将所有对象预先序列化，作为反序列化的输入；序号为 {@code i}
+   * 的操作反序列化第 {@code i % objects.size()} 个对象的序列化结果。</p>
+   *
+   * @param <T>
+   *     被反序列化的对象的类型。
+   * @param mapper
+   *     用于序列化和反序列化的映射器。
+   * @param type
+   *     被反序列化的对象的类型。
+   * @param objects
+   *     其序列化结果被反序列化的对象，不能为空。
+   * @return 反序列化指定对象的序列化结果的操作。
+   * @throws JsonProcessingException
+   *     如果预先序列化对象时发生错误。
+   */
+  public static <T> Operation deserializing(final ObjectMapper mapper, final Class<T> type,
+      final List<? extends T> objects) throws JsonProcessingException {
+    final ObjectWriter writer = mapper.writerFor(type);
+    final ObjectReader reader = mapper.readerFor(type);
+    final int n = objects.size();
+    final String[] payloads = new String[n];
+    for (int i = 0; i < n; ++i) {
+      payloads[i] = writer.writeValueAsString(objects.get(i));
+    }
+    return (i) -> System.identityHashCode(reader.readValue(payloads[i % n]));
+  }
+}
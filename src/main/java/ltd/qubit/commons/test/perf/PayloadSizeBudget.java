@@ -0,0 +1,50 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明领域对象模型的单个实例序列化后至多允许包含的字节数。
+ *
+ * <p>此注解由 {@code PayloadSizeTester} 读取。属性值不为正数表示不限制。</p>
+ *
+ * @author 胡海星
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PayloadSizeBudget {
+
+  /**
+   * 单个实例序列化为紧凑格式的JSON后至多允许包含的字节数。
+   *
+   * @return 单个实例序列化为JSON后至多允许包含的字节数；不为正数表示不限制。
+   */
+  long json() default 0;
+
+  /**
+   * 单个实例序列化为紧凑格式的XML后至多允许包含的字节数。
+   *
+   * @return 单个实例序列化为XML后至多允许包含的字节数；不为正数表示不限制。
+   */
+  long xml() default 0;
+
+  /**
+   * 单个实例通过 Java 序列化机制序列化后至多允许包含的字节数。
+   *
+   * @return 单个实例通过 Java 序列化机制序列化后至多允许包含的字节数；不为正数
+   *     表示不限制。
+   */
+  long java() default 0;
+}
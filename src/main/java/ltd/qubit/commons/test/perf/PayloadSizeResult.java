@@ -0,0 +1,108 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.Arrays;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 某种数据格式下序列化结果的字节数的统计结果。
+ *
+ * @author 胡海星
+ */
+public final class PayloadSizeResult {
+
+  private final String format;
+  private final long[] sizes;
+
+  /**
+   * 构造一个 {@link PayloadSizeResult} 对象。
+   *
+   * @param format
+   *     被测量的数据格式，例如 {@code "JSON"}。
+   * @param sizes
+   *     各个实例序列化后的字节数，不能为空。
+   */
+  public PayloadSizeResult(final String format, final long[] sizes) {
+    if (sizes.length == 0) {
+      throw new IllegalArgumentException("The sizes must not be empty.");
+    }
+    this.format = format;
+    this.sizes = sizes.clone();
+    Arrays.sort(this.sizes);
+  }
+
+  /**
+   * 获取被测量的数据格式。
+   *
+   * @return 被测量的数据格式。
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * 获取被测量的实例的数目。
+   *
+   * @return 被测量的实例的数目。
+   */
+  public int getSamples() {
+    return sizes.length;
+  }
+
+  /**
+   * 获取序列化后的字节数的指定百分位数。
+   *
+   * @param percentile
+   *     百分位，取值范围为 {@code (0, 100]}。
+   * @return 序列化后的字节数的指定百分位数。
+   */
+  public long getPercentile(final double percentile) {
+    final int rank = (int) Math.ceil(percentile / 100.0 * sizes.length);
+    return sizes[Math.min(sizes.length, Math.max(1, rank)) - 1];
+  }
+
+  /**
+   * 获取序列化后的字节数的中位数。
+   *
+   * @return 序列化后的字节数的中位数。
+   */
+  public long getP50() {
+    return getPercentile(50);
+  }
+
+  /**
+   * 获取序列化后的字节数的第99百分位数。
+   *
+   * @return 序列化后的字节数的第99百分位数。
+   */
+  public long getP99() {
+    return getPercentile(99);
+  }
+
+  /**
+   * 获取序列化后的最大字节数。
+   *
+   * @return 序列化后的最大字节数。
+   */
+  public long getMax() {
+    return sizes[sizes.length - 1];
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("format", format)
+        .append("samples", sizes.length)
+        .append("p50", getP50())
+        .append("p99", getP99())
+        .append("max", getMax())
+        .toString();
+  }
+}
@@ -0,0 +1,171 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * 存储各个领域对象模型的各个测试器性能基线的对象。
+ *
+ * <p>基线文件为如下格式的JSON文件：</p>
+ * <pre><code>
+ * {
+ *   "entries" : [ {
+ *     "modelClass" : "com.example.App",
+ *     "tester" : "JacksonJsonTester",
+ *     "throughput" : 1234.5,
+ *     "p99Nanos" : 2000000,
+ *     "bytesPerOp" : 65536
+ *   } ]
+ * }
+ * </code></pre>
+ *
+ * @author 胡海星
+ * @see PerformanceBaselineExtension
+ */
+public class PerformanceBaseline {
+
+  private final Map<String, BaselineEntry> entries = new TreeMap<>();
+
+  /**
+   * 从指定的文件加载性能基线。
+   *
+   * @param file
+   *     基线文件。
+   * @return 加载的性能基线；若文件不存在则返回一个空的性能基线。
+   * @throws IOException
+   *     若发生I/O错误。
+   */
+  public static PerformanceBaseline load(final Path file) throws IOException {
+    final PerformanceBaseline result = new PerformanceBaseline();
+    if (Files.exists(file)) {
+      final JsonMapper mapper = new JsonMapper();
+      final JsonNode entries = mapper.readTree(file.toFile()).get("entries");
+      if (entries != null) {
+        for (final BaselineEntry entry : mapper.treeToValue(entries, BaselineEntry[].class)) {
+          result.put(entry);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 将此性能基线保存到指定的文件。
+   *
+   * @param file
+   *     基线文件，若其父目录不存在则会自动创建。
+   * @throws IOException
+   *     若发生I/O错误。
+   */
+  public void save(final Path file) throws IOException {
+    final JsonMapper mapper = new JsonMapper();
+    final ObjectNode root = mapper.createObjectNode();
+    root.set("entries", mapper.valueToTree(getEntries()));
+    final Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+  }
+
+  private static String keyOf(final String modelClass, final String tester) {
+    return modelClass + '#' + tester;
+  }
+
+  /**
+   * 获取指定领域对象模型的指定测试器的基线数据。
+   *
+   * @param modelClass
+   *     领域对象模型的完整类名。
+   * @param tester
+   *     测试器的名称。
+   * @return 对应的基线数据；若不存在则返回 {@code null}。
+   */
+  @Nullable
+  public BaselineEntry get(final String modelClass, final String tester) {
+    return entries.get(keyOf(modelClass, tester));
+  }
+
+  /**
+   * 添加或替换一条基线数据。
+   *
+   * @param entry
+   *     待添加的基线数据。
+   */
+  public void put(final BaselineEntry entry) {
+    entries.put(keyOf(entry.getModelClass(), entry.getTester()), entry);
+  }
+
+  /**
+   * 获取此性能基线中的所有基线数据。
+   *
+   * @return 此性能基线中的所有基线数据，按领域对象模型的类名和测试器名称排序。
+   */
+  public List<BaselineEntry> getEntries() {
+    return new ArrayList<>(entries.values());
+  }
+
+  /**
+   * 将测试器的统计数据与此性能基线进行比较，找出所有超过阈值的性能退化。
+   *
+   * <p>对于每个存在基线数据的测试器，若其吞吐量低于基线的 {@code (1 - threshold)} 倍，
+   * 或其第99百分位耗时、每次测试循环分配的内存高于基线的 {@code (1 + threshold)}
+   * 倍，则视为性能退化。基线值不为正数的指标不参与比较。</p>
+   *
+   * @param statistics
+   *     测试器的统计数据。
+   * @param threshold
+   *     允许的性能退化比例，例如 {@code 0.2} 表示允许20%的退化。
+   * @return 所有性能退化的描述信息；若没有性能退化则返回空列表。
+   */
+  public List<String> findRegressions(final List<TesterStatistics> statistics,
+      final double threshold) {
+    final List<String> result = new ArrayList<>();
+    for (final TesterStatistics stat : statistics) {
+      if (stat.getIterations() == 0) {
+        continue;     // 没有测试循环的测试器无法比较
+      }
+      final BaselineEntry baseline = get(stat.getModelClass().getName(), stat.getTester());
+      if (baseline == null) {
+        continue;
+      }
+      final BaselineEntry current = new BaselineEntry(stat);
+      final String name = current.getModelClass() + " [" + current.getTester() + "]";
+      if (baseline.getThroughput() > 0
+          && current.getThroughput() < baseline.getThroughput() * (1 - threshold)) {
+        result.add(String.format("%s: throughput dropped from %.2f ops/s to %.2f ops/s.",
+            name, baseline.getThroughput(), current.getThroughput()));
+      }
+      if (baseline.getP99Nanos() > 0
+          && current.getP99Nanos() > baseline.getP99Nanos() * (1 + threshold)) {
+        result.add(String.format("%s: p99 latency rose from %d ns to %d ns.",
+            name, baseline.getP99Nanos(), current.getP99Nanos()));
+      }
+      if (baseline.getBytesPerOp() > 0
+          && current.getBytesPerOp() > baseline.getBytesPerOp() * (1 + threshold)) {
+        result.add(String.format("%s: allocation rose from %d bytes/op to %d bytes/op.",
+            name, baseline.getBytesPerOp(), current.getBytesPerOp()));
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,174 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.DynamicTestInvocationContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 将测试类中测试器的性能数据与性能基线比较，并在性能退化超过阈值时使测试失败的
+ * JUnit 扩展。
+ *
+ * <p>此扩展可用于 {@code ModelTestBase}、{@code EnumTestBase} 或 {@code TestGenerator}
+ * 的子类，例如：</p>
+ * <pre><code>
+ * &#64;ExtendWith(PerformanceBaselineExtension.class)
+ * public class AppTest extends ModelTestBase&lt;App&gt; {
+ *   ...
+ * }
+ * </code></pre>
+ *
+ * <p>此扩展通过以下 JUnit 配置参数控制：</p>
+ * <ul>
+ *   <li>{@value #BASELINE_PARAMETER}：性能基线文件的路径。若未指定，则此扩展不做
+ *   任何事情。</li>
+ *   <li>{@value #THRESHOLD_PARAMETER}：允许的性能退化比例，默认为
+ *   {@value #DEFAULT_THRESHOLD}，即允许20%的退化。</li>
+ *   <li>{@value #UPDATE_PARAMETER}：若为 {@code true}，则不进行比较，而是将本次的
+ *   性能数据写入性能基线文件。</li>
+ * </ul>
+ *
+ * <p>每个测试类中所有测试结束后，此扩展将该测试类中各个测试器的吞吐量、第99百分位
+ * 耗时以及每次测试循环分配的内存与基线比较。注意测试器的循环次数较少时，计时数据
+ * 的波动较大，应适当增加循环次数或放宽阈值。</p>
+ *
+ * <p>每个测试类使用一个以该测试类为作用域的 {@link PerformanceRecorder}，此扩展在
+ * 执行该测试类的测试方法、测试工厂方法和动态测试时使执行线程进入该作用域，因此即使
+ * 多个测试类并行执行，每个测试类也只会与基线比较或写入其自身的性能数据。</p>
+ *
+ * @author 胡海星
+ * @see PerformanceBaseline
+ */
+public class PerformanceBaselineExtension implements BeforeAllCallback, AfterAllCallback,
+    InvocationInterceptor {
+
+  /**
+   * 指定性能基线文件路径的 JUnit 配置参数名称。
+   */
+  public static final String BASELINE_PARAMETER = "qubit.test.perf.baseline";
+
+  /**
+   * 指定允许的性能退化比例的 JUnit 配置参数名称。
+   */
+  public static final String THRESHOLD_PARAMETER = "qubit.test.perf.baseline.threshold";
+
+  /**
+   * 指定是否更新性能基线文件的 JUnit 配置参数名称。
+   */
+  public static final String UPDATE_PARAMETER = "qubit.test.perf.baseline.update";
+
+  /**
+   * 默认允许的性能退化比例。
+   */
+  public static final double DEFAULT_THRESHOLD = 0.2;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceBaselineExtension.class);
+
+  private static final Namespace NAMESPACE = Namespace.create(PerformanceBaselineExtension.class);
+
+  private static final Object UPDATE_LOCK = new Object();
+
+  @Override
+  public void beforeAll(final ExtensionContext context) {
+    if (context.getConfigurationParameter(BASELINE_PARAMETER).isPresent()) {
+      final PerformanceRecorder recorder =
+          new PerformanceRecorder(context.getRequiredTestClass());
+      PerformanceRecorder.register(recorder);
+      context.getStore(NAMESPACE).put(PerformanceRecorder.class, recorder);
+    }
+  }
+
+  @Override
+  public void afterAll(final ExtensionContext context) throws Exception {
+    final PerformanceRecorder recorder = context.getStore(NAMESPACE)
+        .remove(PerformanceRecorder.class, PerformanceRecorder.class);
+    if (recorder == null) {
+      return;
+    }
+    PerformanceRecorder.unregister(recorder);
+    final Path file = Paths.get(context.getConfigurationParameter(BASELINE_PARAMETER).get());
+    final List<TesterStatistics> statistics = recorder.getStatistics();
+    final Optional<String> update = context.getConfigurationParameter(UPDATE_PARAMETER);
+    if (update.isPresent() && Boolean.parseBoolean(update.get())) {
+      synchronized (UPDATE_LOCK) {
+        final PerformanceBaseline baseline = PerformanceBaseline.load(file);
+        for (final TesterStatistics stat : statistics) {
+          if (stat.getIterations() > 0) {
+            baseline.put(new BaselineEntry(stat));
+          }
+        }
+        baseline.save(file);
+      }
+      LOGGER.info("The performance baseline {} was updated.", file);
+    } else {
+      final double threshold = context.getConfigurationParameter(THRESHOLD_PARAMETER)
+                                      .map(Double::parseDouble)
+                                      .orElse(DEFAULT_THRESHOLD);
+      final PerformanceBaseline baseline = PerformanceBaseline.load(file);
+      final List<String> regressions = baseline.findRegressions(statistics, threshold);
+      if (!regressions.isEmpty()) {
+        fail("Performance regressions exceeding " + (threshold * 100)
+            + "% of the baseline " + file + ":\n" + String.join("\n", regressions));
+      }
+    }
+  }
+
+  @Override
+  public void interceptTestMethod(final Invocation<Void> invocation,
+      final ReflectiveInvocationContext<Method> invocationContext,
+      final ExtensionContext extensionContext) throws Throwable {
+    proceedInScope(invocation, extensionContext);
+  }
+
+  @Override
+  public <T> T interceptTestFactoryMethod(final Invocation<T> invocation,
+      final ReflectiveInvocationContext<Method> invocationContext,
+      final ExtensionContext extensionContext) throws Throwable {
+    return proceedInScope(invocation, extensionContext);
+  }
+
+  @Override
+  public void interceptTestTemplateMethod(final Invocation<Void> invocation,
+      final ReflectiveInvocationContext<Method> invocationContext,
+      final ExtensionContext extensionContext) throws Throwable {
+    proceedInScope(invocation, extensionContext);
+  }
+
+  @Override
+  public void interceptDynamicTest(final Invocation<Void> invocation,
+      final DynamicTestInvocationContext invocationContext,
+      final ExtensionContext extensionContext) throws Throwable {
+    proceedInScope(invocation, extensionContext);
+  }
+
+  private static <T> T proceedInScope(final Invocation<T> invocation,
+      final ExtensionContext context) throws Throwable {
+    final Class<?> previous = PerformanceRecorder.enterScope(context.getRequiredTestClass());
+    try {
+      return invocation.proceed();
+    } finally {
+      PerformanceRecorder.exitScope(previous);
+    }
+  }
+}
@@ -0,0 +1,222 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Nullable;
+
+/**
+ * 汇总测试器性能数据的记录器。
+ *
+ * <p>记录器必须通过 {@link #register(PerformanceRecorder)} 注册后才会收到数据。
+ * {@link TesterContext} 和 {@link PhaseProbe} 会将测试器的完整执行、每次测试循环
+ * 以及每个执行阶段的耗时、负载大小和内存分配发送给所有已注册的记录器。若没有任何
+ * 已注册的记录器，则不会进行任何计时和内存分配度量。</p>
+ *
+ * <p>记录器可以限定一个作用域，通常是某个测试类。限定了作用域的记录器只接收在该作用域
+ * 中产生的数据，即在 {@link #enterScope(Class)} 和 {@link #exitScope(Class)} 之间由
+ * 当前线程或其创建的线程产生的数据，因此并行执行的其他测试类的数据不会混入其中。未
+ * 限定作用域的记录器接收所有数据。</p>
+ *
+ * <p>此类是线程安全的。</p>
+ *
+ * @author 胡海星
+ */
+public class PerformanceRecorder {
+
+  private static final List<PerformanceRecorder> RECORDERS = new CopyOnWriteArrayList<>();
+
+  private static final InheritableThreadLocal<Class<?>> CURRENT_SCOPE =
+      new InheritableThreadLocal<>();
+
+  private static volatile boolean active = false;
+
+  @Nullable
+  private final Class<?> scope;
+
+  private final Map<Class<?>, Map<String, TesterStatistics>> statistics =
+      new ConcurrentHashMap<>();
+
+  /**
+   * 构造一个未限定作用域的 {@link PerformanceRecorder} 对象，它接收所有数据。
+   */
+  public PerformanceRecorder() {
+    this(null);
+  }
+
+  /**
+   * 构造一个 {@link PerformanceRecorder} 对象。
+   *
+   * @param scope
+   *     此记录器的作用域，通常是测试类；若为 {@code null} 则此记录器接收所有数据。
+   */
+  public PerformanceRecorder(@Nullable final Class<?> scope) {
+    this.scope = scope;
+  }
+
+  /**
+   * 注册一个记录器。
+   *
+   * @param recorder
+   *     待注册的记录器。
+   */
+  public static synchronized void register(final PerformanceRecorder recorder) {
+    RECORDERS.add(recorder);
+    active = true;
+  }
+
+  /**
+   * 注销一个记录器。
+   *
+   * @param recorder
+   *     待注销的记录器。
+   */
+  public static synchronized void unregister(final PerformanceRecorder recorder) {
+    RECORDERS.remove(recorder);
+    active = !RECORDERS.isEmpty();
+  }
+
+  /**
+   * 判断当前是否存在已注册的记录器。
+   *
+   * @return 若当前存在已注册的记录器则返回 {@code true}；否则返回 {@code false}。
+   */
+  public static boolean isActive() {
+    return active;
+  }
+
+  /**
+   * 使当前线程进入指定的作用域。
+   *
+   * <p>此后当前线程以及其创建的线程产生的数据会被发送给限定了该作用域的记录器。调用者
+   * 必须在离开作用域时以此方法的返回值调用 {@link #exitScope(Class)}。</p>
+   *
+   * @param scope
+   *     待进入的作用域，通常是测试类。
+   * @return 当前线程原来所在的作用域；若原来不在任何作用域中则返回 {@code null}。
+   */
+  @Nullable
+  public static Class<?> enterScope(final Class<?> scope) {
+    final Class<?> previous = CURRENT_SCOPE.get();
+    CURRENT_SCOPE.set(scope);
+    return previous;
+  }
+
+  /**
+   * 使当前线程离开当前的作用域，回到原来的作用域。
+   *
+   * @param previous
+   *     {@link #enterScope(Class)} 返回的原来的作用域。
+   */
+  public static void exitScope(@Nullable final Class<?> previous) {
+    if (previous == null) {
+      CURRENT_SCOPE.remove();
+    } else {
+      CURRENT_SCOPE.set(previous);
+    }
+  }
+
+  /**
+   * 获取当前线程所在的作用域。
+   *
+   * @return 当前线程所在的作用域；若不在任何作用域中则返回 {@code null}。
+   */
+  @Nullable
+  public static Class<?> currentScope() {
+    return CURRENT_SCOPE.get();
+  }
+
+  static void dispatchRun(final Class<?> modelClass, final String tester,
+      final long nanos) {
+    final Class<?> current = CURRENT_SCOPE.get();
+    for (final PerformanceRecorder recorder : RECORDERS) {
+      if (recorder.accepts(current)) {
+        recorder.getOrCreate(modelClass, tester).recordRun(nanos);
+      }
+    }
+  }
+
+  static void dispatchIteration(final Class<?> modelClass, final String tester,
+      final long nanos, final long allocated) {
+    final Class<?> current = CURRENT_SCOPE.get();
+    for (final PerformanceRecorder recorder : RECORDERS) {
+      if (recorder.accepts(current)) {
+        recorder.getOrCreate(modelClass, tester).recordIteration(nanos, allocated);
+      }
+    }
+  }
+
+  static void dispatchPhase(final Class<?> modelClass, final String tester,
+      final TesterPhase phase, final long nanos, final long payloadSize,
+      final long allocated) {
+    final Class<?> current = CURRENT_SCOPE.get();
+    for (final PerformanceRecorder recorder : RECORDERS) {
+      if (recorder.accepts(current)) {
+        recorder.getOrCreate(modelClass, tester)
+                .recordPhase(phase, nanos, payloadSize, allocated);
+      }
+    }
+  }
+
+  private boolean accepts(@Nullable final Class<?> current) {
+    return (scope == null) || (scope == current);
+  }
+
+  /**
+   * 获取此记录器的作用域。
+   *
+   * @return 此记录器的作用域；若为 {@code null} 则此记录器接收所有数据。
+   */
+  @Nullable
+  public Class<?> getScope() {
+    return scope;
+  }
+
+  /**
+   * 获取或创建指定领域对象模型和测试器的统计数据。
+   *
+   * @param modelClass
+   *     被测试的领域对象模型的类型。
+   * @param tester
+   *     测试器的名称。
+   * @return 指定领域对象模型和测试器的统计数据。
+   */
+  public TesterStatistics getOrCreate(final Class<?> modelClass, final String tester) {
+    return statistics.computeIfAbsent(modelClass, k -> new ConcurrentHashMap<>())
+                     .computeIfAbsent(tester, k -> new TesterStatistics(modelClass, tester));
+  }
+
+  /**
+   * 获取此记录器汇总的所有统计数据。
+   *
+   * @return 此记录器汇总的所有统计数据，按领域对象模型的类名和测试器名称排序。
+   */
+  public List<TesterStatistics> getStatistics() {
+    final List<TesterStatistics> result = new ArrayList<>();
+    for (final Map<String, TesterStatistics> map : statistics.values()) {
+      result.addAll(map.values());
+    }
+    result.sort(Comparator.comparing((TesterStatistics s) -> s.getModelClass().getName())
+                          .thenComparing(TesterStatistics::getTester));
+    return result;
+  }
+
+  /**
+   * 清除此记录器汇总的所有统计数据。
+   */
+  public void clear() {
+    statistics.clear();
+  }
+}
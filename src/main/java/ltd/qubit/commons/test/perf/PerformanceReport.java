@@ -0,0 +1,201 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * 将 {@link PerformanceRecorder} 汇总的统计数据输出为机器可读的报告。
+ *
+ * <p>报告支持JSON和CSV两种格式。JSON格式的报告按领域对象模型分组，每个模型包含
+ * 其所有测试器的汇总数据，以及每个测试器各个执行阶段的统计数据。CSV格式的报告每行
+ * 对应一个模型的一个测试器的一个执行阶段，其中阶段为 {@code TOTAL} 的行表示该测试器
+ * 的测试循环汇总数据。</p>
+ *
+ * @author 胡海星
+ */
+public class PerformanceReport {
+
+  /**
+   * CSV格式报告中表示测试器的测试循环汇总数据的阶段名称。
+   */
+  public static final String TOTAL_PHASE = "TOTAL";
+
+  private static final String[] CSV_HEADER = {
+      "modelClass", "tester", "phase", "count", "totalNanos", "meanNanos",
+      "p50Nanos", "p90Nanos", "p99Nanos", "p999Nanos", "maxNanos", "totalPayloadSize", "meanPayloadSize", "maxPayloadSize",
+      "allocatedBytes", "allocatedBytesPerOp",
+  };
+
+  private final List<TesterStatistics> statistics;
+
+  /**
+   * 构造一个 {@link PerformanceReport} 对象。
+   *
+   * @param statistics
+   *     待输出的统计数据。
+   */
+  public PerformanceReport(final List<TesterStatistics> statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * 获取待输出的统计数据。
+   *
+   * @return 待输出的统计数据。
+   */
+  public List<TesterStatistics> getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * 将报告以JSON格式写入指定的文件。
+   *
+   * @param file
+   *     目标文件，若其父目录不存在则会自动创建。
+   * @throws IOException
+   *     若发生I/O错误。
+   */
+  public void writeJson(final Path file) throws IOException {
+    final JsonMapper mapper = new JsonMapper();
+    final ObjectNode root = mapper.createObjectNode();
+    root.put("timestamp", Instant.now().toString());
+    final ArrayNode models = root.putArray("models");
+    final Map<Class<?>, ObjectNode> modelNodes = new LinkedHashMap<>();
+    for (final TesterStatistics stat : statistics) {
+      final ObjectNode model = modelNodes.computeIfAbsent(stat.getModelClass(), k -> {
+        final ObjectNode node = models.addObject();
+        node.put("modelClass", k.getName());
+        node.put("runNanos", 0L);
+        node.put("iterations", 0L);
+        node.put("allocatedBytes", 0L);
+        node.putArray("testers");
+        return node;
+      });
+      model.put("runNanos", model.get("runNanos").asLong() + stat.getRunNanos());
+      model.put("iterations", model.get("iterations").asLong() + stat.getIterations());
+      model.put("allocatedBytes", model.get("allocatedBytes").asLong()
+          + stat.getAllocatedBytes());
+      final ObjectNode tester = ((ArrayNode) model.get("testers")).addObject();
+      tester.put("tester", stat.getTester());
+      tester.put("runs", stat.getRuns());
+      tester.put("runNanos", stat.getRunNanos());
+      tester.put("iterations", stat.getIterations());
+      tester.put("iterationNanos", stat.getIterationNanos());
+      tester.put("meanIterationNanos", stat.getMeanIterationNanos());
+      final HistogramSnapshot iterationHistogram = stat.getIterationHistogram();
+      tester.put("p50IterationNanos", iterationHistogram.getP50());
+      tester.put("p90IterationNanos", iterationHistogram.getP90());
+      tester.put("p99IterationNanos", iterationHistogram.getP99());
+      tester.put("p999IterationNanos", iterationHistogram.getP999());
+      tester.put("maxIterationNanos", iterationHistogram.getMax());
+      tester.put("throughput", stat.getThroughput());
+      tester.put("allocatedBytes", stat.getAllocatedBytes());
+      tester.put("allocatedBytesPerIteration", stat.getAllocatedBytesPerIteration());
+      final ObjectNode phases = tester.putObject("phases");
+      for (final PhaseStatistics phase : stat.getPhases()) {
+        final ObjectNode node = phases.putObject(phase.getPhase().name());
+        node.put("count", phase.getCount());
+        node.put("totalNanos", phase.getTotalNanos());
+        node.put("meanNanos", phase.getMeanNanos());
+        final HistogramSnapshot histogram = phase.getHistogram();
+        node.put("p50Nanos", histogram.getP50());
+        node.put("p90Nanos", histogram.getP90());
+        node.put("p99Nanos", histogram.getP99());
+        node.put("p999Nanos", histogram.getP999());
+        node.put("maxNanos", phase.getMaxNanos());
+        node.put("totalPayloadSize", phase.getTotalPayloadSize());
+        node.put("meanPayloadSize", phase.getMeanPayloadSize());
+        node.put("maxPayloadSize", phase.getMaxPayloadSize());
+        node.put("allocatedBytes", phase.getAllocatedBytes());
+        node.put("allocatedBytesPerOp", phase.getAllocatedBytesPerOp());
+      }
+    }
+    createParentDirectories(file);
+    mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+  }
+
+  /**
+   * 将报告以CSV格式写入指定的文件。
+   *
+   * @param file
+   *     目标文件，若其父目录不存在则会自动创建。
+   * @throws IOException
+   *     若发生I/O错误。
+   */
+  public void writeCsv(final Path file) throws IOException {
+    createParentDirectories(file);
+    try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(String.join(",", CSV_HEADER));
+      writer.write('\n');
+      for (final TesterStatistics stat : statistics) {
+        final String model = stat.getModelClass().getName();
+        final String tester = escapeCsv(stat.getTester());
+        final HistogramSnapshot iterationHistogram = stat.getIterationHistogram();
+        writeCsvRow(writer, model, tester, TOTAL_PHASE, stat.getIterations(),
+            stat.getIterationNanos(), stat.getMeanIterationNanos(),
+            iterationHistogram.getP50(), iterationHistogram.getP90(),
+            iterationHistogram.getP99(), iterationHistogram.getP999(),
+            iterationHistogram.getMax(), -1, -1, -1,
+            stat.getAllocatedBytes(), stat.getAllocatedBytesPerIteration());
+        for (final PhaseStatistics phase : stat.getPhases()) {
+          final HistogramSnapshot histogram = phase.getHistogram();
+          writeCsvRow(writer, model, tester, phase.getPhase().name(), phase.getCount(),
+              phase.getTotalNanos(), phase.getMeanNanos(), histogram.getP50(),
+              histogram.getP90(), histogram.getP99(), histogram.getP999(),
+              phase.getMaxNanos(), phase.getTotalPayloadSize(), phase.getMeanPayloadSize(),
+              phase.getMaxPayloadSize(), phase.getAllocatedBytes(),
+              phase.getAllocatedBytesPerOp());
+        }
+      }
+    }
+  }
+
+  private static void writeCsvRow(final Writer writer, final String model,
+      final String tester, final String phase, final long... values) throws IOException {
+    writer.write(model);
+    writer.write(',');
+    writer.write(tester);
+    writer.write(',');
+    writer.write(phase);
+    for (final long value : values) {
+      writer.write(',');
+      if (value >= 0) {       // 负数表示该列无意义，输出为空
+        writer.write(Long.toString(value));
+      }
+    }
+    writer.write('\n');
+  }
+
+  private static String escapeCsv(final String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  private static void createParentDirectories(final Path file) throws IOException {
+    final Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+  }
+}
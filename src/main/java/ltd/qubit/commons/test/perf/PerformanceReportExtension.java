@@ -0,0 +1,105 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 汇总测试器性能数据并在全部测试结束后输出报告的 JUnit 扩展。
+ *
+ * <p>此扩展可用于 {@code ModelTestBase}、{@code EnumTestBase} 或 {@code TestGenerator}
+ * 的子类，例如：</p>
+ * <pre><code>
+ * &#64;ExtendWith(PerformanceReportExtension.class)
+ * public class AppTest extends ModelTestBase&lt;App&gt; {
+ *   ...
+ * }
+ * </code></pre>
+ *
+ * <p>在整个测试运行中，所有使用此扩展的测试类共享同一个 {@link PerformanceRecorder}。
+ * 全部测试结束后，汇总的数据会以JSON和CSV格式分别写入报告目录下的
+ * {@code performance-report.json} 和 {@code performance-report.csv} 文件。报告目录
+ * 默认为 {@code target}，可通过 JUnit 配置参数 {@value #REPORT_DIR_PARAMETER} 修改。</p>
+ *
+ * @author 胡海星
+ * @see PerformanceReport
+ */
+public class PerformanceReportExtension implements BeforeAllCallback {
+
+  /**
+   * 指定报告目录的 JUnit 配置参数名称。
+   */
+  public static final String REPORT_DIR_PARAMETER = "qubit.test.perf.report.dir";
+
+  /**
+   * 默认的报告目录。
+   */
+  public static final String DEFAULT_REPORT_DIR = "target";
+
+  /**
+   * 报告文件的名称，不含扩展名。
+   */
+  public static final String REPORT_NAME = "performance-report";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceReportExtension.class);
+
+  private static final Namespace NAMESPACE = Namespace.create(PerformanceReportExtension.class);
+
+  @Override
+  public void beforeAll(final ExtensionContext context) {
+    getRecorder(context);
+  }
+
+  /**
+   * 获取当前测试运行共享的 {@link PerformanceRecorder}，若不存在则创建并注册一个。
+   *
+   * @param context
+   *     当前的 JUnit 扩展上下文。
+   * @return 当前测试运行共享的 {@link PerformanceRecorder}。
+   */
+  public static PerformanceRecorder getRecorder(final ExtensionContext context) {
+    final Path dir = Paths.get(context.getConfigurationParameter(REPORT_DIR_PARAMETER)
+                                      .orElse(DEFAULT_REPORT_DIR));
+    return context.getRoot()
+                  .getStore(NAMESPACE)
+                  .getOrComputeIfAbsent(ReportResource.class, k -> new ReportResource(dir),
+                      ReportResource.class)
+                  .recorder;
+  }
+
+  private static final class ReportResource implements CloseableResource {
+
+    private final PerformanceRecorder recorder = new PerformanceRecorder();
+    private final Path dir;
+
+    private ReportResource(final Path dir) {
+      this.dir = dir;
+      PerformanceRecorder.register(recorder);
+    }
+
+    @Override
+    public void close() throws Throwable {
+      PerformanceRecorder.unregister(recorder);
+      final PerformanceReport report = new PerformanceReport(recorder.getStatistics());
+      final Path json = dir.resolve(REPORT_NAME + ".json");
+      final Path csv = dir.resolve(REPORT_NAME + ".csv");
+      report.writeJson(json);
+      report.writeCsv(csv);
+      LOGGER.info("The performance report was written to {} and {}", json, csv);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import javax.annotation.Nullable;
+
+/**
+ * 用于探测测试器某个执行阶段的探针。
+ *
+ * <p>典型用法如下：</p>
+ * <pre><code>
+ * final PhaseProbe probe = PhaseProbe.begin(TesterPhase.SERIALIZATION, type);
+ * final String json;
+ * try {
+ *   json = mapper.writeValueAsString(obj);
+ *   probe.setPayloadSize(json.length());
+ * } finally {
+ *   probe.end();
+ * }
+ * </code></pre>
+ *
+ * <p>探针会在阶段结束时发送相应的 Java Flight Recorder 事件，事件中包含模型类型、
+ * 当前测试器名称、当前测试循环序号和负载大小。若 JFR 未记录该事件，则不会填充
+ * 和提交事件。</p>
+ *
+ * <p>若存在已注册的 {@link PerformanceRecorder}，探针还会度量此阶段的耗时和内存
+ * 分配，并将其发送给记录器。</p>
+ *
+ * @author 胡海星
+ * @see TesterContext
+ */
+public final class PhaseProbe {
+
+  private final TesterPhaseEvent event;
+  private final TesterPhase phase;
+  private final Class<?> modelClass;
+  @Nullable
+  private final String tester;
+  @Nullable
+  private TesterContext context;
+  @Nullable
+  private TesterPhase previousPhase;
+  private long payloadSize;
+  private long startNanos;
+  private long startAllocated;
+
+  private PhaseProbe(final TesterPhaseEvent event, final TesterPhase phase,
+      final Class<?> modelClass, @Nullable final String tester) {
+    this.event = event;
+    this.phase = phase;
+    this.modelClass = modelClass;
+    this.tester = tester;
+  }
+
+  /**
+   * 开始探测一个测试器执行阶段。
+   *
+   * @param phase
+   *     待探测的阶段。
+   * @param modelClass
+   *     待测试的领域对象模型的类型。
+   * @return 新的探针，调用者必须在阶段结束时调用其 {@link #end()} 方法。
+   */
+  public static PhaseProbe begin(final TesterPhase phase, final Class<?> modelClass) {
+    return begin(phase, modelClass, null);
+  }
+
+  /**
+   * 开始探测一个测试器执行阶段。
+   *
+   * @param phase
+   *     待探测的阶段。
+   * @param modelClass
+   *     待测试的领域对象模型的类型。
+   * @param tester
+   *     测试器的名称；若为 {@code null} 则使用当前 {@link TesterContext} 中的测试器名称。
+   * @return 新的探针，调用者必须在阶段结束时调用其 {@link #end()} 方法。
+   */
+  public static PhaseProbe begin(final TesterPhase phase, final Class<?> modelClass,
+      @Nullable final String tester) {
+    final PhaseProbe probe = new PhaseProbe(createEvent(phase), phase, modelClass, tester);
+    probe.context = TesterContext.current();
+    if (probe.context != null) {
+      probe.previousPhase = probe.context.enterPhase(phase);
+    }
+    if (PerformanceRecorder.isActive()) {
+      probe.startAllocated = AllocationMeter.currentThreadAllocatedBytes();
+      probe.startNanos = System.nanoTime();
+    }
+    probe.event.begin();
+    return probe;
+  }
+
+  private static TesterPhaseEvent createEvent(final TesterPhase phase) {
+    switch (phase) {
+      case GENERATION:
+        return new GenerationEvent();
+      case SERIALIZATION:
+        return new SerializationEvent();
+      case DESERIALIZATION:
+        return new DeserializationEvent();
+      case VERIFICATION:
+      default:
+        return new VerificationEvent();
+    }
+  }
+
+  /**
+   * 设置此阶段处理的负载大小，例如序列化结果的字符数。
+   *
+   * @param payloadSize
+   *     此阶段处理的负载大小。
+   */
+  public void setPayloadSize(final long payloadSize) {
+    this.payloadSize = payloadSize;
+  }
+
+  /**
+   * 结束此阶段的探测。
+   */
+  public void end() {
+    event.end();
+    if (context != null) {
+      context.exitPhase(previousPhase);
+    }
+    if (startNanos != 0 && PerformanceRecorder.isActive()) {
+      final long nanos = System.nanoTime() - startNanos;
+      final long allocated = (startAllocated < 0 ? -1
+          : AllocationMeter.currentThreadAllocatedBytes() - startAllocated);
+      PerformanceRecorder.dispatchPhase(modelClass, getTester(), phase, nanos,
+          payloadSize, allocated);
+    }
+    if (event.shouldCommit()) {
+      event.modelClass = modelClass;
+      event.tester = getTester();
+      event.iteration = (context == null ? -1 : context.getIteration());
+      event.payloadSize = payloadSize;
+      event.commit();
+    }
+  }
+
+  private String getTester() {
+    if (tester != null) {
+      return tester;
+    }
+    return (context == null ? "" : context.getTester());
+  }
+}
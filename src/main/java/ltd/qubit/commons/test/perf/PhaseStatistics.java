@@ -0,0 +1,172 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+/**
+ * 某个测试器在某个执行阶段的统计数据。
+ *
+ * <p>此类是线程安全的。</p>
+ *
+ * @author 胡海星
+ */
+public final class PhaseStatistics {
+
+  private final TesterPhase phase;
+  private final LatencyHistogram histogram = new LatencyHistogram();
+  private long count;
+  private long totalNanos;
+  private long maxNanos;
+  private long totalPayloadSize;
+  private long maxPayloadSize;
+  private long allocatedBytes;
+
+  /**
+   * 构造一个 {@link PhaseStatistics} 对象。
+   *
+   * @param phase
+   *     被统计的执行阶段。
+   */
+  public PhaseStatistics(final TesterPhase phase) {
+    this.phase = phase;
+  }
+
+  /**
+   * 记录此阶段的一次执行。
+   *
+   * @param nanos
+   *     此次执行耗费的纳秒数。
+   * @param payloadSize
+   *     此次执行处理的负载大小。
+   * @param allocated
+   *     此次执行分配的堆内存字节数；若无法度量则为负数。
+   */
+  public void record(final long nanos, final long payloadSize, final long allocated) {
+    histogram.record(nanos);
+    synchronized (this) {
+      ++count;
+      totalNanos += nanos;
+      maxNanos = Math.max(maxNanos, nanos);
+      totalPayloadSize += payloadSize;
+      maxPayloadSize = Math.max(maxPayloadSize, payloadSize);
+      if (allocated > 0) {
+        allocatedBytes += allocated;
+      }
+    }
+  }
+
+  /**
+   * 获取被统计的执行阶段。
+   *
+   * @return 被统计的执行阶段。
+   */
+  public TesterPhase getPhase() {
+    return phase;
+  }
+
+  /**
+   * 获取此阶段的执行次数。
+   *
+   * @return 此阶段的执行次数。
+   */
+  public synchronized long getCount() {
+    return count;
+  }
+
+  /**
+   * 获取此阶段累计耗费的纳秒数。
+   *
+   * @return 此阶段累计耗费的纳秒数。
+   */
+  public synchronized long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * 获取此阶段每次执行平均耗费的纳秒数。
+   *
+   * @return 此阶段每次执行平均耗费的纳秒数。
+   */
+  public synchronized long getMeanNanos() {
+    return (count == 0 ? 0 : totalNanos / count);
+  }
+
+  /**
+   * 获取此阶段单次执行耗费的最大纳秒数。
+   *
+   * @return 此阶段单次执行耗费的最大纳秒数。
+   */
+  public synchronized long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * 获取此阶段单次执行耗时的百分位数。
+   *
+   * @param percentile
+   *     百分位，取值范围为 {@code [0, 100]}，例如 {@code 99.9} 表示第99.9百分位。
+   * @return 此阶段单次执行耗时的指定百分位数，单位为纳秒；若尚未执行则返回0。
+   */
+  public long getNanosPercentile(final double percentile) {
+    return histogram.snapshot().getPercentile(percentile);
+  }
+
+  /**
+   * 获取此阶段单次执行耗时的分布。
+   *
+   * @return 此阶段单次执行耗时的分布的快照，单位为纳秒。
+   */
+  public HistogramSnapshot getHistogram() {
+    return histogram.snapshot();
+  }
+
+  /**
+   * 获取此阶段累计处理的负载大小。
+   *
+   * @return 此阶段累计处理的负载大小。
+   */
+  public synchronized long getTotalPayloadSize() {
+    return totalPayloadSize;
+  }
+
+  /**
+   * 获取此阶段每次执行平均处理的负载大小。
+   *
+   * @return 此阶段每次执行平均处理的负载大小。
+   */
+  public synchronized long getMeanPayloadSize() {
+    return (count == 0 ? 0 : totalPayloadSize / count);
+  }
+
+  /**
+   * 获取此阶段单次执行处理的最大负载大小。
+   *
+   * @return 此阶段单次执行处理的最大负载大小。
+   */
+  public synchronized long getMaxPayloadSize() {
+    return maxPayloadSize;
+  }
+
+  /**
+   * 获取此阶段累计分配的堆内存字节数。
+   *
+   * @return 此阶段累计分配的堆内存字节数。
+   */
+  public synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * 获取此阶段每次执行平均分配的堆内存字节数。
+   *
+   * @return 此阶段每次执行平均分配的堆内存字节数。
+   */
+  public synchronized long getAllocatedBytesPerOp() {
+    return (count == 0 ? 0 : allocatedBytes / count);
+  }
+}
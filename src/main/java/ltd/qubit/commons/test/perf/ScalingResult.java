@@ -0,0 +1,89 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 某种数据格式下，多个线程共享同一个映射器时的吞吐量测量结果。
+ *
+ * @author 胡海星
+ */
+public final class ScalingResult {
+
+  private final String format;
+  private final int threads;
+  private final double opsPerSecond;
+  private final double efficiency;
+
+  /**
+   * 构造一个 {@link ScalingResult} 对象。
+   *
+   * @param format
+   *     被测量的数据格式，例如 {@code "JSON"}。
+   * @param threads
+   *     并发执行操作的线程数目。
+   * @param opsPerSecond
+   *     所有线程每秒合计执行的操作次数。
+   * @param efficiency
+   *     扩展效率，即实际吞吐量与单线程吞吐量乘以线程数目之比。
+   */
+  public ScalingResult(final String format, final int threads,
+      final double opsPerSecond, final double efficiency) {
+    this.format = format;
+    this.threads = threads;
+    this.opsPerSecond = opsPerSecond;
+    this.efficiency = efficiency;
+  }
+
+  /**
+   * 获取被测量的数据格式。
+   *
+   * @return 被测量的数据格式。
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * 获取并发执行操作的线程数目。
+   *
+   * @return 并发执行操作的线程数目。
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * 获取所有线程每秒合计执行的操作次数。
+   *
+   * @return 所有线程每秒合计执行的操作次数。
+   */
+  public double getOpsPerSecond() {
+    return opsPerSecond;
+  }
+
+  /**
+   * 获取扩展效率。
+   *
+   * @return 实际吞吐量与单线程吞吐量乘以线程数目之比；理想的线性扩展时为1。
+   */
+  public double getEfficiency() {
+    return efficiency;
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("format", format)
+        .append("threads", threads)
+        .append("opsPerSecond", opsPerSecond)
+        .append("efficiency", efficiency)
+        .toString();
+  }
+}
@@ -0,0 +1,216 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import javax.annotation.Nullable;
+
+/**
+ * 记录当前线程正在执行的测试器的上下文信息。
+ *
+ * <p>测试器在开始执行时调用 {@link #enter(Class, String)} 进入上下文，在执行结束
+ * 时调用 {@link #exit()} 退出上下文。上下文可以嵌套，退出时会恢复外层的上下文。
+ * {@link PhaseProbe} 通过此上下文获取当前的测试器名称和循环序号。</p>
+ *
+ * <p>若存在已注册的 {@link PerformanceRecorder}，此上下文还会度量测试器完整执行
+ * 的耗时，以及每次测试循环的耗时和内存分配，并将其发送给记录器。</p>
+ *
+ * @author 胡海星
+ */
+public final class TesterContext {
+
+  private static final ThreadLocal<TesterContext> CURRENT = new ThreadLocal<>();
+
+  @Nullable
+  private final TesterContext parent;
+
+  private final Class<?> modelClass;
+
+  private final String tester;
+
+  private final long startNanos;
+
+  private final long enterNanos = System.nanoTime();
+
+  private volatile int iteration = -1;
+
+  private volatile long iterationEnterNanos;
+
+  @Nullable
+  private volatile TesterPhase phase;
+
+  @Nullable
+  private volatile Long seed;
+
+  private long iterationStartNanos;
+
+  private long iterationStartAllocated;
+
+  private TesterContext(@Nullable final TesterContext parent,
+      final Class<?> modelClass, final String tester) {
+    this.parent = parent;
+    this.modelClass = modelClass;
+    this.tester = tester;
+    this.startNanos = (PerformanceRecorder.isActive() ? System.nanoTime() : 0);
+  }
+
+  /**
+   * 进入一个新的测试器上下文。
+   *
+   * @param modelClass
+   *     待测试的领域对象模型的类型。
+   * @param tester
+   *     测试器的名称。
+   * @return 新的测试器上下文，调用者必须在执行结束时调用其 {@link #exit()} 方法。
+   */
+  public static TesterContext enter(final Class<?> modelClass, final String tester) {
+    final TesterContext context = new TesterContext(CURRENT.get(), modelClass, tester);
+    CURRENT.set(context);
+    return context;
+  }
+
+  /**
+   * 获取当前线程的测试器上下文。
+   *
+   * @return 当前线程的测试器上下文；若当前线程不在任何测试器中执行则返回 {@code null}。
+   */
+  @Nullable
+  public static TesterContext current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * 退出此测试器上下文，并恢复外层的上下文。
+   */
+  public void exit() {
+    finishIteration();
+    if (startNanos != 0 && PerformanceRecorder.isActive()) {
+      PerformanceRecorder.dispatchRun(modelClass, tester, System.nanoTime() - startNanos);
+    }
+    if (parent == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(parent);
+    }
+  }
+
+  /**
+   * 获取待测试的领域对象模型的类型。
+   *
+   * @return 待测试的领域对象模型的类型。
+   */
+  public Class<?> getModelClass() {
+    return modelClass;
+  }
+
+  /**
+   * 获取测试器的名称。
+   *
+   * @return 测试器的名称。
+   */
+  public String getTester() {
+    return tester;
+  }
+
+  /**
+   * 获取当前的测试循环序号。
+   *
+   * @return 当前的测试循环序号，从0开始；若尚未开始循环则返回-1。
+   */
+  public int getIteration() {
+    return iteration;
+  }
+
+  /**
+   * 标记开始新的一次测试循环，同时标记上一次测试循环结束。
+   *
+   * @param iteration
+   *     新的测试循环序号，从0开始。
+   */
+  public void setIteration(final int iteration) {
+    finishIteration();
+    this.iteration = iteration;
+    this.iterationEnterNanos = System.nanoTime();
+    this.seed = null;
+    if (PerformanceRecorder.isActive()) {
+      iterationStartAllocated = AllocationMeter.currentThreadAllocatedBytes();
+      iterationStartNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * 获取当前测试循环已经执行的纳秒数。
+   *
+   * <p>此方法可以在其他线程中调用。</p>
+   *
+   * @return 当前测试循环已经执行的纳秒数；若尚未开始循环，则返回自进入此上下文以来
+   *     经过的纳秒数。
+   */
+  public long getIterationElapsedNanos() {
+    final long start = iterationEnterNanos;
+    return System.nanoTime() - (start == 0 ? enterNanos : start);
+  }
+
+  /**
+   * 获取当前正在执行的测试器阶段。
+   *
+   * <p>此方法可以在其他线程中调用。</p>
+   *
+   * @return 当前正在执行的测试器阶段；若当前不在任何 {@link PhaseProbe} 的探测范围内，
+   *     则返回 {@code null}。
+   */
+  @Nullable
+  public TesterPhase getPhase() {
+    return phase;
+  }
+
+  /**
+   * 获取可以重新生成当前测试循环的测试对象的随机种子。
+   *
+   * <p>此方法可以在其他线程中调用。</p>
+   *
+   * @return 可以重新生成当前测试循环的测试对象的随机种子；若未知则返回 {@code null}。
+   */
+  @Nullable
+  public Long getSeed() {
+    return seed;
+  }
+
+  /**
+   * 设置可以重新生成当前测试循环的测试对象的随机种子。
+   *
+   * <p>每次调用 {@link #setIteration(int)} 都会清除此前设置的种子。</p>
+   *
+   * @param seed
+   *     可以重新生成当前测试循环的测试对象的随机种子；若未知则为 {@code null}。
+   */
+  public void setSeed(@Nullable final Long seed) {
+    this.seed = seed;
+  }
+
+  @Nullable
+  TesterPhase enterPhase(final TesterPhase phase) {
+    final TesterPhase previous = this.phase;
+    this.phase = phase;
+    return previous;
+  }
+
+  void exitPhase(@Nullable final TesterPhase previous) {
+    this.phase = previous;
+  }
+
+  private void finishIteration() {
+    if (iterationStartNanos != 0 && PerformanceRecorder.isActive()) {
+      final long nanos = System.nanoTime() - iterationStartNanos;
+      final long allocated = (iterationStartAllocated < 0 ? -1
+          : AllocationMeter.currentThreadAllocatedBytes() - iterationStartAllocated);
+      PerformanceRecorder.dispatchIteration(modelClass, tester, nanos, allocated);
+    }
+    iterationStartNanos = 0;
+  }
+}
@@ -0,0 +1,37 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+/**
+ * 枚举测试器执行过程中的各个阶段。
+ *
+ * @author 胡海星
+ */
+public enum TesterPhase {
+
+  /**
+   * 使用随机对象生成器生成待测试的对象。
+   */
+  GENERATION,
+
+  /**
+   * 将对象序列化为JSON或XML等格式。
+   */
+  SERIALIZATION,
+
+  /**
+   * 将JSON或XML等格式的数据反序列化为对象。
+   */
+  DESERIALIZATION,
+
+  /**
+   * 对序列化或反序列化的结果进行断言校验。
+   */
+  VERIFICATION,
+}
@@ -0,0 +1,41 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 测试器执行阶段的 Java Flight Recorder 事件的基类。
+ *
+ * <p>当没有开启 JFR 记录时，此类事件的 {@code begin()}、{@code shouldCommit()}
+ * 等方法几乎没有任何开销。</p>
+ *
+ * @author 胡海星
+ */
+@Category({"Qubit", "Unit Test"})
+@StackTrace(false)
+public abstract class TesterPhaseEvent extends Event {
+
+  @Label("Model Class")
+  Class<?> modelClass;
+
+  @Label("Tester")
+  String tester;
+
+  @Label("Iteration")
+  int iteration;
+
+  @Label("Payload Size")
+  @DataAmount
+  long payloadSize;
+}
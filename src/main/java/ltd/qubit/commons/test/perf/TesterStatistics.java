@@ -0,0 +1,218 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 某个测试器对某个领域对象模型执行测试的统计数据。
+ *
+ * <p>此类是线程安全的。</p>
+ *
+ * @author 胡海星
+ */
+public final class TesterStatistics {
+
+  private final Class<?> modelClass;
+  private final String tester;
+  private final Map<TesterPhase, PhaseStatistics> phases = new EnumMap<>(TesterPhase.class);
+  private long runs;
+  private long runNanos;
+  private long iterations;
+  private long iterationNanos;
+  private long allocatedBytes;
+  private final LatencyHistogram iterationHistogram = new LatencyHistogram();
+
+  /**
+   * 构造一个 {@link TesterStatistics} 对象。
+   *
+   * @param modelClass
+   *     被测试的领域对象模型的类型。
+   * @param tester
+   *     测试器的名称。
+   */
+  public TesterStatistics(final Class<?> modelClass, final String tester) {
+    this.modelClass = modelClass;
+    this.tester = tester;
+  }
+
+  /**
+   * 记录测试器的一次完整执行。
+   *
+   * @param nanos
+   *     此次执行耗费的纳秒数。
+   */
+  public synchronized void recordRun(final long nanos) {
+    ++runs;
+    runNanos += nanos;
+  }
+
+  /**
+   * 记录测试器的一次测试循环。
+   *
+   * @param nanos
+   *     此次循环耗费的纳秒数。
+   * @param allocated
+   *     此次循环分配的堆内存字节数；若无法度量则为负数。
+   */
+  public void recordIteration(final long nanos, final long allocated) {
+    iterationHistogram.record(nanos);
+    synchronized (this) {
+      ++iterations;
+      iterationNanos += nanos;
+      if (allocated > 0) {
+        allocatedBytes += allocated;
+      }
+    }
+  }
+
+  /**
+   * 记录测试器某个执行阶段的一次执行。
+   *
+   * @param phase
+   *     执行阶段。
+   * @param nanos
+   *     此次执行耗费的纳秒数。
+   * @param payloadSize
+   *     此次执行处理的负载大小。
+   * @param allocated
+   *     此次执行分配的堆内存字节数；若无法度量则为负数。
+   */
+  public void recordPhase(final TesterPhase phase, final long nanos,
+      final long payloadSize, final long allocated) {
+    final PhaseStatistics statistics;
+    synchronized (this) {
+      statistics = phases.computeIfAbsent(phase, PhaseStatistics::new);
+    }
+    statistics.record(nanos, payloadSize, allocated);
+  }
+
+  /**
+   * 获取被测试的领域对象模型的类型。
+   *
+   * @return 被测试的领域对象模型的类型。
+   */
+  public Class<?> getModelClass() {
+    return modelClass;
+  }
+
+  /**
+   * 获取测试器的名称。
+   *
+   * @return 测试器的名称。
+   */
+  public String getTester() {
+    return tester;
+  }
+
+  /**
+   * 获取测试器的完整执行次数。
+   *
+   * @return 测试器的完整执行次数。
+   */
+  public synchronized long getRuns() {
+    return runs;
+  }
+
+  /**
+   * 获取测试器所有完整执行累计耗费的纳秒数。
+   *
+   * @return 测试器所有完整执行累计耗费的纳秒数。
+   */
+  public synchronized long getRunNanos() {
+    return runNanos;
+  }
+
+  /**
+   * 获取测试器执行的测试循环次数。
+   *
+   * @return 测试器执行的测试循环次数。
+   */
+  public synchronized long getIterations() {
+    return iterations;
+  }
+
+  /**
+   * 获取测试器所有测试循环累计耗费的纳秒数。
+   *
+   * @return 测试器所有测试循环累计耗费的纳秒数。
+   */
+  public synchronized long getIterationNanos() {
+    return iterationNanos;
+  }
+
+  /**
+   * 获取测试器每次测试循环平均耗费的纳秒数。
+   *
+   * @return 测试器每次测试循环平均耗费的纳秒数。
+   */
+  public synchronized long getMeanIterationNanos() {
+    return (iterations == 0 ? 0 : iterationNanos / iterations);
+  }
+
+  /**
+   * 获取测试器的测试循环吞吐量。
+   *
+   * @return 测试器每秒执行的测试循环次数；若尚未执行任何测试循环则返回0。
+   */
+  public synchronized double getThroughput() {
+    return (iterationNanos == 0 ? 0 : iterations * 1e9 / iterationNanos);
+  }
+
+  /**
+   * 获取测试器单次测试循环耗时的百分位数。
+   *
+   * @param percentile
+   *     百分位，取值范围为 {@code [0, 100]}，例如 {@code 99} 表示第99百分位。
+   * @return 测试器单次测试循环耗时的指定百分位数，单位为纳秒；若尚未执行任何测试
+   *     循环则返回0。
+   */
+  public long getIterationNanosPercentile(final double percentile) {
+    return iterationHistogram.snapshot().getPercentile(percentile);
+  }
+
+  /**
+   * 获取测试器单次测试循环耗时的分布。
+   *
+   * @return 测试器单次测试循环耗时的分布的快照，单位为纳秒。
+   */
+  public HistogramSnapshot getIterationHistogram() {
+    return iterationHistogram.snapshot();
+  }
+
+  /**
+   * 获取测试器所有测试循环累计分配的堆内存字节数。
+   *
+   * @return 测试器所有测试循环累计分配的堆内存字节数。
+   */
+  public synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * 获取测试器每次测试循环平均分配的堆内存字节数。
+   *
+   * @return 测试器每次测试循环平均分配的堆内存字节数。
+   */
+  public synchronized long getAllocatedBytesPerIteration() {
+    return (iterations == 0 ? 0 : allocatedBytes / iterations);
+  }
+
+  /**
+   * 获取测试器各个执行阶段的统计数据。
+   *
+   * @return 测试器各个执行阶段的统计数据，按阶段的定义顺序排列。
+   */
+  public synchronized List<PhaseStatistics> getPhases() {
+    return new ArrayList<>(phases.values());
+  }
+}
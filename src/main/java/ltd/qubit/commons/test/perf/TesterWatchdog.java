@@ -0,0 +1,168 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 在限定时间内执行测试器的看门狗。
+ *
+ * <p>{@link #run(Class, String, long, long, Task)} 在一个新的守护线程中进入测试器
+ * 上下文并执行测试任务，调用线程则作为看门狗定期检查任务的执行时间。若整个任务的执行
+ * 时间超过测试器超时，或者任务中某次测试循环的执行时间超过循环超时，看门狗会记录超时
+ * 的测试循环序号、正在执行的阶段、可重新生成测试对象的随机种子（若已知）以及执行线程
+ * 的调用栈快照，然后中断执行线程并立即使测试失败，而不是让整个测试运行一直挂起。</p>
+ *
+ * <p>注意，若超时的任务不响应中断，执行线程会继续在后台运行直至JVM退出。由于它是守护
+ * 线程，不会阻止JVM退出。</p>
+ *
+ * @author 胡海星
+ */
+public final class TesterWatchdog {
+
+  /**
+   * 被看门狗监视的测试任务。
+   */
+  @FunctionalInterface
+  public interface Task {
+
+    /**
+     * 执行测试任务。
+     *
+     * @throws Exception
+     *     如果在测试执行过程中发生任何错误。
+     */
+    void run() throws Exception;
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TesterWatchdog.class);
+
+  private static final long MIN_POLL_MILLIS = 10;
+
+  private static final long MAX_POLL_MILLIS = 1000;
+
+  private static final int MAX_STACK_FRAMES = 64;
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private TesterWatchdog() {}
+
+  /**
+   * 在看门狗的监视下执行一个测试任务。
+   *
+   * @param modelClass
+   *     待测试的领域对象模型的类型。
+   * @param tester
+   *     测试器的名称。
+   * @param iterationTimeout
+   *     单次测试循环的超时时间，单位为毫秒，0表示不限制。
+   * @param testerTimeout
+   *     整个测试任务的超时时间，单位为毫秒，0表示不限制。
+   * @param task
+   *     待执行的测试任务，它将在一个新的 {@link TesterContext} 中执行。
+   * @throws Exception
+   *     测试任务抛出的任何异常。
+   */
+  public static void run(final Class<?> modelClass, final String tester,
+      final long iterationTimeout, final long testerTimeout, final Task task)
+      throws Exception {
+    final AtomicReference<TesterContext> contextRef = new AtomicReference<>();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread worker = new Thread(() -> {
+      final TesterContext context = TesterContext.enter(modelClass, tester);
+      contextRef.set(context);
+      try {
+        task.run();
+      } catch (final Throwable e) {
+        failure.set(e);
+      } finally {
+        context.exit();
+      }
+    }, tester + "-" + THREAD_COUNTER.incrementAndGet());
+    worker.setDaemon(true);
+    final long poll = pollMillis(iterationTimeout, testerTimeout);
+    final long start = System.nanoTime();
+    worker.start();
+    try {
+      while (true) {
+        worker.join(poll);
+        if (!worker.isAlive()) {
+          break;
+        }
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (testerTimeout > 0 && elapsed > testerTimeout) {
+          timeout(modelClass, tester, worker, contextRef.get(), "tester", testerTimeout);
+        }
+        final TesterContext context = contextRef.get();
+        if (iterationTimeout > 0 && context != null
+            && TimeUnit.NANOSECONDS.toMillis(context.getIterationElapsedNanos())
+                > iterationTimeout) {
+          timeout(modelClass, tester, worker, context, "iteration", iterationTimeout);
+        }
+      }
+    } catch (final InterruptedException e) {
+      worker.interrupt();
+      throw e;
+    }
+    final Throwable error = failure.get();
+    if (error instanceof Exception) {
+      throw (Exception) error;
+    } else if (error instanceof Error) {
+      throw (Error) error;
+    } else if (error != null) {
+      throw new IllegalStateException(error);
+    }
+  }
+
+  private static long pollMillis(final long iterationTimeout, final long testerTimeout) {
+    long timeout = Long.MAX_VALUE;
+    if (iterationTimeout > 0) {
+      timeout = iterationTimeout;
+    }
+    if (testerTimeout > 0) {
+      timeout = Math.min(timeout, testerTimeout);
+    }
+    return Math.max(MIN_POLL_MILLIS, Math.min(MAX_POLL_MILLIS, timeout / 10));
+  }
+
+  private static void timeout(final Class<?> modelClass, final String tester,
+      final Thread worker, final TesterContext context, final String kind,
+      final long timeout) {
+    final StackTraceElement[] stack = worker.getStackTrace();
+    final StringBuilder message = new StringBuilder();
+    message.append(String.format("The %s of %s timed out after the %s timeout of %d ms.",
+        tester, modelClass.getName(), kind, timeout));
+    if (context != null) {
+      final Long seed = context.getSeed();
+      message.append("\n  iteration: ").append(context.getIteration())
+             .append("\n  phase: ").append(context.getPhase())
+             .append("\n  seed: ").append(seed == null ? "unknown" : seed);
+    }
+    message.append("\n  stack of the thread ").append(worker.getName()).append(':');
+    for (int i = 0; i < Math.min(stack.length, MAX_STACK_FRAMES); ++i) {
+      message.append("\n    at ").append(stack[i]);
+    }
+    if (stack.length > MAX_STACK_FRAMES) {
+      message.append("\n    ... ").append(stack.length - MAX_STACK_FRAMES).append(" more");
+    }
+    LOGGER.error("{}", message);
+    worker.interrupt();
+    final Throwable snapshot = new Throwable("The stack snapshot of the thread "
+        + worker.getName());
+    snapshot.setStackTrace(stack);
+    fail(message.toString(), snapshot);
+  }
+}
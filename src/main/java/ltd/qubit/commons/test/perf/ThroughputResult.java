@@ -0,0 +1,109 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 某种操作的吞吐量测量结果。
+ *
+ * @author 胡海星
+ */
+public final class ThroughputResult {
+
+  private final String format;
+  private final String operation;
+  private final long iterations;
+  private final long nanos;
+
+  /**
+   * 构造一个 {@link ThroughputResult} 对象。
+   *
+   * @param format
+   *     被测量的数据格式，例如 {@code "JSON"}。
+   * @param operation
+   *     被测量的操作，例如 {@code "serialize"}。
+   * @param iterations
+   *     测量的操作次数。
+   * @param nanos
+   *     测量的操作累计耗费的纳秒数。
+   */
+  public ThroughputResult(final String format, final String operation,
+      final long iterations, final long nanos) {
+    this.format = format;
+    this.operation = operation;
+    this.iterations = iterations;
+    this.nanos = nanos;
+  }
+
+  /**
+   * 获取被测量的数据格式。
+   *
+   * @return 被测量的数据格式。
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * 获取被测量的操作。
+   *
+   * @return 被测量的操作。
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * 获取测量的操作次数。
+   *
+   * @return 测量的操作次数。
+   */
+  public long getIterations() {
+    return iterations;
+  }
+
+  /**
+   * 获取测量的操作累计耗费的纳秒数。
+   *
+   * @return 测量的操作累计耗费的纳秒数。
+   */
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * 获取每秒执行的操作次数。
+   *
+   * @return 每秒执行的操作次数。
+   */
+  public double getOpsPerSecond() {
+    return (nanos == 0 ? 0 : iterations * 1e9 / nanos);
+  }
+
+  /**
+   * 获取每次操作平均耗费的纳秒数。
+   *
+   * @return 每次操作平均耗费的纳秒数。
+   */
+  public long getMeanNanos() {
+    return (iterations == 0 ? 0 : nanos / iterations);
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("format", format)
+        .append("operation", operation)
+        .append("iterations", iterations)
+        .append("nanos", nanos)
+        .append("opsPerSecond", getOpsPerSecond())
+        .append("meanNanos", getMeanNanos())
+        .toString();
+  }
+}
@@ -30,6 +30,7 @@ import org.w3c.dom.Node;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.PropertyName;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
@@ -37,6 +38,7 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import ltd.qubit.commons.datastructure.map.MapUtils;
 import ltd.qubit.commons.io.IoUtils;
 import ltd.qubit.commons.lang.ClassUtils;
+import ltd.qubit.commons.test.perf.PhaseProbe;
 import ltd.qubit.commons.text.jackson.JacksonUtils;
 import ltd.qubit.commons.text.jackson.module.TypeRegistrationModule;
 import ltd.qubit.commons.text.xml.DomUtils;
@@ -47,6 +49,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static ltd.qubit.commons.reflect.AccessibleUtils.withAccessibleObject;
 import static ltd.qubit.commons.reflect.FieldUtils.getAllFields;
 import static ltd.qubit.commons.reflect.Option.BEAN_FIELD;
+import static ltd.qubit.commons.test.assertion.Assertions.assertDeepEquals;
+import static ltd.qubit.commons.test.perf.TesterPhase.DESERIALIZATION;
+import static ltd.qubit.commons.test.perf.TesterPhase.SERIALIZATION;
+import static ltd.qubit.commons.test.perf.TesterPhase.VERIFICATION;
 import static ltd.qubit.commons.test.xml.XmlUnitUtils.assertXPathAbsent;
 import static ltd.qubit.commons.test.xml.XmlUnitUtils.assertXPathEquals;
 import static ltd.qubit.commons.test.xml.XmlUnitUtils.assertXmlEqual;
@@ -134,12 +140,17 @@ public abstract class JacksonXmlTestUtils {
   public static <T> void testXmlDeserialization(final XmlMapper mapper, final T obj)
       throws Exception {
     LOGGER.info("Testing XML deserialization for the object:\n{}", obj);
-    final String xml = mapper.writerWithDefaultPrettyPrinter()
-        .writeValueAsString(obj);
+    final String xml = serialize(mapper.writerWithDefaultPrettyPrinter(), obj);
     LOGGER.info("The object is serialized to:\n{}", xml);
-    final T result = mapper.readValue(xml, (Class<T>) obj.getClass());
+    final T result = deserialize(mapper, xml, (Class<T>) obj.getClass());
     LOGGER.info("The XML is deserialized to:\n{}", result);
-    assertEquals(obj, result);
+    final PhaseProbe probe = PhaseProbe.begin(VERIFICATION, obj.getClass());
+    try {
+      probe.setPayloadSize(xml.length());
+      assertDeepEquals(obj, result);
+    } finally {
+      probe.end();
+    }
     LOGGER.info("Test finished successfully.");
   }
 
@@ -165,13 +176,42 @@ public abstract class JacksonXmlTestUtils {
     LOGGER.info("Testing XML serialization for the object:\n{}", obj);
     @SuppressWarnings("unchecked")
     final Class<T> type = (Class<T>) obj.getClass();
-    final String xml = mapper.writeValueAsString(obj);
+    final String xml = serialize(mapper.writer(), obj);
     LOGGER.info("The object is serialized to:\n{}", xml);
-    final PropertyName root = getRootName(mapper, type);
-    assertXmlNodeEqualsObject(mapper, xml, root.getSimpleName(), null, obj);
+    final PhaseProbe probe = PhaseProbe.begin(VERIFICATION, type);
+    try {
+      probe.setPayloadSize(xml.length());
+      final PropertyName root = getRootName(mapper, type);
+      assertXmlNodeEqualsObject(mapper, xml, root.getSimpleName(), null, obj);
+    } finally {
+      probe.end();
+    }
     LOGGER.info("Test finished successfully.");
   }
 
+  private static String serialize(final ObjectWriter writer, final Object obj)
+      throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(SERIALIZATION, obj.getClass());
+    try {
+      final String xml = writer.writeValueAsString(obj);
+      probe.setPayloadSize(xml.length());
+      return xml;
+    } finally {
+      probe.end();
+    }
+  }
+
+  private static <T> T deserialize(final XmlMapper mapper, final String xml,
+      final Class<T> type) throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(DESERIALIZATION, type);
+    try {
+      probe.setPayloadSize(xml.length());
+      return mapper.readValue(xml, type);
+    } finally {
+      probe.end();
+    }
+  }
+
   /**
    * 从给定的URL加载XML，反序列化为指定类型的对象，然后再次序列化，并验证结果。
    * <p>
@@ -60,6 +60,7 @@ import ltd.qubit.commons.datastructure.map.MapUtils;
 import ltd.qubit.commons.io.IoUtils;
 import ltd.qubit.commons.lang.ClassUtils;
 import ltd.qubit.commons.reflect.ConstructorUtils;
+import ltd.qubit.commons.test.perf.PhaseProbe;
 import ltd.qubit.commons.text.xml.DomUtils;
 import ltd.qubit.commons.text.xml.jaxb.JaxbUtils;
 import ltd.qubit.commons.util.codec.BigDecimalCodec;
@@ -79,6 +80,9 @@ import static ltd.qubit.commons.reflect.FieldUtils.getAllFields;
 import static ltd.qubit.commons.reflect.Option.ALL_ACCESS;
 import static ltd.qubit.commons.reflect.Option.BEAN_FIELD;
 import static ltd.qubit.commons.reflect.Option.NON_STATIC;
+import static ltd.qubit.commons.test.perf.TesterPhase.DESERIALIZATION;
+import static ltd.qubit.commons.test.perf.TesterPhase.SERIALIZATION;
+import static ltd.qubit.commons.test.perf.TesterPhase.VERIFICATION;
 import static ltd.qubit.commons.test.xml.XmlUnitUtils.assertXPathAbsent;
 import static ltd.qubit.commons.test.xml.XmlUnitUtils.assertXPathEquals;
 import static ltd.qubit.commons.test.xml.XmlUnitUtils.assertXmlEqual;
@@ -309,14 +313,41 @@ public abstract class JaxbTestUtils {
     LOGGER.debug("Testing XML deserialization for the object:\n{}", obj);
     @SuppressWarnings("unchecked")
     final Class<T> type = (Class<T>) obj.getClass();
-    final String xml = JaxbUtils.marshal(obj, type);
+    final String xml = marshal(obj, type);
     LOGGER.debug("The object is serialized to:\n{}", xml);
-    final Object result = JaxbUtils.unmarshal(new StringReader(xml), type);
+    final Object result = unmarshal(xml, type);
     LOGGER.debug("The XML is deserialized to:\n{}", result);
-    assertEquals(obj, result);
+    final PhaseProbe probe = PhaseProbe.begin(VERIFICATION, type);
+    try {
+      probe.setPayloadSize(xml.length());
+      assertEquals(obj, result);
+    } finally {
+      probe.end();
+    }
     LOGGER.debug("Test finished successfully.");
   }
 
+  private static <T> String marshal(final T obj, final Class<T> type) throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(SERIALIZATION, type);
+    try {
+      final String xml = JaxbUtils.marshal(obj, type);
+      probe.setPayloadSize(xml.length());
+      return xml;
+    } finally {
+      probe.end();
+    }
+  }
+
+  private static <T> T unmarshal(final String xml, final Class<T> type) throws Exception {
+    final PhaseProbe probe = PhaseProbe.begin(DESERIALIZATION, type);
+    try {
+      probe.setPayloadSize(xml.length());
+      return JaxbUtils.unmarshal(new StringReader(xml), type);
+    } finally {
+      probe.end();
+    }
+  }
+
   private static void assertXmlNodeEqualsField(final String xml,
       @Nullable final String rootPath, final Object obj, final Field field)
       throws Exception {
@@ -657,18 +688,24 @@ public abstract class JaxbTestUtils {
     LOGGER.debug("Testing XML serialization for the object:\n{}", obj);
     @SuppressWarnings("unchecked")
     final Class<T> type = (Class<T>) obj.getClass();
-    final String xml = JaxbUtils.marshal(obj, type);
+    final String xml = marshal(obj, type);
     LOGGER.debug("The object is serialized to:\n{}", xml);
-    final String rootElement = getXmlRootElement(type);
-    if (obj instanceof Enum<?>) {
-      // 对枚举类型特殊处理
-      final String value = ((Enum<?>) obj).name();
-      assertXPathEquals(xml, rootElement, value);
-    } else {
-      final List<Field> fields = getAllFields(obj.getClass(), BEAN_FIELD);
-      for (final Field field : fields) {
-        assertXmlNodeEqualsField(xml, rootElement, obj, field);
+    final PhaseProbe probe = PhaseProbe.begin(VERIFICATION, type);
+    try {
+      probe.setPayloadSize(xml.length());
+      final String rootElement = getXmlRootElement(type);
+      if (obj instanceof Enum<?>) {
+        // 对枚举类型特殊处理
+        final String value = ((Enum<?>) obj).name();
+        assertXPathEquals(xml, rootElement, value);
+      } else {
+        final List<Field> fields = getAllFields(obj.getClass(), BEAN_FIELD);
+        for (final Field field : fields) {
+          assertXmlNodeEqualsField(xml, rootElement, obj, field);
+        }
       }
+    } finally {
+      probe.end();
     }
     LOGGER.debug("Test finished successfully.");
   }
@@ -0,0 +1,80 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.assertion;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.test.assertion.Assertions.assertCollectionEquals;
+
+public class AssertionsTest {
+
+  @Test
+  public void testNulls() {
+    assertCollectionEquals(null, null);
+    assertThrows(AssertionFailedError.class,
+        () -> assertCollectionEquals(null, List.of(1)));
+    assertThrows(AssertionFailedError.class,
+        () -> assertCollectionEquals(List.of(1), null));
+  }
+
+  @Test
+  public void testIgnoresOrder() {
+    assertCollectionEquals(List.of(3, 1, 2), List.of(1, 2, 3));
+    assertCollectionEquals(List.of(3.0, 1.5, Double.NaN), List.of(Double.NaN, 1.5, 3.0));
+    assertCollectionEquals(List.of("c", "a", "b"), List.of("a", "b", "c"));
+    assertCollectionEquals(Arrays.asList("a", null, 1), Arrays.asList(1, "a", null));
+  }
+
+  @Test
+  public void testMultiset() {
+    assertCollectionEquals(List.of(1, 1, 2), List.of(1, 2, 1));
+    assertThrows(AssertionFailedError.class,
+        () -> assertCollectionEquals(List.of(1, 1, 2), List.of(1, 2, 2)));
+    assertThrows(AssertionFailedError.class,
+        () -> assertCollectionEquals(List.of("a", "a", "b"), List.of("a", "b")));
+  }
+
+  @Test
+  public void testComparableInconsistentWithEquals() {
+    final List<BigDecimal> expected = List.of(new BigDecimal("1.0"), new BigDecimal("1.00"));
+    final List<BigDecimal> actual = List.of(new BigDecimal("1.00"), new BigDecimal("1.0"));
+    assertCollectionEquals(expected, actual);
+    assertThrows(AssertionFailedError.class, () -> assertCollectionEquals(expected,
+        List.of(new BigDecimal("1.0"), new BigDecimal("1.0"))));
+  }
+
+  @Test
+  public void testBoundedFailureMessage() {
+    final List<Integer> expected = new ArrayList<>();
+    final List<Integer> actual = new ArrayList<>();
+    for (int i = 0; i < 1000; ++i) {
+      expected.add(i);
+      actual.add(i + 500);
+    }
+    Collections.shuffle(actual);
+    final AssertionFailedError error = assertThrows(AssertionFailedError.class,
+        () -> assertCollectionEquals(expected, actual, "rows"));
+    final String message = error.getMessage();
+    assertTrue(message.startsWith("rows ==> "), message);
+    assertTrue(message.contains("missing 500 element(s)"), message);
+    assertTrue(message.contains("unexpected 500 element(s)"), message);
+    assertTrue(message.contains("and 490 more"), message);
+    assertTrue(message.length() < 400, message);
+  }
+}
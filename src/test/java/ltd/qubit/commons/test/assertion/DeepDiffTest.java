@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.assertion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.test.assertion.Assertions.assertDeepEquals;
+
+public class DeepDiffTest {
+
+  public static class Address {
+    private String city;
+
+    public Address(final String city) {
+      this.city = city;
+    }
+  }
+
+  public static class Person {
+    private String name;
+    private List<Person> children = new ArrayList<>();
+    private Address address;
+    private Map<String, Integer> scores = new HashMap<>();
+    private Person parent;
+  }
+
+  private static Person family(final String cityOfThirdChild) {
+    final Person root = new Person();
+    root.name = "root";
+    for (int i = 0; i < 5; ++i) {
+      final Person child = new Person();
+      child.name = "child" + i;
+      child.address = new Address(i == 3 ? cityOfThirdChild : "city" + i);
+      child.parent = root;      // cycle
+      root.children.add(child);
+    }
+    root.scores.put("math", 90);
+    return root;
+  }
+
+  @Test
+  public void testNoDifference() {
+    assertTrue(DeepDiff.diff(family("x"), family("x")).isEmpty());
+    assertNull(DeepDiff.findFirst(null, null));
+  }
+
+  @Test
+  public void testPath() {
+    final List<Difference> differences = DeepDiff.diff(family("x"), family("y"));
+    assertEquals(1, differences.size());
+    assertEquals("children[3].address.city", differences.get(0).getPath());
+    assertEquals("expected <x> but was <y>", differences.get(0).getDescription());
+  }
+
+  @Test
+  public void testCollectDifferences() {
+    final Person expected = family("x");
+    final Person actual = family("y");
+    actual.name = "other";
+    actual.scores.put("math", 80);
+    actual.scores.put("art", 70);
+    actual.children = new LinkedList<>(actual.children.subList(0, 4));
+    final List<Difference> differences = DeepDiff.diff(expected, actual);
+    assertEquals("name", differences.get(0).getPath());
+    assertEquals("children", differences.get(1).getPath());
+    assertEquals("expected size <5> but was <4>", differences.get(1).getDescription());
+    assertEquals("children[3].address.city", differences.get(2).getPath());
+    assertEquals("scores[math]", differences.get(3).getPath());
+    assertEquals("scores[art]", differences.get(4).getPath());
+    assertEquals(5, differences.size());
+    assertEquals(2, DeepDiff.diff(expected, actual, 2).size());
+    assertEquals("name", DeepDiff.findFirst(expected, actual).getPath());
+  }
+
+  @Test
+  public void testAssertDeepEquals() {
+    assertDeepEquals(List.of(1, 2), List.of(1, 2));
+    final AssertionFailedError error = assertThrows(AssertionFailedError.class,
+        () -> assertDeepEquals(family("x"), family("y"), "family"));
+    assertTrue(error.getMessage().startsWith("family ==> found 1 difference(s):"),
+        error.getMessage());
+    assertTrue(error.getMessage().contains("children[3].address.city: expected <x> but was <y>"),
+        error.getMessage());
+  }
+}
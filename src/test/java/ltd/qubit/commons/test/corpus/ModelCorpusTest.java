@@ -0,0 +1,135 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.corpus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.model.ModelTester;
+import ltd.qubit.commons.test.testbed.Address;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelCorpusTest {
+
+  @Test
+  public void testCreateAndOpen(@TempDir final Path dir) throws Exception {
+    final Path file = dir.resolve("app.corpus");
+    final ModelCorpus<App> created = ModelCorpus.create(file, App.class, 1L, 5);
+    assertEquals(5, created.size());
+    final ModelCorpus<App> opened = ModelCorpus.open(file, App.class, 1L);
+    assertNotNull(opened);
+    assertEquals(ModelCorpus.fingerprintOf(App.class), opened.getFingerprint());
+    for (int i = 0; i < opened.size(); ++i) {
+      assertEquals(created.get(i), opened.get(i));
+      assertNotSame(opened.get(i), opened.get(i));
+    }
+    assertNull(ModelCorpus.open(file, App.class, 2L));
+    assertNull(ModelCorpus.open(file, Address.class, 1L));
+  }
+
+  @Test
+  public void testSerializableModel(@TempDir final Path dir) throws Exception {
+    final Path file = dir.resolve("address.corpus");
+    final ModelCorpus<Address> corpus = ModelCorpus.create(file, Address.class, 1L, 3);
+    assertEquals(corpus.get(2), ModelCorpus.open(file, Address.class, 1L).get(2));
+  }
+
+  @Test
+  public void testFingerprint() {
+    assertEquals(ModelCorpus.fingerprintOf(App.class), ModelCorpus.fingerprintOf(App.class));
+    assertNotEquals(ModelCorpus.fingerprintOf(App.class),
+        ModelCorpus.fingerprintOf(Address.class));
+  }
+
+  @Test
+  public void testStoreRegeneratesInvalidFiles(@TempDir final Path dir) throws Exception {
+    final ModelCorpusStore store = new ModelCorpusStore(dir, 7L, 4);
+    final Path stale = dir.resolve(App.class.getName() + "-7-0" + ModelCorpusStore.FILE_EXTENSION);
+    Files.writeString(stale, "stale");
+    Files.writeString(store.getFile(App.class), "corrupted");
+    final ModelCorpus<App> corpus = store.getCorpus(App.class);
+    assertNotNull(corpus);
+    assertEquals(4, corpus.size());
+    assertFalse(Files.exists(stale));
+    assertTrue(Files.size(store.getFile(App.class)) > "corrupted".length());
+  }
+
+  @Test
+  public void testStoreRegeneratesUndecodableFiles(@TempDir final Path dir) throws Exception {
+    final ModelCorpusStore store = new ModelCorpusStore(dir, 7L, 4);
+    final Path file = store.getFile(App.class);
+    ModelCorpus.create(file, App.class, 7L, 4);
+    // 保留文件头和偏移表，只破坏数据区，使文件可以被打开但其中的实例无法被解码
+    final byte[] bytes = Files.readAllBytes(file);
+    final int dataStart = 32 + 5 * Integer.BYTES;
+    for (int i = dataStart; i < bytes.length; ++i) {
+      bytes[i] = 0;
+    }
+    Files.write(file, bytes);
+    final ModelCorpus<App> corpus = store.getCorpus(App.class);
+    assertNotNull(corpus);
+    assertNotNull(corpus.get(3));
+    assertNotNull(ModelCorpus.open(file, App.class, 7L).get(3));
+  }
+
+  @Test
+  public void testStoreRejectsMismatchedGenerator(@TempDir final Path dir) throws Exception {
+    final ModelCorpusStore store = new ModelCorpusStore(dir, 7L, 3);
+    assertNotNull(store.getCorpus(App.class, new RandomBeanGenerator()));
+    // 用偏移种子的生成器模拟一个配置不同的生成器
+    final RandomBeanGenerator other = new RandomBeanGenerator() {
+      @Override
+      public synchronized void setSeed(final long seed) {
+        super.setSeed(seed + 1);
+      }
+    };
+    assertNull(store.getCorpus(App.class, other));
+    assertNotNull(store.getCorpus(App.class));
+  }
+
+  @Test
+  public void testModelTesterDrawsFromCorpus(@TempDir final Path dir) throws Exception {
+    final ModelCorpusStore store = new ModelCorpusStore(dir, 7L, 3);
+    final List<App> objects = new ArrayList<>();
+    final ModelTester<App> tester = new ModelTester<>(App.class, 5) {
+      @Override
+      protected void doTest() {
+        for (int i = 0; i < loops; ++i) {
+          objects.add(nextObject(i));
+        }
+      }
+    };
+    ModelCorpusStore.register(store);
+    try {
+      tester.test();
+    } finally {
+      ModelCorpusStore.unregister(store);
+    }
+    assertEquals(5, objects.size());
+    final ModelCorpus<App> corpus = store.getCorpus(App.class);
+    for (int i = 0; i < corpus.size(); ++i) {
+      assertEquals(corpus.get(i), objects.get(i));
+    }
+    assertNull(ModelCorpusStore.current());
+  }
+}
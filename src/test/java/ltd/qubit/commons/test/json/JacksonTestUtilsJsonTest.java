@@ -39,6 +39,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import static ltd.qubit.commons.test.json.JacksonJsonTestUtils.testJsonDeserialization;
 import static ltd.qubit.commons.test.json.JacksonJsonTestUtils.testJsonSerialization;
+import static ltd.qubit.commons.test.json.JacksonJsonTestUtils.verifyJsonDeserialization;
+import static ltd.qubit.commons.test.json.JacksonJsonTestUtils.verifyJsonSerialization;
 import static ltd.qubit.commons.text.CaseFormat.LOWER_CAMEL;
 import static ltd.qubit.commons.text.CaseFormat.LOWER_UNDERSCORE;
 
@@ -96,6 +98,17 @@ public class JacksonTestUtilsJsonTest {
     testJsonDeserialization(mapper, obj5);
   }
 
+  @Test
+  public void testVerifyJsonSerialization() throws Exception {
+    final App app = generator.nextObject(App.class);
+    verifyJsonSerialization(mapper, app);
+    verifyJsonDeserialization(mapper, app);
+
+    final ObjectWithListField obj = generator.nextObject(ObjectWithListField.class);
+    verifyJsonSerialization(mapper, obj);
+    verifyJsonDeserialization(mapper, obj);
+  }
+
   @Disabled
   @Test
   public void testTestJsonSerializationBadBean() throws Exception {
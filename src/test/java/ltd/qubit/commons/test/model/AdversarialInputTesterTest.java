@@ -0,0 +1,146 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.test.perf.AdversarialInput;
+import ltd.qubit.commons.test.perf.AdversarialInputResult;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdversarialInputTesterTest {
+
+  /**
+   * 只有一个可以接受任意JSON值的属性的类。
+   */
+  public static class UntypedBean {
+    private int id;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(final int id) {
+      this.id = id;
+    }
+
+    public Object getPayload() {
+      return null;
+    }
+
+    public void setPayload(final Object payload) {}
+  }
+
+  /**
+   * JSON序列化结果固定为 {@code {"version":1}} 的类。
+   */
+  public static class ConstantBean {
+
+    public int getVersion() {
+      return 1;
+    }
+
+    public void setVersion(final int version) {}
+  }
+
+  @Test
+  public void testAllInputsWithinBudget() throws Exception {
+    final AdversarialInputTester<App> tester = new AdversarialInputTester<>(App.class);
+    tester.setPayloadSize(100_000);
+    tester.test();
+    assertEquals(AdversarialInput.values().length, tester.getResults().size());
+    for (final AdversarialInputResult result : tester.getResults()) {
+      assertTrue(result.getInputBytes() > 0);
+      assertTrue(result.getNanos() <= tester.getMaxNanos(), result.toString());
+    }
+    final AdversarialInputResult bigNumber = tester.getResults()
+        .get(AdversarialInput.BIG_NUMBER.ordinal());
+    assertTrue(bigNumber.getInputBytes() > tester.getNumberDigits());
+  }
+
+  @Test
+  public void testInputSizesOfConstantBean() throws Exception {
+    final AdversarialInputTester<ConstantBean> tester =
+        new AdversarialInputTester<>(ConstantBean.class);
+    tester.setPayloadSize(1000);
+    tester.setNestingDepth(50);
+    tester.setNumberDigits(100);
+    tester.setMaxAllocationRatio(0);   // 输入很小，分配的内存主要是固定开销
+    tester.test();
+    assertEquals(AdversarialInput.values().length, tester.getResults().size());
+    // {"version":999...9}
+    assertEquals(12 + 100, getInputBytes(tester, AdversarialInput.BIG_NUMBER));
+    // {"version":1,"__adversarial":[[...]]}
+    assertEquals(30 + 2 * 50, getInputBytes(tester, AdversarialInput.DEEP_NESTING));
+    // {"version":1,"__adversarial":"xxx...x"}
+    assertEquals(32 + 1000, getInputBytes(tester, AdversarialInput.LONG_STRING));
+    // {"version":1,"__adversarial":[0,0,...,0]}
+    assertEquals(30 + 2 * 500 - 1 + 2, getInputBytes(tester, AdversarialInput.HUGE_ARRAY));
+  }
+
+  private static long getInputBytes(final AdversarialInputTester<?> tester,
+      final AdversarialInput input) {
+    final AdversarialInputResult result = tester.getResults().get(input.ordinal());
+    assertEquals(input, result.getInput());
+    return result.getInputBytes();
+  }
+
+  @Test
+  public void testLatencyBudgetExceeded() {
+    final AdversarialInputTester<App> tester = new AdversarialInputTester<>(App.class);
+    tester.setPayloadSize(100_000);
+    tester.setMaxNanos(1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains(" took "), e.getMessage());
+    assertTrue(e.getMessage().contains("ns, which exceeds the budget of 1 ns."),
+        e.getMessage());
+  }
+
+  @Test
+  public void testAllocationBudgetExceeded() {
+    final AdversarialInputTester<App> tester = new AdversarialInputTester<>(App.class);
+    tester.setPayloadSize(100_000);
+    tester.setMaxAllocationRatio(1e-9);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains(" allocated "), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 1.0E-9 times the input size."),
+        e.getMessage());
+  }
+
+  @Test
+  public void testDeepNestingOfTypedFields() throws Exception {
+    final AdversarialInputTester<App> tester = new AdversarialInputTester<>(App.class);
+    tester.setPayloadSize(100_000);
+    tester.test();
+    final AdversarialInputResult deepNesting = tester.getResults()
+        .get(AdversarialInput.DEEP_NESTING.ordinal());
+    assertTrue(deepNesting.isRejected());
+    assertTrue(deepNesting.getRejection().contains("nesting depth"),
+        deepNesting.getRejection());
+  }
+
+  @Test
+  public void testDeepNestingOfUntypedProperty() throws Exception {
+    final AdversarialInputTester<UntypedBean> tester =
+        new AdversarialInputTester<>(UntypedBean.class);
+    tester.setPayloadSize(100_000);
+    tester.test();
+    final AdversarialInputResult deepNesting = tester.getResults()
+        .get(AdversarialInput.DEEP_NESTING.ordinal());
+    assertTrue(deepNesting.isRejected());
+    assertTrue(deepNesting.getRejection().contains("nesting depth"),
+        deepNesting.getRejection());
+    assertTrue(deepNesting.getRejection().contains("payload"),
+        deepNesting.getRejection());
+  }
+}
@@ -0,0 +1,86 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.test.perf.AllocationBudget;
+import ltd.qubit.commons.test.perf.AllocationMeter;
+import ltd.qubit.commons.test.perf.AllocationResult;
+import ltd.qubit.commons.test.testbed.BeanWithPhone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AllocationBudgetTesterTest {
+
+  @AllocationBudget(serialize = 1)
+  public static class TinyBudgetBean {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(final String name) {
+      this.name = name;
+    }
+  }
+
+  @Test
+  public void testMeasureAllocation() throws Exception {
+    assumeTrue(AllocationMeter.isSupported());
+    final AllocationBudgetTester<BeanWithPhone> tester = new AllocationBudgetTester<>(BeanWithPhone.class);
+    tester.setMaxSerializeBytes(10 * 1024 * 1024);
+    tester.test();
+    assertEquals(2, tester.getResults().size());
+    final AllocationResult serialize = tester.getResults().get(0);
+    final AllocationResult deserialize = tester.getResults().get(1);
+    assertEquals("JSON", serialize.getFormat());
+    assertEquals("serialize", serialize.getOperation());
+    assertEquals("JSON", deserialize.getFormat());
+    assertEquals("deserialize", deserialize.getOperation());
+    for (final AllocationResult result : tester.getResults()) {
+      assertEquals((long) tester.getRepeats() * tester.getLoops(), result.getIterations());
+      assertEquals(result.getAllocatedBytes() / result.getIterations(), result.getBytesPerOp());
+      assertTrue(result.getBytesPerOp() <= result.getMaxBytesPerOp());
+    }
+  }
+
+  @Test
+  public void testAllocationResult() {
+    final AllocationResult result = new AllocationResult("JSON", "serialize", 10, 2560, 400);
+    assertEquals(256, result.getBytesPerOp());
+    assertEquals(400, result.getMaxBytesPerOp());
+    assertEquals(0, new AllocationResult("JSON", "serialize", 0, 0, 0).getBytesPerOp());
+  }
+
+  @Test
+  public void testTesterBudgetExceeded() {
+    assumeTrue(AllocationMeter.isSupported());
+    final AllocationBudgetTester<BeanWithPhone> tester = new AllocationBudgetTester<>(BeanWithPhone.class);
+    tester.setMaxDeserializeBytes(1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("The JSON deserialize of "), e.getMessage());
+    assertTrue(e.getMessage().contains("bytes/op, which exceeds the budget of 1 bytes/op."),
+        e.getMessage());
+  }
+
+  @Test
+  public void testAnnotationBudgetExceeded() {
+    assumeTrue(AllocationMeter.isSupported());
+    final AllocationBudgetTester<TinyBudgetBean> tester = new AllocationBudgetTester<>(TinyBudgetBean.class);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("The JSON serialize of "), e.getMessage());
+    assertTrue(e.getMessage().contains("bytes/op, which exceeds the budget of 1 bytes/op."),
+        e.getMessage());
+  }
+}
@@ -0,0 +1,82 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.ColdStartResult;
+import ltd.qubit.commons.test.testbed.App;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColdStartTesterTest {
+
+  @Test
+  public void testMeasureColdStart() throws Exception {
+    final ColdStartTester<App> tester = new ColdStartTester<>(App.class);
+    tester.setWarmIterations(50);
+    tester.test();
+    assertEquals(4, tester.getResults().size());
+    final String[][] expected = {
+        {"JSON", "serialize"}, {"JSON", "deserialize"},
+        {"XML", "serialize"}, {"XML", "deserialize"},
+    };
+    for (int i = 0; i < expected.length; ++i) {
+      assertEquals(expected[i][0], tester.getResults().get(i).getFormat());
+      assertEquals(expected[i][1], tester.getResults().get(i).getOperation());
+    }
+    for (final ColdStartResult result : tester.getResults()) {
+      assertTrue(result.getColdNanos() > 0);
+      assertTrue(result.getWarmNanos() > 0);
+      assertEquals((double) result.getColdNanos() / result.getWarmNanos(), result.getRatio());
+    }
+  }
+
+  @Test
+  public void testFreshMapperPerOperation() throws Exception {
+    final AtomicInteger created = new AtomicInteger();
+    final ColdStartTester<App> tester = new ColdStartTester<>(App.class,
+        new RandomBeanGenerator(), 3, () -> {
+          created.incrementAndGet();
+          return new CustomizedJsonMapper();
+        }, null);
+    tester.setWarmIterations(10);
+    tester.test();
+    // 每次循环分别为首次序列化和首次反序列化创建一个新的映射器
+    assertEquals(6, created.get());
+  }
+
+  @Test
+  public void testColdStartResult() {
+    final ColdStartResult result = new ColdStartResult("JSON", "serialize", 1000, 10);
+    assertEquals(1000, result.getColdNanos());
+    assertEquals(10, result.getWarmNanos());
+    assertEquals(100.0, result.getRatio());
+    assertEquals(0.0, new ColdStartResult("JSON", "serialize", 1000, 0).getRatio());
+  }
+
+  @Test
+  public void testBudgetExceeded() {
+    final ColdStartTester<App> tester = new ColdStartTester<>(App.class,
+        new RandomBeanGenerator(), 3, CustomizedJsonMapper::new, null);
+    tester.setWarmIterations(10);
+    tester.setMaxColdNanos(1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("The first JSON serialize of "), e.getMessage());
+    assertTrue(e.getMessage().contains("on a fresh mapper takes"), e.getMessage());
+    assertTrue(e.getMessage().contains("ns, which exceeds the budget of 1 ns."),
+        e.getMessage());
+  }
+}
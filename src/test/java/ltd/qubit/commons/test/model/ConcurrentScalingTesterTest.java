@@ -0,0 +1,78 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.ScalingResult;
+import ltd.qubit.commons.test.testbed.BeanWithPhone;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentScalingTesterTest {
+
+  /**
+   * 其属性的读取方法被所有线程串行执行的类。
+   */
+  public static class ContendedBean {
+    private static final Object LOCK = new Object();
+
+    private int value;
+
+    public int getValue() {
+      synchronized (LOCK) {
+        LockSupport.parkNanos(100_000);
+        return value;
+      }
+    }
+
+    public void setValue(final int value) {
+      this.value = value;
+    }
+  }
+
+  @Test
+  public void testMeasureScaling() throws Exception {
+    final ConcurrentScalingTester<BeanWithPhone> tester =
+        new ConcurrentScalingTester<>(BeanWithPhone.class);
+    assertEquals(0.0, tester.getMinEfficiency());
+    tester.setMaxThreads(3);
+    tester.setWarmupIterations(50);
+    tester.setIterationsPerThread(200);
+    tester.test();
+    // 1, 2 and 3 threads for both JSON and XML
+    assertEquals(6, tester.getResults().size());
+    final ScalingResult first = tester.getResults().get(0);
+    assertEquals(1, first.getThreads());
+    assertEquals(1.0, first.getEfficiency(), 1e-9);
+    assertEquals(3, tester.getResults().get(2).getThreads());
+  }
+
+  @Test
+  public void testContendedScalingFails() {
+    final ConcurrentScalingTester<ContendedBean> tester = new ConcurrentScalingTester<>(
+        ContendedBean.class, new RandomBeanGenerator(), 3, new CustomizedJsonMapper(), null);
+    tester.setMaxThreads(4);
+    tester.setWarmupIterations(10);
+    tester.setIterationsPerThread(100);
+    tester.setMinEfficiency(0.9);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("The JSON throughput of "), e.getMessage());
+    assertTrue(e.getMessage().contains("scales sub-linearly"), e.getMessage());
+    assertTrue(e.getMessage().contains("with 4 threads"), e.getMessage());
+    assertTrue(e.getMessage().contains("is below 0.90"), e.getMessage());
+    assertEquals(3, tester.getResults().size());
+  }
+}
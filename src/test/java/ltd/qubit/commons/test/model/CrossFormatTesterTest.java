@@ -0,0 +1,95 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.PayloadSizeResult;
+import ltd.qubit.commons.test.testbed.App;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+import ltd.qubit.commons.text.jackson.CustomizedXmlMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CrossFormatTesterTest {
+
+  public static class LossyBean {
+    private int id;
+
+    @JsonIgnore
+    private String secret;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(final int id) {
+      this.id = id;
+    }
+
+    public String getSecret() {
+      return secret;
+    }
+
+    public void setSecret(final String secret) {
+      this.secret = secret;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof LossyBean)) {
+        return false;
+      }
+      final LossyBean other = (LossyBean) o;
+      return id == other.id && Objects.equals(secret, other.secret);
+    }
+
+    @Override
+    public int hashCode() {
+      return id;
+    }
+  }
+
+  @Test
+  public void testJsonAndXmlAgree() throws Exception {
+    final CrossFormatTester<App> tester = new CrossFormatTester<>(App.class,
+        new RandomBeanGenerator(), 5, new CustomizedJsonMapper(), new CustomizedXmlMapper(),
+        false);
+    assertEquals(CrossFormatTester.DEFAULT_WARMUP_ITERATIONS, tester.getWarmupIterations());
+    tester.setWarmupIterations(10);
+    tester.test();
+    assertEquals(4, tester.getThroughputResults().size());
+    assertEquals(2, tester.getSizeResults().size());
+    for (final PayloadSizeResult size : tester.getSizeResults()) {
+      assertEquals(5, size.getSamples());
+      assertTrue(size.getP50() > 0);
+    }
+    final double json = tester.getRelativeThroughput(CrossFormatTester.JSON, "serialize");
+    final double xml = tester.getRelativeThroughput(CrossFormatTester.XML, "serialize");
+    assertEquals(1.0, Math.max(json, xml));
+    assertTrue(Math.min(json, xml) > 0);
+    assertEquals(0.0, tester.getRelativeThroughput(CrossFormatTester.JAXB, "serialize"));
+  }
+
+  @Test
+  public void testReportsDisagreement() {
+    final CrossFormatTester<LossyBean> tester = new CrossFormatTester<>(LossyBean.class,
+        new RandomBeanGenerator(), 3, new CustomizedJsonMapper(), null, false);
+    final AssertionFailedError error = assertThrows(AssertionFailedError.class, tester::test);
+    assertTrue(error.getMessage().contains("JSON vs original: secret"), error.getMessage());
+  }
+}
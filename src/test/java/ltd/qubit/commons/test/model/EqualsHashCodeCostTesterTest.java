@@ -0,0 +1,87 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.test.perf.EqualityCost;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EqualsHashCodeCostTesterTest {
+
+  public static class FinalFieldBean {
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final int serial = COUNTER.incrementAndGet();
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(final String name) {
+      this.name = name;
+    }
+
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if ((o == null) || (getClass() != o.getClass())) {
+        return false;
+      }
+      final FinalFieldBean other = (FinalFieldBean) o;
+      return (serial == other.serial)
+          && Objects.equals(name, other.name);
+    }
+
+    public int hashCode() {
+      return Objects.hash(serial, name);
+    }
+  }
+
+  @Test
+  public void testMeasureCost() throws Exception {
+    final EqualsHashCodeCostTester<App> tester = new EqualsHashCodeCostTester<>(App.class);
+    tester.setWarmupIterations(100);
+    tester.setMeasuredIterations(1000);
+    tester.test();
+    assertEquals(EqualityCost.HASH_CODE, tester.getResults().get(0).getOperation());
+    assertEquals(EqualityCost.EQUALS, tester.getResults().get(1).getOperation());
+    assertEquals(EqualityCost.NEAR_EQUALS, tester.getResults().get(2).getOperation());
+    assertFalse(tester.getSlowestFields(3).isEmpty());
+  }
+
+  @Test
+  public void testBudgetExceeded() {
+    final EqualsHashCodeCostTester<App> tester = new EqualsHashCodeCostTester<>(App.class);
+    tester.setWarmupIterations(0);
+    tester.setMeasuredIterations(100);
+    tester.setMaxEqualsNanos(1);
+    assertThrows(AssertionError.class, tester::test);
+  }
+
+  @Test
+  public void testUnequalCopy() {
+    final EqualsHashCodeCostTester<FinalFieldBean> tester =
+        new EqualsHashCodeCostTester<>(FinalFieldBean.class);
+    tester.setWarmupIterations(0);
+    tester.setMeasuredIterations(100);
+    final AssertionError error = assertThrows(AssertionError.class, tester::test);
+    assertTrue(error.getMessage().contains("is not equal to the instance"), error::getMessage);
+  }
+}
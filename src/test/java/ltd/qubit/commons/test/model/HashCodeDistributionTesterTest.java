@@ -0,0 +1,168 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.lang.Equality;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HashCodeDistributionTesterTest {
+
+  public static class ConstantHashBean {
+    private String name;
+    private int value;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(final String name) {
+      this.name = name;
+    }
+
+    public int getValue() {
+      return value;
+    }
+
+    public void setValue(final int value) {
+      this.value = value;
+    }
+
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if ((o == null) || (getClass() != o.getClass())) {
+        return false;
+      }
+      final ConstantHashBean other = (ConstantHashBean) o;
+      return Equality.equals(name, other.name)
+          && Equality.equals(value, other.value);
+    }
+
+    public int hashCode() {
+      return 42;
+    }
+  }
+
+  public static class PartialHashBean {
+    private String name;
+    private String code;
+    private String url;
+    private long id;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(final String name) {
+      this.name = name;
+    }
+
+    public String getCode() {
+      return code;
+    }
+
+    public void setCode(final String code) {
+      this.code = code;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    public void setUrl(final String url) {
+      this.url = url;
+    }
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(final long id) {
+      this.id = id;
+    }
+
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if ((o == null) || (getClass() != o.getClass())) {
+        return false;
+      }
+      final PartialHashBean other = (PartialHashBean) o;
+      return Equality.equals(name, other.name)
+          && Equality.equals(code, other.code)
+          && Equality.equals(url, other.url)
+          && Equality.equals(id, other.id);
+    }
+
+    public int hashCode() {
+      return Long.hashCode(id);
+    }
+  }
+
+  public static class NoDefaultConstructorBean {
+    private String name;
+    private String code;
+
+    public NoDefaultConstructorBean(final String name, final String code) {
+      this.name = name;
+      this.code = code;
+    }
+
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if ((o == null) || (getClass() != o.getClass())) {
+        return false;
+      }
+      final NoDefaultConstructorBean other = (NoDefaultConstructorBean) o;
+      return Equality.equals(name, other.name)
+          && Equality.equals(code, other.code);
+    }
+
+    public int hashCode() {
+      return Objects.hash(name, code);
+    }
+  }
+
+  @Test
+  public void testApp() throws Exception {
+    final HashCodeDistributionTester<App> tester = new HashCodeDistributionTester<>(App.class);
+    tester.test();
+  }
+
+  @Test
+  public void testConstantHashCode() {
+    final HashCodeDistributionTester<ConstantHashBean> tester =
+        new HashCodeDistributionTester<>(ConstantHashBean.class);
+    assertThrows(AssertionError.class, tester::test);
+  }
+
+  @Test
+  public void testHashCodeIgnoringMostFields() {
+    final HashCodeDistributionTester<PartialHashBean> tester =
+        new HashCodeDistributionTester<>(PartialHashBean.class);
+    assertThrows(AssertionError.class, tester::test);
+  }
+
+  @Test
+  public void testNoDefaultConstructor() throws Exception {
+    final HashCodeDistributionTester<NoDefaultConstructorBean> tester =
+        new HashCodeDistributionTester<>(NoDefaultConstructorBean.class);
+    tester.test();
+  }
+}
@@ -0,0 +1,109 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.LatencyResult;
+import ltd.qubit.commons.test.testbed.App;
+import ltd.qubit.commons.text.jackson.CustomizedJsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonLinesReplayTesterTest {
+
+  private static void writeRecords(final OutputStream out, final int count) throws Exception {
+    final RandomBeanGenerator random = new RandomBeanGenerator();
+    final ObjectWriter writer = new CustomizedJsonMapper().writerFor(App.class)
+        .without(SerializationFeature.INDENT_OUTPUT);
+    for (int i = 0; i < count; ++i) {
+      out.write(writer.writeValueAsBytes(random.nextObject(App.class)));
+      out.write('\n');
+    }
+  }
+
+  @Test
+  public void testReplayPlainFile(@TempDir final Path dir) throws Exception {
+    final Path file = dir.resolve("app.jsonl");
+    try (final OutputStream out = Files.newOutputStream(file)) {
+      writeRecords(out, 20);
+    }
+    final JsonLinesReplayTester<App> tester = new JsonLinesReplayTester<>(App.class, file);
+    tester.test();
+    assertEquals(20, tester.getRecords());
+    final LatencyResult latency = tester.getDeserializeLatency();
+    assertEquals(20, latency.getCount());
+    assertTrue(latency.getP50() <= latency.getP99());
+    assertTrue(latency.getP99() <= latency.getMax());
+    assertEquals(20, tester.getSerializeLatency().getCount());
+  }
+
+  @Test
+  public void testReplayGzipFile(@TempDir final Path dir) throws Exception {
+    final Path file = dir.resolve("app.jsonl.gz");
+    try (final OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+      writeRecords(out, 30);
+    }
+    final JsonLinesReplayTester<App> tester = new JsonLinesReplayTester<>(App.class, file);
+    tester.setVerify(false);
+    tester.setMaxRecords(25);
+    tester.test();
+    assertEquals(25, tester.getRecords());
+    assertEquals(25, tester.getDeserializeLatency().getCount());
+    assertEquals(25, tester.getSerializeLatency().getCount());
+  }
+
+  @Test
+  public void testEmptyFile(@TempDir final Path dir) throws Exception {
+    final Path file = Files.createFile(dir.resolve("empty.jsonl"));
+    final JsonLinesReplayTester<App> tester = new JsonLinesReplayTester<>(App.class, file);
+    tester.test();
+    assertEquals(0, tester.getRecords());
+    assertNull(tester.getDeserializeLatency());
+  }
+
+  @Test
+  public void testMalformedRecord(@TempDir final Path dir) throws Exception {
+    final Path file = dir.resolve("bad.jsonl");
+    try (final OutputStream out = Files.newOutputStream(file)) {
+      writeRecords(out, 2);
+      out.write("{\"id\": \"not-a-number\"}\n".getBytes(StandardCharsets.UTF_8));
+    }
+    final JsonLinesReplayTester<App> tester = new JsonLinesReplayTester<>(App.class, file);
+    final AssertionError error = assertThrows(AssertionError.class, tester::test);
+    assertTrue(error.getMessage().contains("#2"), error.getMessage());
+    assertTrue(error.getMessage().contains("line 3"), error.getMessage());
+  }
+
+  @Test
+  public void testLatencyBudgetExceeded(@TempDir final Path dir) throws Exception {
+    final Path file = dir.resolve("app.jsonl");
+    try (final OutputStream out = Files.newOutputStream(file)) {
+      writeRecords(out, 5);
+    }
+    final JsonLinesReplayTester<App> tester = new JsonLinesReplayTester<>(App.class, file);
+    tester.setVerify(false);
+    tester.setMaxP99Nanos(1);
+    assertThrows(AssertionError.class, tester::test);
+  }
+}
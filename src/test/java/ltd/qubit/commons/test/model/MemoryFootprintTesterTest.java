@@ -0,0 +1,81 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.test.perf.ObjectSizeEstimator;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoryFootprintTesterTest {
+
+  /**
+   * 只有基本类型字段的类，其深层大小即为其浅层大小。
+   */
+  public static class PrimitiveBean {
+    private long id;
+    private int count;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(final long id) {
+      this.id = id;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(final int count) {
+      this.count = count;
+    }
+  }
+
+  @Test
+  public void testEstimateFootprint() throws Exception {
+    final MemoryFootprintTester<App> tester = new MemoryFootprintTester<>(App.class);
+    tester.test();
+    assertTrue(tester.getMeanBytes() > 0);
+    assertTrue(tester.getLargestBytes() >= tester.getMeanBytes());
+    assertFalse(tester.getLargestFields(3).isEmpty());
+  }
+
+  @Test
+  public void testEstimatePrimitiveFootprint() throws Exception {
+    final long expected = new ObjectSizeEstimator().shallowSizeOf(PrimitiveBean.class);
+    final MemoryFootprintTester<PrimitiveBean> tester =
+        new MemoryFootprintTester<>(PrimitiveBean.class);
+    tester.test();
+    assertEquals(expected, tester.getMeanBytes());
+    assertEquals(expected, tester.getLargestBytes());
+    assertEquals(Map.of("", expected), tester.getFieldBytes());
+    tester.setMaxMeanBytes(expected - 1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("is " + expected + " bytes on average, which exceeds "
+        + "the budget of " + (expected - 1) + " bytes"), e.getMessage());
+  }
+
+  @Test
+  public void testBudgetExceeded() {
+    final MemoryFootprintTester<App> tester = new MemoryFootprintTester<>(App.class);
+    tester.setMaxMeanBytes(16);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("retained size"), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 16 bytes"), e.getMessage());
+  }
+}
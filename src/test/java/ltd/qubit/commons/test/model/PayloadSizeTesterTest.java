@@ -0,0 +1,114 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.test.perf.PayloadSizeBudget;
+import ltd.qubit.commons.test.perf.PayloadSizeResult;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayloadSizeTesterTest {
+
+  @PayloadSizeBudget(json = 1)
+  public static class TinyPayloadBean {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(final String name) {
+      this.name = name;
+    }
+  }
+
+  /**
+   * JSON序列化结果总是 {@code {"code":"abc"}} 的类，共14个字节。
+   */
+  public static class FixedPayloadBean {
+    public String getCode() {
+      return "abc";
+    }
+
+    public void setCode(final String code) {}
+  }
+
+  @Test
+  public void testMeasurePayloadSize() throws Exception {
+    final PayloadSizeTester<App> tester = new PayloadSizeTester<>(App.class);
+    tester.test();
+    assertEquals(3, tester.getResults().size());
+    for (final PayloadSizeResult result : tester.getResults()) {
+      assertTrue(result.getP50() <= result.getP99());
+      assertTrue(result.getP99() <= result.getMax());
+    }
+    assertFalse(tester.getLargestFields(3).isEmpty());
+  }
+
+  @Test
+  public void testMeasureFixedPayloadSize() throws Exception {
+    final PayloadSizeTester<FixedPayloadBean> tester =
+        new PayloadSizeTester<>(FixedPayloadBean.class);
+    tester.setXmlMapper(null);
+    tester.test();
+    assertEquals(1, tester.getResults().size());
+    final PayloadSizeResult result = tester.getResults().get(0);
+    assertEquals("JSON", result.getFormat());
+    assertEquals(tester.getLoops(), result.getSamples());
+    assertEquals(14, result.getP50());
+    assertEquals(14, result.getP99());
+    assertEquals(14, result.getMax());
+  }
+
+  @Test
+  public void testExactPercentiles() {
+    final PayloadSizeResult result = new PayloadSizeResult("JSON",
+        new long[]{10_003, 10_001, 10_004, 10_002});
+    assertEquals(4, result.getSamples());
+    assertEquals(10_001, result.getPercentile(25));
+    assertEquals(10_002, result.getP50());
+    assertEquals(10_004, result.getP99());
+    assertEquals(10_004, result.getMax());
+  }
+
+  @Test
+  public void testTesterBudgetExceeded() {
+    final PayloadSizeTester<App> tester = new PayloadSizeTester<>(App.class);
+    tester.setMaxXmlBytes(16);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("XML payload size"), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 16 bytes"), e.getMessage());
+  }
+
+  @Test
+  public void testFixedPayloadBudgetExceeded() {
+    final PayloadSizeTester<FixedPayloadBean> tester =
+        new PayloadSizeTester<>(FixedPayloadBean.class);
+    tester.setXmlMapper(null);
+    tester.setMaxJsonBytes(13);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("JSON payload size of "
+        + FixedPayloadBean.class.getName() + " is 14 bytes, which exceeds the budget "
+        + "of 13 bytes"), e.getMessage());
+  }
+
+  @Test
+  public void testAnnotationBudgetExceeded() {
+    final PayloadSizeTester<TinyPayloadBean> tester = new PayloadSizeTester<>(TinyPayloadBean.class);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("JSON payload size"), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 1 bytes"), e.getMessage());
+  }
+}
@@ -0,0 +1,111 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.perf.GrowthResult;
+import ltd.qubit.commons.test.testbed.ObjectWithListField;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ScalingCurveTesterTest {
+
+  public static class QuadraticEqualsBean {
+    private List<String> values;
+
+    public List<String> getValues() {
+      return values;
+    }
+
+    public void setValues(final List<String> values) {
+      this.values = values;
+    }
+
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if ((o == null) || (getClass() != o.getClass())) {
+        return false;
+      }
+      final QuadraticEqualsBean other = (QuadraticEqualsBean) o;
+      // deliberately O(n^2)
+      return (values == null ? other.values == null
+                             : other.values != null
+                               && values.size() == other.values.size()
+                               && values.containsAll(other.values));
+    }
+
+    public int hashCode() {
+      return (values == null ? 0 : values.size());
+    }
+  }
+
+  public static class CopyingSetterBean {
+    private List<String> values;
+
+    public List<String> getValues() {
+      return values;
+    }
+
+    public void setValues(final List<String> values) {
+      this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+  }
+
+  @Test
+  public void testMeasureGrowth() throws Exception {
+    final ScalingCurveTester<ObjectWithListField> tester =
+        new ScalingCurveTester<>(ObjectWithListField.class);
+    tester.setSizes(10, 100, 1000);
+    tester.setRepeats(3);
+    tester.setMaxExponent(0);
+    tester.test();
+    assertEquals(3, tester.getResults().size());
+    for (final GrowthResult result : tester.getResults()) {
+      assertFalse(Double.isNaN(result.getExponent()));
+    }
+  }
+
+  @Test
+  public void testSuperLinearGrowth() {
+    final ScalingCurveTester<QuadraticEqualsBean> tester =
+        new ScalingCurveTester<>(QuadraticEqualsBean.class);
+    tester.setSizes(100, 1000, 4000, 8000);
+    tester.setRepeats(3);
+    assertThrows(AssertionError.class, tester::test);
+  }
+
+  @Test
+  public void testResizeUsesSetter() throws Exception {
+    final CollectionFiller filler = new CollectionFiller(new RandomBeanGenerator());
+    final CopyingSetterBean bean = filler.resize(CopyingSetterBean.class,
+        new CopyingSetterBean(), 5);
+    assertEquals(5, bean.getValues().size());
+    assertThrows(UnsupportedOperationException.class, () -> bean.getValues().add("x"));
+  }
+
+  @Test
+  public void testFitExponent() {
+    final GrowthResult linear = new GrowthResult("op", new int[]{10, 100, 1000},
+        new long[]{1000, 10000, 100000}, 0);
+    assertEquals(1.0, linear.getExponent(), 1e-9);
+    final GrowthResult quadratic = new GrowthResult("op", new int[]{10, 100, 1000},
+        new long[]{100, 10000, 1000000}, 0);
+    assertEquals(2.0, quadratic.getExponent(), 1e-9);
+  }
+}
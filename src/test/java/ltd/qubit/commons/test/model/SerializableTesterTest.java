@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SerializableTesterTest {
+
+  /**
+   * 序列化结果的字节数与字段的值无关的类。
+   */
+  public static class FixedSizeBean implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int value;
+
+    public int getValue() {
+      return value;
+    }
+
+    public void setValue(final int value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      return (o instanceof FixedSizeBean) && (((FixedSizeBean) o).value == value);
+    }
+
+    @Override
+    public int hashCode() {
+      return value;
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    final SerializableTester<App> tester = new SerializableTester<>(App.class);
+    tester.test();
+    assertTrue(tester.getMeanSerializedBytes() > 0);
+    assertTrue(tester.getLargestSerializedBytes() >= tester.getMeanSerializedBytes());
+  }
+
+  @Test
+  public void testFixedSerializedSize() throws Exception {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+      out.writeObject(new FixedSizeBean());
+    }
+    final long expected = buffer.size();
+    final SerializableTester<FixedSizeBean> tester = new SerializableTester<>(FixedSizeBean.class);
+    tester.test();
+    assertEquals(expected, tester.getMeanSerializedBytes());
+    assertEquals(expected, tester.getLargestSerializedBytes());
+    tester.setMaxSerializedBytes(expected - 1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("is " + expected + " bytes, which exceeds the budget of "
+        + (expected - 1) + " bytes"), e.getMessage());
+  }
+
+  @Test
+  public void testSizeBudgetExceeded() {
+    final SerializableTester<App> tester = new SerializableTester<>(App.class);
+    tester.setMaxSerializedBytes(16);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("serialized size"), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 16 bytes"), e.getMessage());
+  }
+
+  @Test
+  public void testSerializeLatencyBudgetExceeded() {
+    final SerializableTester<App> tester = new SerializableTester<>(App.class);
+    tester.setMaxSerializeNanos(1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("serialization latency"), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 1 ns/op"), e.getMessage());
+  }
+
+  @Test
+  public void testDeserializeLatencyBudgetExceeded() {
+    final SerializableTester<App> tester = new SerializableTester<>(App.class);
+    tester.setMaxDeserializeNanos(1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("deserialization latency"), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 1 ns/op"), e.getMessage());
+  }
+}
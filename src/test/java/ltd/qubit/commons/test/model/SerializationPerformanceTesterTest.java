@@ -0,0 +1,74 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.model;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.test.perf.ThroughputResult;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SerializationPerformanceTesterTest {
+
+  @Test
+  public void testMeasureThroughput() throws Exception {
+    final SerializationPerformanceTester<App> tester = new SerializationPerformanceTester<>(App.class);
+    tester.setWarmupIterations(10);
+    tester.setMeasuredIterations(50);
+    tester.test();
+    final List<ThroughputResult> results = tester.getResults();
+    assertEquals(4, results.size());
+    final String[][] expected = {
+        {"JSON", "serialize"}, {"JSON", "deserialize"},
+        {"XML", "serialize"}, {"XML", "deserialize"},
+    };
+    for (int i = 0; i < expected.length; ++i) {
+      final ThroughputResult result = results.get(i);
+      assertEquals(expected[i][0], result.getFormat());
+      assertEquals(expected[i][1], result.getOperation());
+      assertEquals(50, result.getIterations());
+      assertEquals(result.getNanos() / 50, result.getMeanNanos());
+    }
+  }
+
+  @Test
+  public void testThroughputResult() {
+    final ThroughputResult result = new ThroughputResult("JSON", "serialize", 1000, 2_000_000);
+    assertEquals(2000, result.getMeanNanos());
+    assertEquals(500_000.0, result.getOpsPerSecond(), 1e-6);
+  }
+
+  @Test
+  public void testLatencyBudgetExceeded() {
+    final SerializationPerformanceTester<App> tester = new SerializationPerformanceTester<>(App.class);
+    tester.setWarmupIterations(0);
+    tester.setMeasuredIterations(10);
+    tester.setMaxMeanNanos(1);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("JSON serialize latency"), e.getMessage());
+    assertTrue(e.getMessage().contains("exceeds the budget of 1 ns/op"), e.getMessage());
+  }
+
+  @Test
+  public void testThroughputBudgetExceeded() {
+    final SerializationPerformanceTester<App> tester = new SerializationPerformanceTester<>(App.class);
+    tester.setWarmupIterations(0);
+    tester.setMeasuredIterations(10);
+    tester.setMinOpsPerSecond(1e12);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("JSON serialize throughput"), e.getMessage());
+    assertTrue(e.getMessage().contains("below the budget of 1000000000000.00 ops/s"),
+        e.getMessage());
+  }
+}
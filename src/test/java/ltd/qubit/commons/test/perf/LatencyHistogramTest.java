@@ -0,0 +1,126 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    final int precision = LatencyHistogram.DEFAULT_PRECISION;
+    final int buckets = LatencyHistogram.bucketCount(precision);
+    assertEquals(buckets - 1, LatencyHistogram.indexOf(Long.MAX_VALUE, precision));
+    assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(buckets - 1, precision));
+    final Random random = new Random(42);
+    for (int i = 0; i < 100_000; ++i) {
+      final long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+      final int index = LatencyHistogram.indexOf(value, precision);
+      final long highest = LatencyHistogram.highestValueOf(index, precision);
+      assertTrue(highest >= value);
+      assertTrue(highest - value <= (value >>> precision), () -> "value=" + value);
+      if (index > 0) {
+        assertTrue(LatencyHistogram.highestValueOf(index - 1, precision) < value);
+      }
+    }
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 100; i >= 1; --i) {
+      histogram.record(i);
+    }
+    final HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(100, snapshot.getCount());
+    assertEquals(5050, snapshot.getTotal());
+    assertEquals(1, snapshot.getMin());
+    assertEquals(100, snapshot.getMax());
+    assertEquals(50, snapshot.getMean());
+    assertEquals(50, snapshot.getP50());
+    assertEquals(90, snapshot.getP90());
+    assertEquals(99, snapshot.getP99());
+    assertEquals(100, snapshot.getP999());
+    assertEquals(1, snapshot.getPercentile(0));
+    assertEquals(100, snapshot.getPercentile(100));
+  }
+
+  @Test
+  public void testRelativeError() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 100_000; ++i) {
+      histogram.record(i * 1000);
+    }
+    final HistogramSnapshot snapshot = histogram.snapshot();
+    final double error = 1.0 / (1 << histogram.getPrecision());
+    assertEquals(50_000_000, snapshot.getP50(), 50_000_000 * error);
+    assertEquals(90_000_000, snapshot.getP90(), 90_000_000 * error);
+    assertEquals(99_000_000, snapshot.getP99(), 99_000_000 * error);
+    assertEquals(99_900_000, snapshot.getP999(), 99_900_000 * error);
+    assertEquals(100_000_000, snapshot.getMax());
+  }
+
+  @Test
+  public void testConcurrentRecording() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    IntStream.range(0, 400_000).parallel().forEach(i -> histogram.record(i % 1000));
+    final HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(400_000, snapshot.getCount());
+    assertEquals(400L * 999 * 1000 / 2, snapshot.getTotal());
+    assertEquals(0, snapshot.getMin());
+    assertEquals(999, snapshot.getMax());
+  }
+
+  @Test
+  public void testMerge() {
+    final LatencyHistogram first = new LatencyHistogram();
+    final LatencyHistogram second = new LatencyHistogram();
+    final LatencyHistogram all = new LatencyHistogram();
+    final Random random = new Random(7);
+    for (int i = 0; i < 10_000; ++i) {
+      final long value = (long) Math.exp(random.nextDouble() * 20);
+      (i % 3 == 0 ? first : second).record(value);
+      all.record(value);
+    }
+    final HistogramSnapshot expected = all.snapshot();
+    assertSnapshotEquals(expected, first.snapshot().merge(second.snapshot()));
+    first.add(second.snapshot());
+    assertSnapshotEquals(expected, first.snapshot());
+
+    final HistogramSnapshot empty = new LatencyHistogram().snapshot();
+    assertEquals(0, empty.getCount());
+    assertEquals(0, empty.getP99());
+    assertEquals(0, empty.getMax());
+    assertSnapshotEquals(expected, empty.merge(expected));
+    assertThrows(IllegalArgumentException.class,
+        () -> new LatencyHistogram(3).snapshot().merge(expected));
+    assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0));
+
+    first.reset();
+    assertEquals(0, first.snapshot().getCount());
+  }
+
+  private static void assertSnapshotEquals(final HistogramSnapshot expected,
+      final HistogramSnapshot actual) {
+    assertEquals(expected.getCount(), actual.getCount());
+    assertEquals(expected.getTotal(), actual.getTotal());
+    assertEquals(expected.getMin(), actual.getMin());
+    assertEquals(expected.getMax(), actual.getMax());
+    for (final double percentile : new double[]{0, 10, 50, 90, 99, 99.9, 100}) {
+      assertEquals(expected.getPercentile(percentile), actual.getPercentile(percentile));
+    }
+  }
+}
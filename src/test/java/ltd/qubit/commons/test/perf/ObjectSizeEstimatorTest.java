@@ -0,0 +1,108 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObjectSizeEstimatorTest {
+
+  public static class Node {
+    private long id;
+    private int[] values;
+    private Node next;
+    private Node shared;
+  }
+
+  private final ObjectSizeEstimator estimator = new ObjectSizeEstimator(12, 4, 8);
+
+  @Test
+  public void testShallowSize() {
+    // 12 (header) + 8 (long) + 3 * 4 (references) = 32
+    assertEquals(32, estimator.shallowSizeOf(Node.class));
+    assertEquals(16, estimator.shallowSizeOf(Object.class));
+    // 16 (array header) + 10 * 4 = 56
+    assertEquals(56, estimator.arraySizeOf(int.class, 10));
+    assertEquals(16, estimator.arraySizeOf(Object.class, 0));
+  }
+
+  @Test
+  public void testDeepSizeCountsSharedObjectsOnce() {
+    final Node tail = new Node();
+    final Node head = new Node();
+    head.values = new int[10];
+    head.next = tail;
+    head.shared = tail;
+    tail.next = head;       // cycle
+    assertEquals(32 + 56 + 32, estimator.deepSizeOf(head));
+    assertEquals(0, estimator.deepSizeOf(null));
+  }
+
+  @Test
+  public void testFieldSizes() {
+    final Node tail = new Node();
+    final Node head = new Node();
+    head.values = new int[10];
+    head.next = tail;
+    head.shared = tail;
+    final Map<String, Long> sizes = estimator.fieldSizesOf(head);
+    assertEquals(32, sizes.get(""));
+    assertEquals(56, sizes.get("values"));
+    assertEquals(32, sizes.get("next"));
+    assertEquals(0, sizes.get("shared"));
+  }
+
+  @Test
+  public void testString() {
+    // 24 (String) + 16 + 5 (byte[5]) aligned to 24
+    assertEquals(48, estimator.deepSizeOf("hello"));
+  }
+
+  @Test
+  public void testBigNumbers() {
+    final long bigInteger = estimator.shallowSizeOf(BigInteger.class);
+    final long bigDecimal = estimator.shallowSizeOf(BigDecimal.class);
+    // 2^70 的绝对值需要3个 int 存储
+    assertEquals(bigInteger + estimator.arraySizeOf(int.class, 3),
+        estimator.deepSizeOf(BigInteger.ONE.shiftLeft(70)));
+    // 未缩放值在 long 的范围之内时，BigDecimal 不引用 BigInteger 对象
+    assertEquals(bigDecimal, estimator.deepSizeOf(new BigDecimal("123.45")));
+    assertEquals(bigDecimal + bigInteger + estimator.arraySizeOf(int.class, 4),
+        estimator.deepSizeOf(new BigDecimal(BigInteger.ONE.shiftLeft(100), 2)));
+    assertFalse(estimator.getUnestimatedTypes().contains(BigInteger.class));
+    assertFalse(estimator.getUnestimatedTypes().contains(BigDecimal.class));
+  }
+
+  @Test
+  public void testLocalDateTime() {
+    final LocalDateTime dateTime = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6);
+    assertEquals(estimator.shallowSizeOf(LocalDateTime.class)
+            + estimator.shallowSizeOf(LocalDate.class)
+            + estimator.shallowSizeOf(LocalTime.class),
+        estimator.deepSizeOf(dateTime));
+    assertFalse(estimator.getUnestimatedTypes().contains(LocalDateTime.class));
+  }
+
+  @Test
+  public void testUnestimatedTypes() {
+    estimator.deepSizeOf(Optional.of(new Node()));
+    assertTrue(estimator.getUnestimatedTypes().contains(Optional.class));
+  }
+}
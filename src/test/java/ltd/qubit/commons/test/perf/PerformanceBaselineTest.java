@@ -0,0 +1,54 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PerformanceBaselineTest {
+
+  private static List<TesterStatistics> createStatistics(final long nanos,
+      final long allocated) {
+    final PerformanceRecorder recorder = new PerformanceRecorder();
+    final TesterStatistics stat = recorder.getOrCreate(App.class, "JacksonJsonTester");
+    for (int i = 0; i < 10; ++i) {
+      stat.recordIteration(nanos, allocated);
+    }
+    return recorder.getStatistics();
+  }
+
+  @Test
+  public void testSaveAndLoad(@TempDir final Path dir) throws Exception {
+    final PerformanceBaseline baseline = new PerformanceBaseline();
+    baseline.put(new BaselineEntry(createStatistics(1_000_000, 1024).get(0)));
+    final Path file = dir.resolve("baseline.json");
+    baseline.save(file);
+    final PerformanceBaseline loaded = PerformanceBaseline.load(file);
+    assertEquals(baseline.getEntries(), loaded.getEntries());
+  }
+
+  @Test
+  public void testFindRegressions() {
+    final PerformanceBaseline baseline = new PerformanceBaseline();
+    baseline.put(new BaselineEntry(createStatistics(1_000_000, 1024).get(0)));
+    assertTrue(baseline.findRegressions(createStatistics(1_100_000, 1100), 0.2).isEmpty());
+    final List<String> regressions = baseline.findRegressions(
+        createStatistics(2_000_000, 4096), 0.2);
+    assertEquals(3, regressions.size());
+    assertTrue(regressions.get(0).contains("JacksonJsonTester"));
+  }
+}
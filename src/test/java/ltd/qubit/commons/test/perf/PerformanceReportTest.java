@@ -0,0 +1,96 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.model.JacksonJsonTester;
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PerformanceReportTest {
+
+  @Test
+  public void testRecordAndWriteReport(@TempDir final Path dir) throws Exception {
+    final PerformanceRecorder recorder = new PerformanceRecorder();
+    PerformanceRecorder.register(recorder);
+    try {
+      new JacksonJsonTester<>(App.class, new RandomBeanGenerator(), 3).test();
+    } finally {
+      PerformanceRecorder.unregister(recorder);
+    }
+    final List<TesterStatistics> statistics = recorder.getStatistics();
+    assertEquals(1, statistics.size());
+    final TesterStatistics stat = statistics.get(0);
+    assertEquals(App.class, stat.getModelClass());
+    assertEquals("JacksonJsonTester", stat.getTester());
+    assertEquals(1, stat.getRuns());
+    assertEquals(3, stat.getIterations());
+    assertEquals(4, stat.getPhases().size());
+
+    final PerformanceReport report = new PerformanceReport(statistics);
+    final Path json = dir.resolve("report.json");
+    final Path csv = dir.resolve("report.csv");
+    report.writeJson(json);
+    report.writeCsv(csv);
+    final String jsonText = Files.readString(json, StandardCharsets.UTF_8);
+    assertTrue(jsonText.contains(App.class.getName()));
+    final List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+    assertEquals(1 + 1 + 4, lines.size());
+    assertNotNull(lines.get(1));
+    assertTrue(lines.get(1).startsWith(App.class.getName() + ",JacksonJsonTester,TOTAL,3,"));
+  }
+
+  @Test
+  public void testScopedRecorder() throws Exception {
+    final PerformanceRecorder all = new PerformanceRecorder();
+    final PerformanceRecorder scoped = new PerformanceRecorder(PerformanceReportTest.class);
+    assertEquals(PerformanceReportTest.class, scoped.getScope());
+    PerformanceRecorder.register(all);
+    PerformanceRecorder.register(scoped);
+    try {
+      PhaseProbe.begin(TesterPhase.SERIALIZATION, App.class, "Outside").end();
+      final Class<?> previous = PerformanceRecorder.enterScope(PerformanceReportTest.class);
+      try {
+        PhaseProbe.begin(TesterPhase.SERIALIZATION, App.class, "Inside").end();
+        final Thread child = new Thread(() ->
+            PhaseProbe.begin(TesterPhase.SERIALIZATION, App.class, "Child").end());
+        child.start();
+        child.join();
+      } finally {
+        PerformanceRecorder.exitScope(previous);
+      }
+      assertEquals(previous, PerformanceRecorder.currentScope());
+    } finally {
+      PerformanceRecorder.unregister(scoped);
+      PerformanceRecorder.unregister(all);
+    }
+    assertEquals(List.of("Child", "Inside", "Outside"), getTesters(all));
+    assertEquals(List.of("Child", "Inside"), getTesters(scoped));
+  }
+
+  private static List<String> getTesters(final PerformanceRecorder recorder) {
+    final List<String> result = new ArrayList<>();
+    for (final TesterStatistics stat : recorder.getStatistics()) {
+      result.add(stat.getTester());
+    }
+    return result;
+  }
+}
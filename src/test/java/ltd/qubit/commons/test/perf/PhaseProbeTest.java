@@ -0,0 +1,57 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import ltd.qubit.commons.test.testbed.App;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PhaseProbeTest {
+
+  @Test
+  public void testJfrEventIsCommitted() throws Exception {
+    final Path file = Files.createTempFile("phase-probe", ".jfr");
+    try (final Recording recording = new Recording()) {
+      recording.enable("ltd.qubit.commons.test.Serialization")
+               .withThreshold(Duration.ZERO);
+      recording.start();
+      final TesterContext context = TesterContext.enter(App.class, "MyTester");
+      try {
+        context.setIteration(3);
+        final PhaseProbe probe = PhaseProbe.begin(TesterPhase.SERIALIZATION, App.class);
+        probe.setPayloadSize(42);
+        probe.end();
+      } finally {
+        context.exit();
+      }
+      recording.stop();
+      recording.dump(file);
+      final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      assertEquals(1, events.size());
+      final RecordedEvent event = events.get(0);
+      assertEquals(App.class.getName(), event.getClass("modelClass").getName());
+      assertEquals("MyTester", event.getString("tester"));
+      assertEquals(3, event.getInt("iteration"));
+      assertEquals(42, event.getLong("payloadSize"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
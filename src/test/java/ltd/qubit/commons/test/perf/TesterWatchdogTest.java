@@ -0,0 +1,148 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.test.perf;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.random.RandomBeanGenerator;
+import ltd.qubit.commons.test.TestParameters;
+import ltd.qubit.commons.test.model.ModelTester;
+import ltd.qubit.commons.test.testbed.Address;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TesterWatchdogTest {
+
+  private static class HangingTester extends ModelTester<Address> {
+
+    private final int hangingIteration;
+
+    private final List<Address> objects = new CopyOnWriteArrayList<>();
+
+    HangingTester(final TestParameters parameters, final int hangingIteration) {
+      super(Address.class, new RandomBeanGenerator(), parameters);
+      this.hangingIteration = hangingIteration;
+    }
+
+    @Override
+    protected void doTest() throws Exception {
+      for (int i = 0; i < loops; ++i) {
+        final Address obj = nextObject(i);
+        assertNotNull(obj);
+        objects.add(obj);
+        if (i == hangingIteration) {
+          final PhaseProbe probe = PhaseProbe.begin(TesterPhase.VERIFICATION, type);
+          try {
+            new CountDownLatch(1).await();
+          } finally {
+            probe.end();
+          }
+        }
+      }
+    }
+  }
+
+  private static class ThreadRecordingTester extends ModelTester<Address> {
+
+    private Thread thread;
+
+    ThreadRecordingTester() {
+      super(Address.class);
+    }
+
+    @Override
+    protected void doTest() {
+      thread = Thread.currentThread();
+    }
+  }
+
+  @Test
+  public void testDisabledByDefault() throws Exception {
+    final ThreadRecordingTester tester = new ThreadRecordingTester();
+    assertEquals(0, tester.getIterationTimeout());
+    assertEquals(0, tester.getTesterTimeout());
+    tester.test();
+    assertSame(Thread.currentThread(), tester.thread);
+    assertNull(TesterContext.current());
+  }
+
+  @Test
+  public void testIterationTimeout() {
+    final TestParameters parameters = new TestParameters();
+    parameters.setLoops(5);
+    parameters.setIterationTimeout(1000);
+    final HangingTester tester = new HangingTester(parameters, 3);
+    tester.setSeed(1000);
+    assertEquals(1000, tester.getIterationTimeout());
+    assertEquals(TestParameters.DEFAULT_TESTER_TIMEOUT, tester.getTesterTimeout());
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    final String message = e.getMessage();
+    assertTrue(message.contains("HangingTester"), message);
+    assertTrue(message.contains(Address.class.getName()), message);
+    assertTrue(message.contains("iteration timeout of 1000 ms"), message);
+    assertTrue(message.contains("iteration: 3"), message);
+    assertTrue(message.contains("phase: VERIFICATION"), message);
+    assertTrue(message.contains("seed: 1003"), message);
+    final RandomBeanGenerator random = new RandomBeanGenerator();
+    random.setSeed(1003);
+    assertEquals(random.nextObject(Address.class), tester.objects.get(3));
+    assertTrue(message.contains("HangingTester.doTest"), message);
+    assertNotNull(e.getCause());
+    assertTrue(e.getCause().getStackTrace().length > 0);
+    assertNull(TesterContext.current());
+  }
+
+  @Test
+  public void testTesterTimeout() {
+    final TestParameters parameters = new TestParameters();
+    parameters.setLoops(5);
+    parameters.setIterationTimeout(0);
+    parameters.setTesterTimeout(1000);
+    final HangingTester tester = new HangingTester(parameters, 0);
+    final AssertionError e = assertThrows(AssertionError.class, tester::test);
+    assertTrue(e.getMessage().contains("tester timeout of 1000 ms"), e.getMessage());
+    assertTrue(e.getMessage().contains("iteration: 0"), e.getMessage());
+  }
+
+  @Test
+  public void testNoTimeout() throws Exception {
+    final TestParameters parameters = new TestParameters();
+    parameters.setLoops(5);
+    parameters.setIterationTimeout(1000);
+    final HangingTester tester = new HangingTester(parameters, -1);
+    tester.test();
+    assertNull(TesterContext.current());
+  }
+
+  @Test
+  public void testRethrowsTaskException() {
+    final IOException error = new IOException("broken");
+    final IOException e = assertThrows(IOException.class,
+        () -> TesterWatchdog.run(Address.class, "tester", 1000, 1000, () -> {
+          assertNotNull(TesterContext.current());
+          throw error;
+        }));
+    assertSame(error, e);
+    final AssertionError f = assertThrows(AssertionError.class,
+        () -> TesterWatchdog.run(Address.class, "tester", 1000, 1000, () -> {
+          throw new AssertionError("failed");
+        }));
+    assertEquals("failed", f.getMessage());
+  }
+}